@@ -62,6 +62,12 @@ android {
                 "proguard-rules.pro"
             )
         }
+        // Non-debuggable variant targeted by the :benchmark module (debuggable apps skew timings)
+        create("benchmark") {
+            initWith(getByName("release"))
+            signingConfig = signingConfigs.getByName("debug")
+            matchingFallbacks += listOf("release")
+        }
     }
 
     // Configure APK output naming
@@ -94,8 +100,10 @@ dependencies {
     implementation(libs.activity)
     implementation(libs.constraintlayout)
     testImplementation(libs.junit)
+    testImplementation(libs.mockito.core)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
+    androidTestImplementation(libs.mockito.android)
 
     implementation(libs.camera.core)
     implementation(libs.camera.camera2)
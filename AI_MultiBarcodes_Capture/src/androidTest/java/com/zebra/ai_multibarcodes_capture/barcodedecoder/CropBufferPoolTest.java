@@ -0,0 +1,69 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.barcodedecoder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Bitmap;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Checks that the crop buffers stay pooled while the analyzer alternates between crop sizes,
+ * as it does between the adaptive ROI and the static region on refresh frames.
+ */
+@RunWith(AndroidJUnit4.class)
+public class CropBufferPoolTest {
+
+    private static final int FRAMES = 40;
+    private static final int REFRESH_INTERVAL = 10;
+
+    @Test
+    public void alternatingRoiAndRefreshSizesReuseTheirBuffers() {
+        CropBufferPool pool = new CropBufferPool();
+        for (int frame = 0; frame < FRAMES; frame++) {
+            boolean refresh = frame % REFRESH_INTERVAL == 0;
+            int width = refresh ? 1440 : 400;
+            int height = refresh ? 1080 : 300;
+            Bitmap bitmap = pool.acquireBitmap(width, height, Bitmap.Config.ALPHA_8);
+            pool.releaseBitmap(bitmap);
+            assertFalse(bitmap.isRecycled());
+        }
+        // One allocation per size, every other frame served from the pool
+        assertEquals(2, pool.getMissCount());
+        assertEquals(FRAMES - 2, pool.getHitCount());
+        pool.clear();
+    }
+
+    @Test
+    public void leastRecentlyUsedSizeIsDropped() {
+        CropBufferPool pool = new CropBufferPool();
+        Bitmap first = pool.acquireBitmap(100, 100, Bitmap.Config.ALPHA_8);
+        pool.releaseBitmap(first);
+        for (int size = 1; size <= CropBufferPool.MAX_KEYS; size++) {
+            pool.releaseBitmap(pool.acquireBitmap(100 + size, 100, Bitmap.Config.ALPHA_8));
+        }
+        // The first size was the least recently used when the last one came in
+        assertTrue(first.isRecycled());
+        Bitmap kept = pool.acquireBitmap(100 + CropBufferPool.MAX_KEYS, 100, Bitmap.Config.ALPHA_8);
+        pool.releaseBitmap(kept);
+        assertSame(kept, pool.acquireBitmap(100 + CropBufferPool.MAX_KEYS, 100, Bitmap.Config.ALPHA_8));
+        pool.clear();
+    }
+
+    @Test
+    public void configsDoNotShareBuffers() {
+        CropBufferPool pool = new CropBufferPool();
+        Bitmap luminance = pool.acquireBitmap(200, 200, Bitmap.Config.ALPHA_8);
+        pool.releaseBitmap(luminance);
+        Bitmap argb = pool.acquireBitmap(200, 200, Bitmap.Config.ARGB_8888);
+        assertEquals(Bitmap.Config.ARGB_8888, argb.getConfig());
+        assertSame(luminance, pool.acquireBitmap(200, 200, Bitmap.Config.ALPHA_8));
+        pool.clear();
+    }
+}
@@ -0,0 +1,96 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.barcodedecoder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.zebra.ai.vision.detector.ImageData;
+import com.zebra.ai.vision.entity.BarcodeEntity;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks that the warm-up decodes its frames one after the other and reports the first call
+ * apart from the following ones.
+ */
+@RunWith(AndroidJUnit4.class)
+public class DecoderWarmUpTest {
+
+    private static final int SIZE = 640;
+
+    /**
+     * Slow on its first call like a decoder initializing its runtime, and counting the calls in flight.
+     */
+    private static final class LazyDecoder implements IBarcodeDecoder {
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger inFlight = new AtomicInteger();
+        volatile int maxInFlight;
+
+        @NonNull
+        @Override
+        public CompletableFuture<List<BarcodeEntity>> process(@NonNull ImageData imageData) {
+            int call = calls.getAndIncrement();
+            maxInFlight = Math.max(maxInFlight, inFlight.incrementAndGet());
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(call == 0 ? 60 : 5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                inFlight.decrementAndGet();
+                return new ArrayList<>();
+            });
+        }
+
+        @Override
+        public void dispose() {
+        }
+    }
+
+    @Test
+    public void coldCallIsReportedApartFromTheWarmOnes() throws Exception {
+        LazyDecoder decoder = new LazyDecoder();
+        DecoderWarmUp.Result result = DecoderWarmUp.run(decoder, SIZE, SIZE, 4).get(5, TimeUnit.SECONDS);
+
+        assertNotNull(result);
+        assertEquals(4, result.frames);
+        assertEquals(4, decoder.calls.get());
+        assertEquals(1, decoder.maxInFlight);
+        assertTrue(result.coldNanos >= TimeUnit.MILLISECONDS.toNanos(60));
+        assertTrue(result.warmNanos < result.coldNanos);
+    }
+
+    @Test
+    public void atLeastTwoFramesAreDecoded() throws Exception {
+        ScriptedBarcodeDecoder decoder = ScriptedBarcodeDecoder.repeating(Collections.emptyList(),
+                ScriptedBarcodeDecoder.LatencyDistribution.none(), 25);
+        DecoderWarmUp.Result result = DecoderWarmUp.run(decoder, SIZE, SIZE, 1).get(5, TimeUnit.SECONDS);
+
+        assertNotNull(result);
+        assertEquals(2, result.frames);
+        assertEquals(2, decoder.getCallCount());
+        decoder.dispose();
+    }
+
+    @Test
+    public void failedFrameGivesNoResult() throws Exception {
+        ScriptedBarcodeDecoder decoder = ScriptedBarcodeDecoder.repeating(Collections.emptyList(),
+                ScriptedBarcodeDecoder.LatencyDistribution.none(), 25);
+        // A disposed scripted decoder fails every call
+        decoder.dispose();
+        assertNull(DecoderWarmUp.run(decoder, SIZE, SIZE, 3).get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,177 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.barcodedecoder;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Bitmap;
+import android.graphics.Rect;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.zebra.ai_multibarcodes_capture.helpers.CoordinateMapper;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * Exact-output tests of the native crop/downscale/rotate kernel, run on device so the NEON
+ * implementation is the one checked. The host build of src/main/cpp checks the portable one.
+ */
+@RunWith(AndroidJUnit4.class)
+public class NativeYuvProcessorTest {
+
+    private static final int PLANE_WIDTH = 160;
+    private static final int PLANE_HEIGHT = 120;
+    private static final int ROW_STRIDE = 176;
+
+    private final ByteBuffer yPlane = ByteBuffer.allocateDirect(ROW_STRIDE * PLANE_HEIGHT);
+    private final byte[] yBytes = new byte[ROW_STRIDE * PLANE_HEIGHT];
+
+    @Before
+    public void setUp() {
+        assertTrue("Native library not loaded", NativeYuvProcessor.isAvailable());
+        new Random(42).nextBytes(yBytes);
+        yPlane.put(yBytes).rewind();
+    }
+
+    /**
+     * Block average then rotation, written independently from the kernels.
+     */
+    private byte[] reference(int left, int top, int cropWidth, int cropHeight, int scale, int rotation) {
+        int width = cropWidth / scale;
+        int height = cropHeight / scale;
+        boolean swap = rotation == 90 || rotation == 270;
+        int outWidth = swap ? height : width;
+        byte[] out = new byte[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int sum = 0;
+                for (int dy = 0; dy < scale; dy++) {
+                    for (int dx = 0; dx < scale; dx++) {
+                        sum += yBytes[(top + y * scale + dy) * ROW_STRIDE + left + x * scale + dx] & 0xFF;
+                    }
+                }
+                int area = scale * scale;
+                int outX = x;
+                int outY = y;
+                if (rotation == 90) {
+                    outX = height - 1 - y;
+                    outY = x;
+                } else if (rotation == 180) {
+                    outX = width - 1 - x;
+                    outY = height - 1 - y;
+                } else if (rotation == 270) {
+                    outX = y;
+                    outY = width - 1 - x;
+                }
+                out[outY * outWidth + outX] = (byte) ((sum + area / 2) / area);
+            }
+        }
+        return out;
+    }
+
+    private byte[] transform(int left, int top, int cropWidth, int cropHeight, int scale, int rotation) {
+        boolean swap = rotation == 90 || rotation == 270;
+        int width = cropWidth / scale;
+        int height = cropHeight / scale;
+        Bitmap bitmap = Bitmap.createBitmap(swap ? height : width, swap ? width : height, Bitmap.Config.ALPHA_8);
+        assertTrue(NativeYuvProcessor.cropYToLuminanceTransformedNative(yPlane, ROW_STRIDE,
+                left, top, cropWidth, cropHeight, scale, rotation, bitmap));
+        // copyPixelsToBuffer packs the rows without the bitmap row padding
+        ByteBuffer pixels = ByteBuffer.allocate(bitmap.getWidth() * bitmap.getHeight());
+        bitmap.copyPixelsToBuffer(pixels);
+        bitmap.recycle();
+        return pixels.array();
+    }
+
+    @Test
+    public void matchesReferenceForEveryScaleAndRotation() {
+        int[][] crops = {
+                {0, 0, PLANE_WIDTH, PLANE_HEIGHT},
+                {2, 4, 64, 32},
+                {10, 6, 70, 38},
+                {8, 8, 18, 100},
+        };
+        for (int[] crop : crops) {
+            for (int scale : new int[]{1, 2, 4}) {
+                for (int rotation : new int[]{0, 90, 180, 270}) {
+                    String label = "crop " + crop[0] + "," + crop[1] + " " + crop[2] + "x" + crop[3]
+                            + " scale " + scale + " rotation " + rotation;
+                    assertArrayEquals(label, reference(crop[0], crop[1], crop[2], crop[3], scale, rotation),
+                            transform(crop[0], crop[1], crop[2], crop[3], scale, rotation));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void scaleOneWithoutRotationMatchesLuminanceCrop() {
+        Bitmap expected = Bitmap.createBitmap(64, 32, Bitmap.Config.ALPHA_8);
+        assertTrue(NativeYuvProcessor.cropYToLuminanceBitmapNative(yPlane, ROW_STRIDE, 2, 4, 64, 32, expected));
+        ByteBuffer expectedPixels = ByteBuffer.allocate(64 * 32);
+        expected.copyPixelsToBuffer(expectedPixels);
+        assertArrayEquals(expectedPixels.array(), transform(2, 4, 64, 32, 1, 0));
+    }
+
+    @Test
+    public void rejectsUnsupportedArguments() {
+        Bitmap bitmap = Bitmap.createBitmap(64, 64, Bitmap.Config.ALPHA_8);
+        assertFalse(NativeYuvProcessor.cropYToLuminanceTransformedNative(yPlane, ROW_STRIDE, 0, 0, 64, 64, 3, 0, bitmap));
+        assertFalse(NativeYuvProcessor.cropYToLuminanceTransformedNative(yPlane, ROW_STRIDE, 0, 0, 64, 64, 1, 45, bitmap));
+        // Crop running past the end of the plane
+        assertFalse(NativeYuvProcessor.cropYToLuminanceTransformedNative(yPlane, ROW_STRIDE, 0, 100, 64, 64, 1, 0, bitmap));
+        // Bitmap too small for the rotated output
+        Bitmap narrow = Bitmap.createBitmap(64, 32, Bitmap.Config.ALPHA_8);
+        assertFalse(NativeYuvProcessor.cropYToLuminanceTransformedNative(yPlane, ROW_STRIDE, 0, 0, 64, 32, 1, 90, narrow));
+    }
+
+    /**
+     * A box found in an upright, downscaled crop must land where the same box found in the
+     * raw crop lands, for every sensor rotation.
+     */
+    @Test
+    public void uprightCropBoxesMatchRawCropBoxes() {
+        CoordinateMapper mapper = new CoordinateMapper();
+        mapper.setRawSensorDimensions(PLANE_WIDTH, PLANE_HEIGHT);
+        Rect cropRegion = new Rect(20, 10, 100, 70);
+        // Box in raw crop coordinates, on a 2x2 grid so it survives the downscale exactly
+        Rect rawBox = new Rect(10, 6, 30, 14);
+        int scale = 2;
+        for (int rotation : new int[]{0, 90, 180, 270}) {
+            Rect expected = mapper.transformRawSensorToEffective(
+                    mapper.adjustBboxForCropRegion(rawBox, cropRegion), rotation);
+
+            // Same box as seen in the upright crop, in downscaled pixels
+            Rect cropSize = new Rect(0, 0, cropRegion.width(), cropRegion.height());
+            Rect uprightBox = rotateInCrop(rawBox, cropSize, rotation);
+            Rect downscaledBox = new Rect(uprightBox.left / scale, uprightBox.top / scale,
+                    uprightBox.right / scale, uprightBox.bottom / scale);
+
+            Rect effectiveCrop = mapper.transformRawSensorToEffective(cropRegion, rotation);
+            assertEquals("rotation " + rotation, expected,
+                    mapper.adjustBboxForCropRegion(downscaledBox, effectiveCrop, scale));
+        }
+    }
+
+    private static Rect rotateInCrop(Rect box, Rect crop, int rotation) {
+        int width = crop.width();
+        int height = crop.height();
+        switch (rotation) {
+            case 90:
+                return new Rect(height - box.bottom, box.left, height - box.top, box.right);
+            case 180:
+                return new Rect(width - box.right, height - box.bottom, width - box.left, height - box.top);
+            case 270:
+                return new Rect(box.top, width - box.right, box.bottom, width - box.left);
+            default:
+                return new Rect(box);
+        }
+    }
+}
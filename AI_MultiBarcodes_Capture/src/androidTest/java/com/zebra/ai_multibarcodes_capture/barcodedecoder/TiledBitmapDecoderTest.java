@@ -0,0 +1,101 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.barcodedecoder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import android.graphics.Rect;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.zebra.ai.vision.entity.BarcodeEntity;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Checks the layout of the tiles over high-res frames and the merging of the barcodes found
+ * twice across tile seams.
+ */
+@RunWith(AndroidJUnit4.class)
+public class TiledBitmapDecoderTest {
+
+    private static final int TILE_SIZE = 640;
+
+    private static TiledBitmapDecoder.Detection detection(String value, int symbology, Rect bounds) {
+        BarcodeEntity entity = mock(BarcodeEntity.class, withSettings().stubOnly());
+        when(entity.getValue()).thenReturn(value);
+        when(entity.getSymbology()).thenReturn(symbology);
+        return new TiledBitmapDecoder.Detection(entity, bounds);
+    }
+
+    @Test
+    public void tilesCoverTheFrameWithTheRequestedOverlap() {
+        int width = 4000;
+        int height = 3000;
+        float overlapRatio = 0.15f;
+        List<Rect> tiles = TiledBitmapDecoder.computeTiles(width, height, TILE_SIZE, TILE_SIZE, overlapRatio);
+
+        int minOverlap = Math.round(TILE_SIZE * overlapRatio);
+        boolean[] covered = new boolean[width * height / (10 * 10)];
+        for (Rect tile : tiles) {
+            assertEquals(TILE_SIZE, tile.width());
+            assertEquals(TILE_SIZE, tile.height());
+            assertTrue(new Rect(0, 0, width, height).contains(tile));
+            for (int y = tile.top / 10; y < tile.bottom / 10; y++) {
+                for (int x = tile.left / 10; x < tile.right / 10; x++) {
+                    covered[y * (width / 10) + x] = true;
+                }
+            }
+        }
+        for (boolean cell : covered) {
+            assertTrue(cell);
+        }
+
+        // Neighbouring tiles of the first row and column overlap by at least the requested ratio
+        for (int i = 1; i < tiles.size(); i++) {
+            Rect previous = tiles.get(i - 1);
+            Rect tile = tiles.get(i);
+            if (tile.top == previous.top) {
+                assertTrue(previous.right - tile.left >= minOverlap);
+            }
+        }
+    }
+
+    @Test
+    public void smallFrameIsOneClampedTile() {
+        List<Rect> tiles = TiledBitmapDecoder.computeTiles(500, 300, TILE_SIZE, TILE_SIZE, 0.15f);
+        assertEquals(1, tiles.size());
+        assertEquals(new Rect(0, 0, 500, 300), tiles.get(0));
+    }
+
+    @Test
+    public void barcodeSeenFromTwoTilesIsMergedIntoTheWholeOne() {
+        TiledBitmapDecoder.Detection cut = detection("", 1, new Rect(600, 100, 640, 160));
+        TiledBitmapDecoder.Detection whole = detection("ABC", 1, new Rect(590, 100, 680, 160));
+        TiledBitmapDecoder.Detection other = detection("XYZ", 1, new Rect(1200, 100, 1290, 160));
+
+        List<TiledBitmapDecoder.Detection> merged = TiledBitmapDecoder.merge(Arrays.asList(cut, whole, other));
+        assertEquals(2, merged.size());
+        assertSame(whole, merged.get(0));
+        assertSame(other, merged.get(1));
+    }
+
+    @Test
+    public void overlappingBarcodesWithDifferentValuesAreKept() {
+        TiledBitmapDecoder.Detection first = detection("ABC", 1, new Rect(100, 100, 200, 160));
+        TiledBitmapDecoder.Detection second = detection("ABD", 1, new Rect(110, 100, 210, 160));
+        TiledBitmapDecoder.Detection sameValueOtherSymbology = detection("ABC", 2, new Rect(100, 100, 200, 160));
+
+        List<TiledBitmapDecoder.Detection> merged =
+                TiledBitmapDecoder.merge(Arrays.asList(first, second, sameValueOtherSymbology));
+        assertEquals(3, merged.size());
+    }
+}
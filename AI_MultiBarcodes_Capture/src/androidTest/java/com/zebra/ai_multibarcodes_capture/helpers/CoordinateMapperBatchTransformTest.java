@@ -0,0 +1,168 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.helpers;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import android.graphics.Rect;
+import android.view.Surface;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Random;
+
+/**
+ * Checks that the composed box transform gives exactly the boxes of the per-Rect path
+ * (adjustBboxForCropRegion, transformRawSensorToEffective, mapBoundingBoxToOverlay).
+ */
+@RunWith(AndroidJUnit4.class)
+public class CoordinateMapperBatchTransformTest {
+
+    private static final int SENSOR_WIDTH = 1920;
+    private static final int SENSOR_HEIGHT = 1080;
+    private static final int[] SENSOR_ROTATIONS = {0, 90, 180, 270};
+    private static final int BOX_COUNT = 50;
+
+    private final Rect cropRegion = new Rect(240, 40, 1680, 1000);
+
+    private static CoordinateMapper mapper(int rotationDegrees, int overlayWidth, int overlayHeight, int initialRotation) {
+        CoordinateMapper coordinateMapper = new CoordinateMapper();
+        boolean swapped = rotationDegrees == 90 || rotationDegrees == 270;
+        coordinateMapper.setRawSensorDimensions(SENSOR_WIDTH, SENSOR_HEIGHT);
+        coordinateMapper.setImageDimensions(swapped ? SENSOR_HEIGHT : SENSOR_WIDTH, swapped ? SENSOR_WIDTH : SENSOR_HEIGHT);
+        coordinateMapper.setOverlayDimensions(overlayWidth, overlayHeight);
+        coordinateMapper.setInitialRotation(initialRotation);
+        return coordinateMapper;
+    }
+
+    /**
+     * The per-Rect path, as the detection processing used it.
+     */
+    private static Rect mapOneByOne(CoordinateMapper coordinateMapper, Rect box, Rect crop, int cropScale,
+                                    boolean cropUpright, int rotationDegrees, int displayRotation) {
+        Rect adjusted;
+        if (crop != null && cropUpright) {
+            adjusted = coordinateMapper.adjustBboxForCropRegion(box,
+                    coordinateMapper.transformRawSensorToEffective(crop, rotationDegrees), cropScale);
+        } else if (crop != null) {
+            adjusted = coordinateMapper.transformRawSensorToEffective(
+                    coordinateMapper.adjustBboxForCropRegion(box, crop, cropScale), rotationDegrees);
+        } else {
+            adjusted = box;
+        }
+        return coordinateMapper.mapBoundingBoxToOverlay(adjusted, displayRotation);
+    }
+
+    private static IntRect intRect(Rect rect) {
+        return rect != null ? new IntRect().set(rect) : null;
+    }
+
+    private static float[] toArray(Rect[] boxes) {
+        float[] array = new float[boxes.length * 4];
+        for (int i = 0; i < boxes.length; i++) {
+            array[i * 4] = boxes[i].left;
+            array[i * 4 + 1] = boxes[i].top;
+            array[i * 4 + 2] = boxes[i].right;
+            array[i * 4 + 3] = boxes[i].bottom;
+        }
+        return array;
+    }
+
+    private static Rect[] randomBoxes(Random random) {
+        Rect[] boxes = new Rect[BOX_COUNT];
+        for (int i = 0; i < BOX_COUNT; i++) {
+            int left = random.nextInt(700);
+            int top = random.nextInt(450);
+            boxes[i] = new Rect(left, top, left + random.nextInt(240), top + random.nextInt(240));
+        }
+        return boxes;
+    }
+
+    @Test
+    public void matchesGoldenBoxesForEverySensorRotation() {
+        float[][] expected = {
+                {-586, 953, 280, 1213, -1020, 86, -846, 260},
+                {515, 536, 661, 1023, 1051, 292, 1149, 390},
+                {800, 1126, 1666, 1386, 1926, 2080, 2100, 2253},
+                {418, 1316, 564, 1803, -69, 1950, 28, 2047},
+        };
+        for (int r = 0; r < SENSOR_ROTATIONS.length; r++) {
+            CoordinateMapper coordinateMapper = mapper(SENSOR_ROTATIONS[r], 1080, 2340, Surface.ROTATION_0);
+            float[] boxes = {100, 200, 300, 260, 0, 0, 40, 40};
+            coordinateMapper.setBoxTransform(intRect(cropRegion), 2, false, SENSOR_ROTATIONS[r], Surface.ROTATION_0);
+            coordinateMapper.mapBoxesToOverlay(boxes, 2);
+            assertArrayEquals("rotation " + SENSOR_ROTATIONS[r], expected[r], boxes, 0f);
+        }
+    }
+
+    @Test
+    public void matchesPerRectPathForEveryRotationAndCrop() {
+        Random random = new Random(7);
+        for (int rotationDegrees : SENSOR_ROTATIONS) {
+            for (int displayRotation = Surface.ROTATION_0; displayRotation <= Surface.ROTATION_270; displayRotation++) {
+                for (int cropMode = 0; cropMode < 3; cropMode++) {
+                    for (int cropScale : new int[]{1, 2, 4}) {
+                        CoordinateMapper coordinateMapper = mapper(rotationDegrees, 1080, 2340, Surface.ROTATION_0);
+                        Rect crop = cropMode == 0 ? null : cropRegion;
+                        boolean cropUpright = cropMode == 2;
+                        Rect[] rects = randomBoxes(random);
+                        float[] boxes = toArray(rects);
+
+                        coordinateMapper.setBoxTransform(intRect(crop), cropScale, cropUpright, rotationDegrees, displayRotation);
+                        coordinateMapper.mapBoxesToOverlay(boxes, BOX_COUNT);
+
+                        String message = "rotation " + rotationDegrees + ", display " + displayRotation
+                                + ", crop mode " + cropMode + ", scale " + cropScale;
+                        assertArrayEquals(message, toArray(mapRects(coordinateMapper, rects, crop, cropScale,
+                                cropUpright, rotationDegrees, displayRotation)), boxes, 0f);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void matchesPerRectPathWithoutOverlayDimensions() {
+        Random random = new Random(11);
+        for (int rotationDegrees : SENSOR_ROTATIONS) {
+            CoordinateMapper coordinateMapper = mapper(rotationDegrees, 0, 0, Surface.ROTATION_90);
+            Rect[] rects = randomBoxes(random);
+            float[] boxes = toArray(rects);
+
+            coordinateMapper.setBoxTransform(intRect(cropRegion), 2, false, rotationDegrees, Surface.ROTATION_0);
+            coordinateMapper.mapBoxesToOverlay(boxes, BOX_COUNT);
+
+            assertArrayEquals(toArray(mapRects(coordinateMapper, rects, cropRegion, 2, false,
+                    rotationDegrees, Surface.ROTATION_0)), boxes, 0f);
+        }
+    }
+
+    @Test
+    public void composesAgainWhenDimensionsChange() {
+        CoordinateMapper coordinateMapper = mapper(90, 1080, 2340, Surface.ROTATION_0);
+        Rect box = new Rect(100, 200, 300, 260);
+        coordinateMapper.setBoxTransform(null, 1, false, 90, Surface.ROTATION_0);
+
+        coordinateMapper.setOverlayDimensions(720, 1280);
+        float[] boxes = toArray(new Rect[]{box});
+        coordinateMapper.setBoxTransform(null, 1, false, 90, Surface.ROTATION_0);
+        coordinateMapper.mapBoxesToOverlay(boxes, 1);
+
+        Rect expected = coordinateMapper.mapBoundingBoxToOverlay(box, Surface.ROTATION_0);
+        assertEquals(expected.left, (int) boxes[0]);
+        assertEquals(expected.bottom, (int) boxes[3]);
+    }
+
+    private static Rect[] mapRects(CoordinateMapper coordinateMapper, Rect[] rects, Rect crop, int cropScale,
+                                   boolean cropUpright, int rotationDegrees, int displayRotation) {
+        Rect[] mapped = new Rect[rects.length];
+        for (int i = 0; i < rects.length; i++) {
+            mapped[i] = mapOneByOne(coordinateMapper, rects[i], crop, cropScale, cropUpright,
+                    rotationDegrees, displayRotation);
+        }
+        return mapped;
+    }
+}
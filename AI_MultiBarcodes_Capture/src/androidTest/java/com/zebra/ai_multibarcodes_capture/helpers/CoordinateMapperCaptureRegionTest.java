@@ -0,0 +1,115 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.helpers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Rect;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Random;
+
+/**
+ * Checks that mapOverlayToCaptureRegion inverts the mapping of high-res results to the overlay
+ * (raw to effective rotation, then scale and center to fill the overlay).
+ */
+@RunWith(AndroidJUnit4.class)
+public class CoordinateMapperCaptureRegionTest {
+
+    private static final int CAPTURE_WIDTH = 4000;
+    private static final int CAPTURE_HEIGHT = 3000;
+    private static final int OVERLAY_WIDTH = 1080;
+    private static final int OVERLAY_HEIGHT = 2400;
+    private static final int[] ROTATIONS = {0, 90, 180, 270};
+
+    private static CoordinateMapper mapper() {
+        CoordinateMapper coordinateMapper = new CoordinateMapper();
+        coordinateMapper.setRawSensorDimensions(CAPTURE_WIDTH, CAPTURE_HEIGHT);
+        coordinateMapper.setOverlayDimensions(OVERLAY_WIDTH, OVERLAY_HEIGHT);
+        return coordinateMapper;
+    }
+
+    /**
+     * Maps a raw capture box to the overlay like the high-res matching does.
+     */
+    private static Rect captureToOverlay(CoordinateMapper coordinateMapper, Rect box, int rotationDegrees) {
+        Rect effective = coordinateMapper.transformRawSensorToEffective(box, rotationDegrees);
+        boolean swapped = rotationDegrees == 90 || rotationDegrees == 270;
+        int effectiveWidth = swapped ? CAPTURE_HEIGHT : CAPTURE_WIDTH;
+        int effectiveHeight = swapped ? CAPTURE_WIDTH : CAPTURE_HEIGHT;
+        float scale = Math.max((float) OVERLAY_WIDTH / effectiveWidth, (float) OVERLAY_HEIGHT / effectiveHeight);
+        float offsetX = (OVERLAY_WIDTH - effectiveWidth * scale) / 2f;
+        float offsetY = (OVERLAY_HEIGHT - effectiveHeight * scale) / 2f;
+        return new Rect(
+                (int) (effective.left * scale + offsetX),
+                (int) (effective.top * scale + offsetY),
+                (int) (effective.right * scale + offsetX),
+                (int) (effective.bottom * scale + offsetY));
+    }
+
+    @Test
+    public void regionCoversTheCaptureBox() {
+        CoordinateMapper coordinateMapper = mapper();
+        Random random = new Random(21);
+        Rect region = new Rect();
+        for (int rotationDegrees : ROTATIONS) {
+            boolean swapped = rotationDegrees == 90 || rotationDegrees == 270;
+            int effectiveWidth = swapped ? CAPTURE_HEIGHT : CAPTURE_WIDTH;
+            int effectiveHeight = swapped ? CAPTURE_WIDTH : CAPTURE_HEIGHT;
+            float scale = Math.max((float) OVERLAY_WIDTH / effectiveWidth, (float) OVERLAY_HEIGHT / effectiveHeight);
+            // One overlay pixel lost to truncation, plus rounding
+            int tolerance = (int) Math.ceil(1f / scale) + 1;
+
+            for (int i = 0; i < 200; i++) {
+                // Boxes in the part of the capture visible on the overlay
+                int left = CAPTURE_WIDTH / 4 + random.nextInt(CAPTURE_WIDTH / 3);
+                int top = CAPTURE_HEIGHT / 4 + random.nextInt(CAPTURE_HEIGHT / 3);
+                Rect box = new Rect(left, top, left + 100 + random.nextInt(400), top + 50 + random.nextInt(200));
+                Rect overlayRect = captureToOverlay(coordinateMapper, box, rotationDegrees);
+
+                assertTrue(coordinateMapper.mapOverlayToCaptureRegion(overlayRect, CAPTURE_WIDTH, CAPTURE_HEIGHT,
+                        rotationDegrees, 0f, region));
+                String message = "rotation " + rotationDegrees + ", box " + box + ", region " + region;
+                assertEquals(message, box.left, region.left, tolerance);
+                assertEquals(message, box.top, region.top, tolerance);
+                assertEquals(message, box.right, region.right, tolerance);
+                assertEquals(message, box.bottom, region.bottom, tolerance);
+            }
+        }
+    }
+
+    @Test
+    public void paddingGrowsTheRegionWithinTheCapture() {
+        CoordinateMapper coordinateMapper = mapper();
+        Rect region = new Rect();
+        Rect padded = new Rect();
+        for (int rotationDegrees : ROTATIONS) {
+            Rect overlayRect = new Rect(400, 1000, 600, 1100);
+            assertTrue(coordinateMapper.mapOverlayToCaptureRegion(overlayRect, CAPTURE_WIDTH, CAPTURE_HEIGHT,
+                    rotationDegrees, 0f, region));
+            assertTrue(coordinateMapper.mapOverlayToCaptureRegion(overlayRect, CAPTURE_WIDTH, CAPTURE_HEIGHT,
+                    rotationDegrees, 0.25f, padded));
+            assertTrue(padded.contains(region));
+            assertTrue(padded.width() * padded.height() > region.width() * region.height());
+
+            // Clamped to the capture at the overlay edge
+            Rect edgeRect = new Rect(0, 0, 200, 100);
+            assertTrue(coordinateMapper.mapOverlayToCaptureRegion(edgeRect, CAPTURE_WIDTH, CAPTURE_HEIGHT,
+                    rotationDegrees, 0.5f, padded));
+            assertTrue(new Rect(0, 0, CAPTURE_WIDTH, CAPTURE_HEIGHT).contains(padded));
+        }
+    }
+
+    @Test
+    public void emptyWithoutOverlayDimensions() {
+        CoordinateMapper coordinateMapper = new CoordinateMapper();
+        Rect region = new Rect();
+        assertFalse(coordinateMapper.mapOverlayToCaptureRegion(new Rect(0, 0, 10, 10), CAPTURE_WIDTH,
+                CAPTURE_HEIGHT, 90, 0f, region));
+    }
+}
@@ -0,0 +1,204 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.helpers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import android.graphics.Color;
+import android.graphics.Rect;
+import android.os.Debug;
+import android.view.Surface;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.zebra.ai.vision.entity.BarcodeEntity;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks that the per-frame processing, and the hand-off of its result to the overlay,
+ * allocate nothing once warmed up. The entities are mocks, whose calls allocate, so they are
+ * read once by ingest() outside the counted frames.
+ */
+@RunWith(AndroidJUnit4.class)
+public class DetectionResultProcessorAllocationTest {
+
+    private static final int BARCODE_COUNT = 60;
+    private static final int WARM_UP_FRAMES = 20;
+    private static final int COUNTED_FRAMES = 200;
+
+    private static final int SENSOR_WIDTH = 1920;
+    private static final int SENSOR_HEIGHT = 1080;
+    private static final int OVERLAY_WIDTH = 1080;
+    private static final int OVERLAY_HEIGHT = 2340;
+
+    private final CoordinateMapper coordinateMapper = new CoordinateMapper();
+    private final DebounceManager debounceManager = new DebounceManager();
+    private final DetectionResultProcessor processor = new DetectionResultProcessor(coordinateMapper, debounceManager);
+    private final IntRect cropRegion = new IntRect(240, 0, 1680, 1080);
+    private final Rect drawnBox = new Rect();
+    private int drawnFrames;
+    // Draws on the calling thread, as the UI thread would
+    private final OverlayFrameHandOff handOff = new OverlayFrameHandOff(Runnable::run, this::drawPendingFrame);
+    private boolean handOffEnabled;
+
+    @Before
+    public void setUp() {
+        coordinateMapper.setImageDimensions(SENSOR_HEIGHT, SENSOR_WIDTH);
+        coordinateMapper.setRawSensorDimensions(SENSOR_WIDTH, SENSOR_HEIGHT);
+        coordinateMapper.setInitialRotation(Surface.ROTATION_0);
+    }
+
+    /**
+     * Stub entities on a grid, every fifth one without value.
+     */
+    private static List<BarcodeEntity> entities(int count) {
+        List<BarcodeEntity> entities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BarcodeEntity entity = mock(BarcodeEntity.class, withSettings().stubOnly());
+            int left = (i % 10) * 100;
+            int top = (i / 10) * 150;
+            when(entity.getBoundingBox()).thenReturn(new Rect(left, top, left + 80, top + 60));
+            when(entity.getValue()).thenReturn(i % 5 == 0 ? "" : "BARCODE-" + i);
+            when(entity.getSymbology()).thenReturn(1);
+            entities.add(entity);
+        }
+        return entities;
+    }
+
+    private void processIngestedFrame(IntRect frameCropRegion, boolean cropUpright) {
+        DetectionResultProcessor.FrameResult frame = processor.processIngested(frameCropRegion, 1, cropUpright, 90,
+                OVERLAY_WIDTH, OVERLAY_HEIGHT, Surface.ROTATION_0);
+        if (handOffEnabled) {
+            // As onDetectionResult: kept for the capture, then handed over to the overlay
+            handOff.keepLatest(frame);
+            handOff.post(frame);
+        } else {
+            frame.release();
+        }
+    }
+
+    /**
+     * Reads the pending frame like the overlay update does.
+     */
+    private void drawPendingFrame() {
+        DetectionResultProcessor.FrameResult frame = handOff.takePending();
+        if (frame == null) {
+            return;
+        }
+        for (int i = 0; i < frame.size(); i++) {
+            frame.getRect(i, drawnBox);
+            frame.getColor(i);
+            frame.getDecodedString(i);
+        }
+        drawnFrames++;
+        frame.release();
+    }
+
+    /**
+     * Processes warm-up frames, then counts the allocations of the following ones.
+     */
+    private int countAllocations(IntRect frameCropRegion, boolean cropUpright) {
+        for (int i = 0; i < WARM_UP_FRAMES; i++) {
+            processIngestedFrame(frameCropRegion, cropUpright);
+        }
+        Debug.resetThreadAllocCount();
+        Debug.startAllocCounting();
+        try {
+            for (int i = 0; i < COUNTED_FRAMES; i++) {
+                processIngestedFrame(frameCropRegion, cropUpright);
+            }
+        } finally {
+            Debug.stopAllocCounting();
+        }
+        return Debug.getThreadAllocCount();
+    }
+
+    @Test
+    public void fullFrameWithoutDebounceAllocatesNothing() {
+        processor.ingest(entities(BARCODE_COUNT));
+        assertEquals(0, countAllocations(null, false));
+    }
+
+    @Test
+    public void centerDistanceDebounceAllocatesNothing() {
+        debounceManager.updateSettings(true, 10, 50, DebounceManager.ALGORITHM_CENTER_DISTANCE, 0.3f);
+        processor.ingest(entities(BARCODE_COUNT));
+        assertEquals(0, countAllocations(cropRegion, false));
+    }
+
+    @Test
+    public void iouDebounceWithMotionPredictionAllocatesNothing() {
+        debounceManager.updateSettings(true, 10, 50, DebounceManager.ALGORITHM_IOU, 0.3f);
+        debounceManager.setMotionPredictionEnabled(true);
+        processor.ingest(entities(BARCODE_COUNT));
+        assertEquals(0, countAllocations(cropRegion, true));
+    }
+
+    @Test
+    public void emptyResultFromCacheAllocatesNothing() {
+        debounceManager.updateSettings(true, Integer.MAX_VALUE, 50, DebounceManager.ALGORITHM_CENTER_DISTANCE, 0.3f);
+        processor.ingest(entities(BARCODE_COUNT));
+        processIngestedFrame(null, false);
+        processor.ingest(null);
+        assertEquals(0, countAllocations(null, false));
+    }
+
+    @Test
+    public void handOffToOverlayAllocatesNothing() {
+        debounceManager.updateSettings(true, 10, 50, DebounceManager.ALGORITHM_IOU, 0.3f);
+        handOffEnabled = true;
+        processor.ingest(entities(BARCODE_COUNT));
+        assertEquals(0, countAllocations(cropRegion, false));
+        assertEquals(WARM_UP_FRAMES + COUNTED_FRAMES, drawnFrames);
+
+        List<BarcodeEntity> captured = new ArrayList<>();
+        handOff.copyLatestFilteredEntities(captured);
+        assertEquals(BARCODE_COUNT - BARCODE_COUNT / 5, captured.size());
+    }
+
+    @Test
+    public void boxesAreMappedToOverlayWithColors() {
+        debounceManager.updateSettings(true, 10, 50, DebounceManager.ALGORITHM_CENTER_DISTANCE, 0.3f);
+        List<BarcodeEntity> entities = entities(BARCODE_COUNT);
+        DetectionResultProcessor.FrameResult frame = processor.process(entities, null, 90,
+                OVERLAY_WIDTH, OVERLAY_HEIGHT, Surface.ROTATION_0);
+
+        assertEquals(BARCODE_COUNT, frame.size());
+        assertEquals(BARCODE_COUNT - BARCODE_COUNT / 5, frame.filteredEntities.size());
+        Rect box = new Rect();
+        for (int i = 0; i < BARCODE_COUNT; i++) {
+            Rect expected = coordinateMapper.mapBoundingBoxToOverlay(entities.get(i).getBoundingBox(), Surface.ROTATION_0);
+            assertEquals(expected, frame.getRect(i, box));
+            assertEquals(i % 5 == 0 ? Color.RED : Color.GREEN, frame.getColor(i));
+            assertEquals(entities.get(i).getValue(), frame.getDecodedString(i));
+        }
+        frame.release();
+    }
+
+    @Test
+    public void retainedFramesAreNotReused() {
+        processor.ingest(entities(BARCODE_COUNT));
+        DetectionResultProcessor.FrameResult held = processor.processIngested(null, 1, false, 90,
+                OVERLAY_WIDTH, OVERLAY_HEIGHT, Surface.ROTATION_0);
+        Rect heldBox = held.getRect(1, new Rect());
+
+        processor.ingest(entities(1));
+        DetectionResultProcessor.FrameResult next = processor.processIngested(null, 1, false, 90,
+                OVERLAY_WIDTH, OVERLAY_HEIGHT, Surface.ROTATION_0);
+
+        assertNotSame(held, next);
+        assertEquals(BARCODE_COUNT, held.size());
+        assertEquals(heldBox, held.getRect(1, new Rect()));
+        next.release();
+        held.release();
+    }
+}
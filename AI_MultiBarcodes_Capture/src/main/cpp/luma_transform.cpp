@@ -0,0 +1,346 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+#include "luma_transform.h"
+
+#include <cstring>
+#include <vector>
+
+#if (defined(__ARM_NEON) || defined(__ARM_NEON__)) && !defined(YUVPROCESSOR_DISABLE_NEON)
+#include <arm_neon.h>
+#define YUVPROCESSOR_HAS_NEON 1
+#else
+#define YUVPROCESSOR_HAS_NEON 0
+#endif
+
+namespace yuvprocessor {
+
+namespace {
+
+// Rows rotated together: one 8x8 block transpose per 8 columns
+constexpr int BAND_ROWS = 8;
+
+/**
+ * Band buffer holding up to BAND_ROWS downscaled rows.
+ * Kept per thread and reused, so steady-state frames do not allocate.
+ */
+uint8_t *bandBuffer(size_t size) {
+    thread_local std::vector<uint8_t> buffer;
+    if (buffer.size() < size) {
+        buffer.resize(size);
+    }
+    return buffer.data();
+}
+
+// ---------------------------------------------------------------------------------------------
+// Portable kernels
+// ---------------------------------------------------------------------------------------------
+
+struct PortableKernels {
+
+    /**
+     * Computes one output row from `scale` source rows.
+     */
+    static void downscaleRow(const uint8_t *srcRow, int srcStride, int scale, int outWidth, uint8_t *out) {
+        if (scale == 1) {
+            memcpy(out, srcRow, static_cast<size_t>(outWidth));
+            return;
+        }
+        const int shift = scale == 2 ? 2 : 4;
+        const uint32_t rounding = 1u << (shift - 1);
+        for (int x = 0; x < outWidth; x++) {
+            const uint8_t *block = srcRow + x * scale;
+            uint32_t sum = 0;
+            for (int dy = 0; dy < scale; dy++) {
+                const uint8_t *row = block + dy * srcStride;
+                for (int dx = 0; dx < scale; dx++) {
+                    sum += row[dx];
+                }
+            }
+            out[x] = static_cast<uint8_t>((sum + rounding) >> shift);
+        }
+    }
+
+    static void reverseRow(const uint8_t *in, int width, uint8_t *out) {
+        for (int x = 0; x < width; x++) {
+            out[width - 1 - x] = in[x];
+        }
+    }
+
+    /**
+     * Writes the rows [0, rowCount) of a band starting at output row bandTop into the rotated output.
+     */
+    static void rotateBand(const uint8_t *const *rows, int rowCount, int bandTop, int width, int height,
+                           bool clockwise, uint8_t *dst, int dstStride) {
+        for (int i = 0; i < rowCount; i++) {
+            const uint8_t *row = rows[i];
+            const int y = bandTop + i;
+            if (clockwise) {
+                // 90: (x, y) -> (height - 1 - y, x)
+                uint8_t *column = dst + (height - 1 - y);
+                for (int x = 0; x < width; x++) {
+                    column[x * dstStride] = row[x];
+                }
+            } else {
+                // 270: (x, y) -> (y, width - 1 - x)
+                uint8_t *column = dst + y + (width - 1) * dstStride;
+                for (int x = 0; x < width; x++) {
+                    column[-x * dstStride] = row[x];
+                }
+            }
+        }
+    }
+};
+
+// ---------------------------------------------------------------------------------------------
+// NEON kernels
+// ---------------------------------------------------------------------------------------------
+
+#if YUVPROCESSOR_HAS_NEON
+
+struct NeonKernels {
+
+    static void downscaleRow(const uint8_t *srcRow, int srcStride, int scale, int outWidth, uint8_t *out) {
+        if (scale == 1) {
+            memcpy(out, srcRow, static_cast<size_t>(outWidth));
+            return;
+        }
+        int x = 0;
+        if (scale == 2) {
+            const uint8_t *row0 = srcRow;
+            const uint8_t *row1 = srcRow + srcStride;
+            // 16 source columns -> 8 outputs: pairwise add along the row, accumulate the second row
+            for (; x + 8 <= outWidth; x += 8) {
+                uint16x8_t sum = vpaddlq_u8(vld1q_u8(row0 + 2 * x));
+                sum = vpadalq_u8(sum, vld1q_u8(row1 + 2 * x));
+                vst1_u8(out + x, vrshrn_n_u16(sum, 2));
+            }
+        } else {
+            const uint8_t *row0 = srcRow;
+            const uint8_t *row1 = srcRow + srcStride;
+            const uint8_t *row2 = srcRow + 2 * srcStride;
+            const uint8_t *row3 = srcRow + 3 * srcStride;
+            // 32 source columns -> 8 outputs: pair sums over the 4 rows, then pairs of pairs
+            for (; x + 8 <= outWidth; x += 8) {
+                const int offset = 4 * x;
+                uint16x8_t low = vpaddlq_u8(vld1q_u8(row0 + offset));
+                uint16x8_t high = vpaddlq_u8(vld1q_u8(row0 + offset + 16));
+                low = vpadalq_u8(low, vld1q_u8(row1 + offset));
+                high = vpadalq_u8(high, vld1q_u8(row1 + offset + 16));
+                low = vpadalq_u8(low, vld1q_u8(row2 + offset));
+                high = vpadalq_u8(high, vld1q_u8(row2 + offset + 16));
+                low = vpadalq_u8(low, vld1q_u8(row3 + offset));
+                high = vpadalq_u8(high, vld1q_u8(row3 + offset + 16));
+                const uint16x4_t quadsLow = vpadd_u16(vget_low_u16(low), vget_high_u16(low));
+                const uint16x4_t quadsHigh = vpadd_u16(vget_low_u16(high), vget_high_u16(high));
+                vst1_u8(out + x, vrshrn_n_u16(vcombine_u16(quadsLow, quadsHigh), 4));
+            }
+        }
+        // Remaining columns
+        if (x < outWidth) {
+            PortableKernels::downscaleRow(srcRow + x * scale, srcStride, scale, outWidth - x, out + x);
+        }
+    }
+
+    static void reverseRow(const uint8_t *in, int width, uint8_t *out) {
+        int x = 0;
+        for (; x + 16 <= width; x += 16) {
+            uint8x16_t v = vrev64q_u8(vld1q_u8(in + x));
+            v = vcombine_u8(vget_high_u8(v), vget_low_u8(v));
+            vst1q_u8(out + width - 16 - x, v);
+        }
+        for (; x < width; x++) {
+            out[width - 1 - x] = in[x];
+        }
+    }
+
+    /**
+     * Transposes an 8x8 block: out[j] receives column j of the rows r[0..7].
+     */
+    static inline void transpose8x8(const uint8x8_t r[8], uint8x8_t out[8]) {
+        const uint8x8x2_t t01 = vtrn_u8(r[0], r[1]);
+        const uint8x8x2_t t23 = vtrn_u8(r[2], r[3]);
+        const uint8x8x2_t t45 = vtrn_u8(r[4], r[5]);
+        const uint8x8x2_t t67 = vtrn_u8(r[6], r[7]);
+
+        const uint16x4x2_t u02 = vtrn_u16(vreinterpret_u16_u8(t01.val[0]), vreinterpret_u16_u8(t23.val[0]));
+        const uint16x4x2_t u13 = vtrn_u16(vreinterpret_u16_u8(t01.val[1]), vreinterpret_u16_u8(t23.val[1]));
+        const uint16x4x2_t u46 = vtrn_u16(vreinterpret_u16_u8(t45.val[0]), vreinterpret_u16_u8(t67.val[0]));
+        const uint16x4x2_t u57 = vtrn_u16(vreinterpret_u16_u8(t45.val[1]), vreinterpret_u16_u8(t67.val[1]));
+
+        const uint32x2x2_t v04 = vtrn_u32(vreinterpret_u32_u16(u02.val[0]), vreinterpret_u32_u16(u46.val[0]));
+        const uint32x2x2_t v15 = vtrn_u32(vreinterpret_u32_u16(u13.val[0]), vreinterpret_u32_u16(u57.val[0]));
+        const uint32x2x2_t v26 = vtrn_u32(vreinterpret_u32_u16(u02.val[1]), vreinterpret_u32_u16(u46.val[1]));
+        const uint32x2x2_t v37 = vtrn_u32(vreinterpret_u32_u16(u13.val[1]), vreinterpret_u32_u16(u57.val[1]));
+
+        out[0] = vreinterpret_u8_u32(v04.val[0]);
+        out[1] = vreinterpret_u8_u32(v15.val[0]);
+        out[2] = vreinterpret_u8_u32(v26.val[0]);
+        out[3] = vreinterpret_u8_u32(v37.val[0]);
+        out[4] = vreinterpret_u8_u32(v04.val[1]);
+        out[5] = vreinterpret_u8_u32(v15.val[1]);
+        out[6] = vreinterpret_u8_u32(v26.val[1]);
+        out[7] = vreinterpret_u8_u32(v37.val[1]);
+    }
+
+    static void rotateBand(const uint8_t *const *rows, int rowCount, int bandTop, int width, int height,
+                           bool clockwise, uint8_t *dst, int dstStride) {
+        if (rowCount != BAND_ROWS) {
+            PortableKernels::rotateBand(rows, rowCount, bandTop, width, height, clockwise, dst, dstStride);
+            return;
+        }
+        uint8x8_t in[BAND_ROWS];
+        uint8x8_t columns[BAND_ROWS];
+        int x = 0;
+        for (; x + 8 <= width; x += 8) {
+            if (clockwise) {
+                // Bottom row first, so each transposed column is already in output order
+                for (int i = 0; i < BAND_ROWS; i++) {
+                    in[i] = vld1_u8(rows[BAND_ROWS - 1 - i] + x);
+                }
+                transpose8x8(in, columns);
+                uint8_t *out = dst + x * dstStride + (height - bandTop - BAND_ROWS);
+                for (int j = 0; j < BAND_ROWS; j++) {
+                    vst1_u8(out + j * dstStride, columns[j]);
+                }
+            } else {
+                for (int i = 0; i < BAND_ROWS; i++) {
+                    in[i] = vld1_u8(rows[i] + x);
+                }
+                transpose8x8(in, columns);
+                uint8_t *out = dst + (width - 1 - x) * dstStride + bandTop;
+                for (int j = 0; j < BAND_ROWS; j++) {
+                    vst1_u8(out - j * dstStride, columns[j]);
+                }
+            }
+        }
+        // Remaining columns
+        if (x < width) {
+            const uint8_t *tails[BAND_ROWS];
+            for (int i = 0; i < BAND_ROWS; i++) {
+                tails[i] = rows[i] + x;
+            }
+            if (clockwise) {
+                PortableKernels::rotateBand(tails, BAND_ROWS, bandTop, width - x, height, true,
+                                            dst + x * dstStride, dstStride);
+            } else {
+                PortableKernels::rotateBand(tails, BAND_ROWS, bandTop, width - x, height, false,
+                                            dst, dstStride);
+            }
+        }
+    }
+};
+
+#endif // YUVPROCESSOR_HAS_NEON
+
+// ---------------------------------------------------------------------------------------------
+// Driver shared by both implementations
+// ---------------------------------------------------------------------------------------------
+
+bool isSupported(const uint8_t *src, int srcStride, int cropLeft, int cropTop, int cropWidth, int cropHeight,
+                 int scale, int rotationDegrees, const uint8_t *dst, int dstStride) {
+    if (src == nullptr || dst == nullptr || cropLeft < 0 || cropTop < 0) {
+        return false;
+    }
+    if (scale != 1 && scale != 2 && scale != 4) {
+        return false;
+    }
+    if (rotationDegrees != 0 && rotationDegrees != 90 && rotationDegrees != 180 && rotationDegrees != 270) {
+        return false;
+    }
+    if (cropWidth < scale || cropHeight < scale || srcStride < cropLeft + cropWidth) {
+        return false;
+    }
+    int outWidth;
+    int outHeight;
+    lumaTransformOutputSize(cropWidth, cropHeight, scale, rotationDegrees, &outWidth, &outHeight);
+    return dstStride >= outWidth;
+}
+
+template<typename Kernels>
+void transform(const uint8_t *src, int srcStride, int cropLeft, int cropTop, int cropWidth, int cropHeight,
+               int scale, int rotationDegrees, uint8_t *dst, int dstStride) {
+    const uint8_t *crop = src + cropTop * srcStride + cropLeft;
+    // Size after downscaling, before rotation
+    const int width = cropWidth / scale;
+    const int height = cropHeight / scale;
+    const int rowStep = scale * srcStride;
+
+    if (rotationDegrees == 0) {
+        for (int y = 0; y < height; y++) {
+            Kernels::downscaleRow(crop + y * rowStep, srcStride, scale, width, dst + y * dstStride);
+        }
+        return;
+    }
+
+    if (rotationDegrees == 180) {
+        uint8_t *scratch = scale == 1 ? nullptr : bandBuffer(static_cast<size_t>(width));
+        for (int y = 0; y < height; y++) {
+            const uint8_t *row = crop + y * rowStep;
+            if (scratch != nullptr) {
+                Kernels::downscaleRow(row, srcStride, scale, width, scratch);
+                row = scratch;
+            }
+            Kernels::reverseRow(row, width, dst + (height - 1 - y) * dstStride);
+        }
+        return;
+    }
+
+    // 90 and 270: rotate bands of BAND_ROWS downscaled rows, read once from the source
+    const bool clockwise = rotationDegrees == 90;
+    uint8_t *band = scale == 1 ? nullptr : bandBuffer(static_cast<size_t>(width) * BAND_ROWS);
+    const uint8_t *rows[BAND_ROWS];
+    for (int bandTop = 0; bandTop < height; bandTop += BAND_ROWS) {
+        const int rowCount = height - bandTop < BAND_ROWS ? height - bandTop : BAND_ROWS;
+        for (int i = 0; i < rowCount; i++) {
+            const uint8_t *row = crop + (bandTop + i) * rowStep;
+            if (band != nullptr) {
+                uint8_t *bandRow = band + i * width;
+                Kernels::downscaleRow(row, srcStride, scale, width, bandRow);
+                row = bandRow;
+            }
+            rows[i] = row;
+        }
+        Kernels::rotateBand(rows, rowCount, bandTop, width, height, clockwise, dst, dstStride);
+    }
+}
+
+} // namespace
+
+void lumaTransformOutputSize(int cropWidth, int cropHeight, int scale, int rotationDegrees,
+                             int *outWidth, int *outHeight) {
+    const int width = scale > 0 ? cropWidth / scale : 0;
+    const int height = scale > 0 ? cropHeight / scale : 0;
+    const bool swap = rotationDegrees == 90 || rotationDegrees == 270;
+    *outWidth = swap ? height : width;
+    *outHeight = swap ? width : height;
+}
+
+bool cropLumaTransformPortable(const uint8_t *src, int srcStride,
+                               int cropLeft, int cropTop, int cropWidth, int cropHeight,
+                               int scale, int rotationDegrees,
+                               uint8_t *dst, int dstStride) {
+    if (!isSupported(src, srcStride, cropLeft, cropTop, cropWidth, cropHeight, scale, rotationDegrees, dst, dstStride)) {
+        return false;
+    }
+    transform<PortableKernels>(src, srcStride, cropLeft, cropTop, cropWidth, cropHeight,
+                               scale, rotationDegrees, dst, dstStride);
+    return true;
+}
+
+bool cropLumaTransform(const uint8_t *src, int srcStride,
+                       int cropLeft, int cropTop, int cropWidth, int cropHeight,
+                       int scale, int rotationDegrees,
+                       uint8_t *dst, int dstStride) {
+#if YUVPROCESSOR_HAS_NEON
+    if (!isSupported(src, srcStride, cropLeft, cropTop, cropWidth, cropHeight, scale, rotationDegrees, dst, dstStride)) {
+        return false;
+    }
+    transform<NeonKernels>(src, srcStride, cropLeft, cropTop, cropWidth, cropHeight,
+                           scale, rotationDegrees, dst, dstStride);
+    return true;
+#else
+    return cropLumaTransformPortable(src, srcStride, cropLeft, cropTop, cropWidth, cropHeight,
+                                     scale, rotationDegrees, dst, dstStride);
+#endif
+}
+
+} // namespace yuvprocessor
@@ -0,0 +1,55 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+#ifndef YUVPROCESSOR_LUMA_TRANSFORM_H
+#define YUVPROCESSOR_LUMA_TRANSFORM_H
+
+#include <cstdint>
+
+namespace yuvprocessor {
+
+/**
+ * Output size of cropLumaTransform for a crop of cropWidth x cropHeight.
+ * The downscaled size is truncated (at most scale - 1 source pixels are dropped on each axis),
+ * and width and height are swapped for 90 and 270 degree rotations.
+ */
+void lumaTransformOutputSize(int cropWidth, int cropHeight, int scale, int rotationDegrees,
+                             int *outWidth, int *outHeight);
+
+/**
+ * Crops a luma plane, box-downscales it and rotates it clockwise in a single pass.
+ *
+ * Each output pixel is the rounded mean of a scale x scale block of the crop:
+ * (sum + scale * scale / 2) / (scale * scale). The rotation follows the ImageProxy convention,
+ * so a frame rotated by its getRotationDegrees() comes out upright.
+ *
+ * Uses NEON on ARM and a portable implementation elsewhere; both produce the same bytes.
+ * No allocation is made besides a per-thread band buffer reused across calls (90/270 only).
+ *
+ * @param src            Luma plane
+ * @param srcStride      Row stride of the luma plane in bytes
+ * @param cropLeft       Left coordinate of the crop region
+ * @param cropTop        Top coordinate of the crop region
+ * @param cropWidth      Width of the crop region
+ * @param cropHeight     Height of the crop region
+ * @param scale          Downscale factor: 1, 2 or 4
+ * @param rotationDegrees Clockwise rotation: 0, 90, 180 or 270
+ * @param dst            Output plane, of lumaTransformOutputSize
+ * @param dstStride      Row stride of the output plane in bytes
+ * @return false if the scale, rotation or size is not supported
+ */
+bool cropLumaTransform(const uint8_t *src, int srcStride,
+                       int cropLeft, int cropTop, int cropWidth, int cropHeight,
+                       int scale, int rotationDegrees,
+                       uint8_t *dst, int dstStride);
+
+/**
+ * Portable implementation of cropLumaTransform, also available on ARM so the SIMD
+ * kernels can be checked and benchmarked against it.
+ */
+bool cropLumaTransformPortable(const uint8_t *src, int srcStride,
+                               int cropLeft, int cropTop, int cropWidth, int cropHeight,
+                               int scale, int rotationDegrees,
+                               uint8_t *dst, int dstStride);
+
+} // namespace yuvprocessor
+
+#endif // YUVPROCESSOR_LUMA_TRANSFORM_H
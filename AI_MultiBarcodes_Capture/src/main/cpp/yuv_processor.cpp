@@ -4,6 +4,10 @@
 #include <android/log.h>
 #include <cstdint>
 #include <algorithm>
+#include <cstdlib>
+#include <cstring>
+
+#include "luma_transform.h"
 
 #define LOG_TAG "YuvProcessor"
 #define LOGE(...) __android_log_print(ANDROID_LOG_ERROR, LOG_TAG, __VA_ARGS__)
@@ -260,4 +264,238 @@ Java_com_zebra_ai_1multibarcodes_1capture_barcodedecoder_NativeYuvProcessor_crop
     return JNI_TRUE;
 }
 
+/**
+ * Luminance-only cropping.
+ * Copies the Y plane rows straight into an ALPHA_8 bitmap: one byte per pixel end to end.
+ * Compared to cropYToGrayscaleBitmapNative this avoids the 4x expansion to ARGB,
+ * so each row is a single memcpy and the output is a quarter of the size.
+ */
+JNIEXPORT jboolean JNICALL
+Java_com_zebra_ai_1multibarcodes_1capture_barcodedecoder_NativeYuvProcessor_cropYToLuminanceBitmapNative(
+        JNIEnv *env,
+        jclass clazz,
+        jobject yBuffer,
+        jint yRowStride,
+        jint cropLeft,
+        jint cropTop,
+        jint cropWidth,
+        jint cropHeight,
+        jobject bitmap) {
+
+    // Get direct buffer pointer for Y plane only
+    auto *yData = static_cast<uint8_t *>(env->GetDirectBufferAddress(yBuffer));
+
+    if (yData == nullptr) {
+        LOGE("Failed to get Y buffer address");
+        return JNI_FALSE;
+    }
+
+    AndroidBitmapInfo bitmapInfo;
+    if (AndroidBitmap_getInfo(env, bitmap, &bitmapInfo) != ANDROID_BITMAP_RESULT_SUCCESS) {
+        LOGE("Failed to get bitmap info");
+        return JNI_FALSE;
+    }
+
+    if (bitmapInfo.format != ANDROID_BITMAP_FORMAT_A_8) {
+        LOGE("Bitmap format is not A_8");
+        return JNI_FALSE;
+    }
+
+    if (bitmapInfo.width < static_cast<uint32_t>(cropWidth) || bitmapInfo.height < static_cast<uint32_t>(cropHeight)) {
+        LOGE("Bitmap is smaller than crop region");
+        return JNI_FALSE;
+    }
+
+    void *bitmapPixels;
+    if (AndroidBitmap_lockPixels(env, bitmap, &bitmapPixels) != ANDROID_BITMAP_RESULT_SUCCESS) {
+        LOGE("Failed to lock bitmap pixels");
+        return JNI_FALSE;
+    }
+
+    auto *outPixels = static_cast<uint8_t *>(bitmapPixels);
+
+    // One row copy per line - the Y plane is already the grayscale image
+    for (int row = 0; row < cropHeight; row++) {
+        const uint8_t *yRowPtr = yData + (cropTop + row) * yRowStride + cropLeft;
+        memcpy(outPixels + row * bitmapInfo.stride, yRowPtr, static_cast<size_t>(cropWidth));
+    }
+
+    AndroidBitmap_unlockPixels(env, bitmap);
+
+    return JNI_TRUE;
+}
+
+/**
+ * Luminance cropping with an optional box downscale and clockwise rotation, in one pass.
+ * Writes the Y plane of the crop into an ALPHA_8 bitmap, averaging downscale x downscale
+ * blocks and rotating by rotationDegrees, so the decoder receives an upright frame at the size
+ * it actually needs. See luma_transform.h for the exact output definition.
+ */
+JNIEXPORT jboolean JNICALL
+Java_com_zebra_ai_1multibarcodes_1capture_barcodedecoder_NativeYuvProcessor_cropYToLuminanceTransformedNative(
+        JNIEnv *env,
+        jclass clazz,
+        jobject yBuffer,
+        jint yRowStride,
+        jint cropLeft,
+        jint cropTop,
+        jint cropWidth,
+        jint cropHeight,
+        jint downscale,
+        jint rotationDegrees,
+        jobject bitmap) {
+
+    auto *yData = static_cast<uint8_t *>(env->GetDirectBufferAddress(yBuffer));
+
+    if (yData == nullptr) {
+        LOGE("Failed to get Y buffer address");
+        return JNI_FALSE;
+    }
+
+    // The last row of the crop may be shorter than the row stride
+    const jlong yCapacity = env->GetDirectBufferCapacity(yBuffer);
+    if (yCapacity < static_cast<jlong>(cropTop + cropHeight - 1) * yRowStride + cropLeft + cropWidth) {
+        LOGE("Crop region exceeds the Y buffer");
+        return JNI_FALSE;
+    }
+
+    int outWidth;
+    int outHeight;
+    yuvprocessor::lumaTransformOutputSize(cropWidth, cropHeight, downscale, rotationDegrees, &outWidth, &outHeight);
+
+    AndroidBitmapInfo bitmapInfo;
+    if (AndroidBitmap_getInfo(env, bitmap, &bitmapInfo) != ANDROID_BITMAP_RESULT_SUCCESS) {
+        LOGE("Failed to get bitmap info");
+        return JNI_FALSE;
+    }
+
+    if (bitmapInfo.format != ANDROID_BITMAP_FORMAT_A_8) {
+        LOGE("Bitmap format is not A_8");
+        return JNI_FALSE;
+    }
+
+    if (bitmapInfo.width < static_cast<uint32_t>(outWidth) || bitmapInfo.height < static_cast<uint32_t>(outHeight)) {
+        LOGE("Bitmap is smaller than the transformed crop (%dx%d)", outWidth, outHeight);
+        return JNI_FALSE;
+    }
+
+    void *bitmapPixels;
+    if (AndroidBitmap_lockPixels(env, bitmap, &bitmapPixels) != ANDROID_BITMAP_RESULT_SUCCESS) {
+        LOGE("Failed to lock bitmap pixels");
+        return JNI_FALSE;
+    }
+
+    const bool success = yuvprocessor::cropLumaTransform(
+            yData, yRowStride, cropLeft, cropTop, cropWidth, cropHeight,
+            downscale, rotationDegrees,
+            static_cast<uint8_t *>(bitmapPixels), static_cast<int>(bitmapInfo.stride));
+
+    AndroidBitmap_unlockPixels(env, bitmap);
+
+    if (!success) {
+        LOGE("Unsupported luminance transform: downscale %d, rotation %d", downscale, rotationDegrees);
+        return JNI_FALSE;
+    }
+    return JNI_TRUE;
+}
+
+/**
+ * Downsampled luma change detector used for motion-gated inference.
+ * Splits the region into gridCols x gridRows cells, computes the mean luma of each cell
+ * (sampling every other pixel of every other row) into 'current', and counts the cells
+ * whose mean differs from 'reference' by more than cellThreshold.
+ *
+ * @return The number of changed cells, or -1 on error
+ */
+JNIEXPORT jint JNICALL
+Java_com_zebra_ai_1multibarcodes_1capture_barcodedecoder_NativeYuvProcessor_computeLumaChangedCellsNative(
+        JNIEnv *env,
+        jclass clazz,
+        jobject yBuffer,
+        jint yRowStride,
+        jint regionLeft,
+        jint regionTop,
+        jint regionWidth,
+        jint regionHeight,
+        jint gridCols,
+        jint gridRows,
+        jbyteArray reference,
+        jbyteArray current,
+        jint cellThreshold) {
+
+    constexpr int MAX_GRID = 64;
+    constexpr int SAMPLE_STEP = 2;
+
+    if (gridCols <= 0 || gridRows <= 0 || gridCols > MAX_GRID || gridRows > MAX_GRID
+            || regionWidth < gridCols * SAMPLE_STEP || regionHeight < gridRows * SAMPLE_STEP) {
+        LOGE("Invalid luma grid %dx%d for region %dx%d", gridCols, gridRows, regionWidth, regionHeight);
+        return -1;
+    }
+
+    auto *yData = static_cast<uint8_t *>(env->GetDirectBufferAddress(yBuffer));
+    if (yData == nullptr) {
+        LOGE("Failed to get Y buffer address");
+        return -1;
+    }
+
+    const int cellCount = gridCols * gridRows;
+    if (env->GetArrayLength(reference) < cellCount || env->GetArrayLength(current) < cellCount) {
+        LOGE("Luma signature arrays too small");
+        return -1;
+    }
+
+    // Column boundaries are the same for every band of rows
+    int colStart[MAX_GRID + 1];
+    for (int c = 0; c <= gridCols; c++) {
+        colStart[c] = regionLeft + (regionWidth * c) / gridCols;
+    }
+
+    auto *ref = static_cast<uint8_t *>(env->GetPrimitiveArrayCritical(reference, nullptr));
+    auto *cur = static_cast<uint8_t *>(env->GetPrimitiveArrayCritical(current, nullptr));
+    if (ref == nullptr || cur == nullptr) {
+        if (cur != nullptr) env->ReleasePrimitiveArrayCritical(current, cur, JNI_ABORT);
+        if (ref != nullptr) env->ReleasePrimitiveArrayCritical(reference, ref, JNI_ABORT);
+        LOGE("Failed to access luma signature arrays");
+        return -1;
+    }
+
+    uint32_t sums[MAX_GRID];
+    int changed = 0;
+
+    for (int r = 0; r < gridRows; r++) {
+        const int y0 = regionTop + (regionHeight * r) / gridRows;
+        const int y1 = regionTop + (regionHeight * (r + 1)) / gridRows;
+        std::fill(sums, sums + gridCols, 0u);
+        int sampledRows = 0;
+
+        for (int y = y0; y < y1; y += SAMPLE_STEP) {
+            const uint8_t *rowPtr = yData + y * yRowStride;
+            for (int c = 0; c < gridCols; c++) {
+                uint32_t sum = 0;
+                for (int x = colStart[c]; x < colStart[c + 1]; x += SAMPLE_STEP) {
+                    sum += rowPtr[x];
+                }
+                sums[c] += sum;
+            }
+            sampledRows++;
+        }
+
+        for (int c = 0; c < gridCols; c++) {
+            const int sampledCols = (colStart[c + 1] - colStart[c] + SAMPLE_STEP - 1) / SAMPLE_STEP;
+            const uint32_t samples = static_cast<uint32_t>(sampledRows * sampledCols);
+            const int mean = samples > 0 ? static_cast<int>(sums[c] / samples) : 0;
+            const int index = r * gridCols + c;
+            if (std::abs(mean - static_cast<int>(ref[index])) > cellThreshold) {
+                changed++;
+            }
+            cur[index] = static_cast<uint8_t>(mean);
+        }
+    }
+
+    env->ReleasePrimitiveArrayCritical(current, cur, 0);
+    env->ReleasePrimitiveArrayCritical(reference, ref, JNI_ABORT);
+
+    return changed;
+}
+
 } // extern "C"
@@ -3,6 +3,7 @@ package com.zebra.ai_multibarcodes_capture;
 
 import android.content.Context;
 import android.graphics.Canvas;
+import android.graphics.Rect;
 import android.util.AttributeSet;
 import android.view.View;
 
@@ -25,6 +26,8 @@ import java.util.List;
  * - Use add() to add Graphic objects to be rendered.
  * - Use clear() to remove all graphics from the overlay.
  * - Override the Graphic.draw() method to define custom drawing behavior for each graphic.
+ * - Graphics updated in place call postInvalidate(Rect) with the area that changed, so the
+ *   overlay is only redrawn when something moved.
 
  * Dependencies:
  * - Android View: Provides the base functionality for custom views.
@@ -100,6 +103,15 @@ public class GraphicOverlay extends View {
         protected void postInvalidate() {
             overlay.postInvalidate();
         }
+
+        /**
+         * Invalidates the given area of the overlay, causing it to be redrawn.
+         *
+         * @param dirty The area that changed, in overlay coordinates.
+         */
+        protected void postInvalidate(Rect dirty) {
+            overlay.postInvalidate(dirty.left, dirty.top, dirty.right, dirty.bottom);
+        }
     }
 }
 
@@ -13,6 +13,7 @@ import android.widget.Toast;
 import com.zebra.criticalpermissionshelper.CriticalPermissionsHelper;
 import com.zebra.criticalpermissionshelper.EPermissionType;
 import com.zebra.criticalpermissionshelper.IResultCallbacks;
+import com.zebra.ai_multibarcodes_capture.barcodedecoder.BarcodeDecoderManager;
 import com.zebra.ai_multibarcodes_capture.helpers.Constants;
 import com.zebra.ai_multibarcodes_capture.helpers.LogUtils;
 import com.zebra.ai_multibarcodes_capture.managedconfig.ManagedConfigurationReceiver;
@@ -25,6 +26,9 @@ public class MainApplication extends Application {
 
     private ManagedConfigurationReceiver managedConfigReceiver;
 
+    // Decoder kept warm across activities, created on first use
+    private BarcodeDecoderManager barcodeDecoderManager;
+
     public interface iMainApplicationCallback
     {
         void onPermissionSuccess(String message);
@@ -57,6 +61,11 @@ public class MainApplication extends Application {
         // Apply managed configuration on startup
         ManagedConfigurationReceiver.applyManagedConfiguration(this);
 
+        // Load the decoder model in the background, so the camera screen opens on a warm decoder
+        if (isDecoderWarmPoolEnabled()) {
+            getBarcodeDecoderManager().preload();
+        }
+
         new Handler(Looper.getMainLooper()).postDelayed(new Runnable() {
             @Override
             public void run() {
@@ -187,6 +196,39 @@ public class MainApplication extends Application {
         }
     }
 
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        synchronized (this) {
+            if (barcodeDecoderManager != null) {
+                barcodeDecoderManager.onTrimMemory(level);
+            }
+        }
+    }
+
+    /**
+     * Returns the process-wide decoder manager, creating it on first use.
+     *
+     * @return The manager lending the decoder to the camera screens
+     */
+    public synchronized BarcodeDecoderManager getBarcodeDecoderManager() {
+        if (barcodeDecoderManager == null) {
+            barcodeDecoderManager = new BarcodeDecoderManager(this);
+        }
+        return barcodeDecoderManager;
+    }
+
+    /**
+     * @return Whether the decoder is kept warm across activities instead of created by each camera screen
+     */
+    public boolean isDecoderWarmPoolEnabled() {
+        SharedPreferences sharedPreferences = getSharedPreferences(getPackageName(), Context.MODE_PRIVATE);
+        return sharedPreferences.getBoolean(
+            Constants.SHARED_PREFERENCES_DECODER_WARM_POOL,
+            Constants.SHARED_PREFERENCES_DECODER_WARM_POOL_DEFAULT
+        );
+    }
+
     /**
      * Loads the logging enabled setting from SharedPreferences and applies it to LogUtils.
      * This ensures logging state is restored when the app starts.
@@ -0,0 +1,246 @@
+package com.zebra.ai_multibarcodes_capture.autocapture;
+
+import androidx.annotation.Nullable;
+
+import com.zebra.ai_multibarcodes_capture.autocapture.models.AutoCaptureCondition;
+import com.zebra.ai_multibarcodes_capture.autocapture.models.AutoCaptureConditionList;
+import com.zebra.ai_multibarcodes_capture.autocapture.models.EAutoCaptureConditionType;
+import com.zebra.ai_multibarcodes_capture.conditions.MultiPatternMatcher;
+import com.zebra.ai_multibarcodes_capture.conditions.ValueMemo;
+import com.zebra.ai_multibarcodes_capture.helpers.LogUtils;
+import com.zebra.ai.vision.entity.BarcodeEntity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.zebra.ai_multibarcodes_capture.helpers.Constants.TAG;
+
+/**
+ * Auto capture conditions compiled once into an evaluation plan, giving the same results as
+ * {@link AutoCaptureEvaluator}:
+ * - NUMBER_OF_BARCODES conditions are checked against the entity count before anything else.
+ * - CONTAINS_REGEX, SYMBOLOGY and COMPLEX conditions are counted together in a single pass
+ *   over the entities, reading the value and symbology of each entity once. The regexes are
+ *   combined into one MultiPatternMatcher, and a single scan of an entity's value, done the
+ *   first time a condition needs it, tells which of them match.
+ * - The pass stops as soon as every condition reached its count (capture), or as soon as a
+ *   condition can no longer reach it with the entities left (no capture).
+ *
+ * Optionally, the pattern matches of each value are memoized in a bounded ValueMemo, as the
+ * same barcodes come back in nearly every frame.
+ *
+ * The plan is immutable apart from its memo, so it can be shared and evaluated from any
+ * thread. Compile it again when the conditions change, which also discards the memo.
+ */
+public final class AutoCapturePlan {
+
+    private static final AutoCapturePlan NEVER = new AutoCapturePlan(false, new int[0], new int[0], new int[0],
+            new int[0], MultiPatternMatcher.compile(new ArrayList<>()), null);
+
+    // No pattern for the condition
+    private static final int NO_PATTERN = -1;
+
+    private final boolean hasConditions;
+    // Exact entity counts required by the NUMBER_OF_BARCODES conditions
+    private final int[] exactCounts;
+    // Counted conditions: minimum count, required symbology (-1 for any) and pattern id
+    private final int[] minimumCounts;
+    private final int[] symbologies;
+    private final int[] patternIds;
+    private final MultiPatternMatcher matcher;
+    // Pattern matches by value, null if not memoized
+    @Nullable
+    private final ValueMemo<boolean[]> matchMemo;
+
+    private AutoCapturePlan(boolean hasConditions, int[] exactCounts, int[] minimumCounts, int[] symbologies,
+                            int[] patternIds, MultiPatternMatcher matcher, @Nullable ValueMemo<boolean[]> matchMemo) {
+        this.hasConditions = hasConditions;
+        this.exactCounts = exactCounts;
+        this.minimumCounts = minimumCounts;
+        this.symbologies = symbologies;
+        this.patternIds = patternIds;
+        this.matcher = matcher;
+        this.matchMemo = matchMemo;
+    }
+
+    /**
+     * Compiles auto capture conditions.
+     *
+     * @param conditionList The auto capture conditions, all of which must be met
+     * @return The plan, never met if no conditions are defined or if any condition is invalid
+     */
+    public static AutoCapturePlan compile(@Nullable AutoCaptureConditionList conditionList) {
+        return compile(conditionList, 0);
+    }
+
+    /**
+     * Compiles auto capture conditions, memoizing the pattern matches of each value.
+     *
+     * @param conditionList The auto capture conditions, all of which must be met
+     * @param memoCapacity The number of values whose pattern matches are memoized, 0 to disable
+     * @return The plan, never met if no conditions are defined or if any condition is invalid
+     */
+    public static AutoCapturePlan compile(@Nullable AutoCaptureConditionList conditionList, int memoCapacity) {
+        if (conditionList == null || conditionList.isEmpty()) {
+            return NEVER;
+        }
+
+        List<Integer> exactCounts = new ArrayList<>();
+        List<Integer> minimumCounts = new ArrayList<>();
+        List<Integer> symbologies = new ArrayList<>();
+        List<Integer> patternIds = new ArrayList<>();
+        List<String> regexes = new ArrayList<>();
+        for (AutoCaptureCondition condition : conditionList.getConditions()) {
+            if (condition == null || !condition.isValid()) {
+                // An invalid condition is never met, so neither are all of them
+                LogUtils.w(TAG, "AutoCapturePlan: Invalid condition, auto capture will never trigger");
+                return NEVER;
+            }
+            EAutoCaptureConditionType type = condition.getType();
+            if (type == EAutoCaptureConditionType.NUMBER_OF_BARCODES) {
+                exactCounts.add(condition.getCount());
+                continue;
+            }
+            minimumCounts.add(condition.getCount());
+            symbologies.add(type == EAutoCaptureConditionType.CONTAINS_REGEX ? -1 : condition.getSymbology());
+            if (type == EAutoCaptureConditionType.SYMBOLOGY) {
+                patternIds.add(NO_PATTERN);
+            } else {
+                // isValid() checked that the regex compiles; identical regexes share their pattern
+                int patternId = regexes.indexOf(condition.getRegex());
+                if (patternId < 0) {
+                    patternId = regexes.size();
+                    regexes.add(condition.getRegex());
+                }
+                patternIds.add(patternId);
+            }
+        }
+
+        MultiPatternMatcher matcher = MultiPatternMatcher.compile(regexes);
+        LogUtils.d(TAG, "AutoCapturePlan: compiled " + conditionList.size() + " conditions into "
+                + exactCounts.size() + " exact counts, " + minimumCounts.size() + " counted conditions, "
+                + regexes.size() + " patterns (" + matcher.getFallbackPatternCount() + " through java.util.regex)");
+        ValueMemo<boolean[]> matchMemo = memoCapacity > 0 && !regexes.isEmpty()
+                ? new ValueMemo<>(memoCapacity) : null;
+        return new AutoCapturePlan(true, toArray(exactCounts), toArray(minimumCounts), toArray(symbologies),
+                toArray(patternIds), matcher, matchMemo);
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * @return true if conditions are defined and valid, false if the plan is never met
+     */
+    public boolean hasConditions() {
+        return hasConditions;
+    }
+
+    /**
+     * @return The memo of the pattern matches, for its statistics, null if matches are not memoized
+     */
+    @Nullable
+    public ValueMemo<boolean[]> getMatchMemo() {
+        return matchMemo;
+    }
+
+    /**
+     * Scans a value with the patterns, or reuses its memoized matches.
+     *
+     * @param value The value, may be null
+     * @param scratch The array receiving the matches when they are not memoized
+     * @return The matches by pattern id, not to be modified
+     */
+    private boolean[] matchesOf(@Nullable String value, boolean[] scratch) {
+        if (value == null) {
+            Arrays.fill(scratch, false);
+            return scratch;
+        }
+        ValueMemo<boolean[]> memo = matchMemo;
+        if (memo == null) {
+            matcher.match(value, scratch);
+            return scratch;
+        }
+        boolean[] matches = memo.get(value, ValueMemo.ANY_SYMBOLOGY);
+        if (matches == null) {
+            matches = new boolean[scratch.length];
+            matcher.match(value, matches);
+            memo.put(value, ValueMemo.ANY_SYMBOLOGY, matches);
+        }
+        return matches;
+    }
+
+    /**
+     * Evaluates all conditions against the detected entities, like
+     * AutoCaptureEvaluator.evaluateConditions.
+     *
+     * @param entities The list of detected entities
+     * @return true if all conditions are met, false otherwise
+     */
+    public boolean evaluate(@Nullable List<BarcodeEntity> entities) {
+        if (!hasConditions || entities == null || entities.isEmpty()) {
+            return false;
+        }
+
+        int entityCount = entities.size();
+        for (int exactCount : exactCounts) {
+            if (entityCount != exactCount) {
+                return false;
+            }
+        }
+
+        int conditionCount = minimumCounts.length;
+        for (int minimumCount : minimumCounts) {
+            if (minimumCount > entityCount) {
+                // More matches required than entities
+                return false;
+            }
+        }
+        int unmetConditions = conditionCount;
+        int[] counts = new int[conditionCount];
+        boolean[] scratchMatches = new boolean[matcher.getPatternCount()];
+
+        for (int i = 0; i < entityCount && unmetConditions > 0; i++) {
+            BarcodeEntity entity = entities.get(i);
+            int symbology = entity.getSymbology();
+            boolean[] patternMatches = null;
+            int entitiesLeft = entityCount - i - 1;
+
+            for (int c = 0; c < conditionCount; c++) {
+                if (counts[c] >= minimumCounts[c]) {
+                    continue;
+                }
+                boolean matches = symbologies[c] < 0 || symbologies[c] == symbology;
+                int patternId = patternIds[c];
+                if (matches && patternId != NO_PATTERN) {
+                    if (patternMatches == null) {
+                        // One scan of the value for all the patterns
+                        patternMatches = matchesOf(entity.getValue(), scratchMatches);
+                    }
+                    matches = patternMatches[patternId];
+                }
+                if (matches) {
+                    counts[c]++;
+                    if (counts[c] >= minimumCounts[c]) {
+                        unmetConditions--;
+                    }
+                } else if (counts[c] + entitiesLeft < minimumCounts[c]) {
+                    // The condition can no longer be met
+                    return false;
+                }
+            }
+        }
+
+        if (unmetConditions > 0) {
+            return false;
+        }
+        LogUtils.d(TAG, "AutoCapturePlan: All conditions met, triggering auto capture");
+        return true;
+    }
+}
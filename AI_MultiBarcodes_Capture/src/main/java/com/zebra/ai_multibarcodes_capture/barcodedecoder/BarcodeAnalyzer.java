@@ -7,10 +7,10 @@ import android.graphics.Rect;
 import android.util.Log;
 
 import com.zebra.ai.vision.detector.AIVisionSDKException;
-import com.zebra.ai.vision.detector.BarcodeDecoder;
 import com.zebra.ai.vision.detector.ImageData;
 import com.zebra.ai.vision.entity.BarcodeEntity;
 import com.zebra.ai_multibarcodes_capture.helpers.LogUtils;
+import com.zebra.ai_multibarcodes_capture.replay.FrameRecorder;
 
 import java.io.ByteArrayOutputStream;
 import java.nio.ByteBuffer;
@@ -20,6 +20,10 @@ import java.util.Objects;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -28,7 +32,7 @@ import androidx.camera.core.ImageProxy;
 
 /**
  * The BarcodeAnalyzer class implements the ImageAnalysis.Analyzer interface and is
- * responsible for analyzing image frames to detect barcodes. It utilizes a BarcodeDecoder
+ * responsible for analyzing image frames to detect barcodes. It utilizes an IBarcodeDecoder
  * to process the image data and execute the detection logic asynchronously.
  *
  * This class is designed to be used within the context of an Android application, typically
@@ -36,7 +40,7 @@ import androidx.camera.core.ImageProxy;
  * return detection results to the caller.
  *
  * Usage:
- * - Instantiate the BarcodeAnalyzer with a DetectionCallback and a BarcodeDecoder.
+ * - Instantiate the BarcodeAnalyzer with a DetectionCallback and an IBarcodeDecoder.
  * - Implement the DetectionCallback interface to handle detection results.
  * - The analyze(ImageProxy) method is called by the camera framework to process image frames.
  * - Call stopAnalyzing() to stop the analysis process and release resources.
@@ -44,11 +48,14 @@ import androidx.camera.core.ImageProxy;
  * Dependencies:
  * - Android ImageProxy: Provides access to image data from the camera.
  * - ExecutorService: Used for asynchronous task execution.
- * - BarcodeDecoder: Handles the decoding of barcode data from images.
+ * - IBarcodeDecoder: Handles the decoding of barcode data from images (the AI Vision SDK
+ *   BarcodeDecoder in the application, a scripted fake in load tests).
  *
  * Concurrency:
- * - Uses a single-threaded executor to ensure that image analysis tasks are processed sequentially.
- * - Manages concurrency with volatile flags to control analysis state and termination.
+ * - Uses a single-threaded executor to ensure that frames are cropped/converted sequentially.
+ * - With a pipeline depth of 1 (default) a single frame is in flight at a time.
+ * - With a deeper pipeline, crop/convert, decoding and result post-processing run as separate
+ *   stages tracked by atomic counters; results are delivered in order on a dedicated thread.
  *
  * Note: Ensure that the appropriate permissions and dependencies are configured
  * in the AndroidManifest and build files to utilize camera and image processing capabilities.
@@ -70,19 +77,46 @@ public class BarcodeAnalyzer implements ImageAnalysis.Analyzer {
     public interface AnalysisTimingCallback {
         /**
          * Called with timing information after each analysis completes.
-         * @param analysisTimeMs The time in milliseconds taken to analyze the frame
+         * @param analysisTimeMs The median (p50) decode time in milliseconds since timing was enabled
          * @param analysisPerSecond The number of analyses completed in the last second
          */
         void onAnalysisTiming(long analysisTimeMs, int analysisPerSecond);
+
+        /**
+         * Called with the number of frames in each pipeline stage after each analysis completes.
+         * @param cropQueueDepth Frames being cropped/converted
+         * @param decodeQueueDepth Frames being decoded or waiting for a decode slot
+         * @param postQueueDepth Results waiting for post-processing
+         */
+        default void onPipelineQueueDepths(int cropQueueDepth, int decodeQueueDepth, int postQueueDepth) {
+        }
     }
 
     private static final String TAG = "BarcodeAnalyzer";
     private final DetectionCallback callback;
-    private final BarcodeDecoder barcodeDecoder;
+    private final IBarcodeDecoder barcodeDecoder;
     private final ExecutorService executorService;
-    private volatile boolean isAnalyzing = true;
+    private final ExecutorService postProcessExecutor;
     private volatile boolean isStopped = false;
 
+    // Pipeline: crop/convert -> decode -> post-processing, bounded by the pipeline depth
+    public static final int MIN_PIPELINE_DEPTH = 1;
+    public static final int MAX_PIPELINE_DEPTH = 3;
+
+    // Largest downscale factor applied by the native crop transform
+    private static final int MAX_CROP_SCALE = 4;
+    private volatile int pipelineDepth = MIN_PIPELINE_DEPTH;
+    private final AtomicInteger framesInFlight = new AtomicInteger();
+    private final AtomicInteger cropStageDepth = new AtomicInteger();
+    private final AtomicInteger decodeStageDepth = new AtomicInteger();
+    private final AtomicInteger postStageDepth = new AtomicInteger();
+    // Single pending slot between crop and decode, replaced by newer frames (oldest dropped)
+    private final AtomicReference<AnalysisFrame> pendingFrame = new AtomicReference<>();
+    private final AtomicLong frameSequence = new AtomicLong();
+    private final AtomicLong latestPostedSequence = new AtomicLong();
+    private final AtomicLong droppedFrameCount = new AtomicLong();
+    private final AtomicLong staleResultCount = new AtomicLong();
+
     // Crop region support for capture zone optimization
     @Nullable
     private volatile Rect cropRegion = null;
@@ -98,17 +132,61 @@ public class BarcodeAnalyzer implements ImageAnalysis.Analyzer {
     @Nullable
     private volatile AnalysisTimingCallback timingCallback = null;
     private volatile boolean timingEnabled = false;
-    private volatile long apsWindowStartTime = 0;
-    private volatile int frameCountInWindow = 0;
+    private final AtomicLong apsWindowStartTime = new AtomicLong();
+    private final AtomicInteger frameCountInWindow = new AtomicInteger();
     private volatile int currentAnalysisPerSecond = 0;
     private static final long APS_WINDOW_MS = 1000; // Calculate APS over 1 second window
 
-    // Average analysis time calculation
-    private static final int AVG_WINDOW_SIZE = 20; // Calculate average over 20 analyses
-    private final long[] analysisTimesBuffer = new long[AVG_WINDOW_SIZE];
-    private volatile int analysisTimesIndex = 0;
-    private volatile int analysisTimesCount = 0;
-    private volatile long averageAnalysisTimeMs = 0;
+    // Per-stage latency histograms (crop, image data, decode, mapping, overlay)
+    private final StageLatencyRecorder latencyRecorder = new StageLatencyRecorder();
+
+    // Reusable crop output buffers, released once the decoder is done with a frame
+    // Sized so every frame a full pipeline can hold gets a pooled buffer back
+    private final CropBufferPool cropBufferPool = new CropBufferPool(MAX_PIPELINE_DEPTH + 1);
+
+    // Motion gate: reuses the previous results instead of decoding a static scene
+    private final MotionGate motionGate = new MotionGate();
+    @Nullable
+    private volatile List<BarcodeEntity> reusableResult = null;
+    @Nullable
+    private volatile Rect reusableCropRegion = null;
+    private volatile int reusableRotationDegrees = 0;
+    private volatile int reusableCropScale = 1;
+    private volatile boolean reusableCropUpright = false;
+    private volatile boolean reusableResultAvailable = false;
+
+    // Predicted frames: the decoder is skipped on up to predictedFrameInterval frames after each
+    // decode, and the caller draws the tracked barcodes at their predicted positions instead
+    private volatile int predictedFrameInterval = 0;
+    private int consecutivePredictedFrames = 0; // Only accessed from the crop stage executor
+
+    // Adaptive ROI: crop to the tracked barcodes, with a periodic refresh on the static region
+    @Nullable
+    private volatile Rect adaptiveCropRegion = null;
+    private volatile int adaptiveRefreshInterval = 10;
+    private int framesSinceFullRefresh = 0; // Only accessed from analyze()
+
+    // Crop region, rotation and crop transform of the frame whose result is being delivered
+    @Nullable
+    private volatile Rect resultCropRegion = null;
+    private volatile int resultRotationDegrees = 0;
+    private volatile int resultCropScale = 1;
+    private volatile boolean resultCropUpright = false;
+    private volatile boolean resultPredicted = false;
+
+    // Luminance-only hand-off: cropped frames are passed as single-channel ALPHA_8 bitmaps
+    // instead of being expanded to ARGB_8888 (R=G=B=Y)
+    private volatile boolean luminanceOnly = false;
+
+    // Native crop transform: luminance crops are downscaled towards the model input size
+    // and rotated upright in the same pass as the crop
+    private volatile boolean cropTransformEnabled = false;
+    private volatile int modelInputWidth = 0;
+    private volatile int modelInputHeight = 0;
+
+    // Optional recorder dumping every received frame for offline replay
+    @Nullable
+    private volatile FrameRecorder frameRecorder = null;
 
     /**
      * Constructs a new BarcodeAnalyzer with the specified callback and barcode decoder.
@@ -116,10 +194,11 @@ public class BarcodeAnalyzer implements ImageAnalysis.Analyzer {
      * @param callback The callback for handling detection results.
      * @param barcodeDecoder The barcode decoder used to process image data.
      */
-    public BarcodeAnalyzer(DetectionCallback callback, BarcodeDecoder barcodeDecoder) {
+    public BarcodeAnalyzer(DetectionCallback callback, IBarcodeDecoder barcodeDecoder) {
         this.callback = callback;
         this.barcodeDecoder = barcodeDecoder;
         this.executorService = Executors.newSingleThreadExecutor();
+        this.postProcessExecutor = Executors.newSingleThreadExecutor();
     }
 
     /**
@@ -130,127 +209,88 @@ public class BarcodeAnalyzer implements ImageAnalysis.Analyzer {
      * reducing computational load. The returned bounding boxes are then adjusted to account
      * for the crop offset.
      *
+     * With a pipeline depth of 1 exactly one frame is in flight and frames arriving while busy
+     * are dropped. With a deeper pipeline the frame is admitted to the crop stage right away and
+     * handed to the decode stage once cropped (see {@link #setPipelineDepth(int)}).
+     *
      * @param image The image frame to analyze.
      */
     @Override
     public void analyze(@NonNull ImageProxy image) {
-        if (!isAnalyzing || isStopped) {
+        if (isStopped) {
             image.close();
             return;
         }
 
-        isAnalyzing = false; // Prevent re-entry
+        FrameRecorder recorder = frameRecorder;
+        if (recorder != null) {
+            recorder.record(image);
+        }
 
-        // Capture current crop region (volatile read)
-        final Rect currentCropRegion = cropRegion;
-        final int currentOffsetX = cropOffsetX;
-        final int currentOffsetY = cropOffsetY;
+        final int depth = pipelineDepth;
+        if (depth <= 1) {
+            // Legacy mode: exactly one frame in flight, busy frames are dropped
+            if (!framesInFlight.compareAndSet(0, 1)) {
+                image.close();
+                return;
+            }
+        } else {
+            // Only one frame is cropped at a time; the crop stage is the admission gate
+            if (cropStageDepth.get() > 0) {
+                droppedFrameCount.incrementAndGet();
+                image.close();
+                return;
+            }
+            framesInFlight.incrementAndGet();
+        }
 
-        // Capture timing state for this analysis
-        final boolean trackTiming = timingEnabled && timingCallback != null;
-        //long startTimeNanos = 0;
+        // Capture current crop region (volatile read)
+        final Rect currentCropRegion = selectCropRegion();
+        final long sequence = frameSequence.incrementAndGet();
 
+        cropStageDepth.incrementAndGet();
         Future<?> future = executorService.submit(() -> {
-            try {
-                LogUtils.d(TAG, "Starting image analysis" + (currentCropRegion != null ? " with crop region" : ""));
-
-                // Get the rotation from the ImageProxy
-                int rotationDegrees = image.getImageInfo().getRotationDegrees();
-                LogUtils.d(TAG, "Image rotation degrees: " + rotationDegrees);
-
-                // Store the rotation for the activity to use when transforming bounding boxes
-                lastImageRotationDegrees = rotationDegrees;
-
-                // Determine which image data to process
-                ImageData imageData;
-                if (currentCropRegion != null) {
-                    // Crop the image before processing - returns grayscale bitmap directly
-                    Bitmap croppedBitmap = cropImageProxy(image, currentCropRegion);
-                    if (croppedBitmap != null) {
-                        // When cropping, we pass rotation=0 because:
-                        // 1. We crop in raw image space (before rotation)
-                        // 2. We want bounding boxes in raw image space (so we can add raw crop offset)
-                        // 3. The activity uses lastImageRotationDegrees to transform to effective space
-                        imageData = ImageData.fromBitmap(croppedBitmap, 0);
-                        LogUtils.d(TAG, "Processing grayscale cropped image: " + croppedBitmap.getWidth() + "x" + croppedBitmap.getHeight() + " (rotation=" + rotationDegrees + " stored for activity)");
-                    } else {
-                        // Fallback to full image if cropping fails
-                        LogUtils.w(TAG, "Cropping failed, falling back to full image");
-                        imageData = ImageData.fromImageProxy(image);
-                    }
-                } else {
-                    // Process full image - SDK handles rotation internally
-                    imageData = ImageData.fromImageProxy(image);
-                }
+            if (shouldPredictFrame()) {
+                // Intermediate frame - the caller extrapolates the tracked barcodes instead of decoding
+                cropStageDepth.decrementAndGet();
+                image.close();
+                framesInFlight.decrementAndGet();
+                dispatchResult(sequence, null, reusableCropRegion, reusableRotationDegrees,
+                        reusableCropScale, reusableCropUpright, depth > 1, true);
+                return;
+            }
+            if (isStaticScene(image, currentCropRegion)) {
+                // Scene unchanged since the last decode - reuse its results without running the decoder
+                cropStageDepth.decrementAndGet();
+                List<BarcodeEntity> previous = reusableResult;
+                image.close();
+                framesInFlight.decrementAndGet();
+                dispatchResult(sequence, previous, reusableCropRegion, reusableRotationDegrees,
+                        reusableCropScale, reusableCropUpright, depth > 1, false);
+                return;
+            }
 
-                final long startTimeNanos = trackTiming ? System.nanoTime() : 0;
-                barcodeDecoder.process(imageData)
-                        .thenAccept(result -> {
-                            // Calculate timing when entering thenAccept (before isStopped check)
-                            if (trackTiming) {
-                                long endTimeNanos = System.nanoTime();
-                                long analysisTimeMs = (endTimeNanos - startTimeNanos) / 1_000_000;
-
-                                // Update rolling average for analysis time (over 20 samples)
-                                analysisTimesBuffer[analysisTimesIndex] = analysisTimeMs;
-                                analysisTimesIndex = (analysisTimesIndex + 1) % AVG_WINDOW_SIZE;
-                                if (analysisTimesCount < AVG_WINDOW_SIZE) {
-                                    analysisTimesCount++;
-                                }
-                                // Calculate average
-                                long sum = 0;
-                                for (int i = 0; i < analysisTimesCount; i++) {
-                                    sum += analysisTimesBuffer[i];
-                                }
-                                averageAnalysisTimeMs = sum / analysisTimesCount;
-
-                                // Update analysis per second calculation
-                                long currentTimeMs = System.currentTimeMillis();
-                                frameCountInWindow++;
-
-                                if (apsWindowStartTime == 0) {
-                                    apsWindowStartTime = currentTimeMs;
-                                } else {
-                                    long elapsedMs = currentTimeMs - apsWindowStartTime;
-                                    if (elapsedMs >= APS_WINDOW_MS) {
-                                        // Store count and reset window
-                                        currentAnalysisPerSecond = frameCountInWindow;
-                                        apsWindowStartTime = currentTimeMs;
-                                        frameCountInWindow = 0;
-                                    }
-                                }
-
-                                // Notify callback with average timing data
-                                if (timingCallback != null) {
-                                    timingCallback.onAnalysisTiming(averageAnalysisTimeMs, currentAnalysisPerSecond);
-                                }
-                            }
-
-                            if (!isStopped) {
-                                // Adjust bounding boxes if we used a crop region
-                                List<BarcodeEntity> adjustedResult = result;
-                                if (currentCropRegion != null && result != null) {
-                                    adjustedResult = adjustBoundingBoxesForCrop(result, currentOffsetX, currentOffsetY);
-                                }
-                                callback.onDetectionResult(adjustedResult);
-                            }
-                            image.close();
-                            isAnalyzing = true;
-                        })
-                        .exceptionally(ex -> {
-                            LogUtils.e(TAG, "Error in completable future result " + ex.getMessage());
-                            image.close();
-                            isAnalyzing = true;
-                            return null;
-                        });
+            AnalysisFrame frame = null;
+            try {
+                frame = prepareFrame(image, currentCropRegion, sequence, depth);
             } catch (AIVisionSDKException e) {
                 LogUtils.e(TAG, Objects.requireNonNull(e.getMessage()));
-                image.close();
-                isAnalyzing = true;
             } catch (Exception e) {
                 LogUtils.e(TAG, "Unexpected error during analysis: " + e.getMessage());
+            } finally {
+                cropStageDepth.decrementAndGet();
+            }
+
+            if (frame == null) {
                 image.close();
-                isAnalyzing = true;
+                framesInFlight.decrementAndGet();
+                return;
+            }
+
+            if (depth <= 1) {
+                submitDecode(frame, false);
+            } else {
+                offerToDecodeStage(frame);
             }
         });
 
@@ -260,6 +300,435 @@ public class BarcodeAnalyzer implements ImageAnalysis.Analyzer {
         }
     }
 
+    /**
+     * Chooses the region to decode for the next frame: the adaptive ROI when one is set,
+     * except every adaptiveRefreshInterval frames where the static crop region (or the full
+     * frame) is decoded to discover barcodes outside the ROI.
+     */
+    @Nullable
+    private Rect selectCropRegion() {
+        Rect adaptive = adaptiveCropRegion;
+        if (adaptive == null) {
+            framesSinceFullRefresh = 0;
+            return cropRegion;
+        }
+        if (++framesSinceFullRefresh >= adaptiveRefreshInterval) {
+            framesSinceFullRefresh = 0;
+            LogUtils.v(TAG, "Adaptive ROI: full refresh frame");
+            return cropRegion;
+        }
+        return adaptive;
+    }
+
+    /**
+     * Crop/convert stage: turns the ImageProxy into the ImageData handed to the decoder.
+     * In pipelined mode the ImageProxy is closed as soon as the crop has been copied out,
+     * so the camera can deliver the next frame while this one is being decoded.
+     */
+    @NonNull
+    private AnalysisFrame prepareFrame(@NonNull ImageProxy image, @Nullable Rect currentCropRegion,
+                                       long sequence, int depth) throws AIVisionSDKException {
+        LogUtils.d(TAG, "Starting image analysis" + (currentCropRegion != null ? " with crop region" : ""));
+
+        // Get the rotation from the ImageProxy
+        int rotationDegrees = image.getImageInfo().getRotationDegrees();
+        LogUtils.d(TAG, "Image rotation degrees: " + rotationDegrees);
+
+        // Store the rotation for the activity to use when transforming bounding boxes
+        lastImageRotationDegrees = rotationDegrees;
+
+        final boolean trackTiming = timingEnabled;
+        if (currentCropRegion != null) {
+            // Native crop transform: decide the downscale and rotation applied while cropping
+            Rect frameCropRegion = currentCropRegion;
+            int cropScale = 1;
+            boolean cropUpright = false;
+            if (cropTransformEnabled && luminanceOnly && NativeYuvProcessor.isAvailable()) {
+                Rect aligned = alignCropRect(currentCropRegion, image.getWidth(), image.getHeight());
+                if (aligned != null) {
+                    cropScale = selectCropScale(aligned.width(), aligned.height(), modelInputWidth, modelInputHeight);
+                    cropUpright = true;
+                    // Region actually covered once the incomplete downscale blocks are dropped
+                    frameCropRegion = new Rect(aligned.left, aligned.top,
+                            aligned.left + aligned.width() / cropScale * cropScale,
+                            aligned.top + aligned.height() / cropScale * cropScale);
+                }
+            }
+
+            // Crop the image before processing - returns grayscale bitmap directly
+            long cropStartNanos = trackTiming ? System.nanoTime() : 0;
+            Bitmap croppedBitmap = cropImageProxy(image, frameCropRegion, cropScale, cropUpright ? rotationDegrees : 0);
+            if (trackTiming) {
+                latencyRecorder.recordSince(ELatencyStage.CROP, cropStartNanos);
+            }
+            if (croppedBitmap != null) {
+                try {
+                    // When cropping, we pass rotation=0 because:
+                    // 1. We crop in raw image space (before rotation)
+                    // 2. We want bounding boxes in raw image space (so we can add raw crop offset)
+                    // 3. The activity uses lastImageRotationDegrees to transform to effective space
+                    // With the native crop transform the crop is already upright, and the activity
+                    // maps the boxes using the published crop scale instead
+                    long imageDataStartNanos = trackTiming ? System.nanoTime() : 0;
+                    ImageData imageData = ImageData.fromBitmap(croppedBitmap, 0);
+                    if (trackTiming) {
+                        latencyRecorder.recordSince(ELatencyStage.IMAGE_DATA, imageDataStartNanos);
+                    }
+                    LogUtils.d(TAG, "Processing grayscale cropped image: " + croppedBitmap.getWidth() + "x" + croppedBitmap.getHeight() + " (rotation=" + rotationDegrees + " stored for activity)");
+
+                    if (depth > 1) {
+                        // The crop owns its pixels - release the camera buffer right away
+                        image.close();
+                        return new AnalysisFrame(sequence, imageData, croppedBitmap, null, frameCropRegion, rotationDegrees,
+                                cropScale, cropUpright);
+                    }
+                    return new AnalysisFrame(sequence, imageData, croppedBitmap, image, frameCropRegion, rotationDegrees,
+                            cropScale, cropUpright);
+                } catch (AIVisionSDKException | RuntimeException e) {
+                    cropBufferPool.releaseBitmap(croppedBitmap);
+                    throw e;
+                }
+            }
+            // Fallback to full image if cropping fails
+            LogUtils.w(TAG, "Cropping failed, falling back to full image");
+        }
+
+        // Process full image - SDK handles rotation internally
+        // The decoder reads the ImageProxy directly, so it stays open until decoding completes
+        long imageDataStartNanos = trackTiming ? System.nanoTime() : 0;
+        ImageData imageData = ImageData.fromImageProxy(image);
+        if (trackTiming) {
+            latencyRecorder.recordSince(ELatencyStage.IMAGE_DATA, imageDataStartNanos);
+        }
+        return new AnalysisFrame(sequence, imageData, null, image, null, rotationDegrees, 1, false);
+    }
+
+    /**
+     * Hands a prepared frame to the decode stage, or parks it in the pending slot when every
+     * decode slot is busy. A frame already waiting in the pending slot is older than the new
+     * one, so it is dropped (oldest-first backpressure).
+     */
+    private void offerToDecodeStage(@NonNull AnalysisFrame frame) {
+        AnalysisFrame dropped = pendingFrame.getAndSet(frame);
+        if (dropped != null) {
+            droppedFrameCount.incrementAndGet();
+            dropped.release();
+            framesInFlight.decrementAndGet();
+        }
+        drainPendingFrame();
+    }
+
+    /**
+     * Moves the pending frame to the decode stage if a decode slot is free.
+     * Called after a frame is parked and after every decode completes, so a pending frame
+     * is never left behind when the last decode finishes.
+     */
+    private void drainPendingFrame() {
+        while (pendingFrame.get() != null && !isStopped) {
+            if (decodeStageDepth.incrementAndGet() > Math.max(1, pipelineDepth - 1)) {
+                decodeStageDepth.decrementAndGet();
+                return;
+            }
+            AnalysisFrame next = pendingFrame.getAndSet(null);
+            if (next == null) {
+                decodeStageDepth.decrementAndGet();
+                return;
+            }
+            submitDecode(next, true);
+        }
+    }
+
+    /**
+     * Decode stage: runs inference on the frame and forwards the result to post-processing.
+     *
+     * @param frame The prepared frame
+     * @param slotReserved true if the caller already reserved a decode slot
+     */
+    private void submitDecode(@NonNull AnalysisFrame frame, boolean slotReserved) {
+        if (!slotReserved) {
+            decodeStageDepth.incrementAndGet();
+        }
+        final boolean pipelined = pipelineDepth > 1;
+        final boolean trackTiming = timingEnabled;
+        final long startTimeNanos = trackTiming ? System.nanoTime() : 0;
+        try {
+            barcodeDecoder.process(frame.imageData)
+                    .thenAccept(result -> {
+                        // Calculate timing when entering thenAccept (before isStopped check)
+                        if (trackTiming) {
+                            recordAnalysisTiming(startTimeNanos);
+                        }
+
+                        List<BarcodeEntity> adjustedResult = adjustResult(frame, result);
+                        reusableResult = adjustedResult;
+                        reusableCropRegion = frame.cropRegion;
+                        reusableRotationDegrees = frame.rotationDegrees;
+                        reusableCropScale = frame.cropScale;
+                        reusableCropUpright = frame.cropUpright;
+                        reusableResultAvailable = true;
+                        if (pipelined) {
+                            // Release the frame first so the next one can enter the decode stage
+                            completeDecode(frame);
+                            dispatchResult(frame.sequence, adjustedResult, frame.cropRegion, frame.rotationDegrees,
+                                    frame.cropScale, frame.cropUpright, true, false);
+                        } else {
+                            dispatchResult(frame.sequence, adjustedResult, frame.cropRegion, frame.rotationDegrees,
+                                    frame.cropScale, frame.cropUpright, false, false);
+                            completeDecode(frame);
+                        }
+                    })
+                    .exceptionally(ex -> {
+                        LogUtils.e(TAG, "Error in completable future result " + ex.getMessage());
+                        completeDecode(frame);
+                        return null;
+                    });
+        } catch (AIVisionSDKException e) {
+            LogUtils.e(TAG, Objects.requireNonNull(e.getMessage()));
+            completeDecode(frame);
+        } catch (Exception e) {
+            LogUtils.e(TAG, "Unexpected error during analysis: " + e.getMessage());
+            completeDecode(frame);
+        }
+    }
+
+    private void completeDecode(@NonNull AnalysisFrame frame) {
+        frame.release();
+        decodeStageDepth.decrementAndGet();
+        framesInFlight.decrementAndGet();
+        drainPendingFrame();
+    }
+
+    /**
+     * Post-processing stage: delivers a result to the callback.
+     * In legacy mode the callback runs inline. In pipelined mode results are delivered in frame
+     * order on a dedicated thread, and a result is dropped when a newer frame's result has already
+     * been queued or delivered, so the UI never steps back to an older frame.
+     *
+     * The crop region, rotation and crop transform of the frame are published right before the
+     * callback runs, see {@link #getResultCropRegion()}.
+     *
+     * @param predicted true for a frame that was not decoded, see {@link #isResultPredicted()}
+     */
+    private void dispatchResult(long sequence, @Nullable List<BarcodeEntity> result,
+                                @Nullable Rect frameCropRegion, int frameRotationDegrees,
+                                int frameCropScale, boolean frameCropUpright, boolean pipelined,
+                                boolean predicted) {
+        if (isStopped) {
+            return;
+        }
+        if (!pipelined) {
+            resultCropRegion = frameCropRegion;
+            resultRotationDegrees = frameRotationDegrees;
+            resultCropScale = frameCropScale;
+            resultCropUpright = frameCropUpright;
+            resultPredicted = predicted;
+            callback.onDetectionResult(result);
+            return;
+        }
+        latestPostedSequence.accumulateAndGet(sequence, Math::max);
+        postStageDepth.incrementAndGet();
+        try {
+            postProcessExecutor.execute(() -> {
+                postStageDepth.decrementAndGet();
+                if (isStopped) {
+                    return;
+                }
+                if (sequence < latestPostedSequence.get()) {
+                    staleResultCount.incrementAndGet();
+                    LogUtils.v(TAG, "Dropping stale result for frame " + sequence);
+                    return;
+                }
+                resultCropRegion = frameCropRegion;
+                resultRotationDegrees = frameRotationDegrees;
+                resultCropScale = frameCropScale;
+                resultCropUpright = frameCropUpright;
+                resultPredicted = predicted;
+                callback.onDetectionResult(result);
+            });
+        } catch (RejectedExecutionException e) {
+            // Analyzer stopped while the result was in flight
+            postStageDepth.decrementAndGet();
+        }
+    }
+
+    /**
+     * Decides whether the decoder is skipped for this frame in favor of predicted positions:
+     * after each decode, up to predictedFrameInterval frames are skipped, as long as the last
+     * decoded frame had barcodes to follow.
+     */
+    private boolean shouldPredictFrame() {
+        int interval = predictedFrameInterval;
+        List<BarcodeEntity> previous = reusableResult;
+        if (interval <= 0 || previous == null || previous.isEmpty() || consecutivePredictedFrames >= interval) {
+            consecutivePredictedFrames = 0;
+            return false;
+        }
+        consecutivePredictedFrames++;
+        return true;
+    }
+
+    /**
+     * Runs the motion gate on the region that would be decoded.
+     *
+     * @return true if the scene is static and the previous results can be reused
+     */
+    private boolean isStaticScene(@NonNull ImageProxy image, @Nullable Rect currentCropRegion) {
+        if (!motionGate.isEnabled() || image.getFormat() != ImageFormat.YUV_420_888) {
+            return false;
+        }
+        try {
+            int imageWidth = image.getWidth();
+            int imageHeight = image.getHeight();
+            int left = 0;
+            int top = 0;
+            int right = imageWidth;
+            int bottom = imageHeight;
+            if (currentCropRegion != null) {
+                left = Math.max(0, Math.min(currentCropRegion.left, imageWidth));
+                top = Math.max(0, Math.min(currentCropRegion.top, imageHeight));
+                right = Math.max(left, Math.min(currentCropRegion.right, imageWidth));
+                bottom = Math.max(top, Math.min(currentCropRegion.bottom, imageHeight));
+            }
+            ImageProxy.PlaneProxy yPlane = image.getPlanes()[0];
+            return !motionGate.shouldRunInference(yPlane.getBuffer(), yPlane.getRowStride(),
+                    left, top, right - left, bottom - top, reusableResultAvailable);
+        } catch (Exception e) {
+            LogUtils.e(TAG, "Error in motion gate: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Nullable
+    private List<BarcodeEntity> adjustResult(@NonNull AnalysisFrame frame, @Nullable List<BarcodeEntity> result) {
+        // Adjust bounding boxes if we used a crop region
+        if (frame.cropRegion != null && result != null) {
+            return adjustBoundingBoxesForCrop(result, frame.cropRegion.left, frame.cropRegion.top);
+        }
+        return result;
+    }
+
+    /**
+     * Records the decode stage latency, updates the APS window, then notifies the timing callback.
+     * Lock-free: several decodes may complete concurrently in pipelined mode.
+     */
+    private void recordAnalysisTiming(long startTimeNanos) {
+        LatencyHistogram decodeHistogram = latencyRecorder.getHistogram(ELatencyStage.DECODE);
+        decodeHistogram.recordNanos(System.nanoTime() - startTimeNanos);
+
+        // Update analysis per second calculation
+        long currentTimeMs = System.currentTimeMillis();
+        frameCountInWindow.incrementAndGet();
+
+        long windowStart = apsWindowStartTime.get();
+        if (windowStart == 0) {
+            apsWindowStartTime.compareAndSet(0, currentTimeMs);
+        } else if (currentTimeMs - windowStart >= APS_WINDOW_MS
+                && apsWindowStartTime.compareAndSet(windowStart, currentTimeMs)) {
+            // Store count and reset window - only the thread that moved the window does this
+            currentAnalysisPerSecond = frameCountInWindow.getAndSet(0);
+        }
+
+        // Notify callback with the median decode time
+        AnalysisTimingCallback timing = timingCallback;
+        if (timing != null) {
+            timing.onAnalysisTiming(decodeHistogram.getValueAtPercentile(50.0) / 1_000, currentAnalysisPerSecond);
+            timing.onPipelineQueueDepths(cropStageDepth.get(), decodeStageDepth.get() + (pendingFrame.get() != null ? 1 : 0), postStageDepth.get());
+        }
+    }
+
+    /**
+     * A frame travelling through the pipeline stages.
+     * Owns the pooled crop bitmap and, until it is closed, the camera ImageProxy.
+     */
+    private final class AnalysisFrame {
+        final long sequence;
+        final ImageData imageData;
+        @Nullable
+        final Bitmap pooledBitmap;
+        @Nullable
+        ImageProxy openImage;
+        // Region the frame was cropped to, null when the full frame was decoded
+        @Nullable
+        final Rect cropRegion;
+        final int rotationDegrees;
+        // Downscale factor of the crop, and whether it was rotated upright while cropping
+        final int cropScale;
+        final boolean cropUpright;
+        private boolean released = false;
+
+        AnalysisFrame(long sequence, ImageData imageData, @Nullable Bitmap pooledBitmap, @Nullable ImageProxy openImage,
+                      @Nullable Rect cropRegion, int rotationDegrees, int cropScale, boolean cropUpright) {
+            this.sequence = sequence;
+            this.imageData = imageData;
+            this.pooledBitmap = pooledBitmap;
+            this.openImage = openImage;
+            this.cropRegion = cropRegion;
+            this.rotationDegrees = rotationDegrees;
+            this.cropScale = cropScale;
+            this.cropUpright = cropUpright;
+        }
+
+        /**
+         * Hands the crop bitmap back to the pool and closes the ImageProxy if still open.
+         * Safe to call more than once.
+         */
+        synchronized void release() {
+            if (released) {
+                return;
+            }
+            released = true;
+            cropBufferPool.releaseBitmap(pooledBitmap);
+            if (openImage != null) {
+                openImage.close();
+                openImage = null;
+            }
+        }
+    }
+
+    /**
+     * Constrains a crop rect to the image bounds, aligned to even boundaries for YUV chroma subsampling.
+     *
+     * @param cropRect The requested crop region in image coordinates
+     * @param imageWidth The image width
+     * @param imageHeight The image height
+     * @return The aligned crop region, or null if it is empty
+     */
+    @Nullable
+    static Rect alignCropRect(@NonNull Rect cropRect, int imageWidth, int imageHeight) {
+        int left = Math.max(0, Math.min(cropRect.left, imageWidth - 1)) & ~1;
+        int top = Math.max(0, Math.min(cropRect.top, imageHeight - 1)) & ~1;
+        int right = Math.min(((Math.max(left + 2, Math.min(cropRect.right, imageWidth)) + 1) & ~1), imageWidth);
+        int bottom = Math.min(((Math.max(top + 2, Math.min(cropRect.bottom, imageHeight)) + 1) & ~1), imageHeight);
+        if (right <= left || bottom <= top) {
+            return null;
+        }
+        return new Rect(left, top, right, bottom);
+    }
+
+    /**
+     * Chooses the downscale factor of a crop: the largest of 1, 2 or 4 that keeps the long side
+     * of the crop at least as large as the model input, since the decoder resizes the frame to
+     * its input size anyway. Pixels the model would not see are never copied.
+     *
+     * @param cropWidth The crop width
+     * @param cropHeight The crop height
+     * @param modelInputWidth The model input width, 0 if unknown
+     * @param modelInputHeight The model input height, 0 if unknown
+     * @return The downscale factor
+     */
+    static int selectCropScale(int cropWidth, int cropHeight, int modelInputWidth, int modelInputHeight) {
+        int modelSide = Math.max(modelInputWidth, modelInputHeight);
+        if (modelSide <= 0) {
+            return 1;
+        }
+        int cropSide = Math.max(cropWidth, cropHeight);
+        int scale = 1;
+        while (scale < MAX_CROP_SCALE && cropSide / (scale * 2) >= modelSide) {
+            scale *= 2;
+        }
+        return scale;
+    }
+
     /**
      * Crops the ImageProxy to the specified region and returns a Bitmap.
      * Uses native NDK implementation for maximum performance when available,
@@ -267,33 +736,40 @@ public class BarcodeAnalyzer implements ImageAnalysis.Analyzer {
      *
      * @param image The source ImageProxy from CameraX
      * @param cropRect The region to crop in image coordinates
+     * @param scale The downscale factor (1, 2 or 4), only applied to luminance-only crops
+     * @param rotationDegrees The clockwise rotation applied to the crop, only applied to luminance-only crops
      * @return A cropped Bitmap, or null if cropping fails
      */
     @Nullable
-    private Bitmap cropImageProxy(@NonNull ImageProxy image, @NonNull Rect cropRect) {
+    private Bitmap cropImageProxy(@NonNull ImageProxy image, @NonNull Rect cropRect, int scale, int rotationDegrees) {
         try {
             if (image.getFormat() != ImageFormat.YUV_420_888) {
                 LogUtils.w(TAG, "Unsupported image format for cropping: " + image.getFormat());
                 return null;
             }
 
-            int imageWidth = image.getWidth();
-            int imageHeight = image.getHeight();
-
-            // Validate and constrain crop rect to image bounds
-            // Align to even boundaries for YUV chroma subsampling
-            int left = Math.max(0, Math.min(cropRect.left, imageWidth - 1)) & ~1;
-            int top = Math.max(0, Math.min(cropRect.top, imageHeight - 1)) & ~1;
-            int right = Math.min(((Math.max(left + 2, Math.min(cropRect.right, imageWidth)) + 1) & ~1), imageWidth);
-            int bottom = Math.min(((Math.max(top + 2, Math.min(cropRect.bottom, imageHeight)) + 1) & ~1), imageHeight);
-
-            int cropWidth = right - left;
-            int cropHeight = bottom - top;
-
-            if (cropWidth <= 0 || cropHeight <= 0) {
-                LogUtils.w(TAG, "Invalid crop dimensions: " + cropWidth + "x" + cropHeight);
+            Rect aligned = alignCropRect(cropRect, image.getWidth(), image.getHeight());
+            if (aligned == null) {
+                LogUtils.w(TAG, "Invalid crop region: " + cropRect);
                 return null;
             }
+            int left = aligned.left;
+            int top = aligned.top;
+            int cropWidth = aligned.width();
+            int cropHeight = aligned.height();
+
+            // Luminance-only: keep the Y plane at one byte per pixel end to end
+            if (luminanceOnly) {
+                if (scale > 1 || rotationDegrees != 0) {
+                    // Only set up when the native library is available, see prepareFrame
+                    return cropYuvToLuminanceTransformedNative(image, left, top, cropWidth, cropHeight, scale, rotationDegrees);
+                }
+                if (NativeYuvProcessor.isAvailable()) {
+                    return cropYuvToLuminanceNative(image, left, top, cropWidth, cropHeight);
+                } else {
+                    return cropYuvToLuminanceJava(image, left, top, cropWidth, cropHeight);
+                }
+            }
 
             // Use grayscale conversion - much faster than full YUV to RGB
             // The Y plane is already grayscale, so we just copy it directly
@@ -323,8 +799,8 @@ public class BarcodeAnalyzer implements ImageAnalysis.Analyzer {
             ByteBuffer yBuffer = planes[0].getBuffer();
             int yRowStride = planes[0].getRowStride();
 
-            // Create output bitmap
-            Bitmap bitmap = Bitmap.createBitmap(cropWidth, cropHeight, Bitmap.Config.ARGB_8888);
+            // Get output bitmap from the pool
+            Bitmap bitmap = cropBufferPool.acquireBitmap(cropWidth, cropHeight, Bitmap.Config.ARGB_8888);
 
             // Call native method - only needs Y plane!
             boolean success = NativeYuvProcessor.cropYToGrayscaleBitmapNative(
@@ -337,7 +813,7 @@ public class BarcodeAnalyzer implements ImageAnalysis.Analyzer {
             if (success) {
                 return bitmap;
             } else {
-                bitmap.recycle();
+                cropBufferPool.releaseBitmap(bitmap);
                 LogUtils.w(TAG, "Native grayscale conversion failed, falling back to Java");
                 return cropYuvToGrayscaleJava(image, cropLeft, cropTop, cropWidth, cropHeight);
             }
@@ -359,8 +835,8 @@ public class BarcodeAnalyzer implements ImageAnalysis.Analyzer {
             ByteBuffer yBuffer = planes[0].getBuffer();
             int yRowStride = planes[0].getRowStride();
 
-            // Create output pixel array
-            int[] grayPixels = new int[cropWidth * cropHeight];
+            // Get output pixel array from the pool
+            int[] grayPixels = cropBufferPool.acquirePixels(cropWidth * cropHeight);
             int pixelIndex = 0;
 
             // Just copy Y values as grayscale (R=G=B=Y)
@@ -375,9 +851,10 @@ public class BarcodeAnalyzer implements ImageAnalysis.Analyzer {
                 }
             }
 
-            // Create bitmap from pixel array
-            Bitmap bitmap = Bitmap.createBitmap(cropWidth, cropHeight, Bitmap.Config.ARGB_8888);
+            // Copy pixels into a pooled bitmap - the pixel array can be reused right away
+            Bitmap bitmap = cropBufferPool.acquireBitmap(cropWidth, cropHeight, Bitmap.Config.ARGB_8888);
             bitmap.setPixels(grayPixels, 0, cropWidth, 0, 0, cropWidth, cropHeight);
+            cropBufferPool.releasePixels(grayPixels);
             return bitmap;
 
         } catch (Exception e) {
@@ -386,6 +863,119 @@ public class BarcodeAnalyzer implements ImageAnalysis.Analyzer {
         }
     }
 
+    /**
+     * Native luminance-only cropping.
+     * Copies the Y plane rows into an ALPHA_8 bitmap without expanding to ARGB,
+     * so the frame handed to the decoder is a quarter of the ARGB_8888 size.
+     */
+    @Nullable
+    private Bitmap cropYuvToLuminanceNative(@NonNull ImageProxy image, int cropLeft, int cropTop, int cropWidth, int cropHeight) {
+        try {
+            ImageProxy.PlaneProxy[] planes = image.getPlanes();
+
+            ByteBuffer yBuffer = planes[0].getBuffer();
+            int yRowStride = planes[0].getRowStride();
+
+            // Get single-channel output bitmap from the pool
+            Bitmap bitmap = cropBufferPool.acquireBitmap(cropWidth, cropHeight, Bitmap.Config.ALPHA_8);
+
+            boolean success = NativeYuvProcessor.cropYToLuminanceBitmapNative(
+                    yBuffer,
+                    yRowStride,
+                    cropLeft, cropTop, cropWidth, cropHeight,
+                    bitmap
+            );
+
+            if (success) {
+                return bitmap;
+            } else {
+                cropBufferPool.releaseBitmap(bitmap);
+                LogUtils.w(TAG, "Native luminance crop failed, falling back to Java");
+                return cropYuvToLuminanceJava(image, cropLeft, cropTop, cropWidth, cropHeight);
+            }
+
+        } catch (Exception e) {
+            LogUtils.e(TAG, "Error in cropYuvToLuminanceNative: " + e.getMessage());
+            return cropYuvToLuminanceJava(image, cropLeft, cropTop, cropWidth, cropHeight);
+        }
+    }
+
+    /**
+     * Native luminance cropping with downscale and rotation in one pass.
+     * There is no Java fallback: on failure the frame falls back to the full image, whose
+     * geometry the activity handles without the crop transform.
+     */
+    @Nullable
+    private Bitmap cropYuvToLuminanceTransformedNative(@NonNull ImageProxy image, int cropLeft, int cropTop,
+                                                       int cropWidth, int cropHeight, int scale, int rotationDegrees) {
+        Bitmap bitmap = null;
+        try {
+            ImageProxy.PlaneProxy[] planes = image.getPlanes();
+
+            ByteBuffer yBuffer = planes[0].getBuffer();
+            int yRowStride = planes[0].getRowStride();
+
+            int outWidth = cropWidth / scale;
+            int outHeight = cropHeight / scale;
+            if (rotationDegrees == 90 || rotationDegrees == 270) {
+                int swap = outWidth;
+                outWidth = outHeight;
+                outHeight = swap;
+            }
+            bitmap = cropBufferPool.acquireBitmap(outWidth, outHeight, Bitmap.Config.ALPHA_8);
+
+            boolean success = NativeYuvProcessor.cropYToLuminanceTransformedNative(
+                    yBuffer,
+                    yRowStride,
+                    cropLeft, cropTop, cropWidth, cropHeight,
+                    scale, rotationDegrees,
+                    bitmap
+            );
+
+            if (success) {
+                return bitmap;
+            }
+            LogUtils.w(TAG, "Native luminance transform failed");
+        } catch (Exception e) {
+            LogUtils.e(TAG, "Error in cropYuvToLuminanceTransformedNative: " + e.getMessage());
+        }
+        cropBufferPool.releaseBitmap(bitmap);
+        return null;
+    }
+
+    /**
+     * Java fallback implementation for luminance-only cropping.
+     * Copies whole Y rows with bulk gets into a staging buffer, then into an ALPHA_8 bitmap.
+     */
+    @Nullable
+    private Bitmap cropYuvToLuminanceJava(@NonNull ImageProxy image, int cropLeft, int cropTop, int cropWidth, int cropHeight) {
+        try {
+            ImageProxy.PlaneProxy[] planes = image.getPlanes();
+            ByteBuffer yBuffer = planes[0].getBuffer().duplicate();
+            int yRowStride = planes[0].getRowStride();
+
+            Bitmap bitmap = cropBufferPool.acquireBitmap(cropWidth, cropHeight, Bitmap.Config.ALPHA_8);
+            ByteBuffer luminance = cropBufferPool.acquireBytes(cropWidth * cropHeight);
+
+            // Copy one Y row at a time - no per-pixel packing needed
+            for (int row = 0; row < cropHeight; row++) {
+                int yRowOffset = (cropTop + row) * yRowStride + cropLeft;
+                yBuffer.limit(yRowOffset + cropWidth);
+                yBuffer.position(yRowOffset);
+                luminance.put(yBuffer);
+            }
+            luminance.rewind();
+
+            bitmap.copyPixelsFromBuffer(luminance);
+            cropBufferPool.releaseBytes(luminance);
+            return bitmap;
+
+        } catch (Exception e) {
+            LogUtils.e(TAG, "Error in cropYuvToLuminanceJava: " + e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Adjusts bounding boxes of detected barcodes to account for crop offset.
      * When we crop the image before decoding, the bounding boxes returned by the decoder
@@ -421,6 +1011,13 @@ public class BarcodeAnalyzer implements ImageAnalysis.Analyzer {
     public void stopAnalyzing() {
         isStopped = true;
         executorService.shutdownNow(); // Attempt to cancel ongoing tasks
+        postProcessExecutor.shutdownNow();
+        AnalysisFrame pending = pendingFrame.getAndSet(null);
+        if (pending != null) {
+            pending.release();
+        }
+        cropBufferPool.clear();
+        clearReusableResult();
     }
 
     /**
@@ -428,7 +1025,235 @@ public class BarcodeAnalyzer implements ImageAnalysis.Analyzer {
      */
     public void resumeAnalyzing() {
         isStopped = false;
-        isAnalyzing = true;
+        framesInFlight.set(0);
+        cropStageDepth.set(0);
+        decodeStageDepth.set(0);
+        postStageDepth.set(0);
+    }
+
+    /**
+     * Sets the adaptive crop region, typically the union of the tracked barcodes plus a margin.
+     * While set, frames are cropped to this region instead of the static crop region, except for
+     * one refresh frame every {@code refreshInterval} frames which uses the static crop region
+     * (or the full frame) to discover new barcodes.
+     * The region is aligned to even coordinates to match the YUV crop alignment.
+     *
+     * @param region The adaptive region in raw sensor coordinates, or null to use the static crop region only
+     * @param refreshInterval Number of frames between refresh frames (minimum 1)
+     */
+    public void setAdaptiveCropRegion(@Nullable Rect region, int refreshInterval) {
+        this.adaptiveRefreshInterval = Math.max(1, refreshInterval);
+        Rect current = adaptiveCropRegion;
+        if (region == null || region.isEmpty()) {
+            if (current != null) {
+                LogUtils.d(TAG, "Adaptive crop region cleared");
+            }
+            adaptiveCropRegion = null;
+            return;
+        }
+        Rect aligned = new Rect(region.left & ~1, region.top & ~1, region.right, region.bottom);
+        if (!aligned.equals(current)) {
+            adaptiveCropRegion = aligned;
+            LogUtils.d(TAG, "Adaptive crop region set: " + aligned);
+        }
+    }
+
+    /**
+     * Gets the adaptive crop region.
+     *
+     * @return A copy of the adaptive region, or null if not set
+     */
+    @Nullable
+    public Rect getAdaptiveCropRegion() {
+        Rect region = adaptiveCropRegion;
+        return region != null ? new Rect(region) : null;
+    }
+
+    /**
+     * Gets the crop region of the frame whose result is currently being delivered.
+     * Only meaningful from within {@link DetectionCallback#onDetectionResult}: unlike
+     * {@link #getCropRegion()} it always matches the frame the bounding boxes come from,
+     * even when the crop region changed while the frame was being decoded.
+     *
+     * @return The crop region in raw sensor coordinates, or null if the full frame was decoded
+     */
+    @Nullable
+    public Rect getResultCropRegion() {
+        return resultCropRegion;
+    }
+
+    /**
+     * Gets the rotation degrees of the frame whose result is currently being delivered.
+     *
+     * @return The rotation degrees (0, 90, 180, or 270)
+     */
+    public int getResultRotationDegrees() {
+        return resultRotationDegrees;
+    }
+
+    /**
+     * Gets the downscale factor of the crop whose result is currently being delivered.
+     * The bounding boxes are in downscaled crop pixels and must be multiplied by this factor.
+     *
+     * @return The downscale factor (1, 2 or 4)
+     */
+    public int getResultCropScale() {
+        return resultCropScale;
+    }
+
+    /**
+     * Checks if the crop whose result is currently being delivered was rotated upright while
+     * cropping. Its bounding boxes are then relative to the crop region in effective (rotated)
+     * coordinates instead of raw sensor coordinates.
+     *
+     * @return true if the crop was rotated by {@link #getResultRotationDegrees()}
+     */
+    public boolean isResultCropUpright() {
+        return resultCropUpright;
+    }
+
+    /**
+     * Checks if the result currently being delivered comes from a frame that was not decoded
+     * (see {@link #setPredictedFrameInterval(int)}). The result is then null and the caller is
+     * expected to draw the tracked barcodes at their predicted positions.
+     *
+     * @return true for a predicted frame
+     */
+    public boolean isResultPredicted() {
+        return resultPredicted;
+    }
+
+    /**
+     * Sets how many frames are skipped after each decode, their results being predicted by the
+     * caller from the tracked barcodes' motion (DetectionResultProcessor.predict). Frames are
+     * only skipped while the last decode found barcodes. Should stay below the debounce max
+     * frames, since predicted frames age the debounce cache.
+     *
+     * @param interval The number of predicted frames between two decodes, 0 to decode every frame
+     */
+    public void setPredictedFrameInterval(int interval) {
+        this.predictedFrameInterval = Math.max(0, interval);
+        LogUtils.d(TAG, "Predicted frame interval set to: " + this.predictedFrameInterval);
+    }
+
+    /**
+     * @return The number of predicted frames between two decodes, 0 when every frame is decoded
+     */
+    public int getPredictedFrameInterval() {
+        return predictedFrameInterval;
+    }
+
+    /**
+     * Configures motion-gated inference.
+     * When enabled, each frame is compared with the last decoded frame using a downsampled luma
+     * signature, and the decoder is skipped while the scene stays static: the previous results
+     * are delivered again instead. A refresh is forced after maxSkippedFrames consecutive skips.
+     *
+     * @param enabled true to skip inference on static scenes
+     * @param cellThreshold Luma difference (0-255) above which a grid cell counts as changed
+     * @param changedCellsPercent Percentage of changed cells above which the scene counts as changed
+     * @param maxSkippedFrames Maximum number of consecutive skipped frames
+     */
+    public void setMotionGateSettings(boolean enabled, int cellThreshold, int changedCellsPercent, int maxSkippedFrames) {
+        motionGate.updateSettings(enabled, cellThreshold, changedCellsPercent, maxSkippedFrames);
+        motionGate.resetStatistics();
+    }
+
+    /**
+     * Gets the fraction of frames for which inference was skipped by the motion gate.
+     *
+     * @return The skip ratio between 0 and 1
+     */
+    public float getMotionGateSkipRatio() {
+        return motionGate.getSkipRatio();
+    }
+
+    /**
+     * Checks if motion-gated inference is enabled.
+     *
+     * @return true if static frames skip the decoder
+     */
+    public boolean isMotionGateEnabled() {
+        return motionGate.isEnabled();
+    }
+
+    private void clearReusableResult() {
+        reusableResultAvailable = false;
+        reusableResult = null;
+        reusableCropRegion = null;
+        motionGate.invalidate();
+    }
+
+    /**
+     * Sets how many frames may be in the pipeline at once.
+     * 1 keeps the legacy behavior: one frame in flight, frames arriving while busy are dropped.
+     * 2-3 let the crop/convert of the newest frame overlap with the decoding of up to
+     * (depth - 1) earlier frames, with post-processing on its own thread. Under backpressure
+     * the oldest waiting frame is dropped. Overlap only happens with a crop region set,
+     * since the full-frame path keeps the ImageProxy open until decoding completes.
+     *
+     * @param depth The pipeline depth, clamped to [MIN_PIPELINE_DEPTH, MAX_PIPELINE_DEPTH]
+     */
+    public void setPipelineDepth(int depth) {
+        int clamped = Math.max(MIN_PIPELINE_DEPTH, Math.min(MAX_PIPELINE_DEPTH, depth));
+        if (clamped != pipelineDepth) {
+            LogUtils.d(TAG, "Pipeline depth set to " + clamped);
+        }
+        this.pipelineDepth = clamped;
+    }
+
+    /**
+     * Gets the current pipeline depth.
+     *
+     * @return The number of frames allowed in the pipeline at once
+     */
+    public int getPipelineDepth() {
+        return pipelineDepth;
+    }
+
+    /**
+     * Gets the number of frames currently being cropped/converted.
+     *
+     * @return The crop stage queue depth
+     */
+    public int getCropQueueDepth() {
+        return cropStageDepth.get();
+    }
+
+    /**
+     * Gets the number of frames currently being decoded or waiting for a decode slot.
+     *
+     * @return The decode stage queue depth
+     */
+    public int getDecodeQueueDepth() {
+        return decodeStageDepth.get() + (pendingFrame.get() != null ? 1 : 0);
+    }
+
+    /**
+     * Gets the number of results waiting for post-processing.
+     *
+     * @return The post-processing stage queue depth
+     */
+    public int getPostQueueDepth() {
+        return postStageDepth.get();
+    }
+
+    /**
+     * Gets the number of frames dropped by pipeline backpressure.
+     *
+     * @return The dropped frame count
+     */
+    public long getDroppedFrameCount() {
+        return droppedFrameCount.get();
+    }
+
+    /**
+     * Gets the number of results discarded because a newer frame's result was already available.
+     *
+     * @return The stale result count
+     */
+    public long getStaleResultCount() {
+        return staleResultCount.get();
     }
 
     /**
@@ -442,6 +1267,16 @@ public class BarcodeAnalyzer implements ImageAnalysis.Analyzer {
      * @param imageHeight The height of the source image (for offset transformation)
      */
     public void setCropRegion(@Nullable Rect region, int imageWidth, int imageHeight) {
+        // Pooled buffers are sized for the previous region - drop them when the size changes
+        Rect previousRegion = cropRegion;
+        if (region == null || previousRegion == null
+                || region.width() != previousRegion.width() || region.height() != previousRegion.height()) {
+            cropBufferPool.clear();
+        }
+
+        // Previous results belong to the previous region
+        clearReusableResult();
+
         if (region != null) {
             this.cropRegion = new Rect(region);
             this.cropOffsetX = region.left;
@@ -521,6 +1356,69 @@ public class BarcodeAnalyzer implements ImageAnalysis.Analyzer {
         return lastImageRotationDegrees;
     }
 
+    /**
+     * Enables or disables the luminance-only frame hand-off.
+     * When enabled, cropped frames are passed to the decoder as single-channel ALPHA_8 bitmaps
+     * holding the raw Y plane, instead of ARGB_8888 bitmaps with R=G=B=Y.
+     * This cuts the crop output bandwidth by 4x. Only applies when a crop region is set.
+     *
+     * @param enabled true to hand off Y-only frames, false to keep the ARGB_8888 expansion
+     */
+    public void setLuminanceOnlyEnabled(boolean enabled) {
+        if (this.luminanceOnly != enabled) {
+            LogUtils.d(TAG, "Luminance-only frames " + (enabled ? "enabled" : "disabled"));
+        }
+        this.luminanceOnly = enabled;
+    }
+
+    /**
+     * Checks if the luminance-only frame hand-off is enabled.
+     *
+     * @return true if cropped frames are handed off as ALPHA_8 bitmaps
+     */
+    public boolean isLuminanceOnlyEnabled() {
+        return luminanceOnly;
+    }
+
+    /**
+     * Configures the native crop transform.
+     * When enabled (and luminance-only frames are enabled), the crop is box-downscaled towards
+     * the model input size and rotated upright in the same native pass as the crop, instead of
+     * being handed to the decoder at full resolution in sensor orientation.
+     * Results then carry the crop scale and orientation, see {@link #getResultCropScale()}.
+     *
+     * @param enabled true to downscale and rotate luminance crops natively
+     * @param modelInputWidth The width of the model input
+     * @param modelInputHeight The height of the model input
+     */
+    public void setCropTransformSettings(boolean enabled, int modelInputWidth, int modelInputHeight) {
+        if (this.cropTransformEnabled != enabled) {
+            LogUtils.d(TAG, "Native crop transform " + (enabled ? "enabled" : "disabled"));
+        }
+        this.modelInputWidth = modelInputWidth;
+        this.modelInputHeight = modelInputHeight;
+        this.cropTransformEnabled = enabled;
+    }
+
+    /**
+     * Checks if the native crop transform is enabled.
+     *
+     * @return true if luminance crops are downscaled and rotated natively
+     */
+    public boolean isCropTransformEnabled() {
+        return cropTransformEnabled;
+    }
+
+    /**
+     * Sets the recorder that receives a copy of every frame delivered to the analyzer,
+     * including frames dropped while busy, so a session can be replayed offline.
+     *
+     * @param recorder The recorder, or null to stop recording. The caller owns and closes it.
+     */
+    public void setFrameRecorder(@Nullable FrameRecorder recorder) {
+        this.frameRecorder = recorder;
+    }
+
     /**
      * Sets the timing callback for receiving analysis performance metrics.
      *
@@ -532,7 +1430,7 @@ public class BarcodeAnalyzer implements ImageAnalysis.Analyzer {
 
     /**
      * Enables or disables timing tracking for performance monitoring.
-     * When enabled, the analyzer will calculate analysis per second and average analysis time.
+     * When enabled, the analyzer will calculate analysis per second and record per-stage latencies.
      *
      * @param enabled true to enable timing tracking, false to disable
      */
@@ -540,13 +1438,10 @@ public class BarcodeAnalyzer implements ImageAnalysis.Analyzer {
         this.timingEnabled = enabled;
         if (enabled) {
             // Reset timing state when enabling
-            apsWindowStartTime = 0;
-            frameCountInWindow = 0;
+            apsWindowStartTime.set(0);
+            frameCountInWindow.set(0);
             currentAnalysisPerSecond = 0;
-            // Reset average calculation
-            analysisTimesIndex = 0;
-            analysisTimesCount = 0;
-            averageAnalysisTimeMs = 0;
+            latencyRecorder.reset();
         }
     }
 
@@ -560,12 +1455,43 @@ public class BarcodeAnalyzer implements ImageAnalysis.Analyzer {
     }
 
     /**
-     * Gets the average analysis time over the last 20 analyses.
+     * Gets the mean decode time since timing was enabled or last reset.
      *
-     * @return The average time in milliseconds taken to analyze frames
+     * @return The mean time in milliseconds taken to decode frames
      */
     public long getAverageAnalysisTimeMs() {
-        return averageAnalysisTimeMs;
+        return latencyRecorder.getHistogram(ELatencyStage.DECODE).getMeanMicros() / 1_000;
+    }
+
+    /**
+     * Gets the per-stage latency recorder.
+     * The analyzer records the crop, image data and decode stages while timing is enabled;
+     * callers record the mapping and overlay stages. Use snapshot/reset on the recorder
+     * to read or clear the histograms.
+     *
+     * @return The latency recorder
+     */
+    @NonNull
+    public StageLatencyRecorder getLatencyRecorder() {
+        return latencyRecorder;
+    }
+
+    /**
+     * Gets the number of crop buffer requests served from the pool.
+     *
+     * @return The pool hit count since the last reset
+     */
+    public long getCropPoolHitCount() {
+        return cropBufferPool.getHitCount();
+    }
+
+    /**
+     * Gets the number of crop buffer requests that required a new allocation.
+     *
+     * @return The pool miss count since the last reset
+     */
+    public long getCropPoolMissCount() {
+        return cropBufferPool.getMissCount();
     }
 
     /**
@@ -0,0 +1,329 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.barcodedecoder;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.zebra.ai.vision.detector.AIVisionSDK;
+import com.zebra.ai.vision.detector.BarcodeDecoder;
+import com.zebra.ai_multibarcodes_capture.helpers.EBarcodesSymbologies;
+import com.zebra.ai_multibarcodes_capture.helpers.LogUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.zebra.ai_multibarcodes_capture.helpers.Constants.SHARED_PREFERENCES_INFERENCE_TYPE;
+import static com.zebra.ai_multibarcodes_capture.helpers.Constants.SHARED_PREFERENCES_INFERENCE_TYPE_DEFAULT;
+import static com.zebra.ai_multibarcodes_capture.helpers.Constants.SHARED_PREFERENCES_MODEL_INPUT_SIZE;
+import static com.zebra.ai_multibarcodes_capture.helpers.Constants.SHARED_PREFERENCES_MODEL_INPUT_SIZE_DEFAULT;
+
+/**
+ * Process-wide owner of the AI Vision SDK decoder, kept warm across activities.
+ *
+ * Creating a BarcodeDecoder loads the model, which operators used to wait for every time they
+ * opened the camera screen, e.g. when coming back from the captured barcodes. The manager is
+ * owned by MainApplication: it preloads the decoder in the background at application start and
+ * lends the same instance to each BarcodeHandler. The decoder is only rebuilt when a setting it
+ * was built with changed (inference type, model input size, symbologies), and released under
+ * memory pressure while no handler holds it.
+ *
+ * The time to first decode, from the acquisition by a handler to its first decoded frame, is
+ * logged and kept along with whether the decoder was already loaded.
+ */
+public class BarcodeDecoderManager {
+
+    private static final String TAG = "BarcodeDecoderManager";
+
+    /**
+     * One decoder, built for one set of settings.
+     */
+    private static final class Build {
+        final String settingsKey;
+        final CompletableFuture<IBarcodeDecoder> future = new CompletableFuture<>();
+        IBarcodeDecoder decoder;
+        int leases;
+        boolean retired;
+        boolean warmUpClaimed;
+        DecoderWarmUp.Result warmUpResult;
+
+        Build(String settingsKey) {
+            this.settingsKey = settingsKey;
+        }
+    }
+
+    private final Context context;
+    // Creates the decoders and runs the SDK callbacks
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    // Guarded by this
+    private Build current;
+    private final List<Build> retiredBuilds = new ArrayList<>();
+    private int buildCount;
+    private long lastBuildMs = -1;
+
+    private volatile long acquireNanos;
+    private volatile boolean acquiredWarm;
+    private volatile long timeToFirstDecodeMs = -1;
+    private volatile boolean firstDecodeWarm;
+
+    /**
+     * @param context Any context, the application context is kept
+     */
+    public BarcodeDecoderManager(@NonNull Context context) {
+        this.context = context.getApplicationContext();
+    }
+
+    /**
+     * Starts loading the decoder for the current settings in the background, unless it is
+     * already loaded or loading.
+     */
+    public synchronized void preload() {
+        ensureBuild();
+    }
+
+    /**
+     * Lends the decoder for the current settings, rebuilding it if they changed since it was built.
+     * Each acquired decoder must be handed back with {@link #release(IBarcodeDecoder)} instead of
+     * being disposed.
+     *
+     * @return A future completed with the decoder once loaded, or exceptionally if it cannot be created
+     */
+    @NonNull
+    public synchronized CompletableFuture<IBarcodeDecoder> acquire() {
+        Build build = ensureBuild();
+        build.leases++;
+        acquireNanos = System.nanoTime();
+        acquiredWarm = build.decoder != null;
+        LogUtils.d(TAG, "Decoder acquired " + (acquiredWarm ? "warm" : "while loading") + ", leases: " + build.leases);
+        return build.future;
+    }
+
+    /**
+     * Hands back a decoder returned by {@link #acquire()}. A decoder replaced since it was acquired
+     * is disposed once no handler holds it anymore.
+     *
+     * @param decoder The acquired decoder
+     */
+    public synchronized void release(@NonNull IBarcodeDecoder decoder) {
+        Build build = findBuild(decoder);
+        if (build == null) {
+            LogUtils.w(TAG, "Released a decoder that was not acquired from the manager");
+            return;
+        }
+        build.leases = Math.max(0, build.leases - 1);
+        if (build.retired && build.leases == 0) {
+            retiredBuilds.remove(build);
+            decoder.dispose();
+            LogUtils.d(TAG, "Replaced decoder disposed");
+        }
+    }
+
+    /**
+     * Releases the decoder under memory pressure when no handler holds it; it is loaded again by
+     * the next acquisition.
+     *
+     * @param level The level passed to Application.onTrimMemory
+     */
+    public synchronized void onTrimMemory(int level) {
+        if (level < ComponentCallbacks2.TRIM_MEMORY_BACKGROUND || current == null) {
+            return;
+        }
+        if (current.leases > 0) {
+            LogUtils.d(TAG, "onTrimMemory(" + level + "): decoder in use, kept");
+            return;
+        }
+        LogUtils.i(TAG, "onTrimMemory(" + level + "): releasing the idle decoder");
+        retire(current);
+        current = null;
+    }
+
+    /**
+     * Claims the warm-up of a decoder, which only its first holder runs.
+     *
+     * @param decoder The acquired decoder
+     * @return true if the caller must warm the decoder up, false if it already was
+     */
+    public synchronized boolean claimWarmUp(@NonNull IBarcodeDecoder decoder) {
+        Build build = findBuild(decoder);
+        if (build == null || build.warmUpClaimed) {
+            return false;
+        }
+        build.warmUpClaimed = true;
+        return true;
+    }
+
+    /**
+     * Keeps the warm-up latencies of a decoder for the handlers that acquire it afterwards.
+     *
+     * @param decoder The acquired decoder
+     * @param result The warm-up latencies
+     */
+    public synchronized void recordWarmUp(@NonNull IBarcodeDecoder decoder, @NonNull DecoderWarmUp.Result result) {
+        Build build = findBuild(decoder);
+        if (build != null) {
+            build.warmUpResult = result;
+        }
+    }
+
+    /**
+     * @param decoder The acquired decoder
+     * @return The warm-up latencies of the decoder, or null if it was not warmed up
+     */
+    @Nullable
+    public synchronized DecoderWarmUp.Result getWarmUpResult(@NonNull IBarcodeDecoder decoder) {
+        Build build = findBuild(decoder);
+        return build != null ? build.warmUpResult : null;
+    }
+
+    /**
+     * Records the first decoded frame of the handler that acquired the decoder last.
+     */
+    public void recordFirstDecode() {
+        timeToFirstDecodeMs = (System.nanoTime() - acquireNanos) / 1000000;
+        firstDecodeWarm = acquiredWarm;
+        LogUtils.i(TAG, "Time to first decode: " + timeToFirstDecodeMs + "ms (" +
+                (firstDecodeWarm ? "warm decoder" : "decoder still loading") + ")");
+    }
+
+    /**
+     * @return The time from the last acquisition to its first decoded frame in milliseconds, or -1
+     */
+    public long getTimeToFirstDecodeMs() {
+        return timeToFirstDecodeMs;
+    }
+
+    /**
+     * @return Whether the decoder was already loaded for the last time to first decode
+     */
+    public boolean isFirstDecodeWarm() {
+        return firstDecodeWarm;
+    }
+
+    /**
+     * @return The number of decoders created since the application started
+     */
+    public synchronized int getBuildCount() {
+        return buildCount;
+    }
+
+    /**
+     * @return The creation time of the last decoder in milliseconds, or -1
+     */
+    public synchronized long getLastBuildMs() {
+        return lastBuildMs;
+    }
+
+    @Nullable
+    private Build findBuild(@NonNull IBarcodeDecoder decoder) {
+        if (current != null && current.decoder == decoder) {
+            return current;
+        }
+        for (Build retiredBuild : retiredBuilds) {
+            if (retiredBuild.decoder == decoder) {
+                return retiredBuild;
+            }
+        }
+        return null;
+    }
+
+    @NonNull
+    private Build ensureBuild() {
+        String settingsKey = computeSettingsKey(context);
+        if (current != null && current.settingsKey.equals(settingsKey)) {
+            return current;
+        }
+        if (current != null) {
+            LogUtils.i(TAG, "Decoder settings changed, rebuilding the decoder");
+            retire(current);
+        }
+        Build build = new Build(settingsKey);
+        current = build;
+        long startNanos = System.nanoTime();
+        executor.execute(() -> create(build, startNanos));
+        return build;
+    }
+
+    private void create(@NonNull Build build, long startNanos) {
+        try {
+            // The application may preload before any activity initialized the SDK
+            AIVisionSDK.getInstance(context).init();
+            BarcodeDecoder.Settings decoderSettings = BarcodeHandler.createDecoderSettings(context,
+                    BarcodeHandler.DEFAULT_MODEL_NAME);
+            BarcodeDecoder.getBarcodeDecoder(decoderSettings, executor)
+                    .thenAccept(decoderInstance -> onBuilt(build, new SdkBarcodeDecoder(decoderInstance), startNanos))
+                    .exceptionally(e -> {
+                        onBuildFailed(build, e);
+                        return null;
+                    });
+        } catch (Exception e) {
+            onBuildFailed(build, e);
+        }
+    }
+
+    private void onBuilt(@NonNull Build build, @NonNull IBarcodeDecoder decoder, long startNanos) {
+        synchronized (this) {
+            build.decoder = decoder;
+            buildCount++;
+            lastBuildMs = (System.nanoTime() - startNanos) / 1000000;
+            LogUtils.i(TAG, "Decoder #" + buildCount + " loaded in " + lastBuildMs + "ms");
+            if (build.retired && build.leases == 0) {
+                // Replaced or trimmed while loading, and nobody waits for it
+                decoder.dispose();
+                return;
+            }
+        }
+        build.future.complete(decoder);
+    }
+
+    private void onBuildFailed(@NonNull Build build, @NonNull Throwable e) {
+        synchronized (this) {
+            if (current == build) {
+                // Try again on the next acquisition
+                current = null;
+            }
+            retiredBuilds.remove(build);
+        }
+        LogUtils.e(TAG, "Decoder creation failed: " + e.getMessage());
+        build.future.completeExceptionally(e);
+    }
+
+    /**
+     * Retires a build replaced by another one or trimmed: disposed now if nobody holds it,
+     * otherwise when its last holder releases it.
+     */
+    private void retire(@NonNull Build build) {
+        build.retired = true;
+        if (build.leases > 0) {
+            retiredBuilds.add(build);
+        } else if (build.decoder != null) {
+            build.decoder.dispose();
+        }
+    }
+
+    /**
+     * Summarizes the settings a decoder is built with. The symbology preferences are keyed by
+     * the symbology names, as read by BarcodeHandler.
+     */
+    @NonNull
+    static String computeSettingsKey(@NonNull Context context) {
+        SharedPreferences sharedPreferences = context.getSharedPreferences(context.getPackageName(), Context.MODE_PRIVATE);
+        StringBuilder key = new StringBuilder();
+        key.append(sharedPreferences.getString(SHARED_PREFERENCES_INFERENCE_TYPE, SHARED_PREFERENCES_INFERENCE_TYPE_DEFAULT))
+                .append('/')
+                .append(sharedPreferences.getString(SHARED_PREFERENCES_MODEL_INPUT_SIZE, SHARED_PREFERENCES_MODEL_INPUT_SIZE_DEFAULT))
+                .append('/');
+        for (EBarcodesSymbologies symbology : EBarcodesSymbologies.values()) {
+            if (symbology != EBarcodesSymbologies.UNKNOWN) {
+                key.append(sharedPreferences.getBoolean(symbology.name(), symbology.getDefaultStatus()) ? '1' : '0');
+            }
+        }
+        return key.toString();
+    }
+}
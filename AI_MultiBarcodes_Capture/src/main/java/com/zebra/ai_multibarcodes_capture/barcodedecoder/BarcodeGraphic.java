@@ -5,8 +5,13 @@ import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.Rect;
+import android.util.LruCache;
+import android.util.SparseArray;
+import android.view.Choreographer;
 
 import com.zebra.ai_multibarcodes_capture.GraphicOverlay;
+import com.zebra.ai_multibarcodes_capture.helpers.DetectionResultProcessor;
+import com.zebra.ai_multibarcodes_capture.helpers.EOverlayMotionMode;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -17,13 +22,21 @@ import java.util.List;
  * bounding boxes around detected barcodes and displaying the decoded text associated with each
  * barcode.
  *
- * This class utilizes the Android Canvas and Paint classes to perform drawing operations, and
- * it manages the rendering of both bounding boxes and text content for barcodes detected in a
- * given overlay.
+ * The graphic is retained: it is added to the overlay once and updated with every processed
+ * frame. Boxes are keyed by their debounce track id and updated in place, so only the boxes
+ * that moved or changed invalidate the overlay, and nothing is invalidated when the frame is
+ * the same as the previous one. Box paints are cached by color and the measured labels by
+ * value, instead of being created again for every frame.
+ *
+ * Between two analysis results, the boxes of tracked barcodes can be moved on every display
+ * frame (see {@link EOverlayMotionMode}), from the velocity of each track measured over the
+ * successive results. When a result arrives, the distance between where each tracked box was
+ * drawn and where the result puts it is recorded, so the modes can be compared.
  *
  * Usage:
- * - Instantiate the BarcodeGraphic with a reference to the GraphicOverlay, and lists of bounding
- *   boxes and decoded strings.
+ * - Instantiate the BarcodeGraphic with a reference to the GraphicOverlay and add it to the overlay.
+ * - Call update(FrameResult) with each processed frame, and clearBoxes() to remove every box.
+ * - Call setMotionMode() to move the boxes between results.
  * - The draw(Canvas) method is called to render the graphics on the screen.
  *
  * Dependencies:
@@ -31,94 +44,399 @@ import java.util.List;
  *   on top of a camera preview or other content.
  * - Android Paint and Canvas classes: Used to perform drawing operations.
  *
- * Note: This class is typically used in conjunction with a barcode detection system to visually
- * display the results of the detection process in an Android application.
+ * Thread Safety:
+ * - The graphic must be created and used on the UI thread.
  */
-public class BarcodeGraphic extends GraphicOverlay.Graphic {
-    private final Paint boxPaint;
-    private final Paint contentRectPaint;
-    private final Paint contentTextPaint;
-    private final List<Rect> boundingBoxes = new ArrayList<>();
-    private final List<Rect> contentRectBoxes = new ArrayList<>();
-    private final List<String> decodedValues = new ArrayList<>();
-    private final List<Integer> boxColors = new ArrayList<>();
-    private final int contentPadding = 25;
+public class BarcodeGraphic extends GraphicOverlay.Graphic implements Choreographer.FrameCallback {
+
+    private static final float BOX_STROKE_WIDTH = 6f;
+    private static final int LABEL_CACHE_SIZE = 256;
+    // Key of the first box without track; the following ones count down from it
+    private static final int FIRST_UNTRACKED_KEY = -2;
+    // Longest a box moves after a result, and longest interval a velocity is measured over
+    private static final long MAX_MOTION_NANOS = 250_000_000L;
+    // Weight of the latest measured velocity in the smoothed velocity
+    private static final float VELOCITY_GAIN = 0.5f;
 
     /**
-     * Constructs a new BarcodeGraphic object, initializing the Paint objects used for drawing
-     * and preparing the bounding boxes and decoded text for rendering.
-     *
-     * @param overlay The GraphicOverlay on which this graphic will be drawn.
-     * @param boxes A list of Rect objects representing the bounding boxes of detected barcodes.
-     * @param decodedStrings A list of strings representing the decoded content of each barcode.
+     * A label measured once for its value.
      */
-    public BarcodeGraphic(GraphicOverlay overlay, List<Rect> boxes, List<String> decodedStrings) {
-        this(overlay, boxes, decodedStrings, null);
+    private static final class LabelLayout {
+        final String text;
+        final int width;
+
+        LabelLayout(String text, int width) {
+            this.text = text;
+            this.width = width;
+        }
     }
 
     /**
-     * Constructs a new BarcodeGraphic object with per-box colors, initializing the Paint objects
-     * used for drawing and preparing the bounding boxes and decoded text for rendering.
+     * A drawn box, kept across frames and updated in place.
+     */
+    private static final class TrackedBox {
+        // Box as drawn
+        final Rect box = new Rect();
+        // Motion segment: from the box drawn when the last result arrived, to that result
+        final Rect fromBox = new Rect();
+        final Rect toBox = new Rect();
+        long segmentStartNanos;
+        long segmentNanos;  // 0 when the box does not move
+        float velocityX;  // pixels per millisecond
+        float velocityY;
+        final Rect contentRect = new Rect();
+        // Area covered by the box, its stroke and its label
+        final Rect drawnBounds = new Rect();
+        int color;
+        Paint boxPaint;
+        String value;
+        LabelLayout label;  // null when the value is blank
+        boolean seen;
+    }
+
+    private final Paint contentRectPaint;
+    private final Paint contentTextPaint;
+    private final SparseArray<Paint> boxPaints = new SparseArray<>();
+    private final LruCache<String, LabelLayout> labelLayouts = new LruCache<>(LABEL_CACHE_SIZE);
+    private final SparseArray<TrackedBox> trackedBoxes = new SparseArray<>();
+    private final List<TrackedBox> recycledBoxes = new ArrayList<>();
+    private final Rect frameBox = new Rect();
+    private final Rect motionBox = new Rect();
+    private final Rect dirtyRegion = new Rect();
+    private final int contentPadding = 25;
+    private final Choreographer choreographer = Choreographer.getInstance();
+    private EOverlayMotionMode motionMode = EOverlayMotionMode.OFF;
+    private boolean frameScheduled = false;
+    // Distance between the drawn boxes and the results that replaced them
+    private double positionErrorSum = 0;
+    private int positionErrorCount = 0;
+
+    /**
+     * Constructs a new BarcodeGraphic object, initializing the Paint objects used for drawing.
      *
      * @param overlay The GraphicOverlay on which this graphic will be drawn.
-     * @param boxes A list of Rect objects representing the bounding boxes of detected barcodes.
-     * @param decodedStrings A list of strings representing the decoded content of each barcode.
-     * @param colors A list of colors for each bounding box. If null, defaults to GREEN.
      */
-    public BarcodeGraphic(GraphicOverlay overlay, List<Rect> boxes, List<String> decodedStrings, List<Integer> colors) {
+    public BarcodeGraphic(GraphicOverlay overlay) {
         super(overlay);
-        overlay.clear();
-
-        // Initialize the paint for drawing bounding boxes
-        boxPaint = new Paint();
-        boxPaint.setColor(Color.GREEN);
-        boxPaint.setStyle(Paint.Style.STROKE);
-        boxPaint.setStrokeWidth(6f);
 
         // Initialize the paint for drawing content rectangles
         contentRectPaint = new Paint();
         contentRectPaint.setColor(Color.WHITE);
         contentRectPaint.setStyle(Paint.Style.FILL);
-        contentRectPaint.setStrokeWidth(6f);
+        contentRectPaint.setStrokeWidth(BOX_STROKE_WIDTH);
 
         // Initialize the paint for drawing text
         contentTextPaint = new Paint();
         contentTextPaint.setColor(Color.DKGRAY);
         contentTextPaint.setAlpha(255);
         contentTextPaint.setTextSize(36F);
-        boundingBoxes.clear();
+    }
+
+    /**
+     * Updates the boxes with a processed frame and invalidates the area that changed.
+     * The frame is only read during the call.
+     *
+     * @param frame The processed frame holding the boxes, decoded strings, colors and track ids.
+     */
+    public void update(DetectionResultProcessor.FrameResult frame) {
+        long nowNanos = System.nanoTime();
+        boolean moving = false;
+        dirtyRegion.setEmpty();
+        for (int i = 0; i < trackedBoxes.size(); i++) {
+            trackedBoxes.valueAt(i).seen = false;
+        }
+
+        int untrackedKey = FIRST_UNTRACKED_KEY;
+        for (int i = 0; i < frame.size(); i++) {
+            int trackId = frame.getTrackId(i);
+            // Boxes without track are matched to the previous frame's in order
+            int key = trackId != DetectionResultProcessor.FrameResult.NO_TRACK ? trackId : untrackedKey--;
+            TrackedBox trackedBox = trackedBoxes.get(key);
+            boolean added = trackedBox == null;
+            if (added) {
+                trackedBox = obtainTrackedBox();
+                trackedBoxes.put(key, trackedBox);
+            }
+            trackedBox.seen = true;
+
+            frame.getRect(i, frameBox);
+            if (added || trackId == DetectionResultProcessor.FrameResult.NO_TRACK) {
+                startMotion(trackedBox, frameBox, nowNanos);
+            } else {
+                measureMotion(trackedBox, frameBox, nowNanos);
+            }
+            moving |= positionAt(trackedBox, nowNanos, motionBox);
+
+            String value = frame.getDecodedString(i) != null ? frame.getDecodedString(i) : "";
+            int color = frame.getColor(i);
+            if (added || !trackedBox.box.equals(motionBox) || trackedBox.color != color
+                    || !trackedBox.value.equals(value)) {
+                if (!added) {
+                    dirtyRegion.union(trackedBox.drawnBounds);
+                }
+                setTrackedBox(trackedBox, motionBox, value, color);
+                dirtyRegion.union(trackedBox.drawnBounds);
+            }
+        }
+
+        // Remove the boxes that are gone
+        for (int i = trackedBoxes.size() - 1; i >= 0; i--) {
+            TrackedBox trackedBox = trackedBoxes.valueAt(i);
+            if (!trackedBox.seen) {
+                dirtyRegion.union(trackedBox.drawnBounds);
+                trackedBoxes.removeAt(i);
+                recycleTrackedBox(trackedBox);
+            }
+        }
+
+        if (moving) {
+            scheduleFrame();
+        }
+        if (!dirtyRegion.isEmpty()) {
+            postInvalidate(dirtyRegion);
+        }
+    }
+
+    /**
+     * Moves the boxes to their position for the display frame, and keeps the loop running
+     * while any of them moves.
+     *
+     * @param frameTimeNanos The time the display frame started rendering, in System.nanoTime() base.
+     */
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        frameScheduled = false;
+        boolean moving = false;
+        dirtyRegion.setEmpty();
+        for (int i = 0; i < trackedBoxes.size(); i++) {
+            TrackedBox trackedBox = trackedBoxes.valueAt(i);
+            moving |= positionAt(trackedBox, frameTimeNanos, motionBox);
+            if (!trackedBox.box.equals(motionBox)) {
+                dirtyRegion.union(trackedBox.drawnBounds);
+                layoutTrackedBox(trackedBox, motionBox);
+                dirtyRegion.union(trackedBox.drawnBounds);
+            }
+        }
+
+        if (moving) {
+            scheduleFrame();
+        }
+        if (!dirtyRegion.isEmpty()) {
+            postInvalidate(dirtyRegion);
+        }
+    }
+
+    /**
+     * Sets how the boxes move between two results, and restarts the position error statistics.
+     *
+     * @param motionMode The motion mode, EOverlayMotionMode.OFF to draw the results as they are.
+     */
+    public void setMotionMode(EOverlayMotionMode motionMode) {
+        if (this.motionMode == motionMode) {
+            return;
+        }
+        this.motionMode = motionMode;
+        resetMotionStatistics();
+        if (motionMode == EOverlayMotionMode.OFF && frameScheduled) {
+            choreographer.removeFrameCallback(this);
+            frameScheduled = false;
+        }
+    }
+
+    public EOverlayMotionMode getMotionMode() {
+        return motionMode;
+    }
+
+    /**
+     * @return The mean distance in pixels between the center of a tracked box as drawn and the
+     * center given by the next result, or 0 if no result replaced a tracked box yet
+     */
+    public double getMeanPositionError() {
+        return positionErrorCount > 0 ? positionErrorSum / positionErrorCount : 0;
+    }
+
+    /**
+     * @return The number of results the mean position error is computed over
+     */
+    public int getPositionErrorCount() {
+        return positionErrorCount;
+    }
 
-        // Populate bounding boxes if provided
-        if (boxes != null) {
-            boundingBoxes.addAll(boxes);
+    public void resetMotionStatistics() {
+        positionErrorSum = 0;
+        positionErrorCount = 0;
+    }
+
+    /**
+     * Removes every box.
+     */
+    public void clearBoxes() {
+        dirtyRegion.setEmpty();
+        for (int i = 0; i < trackedBoxes.size(); i++) {
+            TrackedBox trackedBox = trackedBoxes.valueAt(i);
+            dirtyRegion.union(trackedBox.drawnBounds);
+            recycleTrackedBox(trackedBox);
         }
+        trackedBoxes.clear();
+        if (frameScheduled) {
+            choreographer.removeFrameCallback(this);
+            frameScheduled = false;
+        }
+        if (!dirtyRegion.isEmpty()) {
+            postInvalidate(dirtyRegion);
+        }
+    }
 
-        // Populate decoded values if provided
-        decodedValues.clear();
-        if (decodedStrings != null) {
-            decodedValues.addAll(decodedStrings);
+    private TrackedBox obtainTrackedBox() {
+        int last = recycledBoxes.size() - 1;
+        return last >= 0 ? recycledBoxes.remove(last) : new TrackedBox();
+    }
+
+    private void recycleTrackedBox(TrackedBox trackedBox) {
+        trackedBox.value = null;
+        trackedBox.label = null;
+        recycledBoxes.add(trackedBox);
+    }
+
+    private void scheduleFrame() {
+        if (!frameScheduled && motionMode != EOverlayMotionMode.OFF) {
+            frameScheduled = true;
+            choreographer.postFrameCallback(this);
         }
+    }
 
-        // Store colors for per-box coloring
-        boxColors.clear();
-        if (colors != null) {
-            boxColors.addAll(colors);
+    /**
+     * Starts a box at the given position, without motion.
+     */
+    private static void startMotion(TrackedBox trackedBox, Rect box, long nowNanos) {
+        trackedBox.fromBox.set(box);
+        trackedBox.toBox.set(box);
+        trackedBox.segmentStartNanos = nowNanos;
+        trackedBox.segmentNanos = 0;
+        trackedBox.velocityX = 0f;
+        trackedBox.velocityY = 0f;
+    }
+
+    /**
+     * Records the position error of a tracked box, updates its velocity with the new result,
+     * and starts a motion segment from where the box is drawn to the result.
+     */
+    private void measureMotion(TrackedBox trackedBox, Rect box, long nowNanos) {
+        positionAt(trackedBox, nowNanos, motionBox);
+        positionErrorSum += Math.hypot(box.exactCenterX() - motionBox.exactCenterX(),
+                box.exactCenterY() - motionBox.exactCenterY());
+        positionErrorCount++;
+
+        long elapsedNanos = nowNanos - trackedBox.segmentStartNanos;
+        if (elapsedNanos <= 0 || elapsedNanos > MAX_MOTION_NANOS) {
+            // Too close or too far apart to measure a velocity
+            startMotion(trackedBox, box, nowNanos);
+            return;
+        }
+        float elapsedMs = elapsedNanos / 1_000_000f;
+        float measuredVelocityX = (box.exactCenterX() - trackedBox.toBox.exactCenterX()) / elapsedMs;
+        float measuredVelocityY = (box.exactCenterY() - trackedBox.toBox.exactCenterY()) / elapsedMs;
+        if (trackedBox.segmentNanos == 0) {
+            trackedBox.velocityX = measuredVelocityX;
+            trackedBox.velocityY = measuredVelocityY;
+        } else {
+            trackedBox.velocityX += VELOCITY_GAIN * (measuredVelocityX - trackedBox.velocityX);
+            trackedBox.velocityY += VELOCITY_GAIN * (measuredVelocityY - trackedBox.velocityY);
+        }
+        trackedBox.fromBox.set(motionBox);
+        trackedBox.toBox.set(box);
+        trackedBox.segmentStartNanos = nowNanos;
+        trackedBox.segmentNanos = elapsedNanos;
+    }
+
+    /**
+     * Computes where a box is drawn at the given time, for the motion mode.
+     *
+     * @return true if the box still moves after that time
+     */
+    private boolean positionAt(TrackedBox trackedBox, long timeNanos, Rect out) {
+        long elapsedNanos = Math.max(0, timeNanos - trackedBox.segmentStartNanos);
+        boolean moving = elapsedNanos < trackedBox.segmentNanos;
+        switch (motionMode) {
+            case INTERPOLATE:
+                if (!moving) {
+                    out.set(trackedBox.toBox);
+                    return false;
+                }
+                float fraction = (float) elapsedNanos / trackedBox.segmentNanos;
+                Rect from = trackedBox.fromBox;
+                Rect to = trackedBox.toBox;
+                out.set(from.left + Math.round((to.left - from.left) * fraction),
+                        from.top + Math.round((to.top - from.top) * fraction),
+                        from.right + Math.round((to.right - from.right) * fraction),
+                        from.bottom + Math.round((to.bottom - from.bottom) * fraction));
+                return true;
+            case EXTRAPOLATE:
+                float elapsedMs = Math.min(elapsedNanos, trackedBox.segmentNanos) / 1_000_000f;
+                out.set(trackedBox.toBox);
+                out.offset(Math.round(trackedBox.velocityX * elapsedMs), Math.round(trackedBox.velocityY * elapsedMs));
+                return moving && (trackedBox.velocityX != 0f || trackedBox.velocityY != 0f);
+            default:
+                out.set(trackedBox.toBox);
+                return false;
         }
+    }
+
+    private void setTrackedBox(TrackedBox trackedBox, Rect box, String value, int color) {
+        trackedBox.color = color;
+        trackedBox.boxPaint = boxPaint(color);
+        trackedBox.value = value;
+        trackedBox.label = labelLayout(value);
+        layoutTrackedBox(trackedBox, box);
+    }
 
-        // Calculate rectangles for the content text background
-        contentRectBoxes.clear();
-        for (int i = 0; i < boundingBoxes.size(); i++) {
-            int textWidth = (int) contentTextPaint.measureText(decodedValues.get(i));
-            contentRectBoxes.add(new Rect(
-                    boundingBoxes.get(i).left,
-                    boundingBoxes.get(i).bottom + contentPadding / 2,
-                    boundingBoxes.get(i).left + textWidth + contentPadding * 2,
-                    boundingBoxes.get(i).bottom + (int) contentTextPaint.getTextSize() + contentPadding
-            ));
+    /**
+     * Places a box, with its label, at the given position.
+     */
+    private void layoutTrackedBox(TrackedBox trackedBox, Rect box) {
+        trackedBox.box.set(box);
+        int strokeOutset = (int) Math.ceil(BOX_STROKE_WIDTH / 2) + 1;
+        trackedBox.drawnBounds.set(box);
+        trackedBox.drawnBounds.sort();
+        trackedBox.drawnBounds.inset(-strokeOutset, -strokeOutset);
+        if (trackedBox.label != null) {
+            // Rectangle for the content text background, below the box
+            trackedBox.contentRect.set(
+                    box.left,
+                    box.bottom + contentPadding / 2,
+                    box.left + trackedBox.label.width + contentPadding * 2,
+                    box.bottom + (int) contentTextPaint.getTextSize() + contentPadding
+            );
+            trackedBox.drawnBounds.union(trackedBox.contentRect);
+            // The text baseline is below the rectangle, leave room for the descent
+            trackedBox.drawnBounds.union(box.left, box.bottom,
+                    box.left + trackedBox.label.width + contentPadding * 2,
+                    box.bottom + contentPadding * 2 + (int) Math.ceil(contentTextPaint.descent()));
         }
+    }
 
-        // Trigger a redraw of the overlay
-        postInvalidate();
+    private Paint boxPaint(int color) {
+        Paint paint = boxPaints.get(color);
+        if (paint == null) {
+            paint = new Paint();
+            paint.setColor(color);
+            paint.setStyle(Paint.Style.STROKE);
+            paint.setStrokeWidth(BOX_STROKE_WIDTH);
+            boxPaints.put(color, paint);
+        }
+        return paint;
+    }
+
+    private LabelLayout labelLayout(String value) {
+        if (value.trim().isEmpty()) {
+            return null;
+        }
+        LabelLayout label = labelLayouts.get(value);
+        if (label == null) {
+            label = new LabelLayout(value, (int) contentTextPaint.measureText(value));
+            labelLayouts.put(value, label);
+        }
+        return label;
     }
 
     /**
@@ -129,26 +447,23 @@ public class BarcodeGraphic extends GraphicOverlay.Graphic {
     @Override
     public void draw(Canvas canvas) {
         // Draw bounding boxes with individual colors
-        for (int i = 0; i < boundingBoxes.size(); i++) {
-            if (i < boxColors.size()) {
-                boxPaint.setColor(boxColors.get(i));
-            } else {
-                boxPaint.setColor(Color.GREEN); // Default fallback
-            }
-            canvas.drawRect(boundingBoxes.get(i), boxPaint);
+        for (int i = 0; i < trackedBoxes.size(); i++) {
+            TrackedBox trackedBox = trackedBoxes.valueAt(i);
+            canvas.drawRect(trackedBox.box, trackedBox.boxPaint);
         }
 
         // Draw the text content of the barcode
-        for (int i = 0; i < decodedValues.size(); i++) {
-            if (!decodedValues.get(i).trim().isEmpty()) {
+        for (int i = 0; i < trackedBoxes.size(); i++) {
+            TrackedBox trackedBox = trackedBoxes.valueAt(i);
+            if (trackedBox.label != null) {
                 // Draw the rectangle for barcode content
-                canvas.drawRect(contentRectBoxes.get(i), contentRectPaint);
+                canvas.drawRect(trackedBox.contentRect, contentRectPaint);
 
                 // Draw the text
                 canvas.drawText(
-                        decodedValues.get(i),
-                        boundingBoxes.get(i).left + contentPadding,
-                        boundingBoxes.get(i).bottom + contentPadding * 2,
+                        trackedBox.label.text,
+                        trackedBox.box.left + contentPadding,
+                        trackedBox.box.bottom + contentPadding * 2,
                         contentTextPaint
                 );
             }
@@ -23,6 +23,7 @@ import com.zebra.ai_multibarcodes_capture.helpers.LogUtils;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
+import androidx.annotation.NonNull;
 import androidx.camera.core.ImageAnalysis;
 import androidx.core.content.ContextCompat;
 
@@ -52,6 +53,8 @@ import static com.zebra.ai_multibarcodes_capture.helpers.Constants.SHARED_PREFER
 import static com.zebra.ai_multibarcodes_capture.helpers.Constants.SHARED_PREFERENCES_D2OF5_DEFAULT;
 import static com.zebra.ai_multibarcodes_capture.helpers.Constants.SHARED_PREFERENCES_DATAMATRIX;
 import static com.zebra.ai_multibarcodes_capture.helpers.Constants.SHARED_PREFERENCES_DATAMATRIX_DEFAULT;
+import static com.zebra.ai_multibarcodes_capture.helpers.Constants.SHARED_PREFERENCES_DECODER_WARMUP_FRAMES;
+import static com.zebra.ai_multibarcodes_capture.helpers.Constants.SHARED_PREFERENCES_DECODER_WARMUP_FRAMES_DEFAULT;
 import static com.zebra.ai_multibarcodes_capture.helpers.Constants.SHARED_PREFERENCES_DOTCODE;
 import static com.zebra.ai_multibarcodes_capture.helpers.Constants.SHARED_PREFERENCES_DOTCODE_DEFAULT;
 import static com.zebra.ai_multibarcodes_capture.helpers.Constants.SHARED_PREFERENCES_DUTCH_POSTAL;
@@ -102,6 +105,10 @@ import static com.zebra.ai_multibarcodes_capture.helpers.Constants.SHARED_PREFER
 import static com.zebra.ai_multibarcodes_capture.helpers.Constants.SHARED_PREFERENCES_PDF417_DEFAULT;
 import static com.zebra.ai_multibarcodes_capture.helpers.Constants.SHARED_PREFERENCES_QRCODE;
 import static com.zebra.ai_multibarcodes_capture.helpers.Constants.SHARED_PREFERENCES_QRCODE_DEFAULT;
+import static com.zebra.ai_multibarcodes_capture.helpers.Constants.SHARED_PREFERENCES_TILED_DECODE_OVERLAP;
+import static com.zebra.ai_multibarcodes_capture.helpers.Constants.SHARED_PREFERENCES_TILED_DECODE_OVERLAP_DEFAULT;
+import static com.zebra.ai_multibarcodes_capture.helpers.Constants.SHARED_PREFERENCES_TILED_DECODE_PARALLELISM;
+import static com.zebra.ai_multibarcodes_capture.helpers.Constants.SHARED_PREFERENCES_TILED_DECODE_PARALLELISM_DEFAULT;
 import static com.zebra.ai_multibarcodes_capture.helpers.Constants.SHARED_PREFERENCES_TLC39;
 import static com.zebra.ai_multibarcodes_capture.helpers.Constants.SHARED_PREFERENCES_TLC39_DEFAULT;
 import static com.zebra.ai_multibarcodes_capture.helpers.Constants.SHARED_PREFERENCES_TRIOPTIC39;
@@ -154,14 +161,21 @@ import static com.zebra.ai_multibarcodes_capture.helpers.Constants.SHARED_PREFER
  */
 public class BarcodeHandler {
     private static final String TAG = "BarcodeHandler";
-    private BarcodeDecoder barcodeDecoder;
+    static final String DEFAULT_MODEL_NAME = "barcode-localizer";
+    private IBarcodeDecoder barcodeDecoder;
     private final ExecutorService executor;
     private final Context context;
     private BarcodeAnalyzer barcodeAnalyzer;
     private final BarcodeAnalyzer.DetectionCallback callback;
     private final ImageAnalysis imageAnalysis;
-    private String mavenModelName = "barcode-localizer";
+    private String mavenModelName = DEFAULT_MODEL_NAME;
     private AnalyzerReadyCallback analyzerReadyCallback;
+    private TiledBitmapDecoder tiledBitmapDecoder;
+    // Set when the decoder is lent by the process-wide manager instead of owned
+    private final BarcodeDecoderManager decoderManager;
+    private IBarcodeDecoder leasedDecoder;
+    private boolean stopped;
+    private volatile DecoderWarmUp.Result warmUpResult;
 
     /**
      * Callback interface to notify when the BarcodeAnalyzer is ready.
@@ -182,9 +196,51 @@ public class BarcodeHandler {
         this.callback = callback;
         this.executor = Executors.newSingleThreadExecutor();
         this.imageAnalysis = imageAnalysis;
+        this.decoderManager = null;
         initializeBarcodeDecoder();
     }
 
+    /**
+     * Constructs a new BarcodeHandler around the decoder kept warm by the process-wide manager,
+     * so that the model is not loaded again each time the camera screen opens.
+     *
+     * @param context The Android context for resource management.
+     * @param callback The callback for handling detection results.
+     * @param imageAnalysis The image analysis configuration for processing image data.
+     * @param decoderManager The manager lending the decoder, handed back by {@link #stop()}.
+     */
+    public BarcodeHandler(Context context, BarcodeAnalyzer.DetectionCallback callback, ImageAnalysis imageAnalysis,
+                          BarcodeDecoderManager decoderManager) {
+        this.context = context;
+        this.callback = callback;
+        this.executor = Executors.newSingleThreadExecutor();
+        this.imageAnalysis = imageAnalysis;
+        this.decoderManager = decoderManager;
+        decoderManager.acquire().thenAccept(this::onDecoderLeased).exceptionally(e -> {
+            LogUtils.e(TAG, "Fatal error: shared decoder creation failed - " + e.getMessage());
+            return null;
+        });
+    }
+
+    /**
+     * Constructs a new BarcodeHandler around an already created decoder, bypassing the AI Vision SDK
+     * initialization. Used to run the analysis pipeline with a {@link ScriptedBarcodeDecoder}.
+     *
+     * @param context The Android context for resource management.
+     * @param callback The callback for handling detection results.
+     * @param imageAnalysis The image analysis configuration for processing image data.
+     * @param decoder The decoder to use, disposed by {@link #stop()}.
+     */
+    public BarcodeHandler(Context context, BarcodeAnalyzer.DetectionCallback callback, ImageAnalysis imageAnalysis,
+                          IBarcodeDecoder decoder) {
+        this.context = context;
+        this.callback = callback;
+        this.executor = Executors.newSingleThreadExecutor();
+        this.imageAnalysis = imageAnalysis;
+        this.decoderManager = null;
+        onDecoderReady(decoder);
+    }
+
     /**
      * Initializes the BarcodeDecoder with predefined settings for barcode symbologies
      * and detection parameters. This method sets up the necessary components for analyzing
@@ -192,39 +248,13 @@ public class BarcodeHandler {
      */
     public void initializeBarcodeDecoder() {
         try {
-            BarcodeDecoder.Settings decoderSettings = new BarcodeDecoder.Settings(mavenModelName);
-            Integer[] rpo = new Integer[3];
-            rpo[0] = InferencerOptions.DSP;
-            rpo[1] = InferencerOptions.CPU;
-            rpo[2] = InferencerOptions.GPU;
-
-            // Retrieve inference type from shared preferences
-            SharedPreferences sharedPreferences = context.getSharedPreferences(context.getPackageName(), Context.MODE_PRIVATE);
-            String inferenceTypeString = sharedPreferences.getString(SHARED_PREFERENCES_INFERENCE_TYPE, SHARED_PREFERENCES_INFERENCE_TYPE_DEFAULT);
-            EInferenceType inferenceType = EInferenceType.valueOf(inferenceTypeString);
-            rpo[0] = inferenceType.toInferencerOptions();
-
-            // Retrieve model input size from shared preferences
-            String modelInputSizeString = sharedPreferences.getString(SHARED_PREFERENCES_MODEL_INPUT_SIZE, SHARED_PREFERENCES_MODEL_INPUT_SIZE_DEFAULT);
-            EModelInputSize modelInputSize = EModelInputSize.valueOf(modelInputSizeString);
-
-            setAvailableSymbologiesFromPreferences(context, decoderSettings);
-
-            decoderSettings.detectorSetting.inferencerOptions.runtimeProcessorOrder = rpo;
-            decoderSettings.detectorSetting.inferencerOptions.defaultDims.height = modelInputSize.getHeight();
-            decoderSettings.detectorSetting.inferencerOptions.defaultDims.width = modelInputSize.getWidth();
+            BarcodeDecoder.Settings decoderSettings = createDecoderSettings(context, mavenModelName);
 
             long m_Start = System.currentTimeMillis();
             BarcodeDecoder.getBarcodeDecoder(decoderSettings, executor).thenAccept(decoderInstance -> {
-                barcodeDecoder = decoderInstance;
-                barcodeAnalyzer = new BarcodeAnalyzer(callback, barcodeDecoder);
-                imageAnalysis.setAnalyzer(ContextCompat.getMainExecutor(context), barcodeAnalyzer);
                 LogUtils.d(TAG, "BarcodeDecoder() obj creation time =" + (System.currentTimeMillis() - m_Start) + " milli sec");
-
-                // Notify callback that analyzer is ready
-                if (analyzerReadyCallback != null) {
-                    analyzerReadyCallback.onAnalyzerReady(barcodeAnalyzer);
-                }
+                SdkBarcodeDecoder decoder = new SdkBarcodeDecoder(decoderInstance);
+                warmUpThenAttach(decoder, decoder);
             }).exceptionally(e -> {
                 if (e instanceof AIVisionSDKLicenseException) {
                     LogUtils.e(TAG, "AIVisionSDKLicenseException: Barcode Decoder object creation failed, " + e.getMessage());
@@ -238,6 +268,114 @@ public class BarcodeHandler {
         }
     }
 
+    /**
+     * Builds the decoder settings from the shared preferences: inference processor order,
+     * model input size and enabled symbologies.
+     *
+     * @param context The context whose shared preferences hold the settings
+     * @param modelName The name of the localizer model
+     * @return The decoder settings
+     * @throws AIVisionSDKException If the model settings cannot be created
+     */
+    static BarcodeDecoder.Settings createDecoderSettings(Context context, String modelName) throws AIVisionSDKException {
+        BarcodeDecoder.Settings decoderSettings = new BarcodeDecoder.Settings(modelName);
+        Integer[] rpo = new Integer[3];
+        rpo[0] = InferencerOptions.DSP;
+        rpo[1] = InferencerOptions.CPU;
+        rpo[2] = InferencerOptions.GPU;
+
+        // Retrieve inference type from shared preferences
+        SharedPreferences sharedPreferences = context.getSharedPreferences(context.getPackageName(), Context.MODE_PRIVATE);
+        String inferenceTypeString = sharedPreferences.getString(SHARED_PREFERENCES_INFERENCE_TYPE, SHARED_PREFERENCES_INFERENCE_TYPE_DEFAULT);
+        EInferenceType inferenceType = EInferenceType.valueOf(inferenceTypeString);
+        rpo[0] = inferenceType.toInferencerOptions();
+
+        // Retrieve model input size from shared preferences
+        String modelInputSizeString = sharedPreferences.getString(SHARED_PREFERENCES_MODEL_INPUT_SIZE, SHARED_PREFERENCES_MODEL_INPUT_SIZE_DEFAULT);
+        EModelInputSize modelInputSize = EModelInputSize.valueOf(modelInputSizeString);
+
+        setAvailableSymbologiesFromPreferences(context, decoderSettings);
+
+        decoderSettings.detectorSetting.inferencerOptions.runtimeProcessorOrder = rpo;
+        decoderSettings.detectorSetting.inferencerOptions.defaultDims.height = modelInputSize.getHeight();
+        decoderSettings.detectorSetting.inferencerOptions.defaultDims.width = modelInputSize.getWidth();
+        return decoderSettings;
+    }
+
+    /**
+     * Uses the decoder lent by the manager, or hands it back right away if the handler was
+     * stopped while it was loading.
+     */
+    private void onDecoderLeased(IBarcodeDecoder decoder) {
+        synchronized (this) {
+            if (stopped) {
+                decoderManager.release(decoder);
+                return;
+            }
+            leasedDecoder = decoder;
+        }
+        IBarcodeDecoder reportingDecoder = new FirstDecodeReporter(decoder, decoderManager);
+        if (decoderManager.claimWarmUp(decoder)) {
+            warmUpThenAttach(decoder, reportingDecoder);
+        } else {
+            warmUpResult = decoderManager.getWarmUpResult(decoder);
+            onDecoderReady(reportingDecoder);
+        }
+    }
+
+    /**
+     * Runs the configured number of synthetic frames through a new decoder, so that the lazy
+     * runtime initialization is not paid by the first camera frames, then attaches the analyzer.
+     *
+     * @param decoder The new decoder, warmed up
+     * @param analyzerDecoder The decoder handed to the analyzer
+     */
+    private void warmUpThenAttach(IBarcodeDecoder decoder, IBarcodeDecoder analyzerDecoder) {
+        SharedPreferences sharedPreferences = context.getSharedPreferences(context.getPackageName(), Context.MODE_PRIVATE);
+        int warmUpFrames = sharedPreferences.getInt(SHARED_PREFERENCES_DECODER_WARMUP_FRAMES, SHARED_PREFERENCES_DECODER_WARMUP_FRAMES_DEFAULT);
+        if (warmUpFrames <= 0) {
+            onDecoderReady(analyzerDecoder);
+            return;
+        }
+        EModelInputSize modelInputSize = EModelInputSize.valueOf(sharedPreferences.getString(
+                SHARED_PREFERENCES_MODEL_INPUT_SIZE, SHARED_PREFERENCES_MODEL_INPUT_SIZE_DEFAULT));
+        DecoderWarmUp.run(decoder, modelInputSize.getWidth(), modelInputSize.getHeight(), warmUpFrames)
+                .thenAccept(result -> {
+                    if (result != null) {
+                        warmUpResult = result;
+                        if (decoderManager != null) {
+                            decoderManager.recordWarmUp(decoder, result);
+                        }
+                    }
+                    synchronized (this) {
+                        if (stopped) {
+                            // A leased decoder was handed back by stop(), an owned one was never
+                            // assigned to barcodeDecoder so stop() could not dispose of it
+                            if (decoderManager == null) {
+                                decoder.dispose();
+                                LogUtils.d(TAG, "Barcode decoder is disposed after its warm-up");
+                            }
+                            return;
+                        }
+                    }
+                    onDecoderReady(analyzerDecoder);
+                });
+    }
+
+    /**
+     * Creates the analyzer on top of the decoder and attaches it to the image analysis use case.
+     */
+    private void onDecoderReady(IBarcodeDecoder decoder) {
+        barcodeDecoder = decoder;
+        barcodeAnalyzer = new BarcodeAnalyzer(callback, barcodeDecoder);
+        imageAnalysis.setAnalyzer(ContextCompat.getMainExecutor(context), barcodeAnalyzer);
+
+        // Notify callback that analyzer is ready
+        if (analyzerReadyCallback != null) {
+            analyzerReadyCallback.onAnalyzerReady(barcodeAnalyzer);
+        }
+    }
+
     private static void setAvailableSymbologiesFromPreferences(Context context, BarcodeDecoder.Settings decoderSettings) {
         SharedPreferences sharedPreferences = context.getSharedPreferences(context.getPackageName(), Context.MODE_PRIVATE);
 
@@ -296,6 +434,21 @@ public class BarcodeHandler {
      */
     public void stop() {
         executor.shutdownNow();
+        synchronized (this) {
+            stopped = true;
+            if (tiledBitmapDecoder != null) {
+                tiledBitmapDecoder.shutdown();
+                tiledBitmapDecoder = null;
+            }
+            if (leasedDecoder != null) {
+                // Kept warm by the manager for the next handler
+                decoderManager.release(leasedDecoder);
+                LogUtils.d(TAG, "Barcode decoder is handed back to the manager");
+                leasedDecoder = null;
+                barcodeDecoder = null;
+                return;
+            }
+        }
         if (barcodeDecoder != null) {
             barcodeDecoder.dispose();
             LogUtils.d(TAG, "Barcode decoder is disposed");
@@ -351,6 +504,49 @@ public class BarcodeHandler {
         }
     }
 
+    /**
+     * Decodes barcodes from a high-resolution Bitmap as overlapping tiles of the model input size,
+     * so that small codes are not shrunk by the model input. The tile overlap and the number of
+     * tiles decoded at the same time come from the shared preferences.
+     *
+     * @param bitmap The bitmap to decode barcodes from, not recycled before the future completes
+     * @return A CompletableFuture containing the detected barcodes with their bounds in raw bitmap
+     *         coordinates, or an empty list if the decoder is not available
+     */
+    public CompletableFuture<List<TiledBitmapDecoder.Detection>> decodeBitmapTiled(Bitmap bitmap) {
+        if (barcodeDecoder == null || bitmap == null) {
+            LogUtils.w(TAG, "BarcodeDecoder not available for tiled bitmap decoding");
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        return getTiledBitmapDecoder().decode(bitmap);
+    }
+
+    private synchronized TiledBitmapDecoder getTiledBitmapDecoder() {
+        if (tiledBitmapDecoder == null) {
+            SharedPreferences sharedPreferences = context.getSharedPreferences(context.getPackageName(), Context.MODE_PRIVATE);
+            EModelInputSize modelInputSize = EModelInputSize.valueOf(sharedPreferences.getString(
+                    SHARED_PREFERENCES_MODEL_INPUT_SIZE, SHARED_PREFERENCES_MODEL_INPUT_SIZE_DEFAULT));
+            int overlap = sharedPreferences.getInt(SHARED_PREFERENCES_TILED_DECODE_OVERLAP, SHARED_PREFERENCES_TILED_DECODE_OVERLAP_DEFAULT);
+            int parallelism = sharedPreferences.getInt(SHARED_PREFERENCES_TILED_DECODE_PARALLELISM, SHARED_PREFERENCES_TILED_DECODE_PARALLELISM_DEFAULT);
+            // The tiles cannot overlap by more than half of their size
+            float overlapRatio = Math.max(0, Math.min(50, overlap)) / 100f;
+            tiledBitmapDecoder = new TiledBitmapDecoder(barcodeDecoder, modelInputSize.getWidth(),
+                    modelInputSize.getHeight(), overlapRatio, parallelism);
+            LogUtils.d(TAG, "Tiled decoding with " + modelInputSize.getWidth() + "x" + modelInputSize.getHeight() +
+                    " tiles, overlap " + overlap + "%, parallelism " + parallelism);
+        }
+        return tiledBitmapDecoder;
+    }
+
+    /**
+     * Retrieves the cold vs warm latency of the decoder warm-up.
+     *
+     * @return The warm-up latencies, or null if the decoder was not warmed up
+     */
+    public DecoderWarmUp.Result getWarmUpResult() {
+        return warmUpResult;
+    }
+
     /**
      * Checks if the barcode decoder is ready for processing.
      *
@@ -359,4 +555,39 @@ public class BarcodeHandler {
     public boolean isDecoderReady() {
         return barcodeDecoder != null;
     }
+
+    /**
+     * Forwards to the leased decoder and reports its first decoded frame to the manager, for
+     * the time to first decode.
+     */
+    private static final class FirstDecodeReporter implements IBarcodeDecoder {
+        private final IBarcodeDecoder decoder;
+        private final BarcodeDecoderManager decoderManager;
+        private volatile boolean reported;
+
+        FirstDecodeReporter(IBarcodeDecoder decoder, BarcodeDecoderManager decoderManager) {
+            this.decoder = decoder;
+            this.decoderManager = decoderManager;
+        }
+
+        @NonNull
+        @Override
+        public CompletableFuture<List<BarcodeEntity>> process(@NonNull ImageData imageData) throws AIVisionSDKException {
+            CompletableFuture<List<BarcodeEntity>> result = decoder.process(imageData);
+            if (!reported) {
+                result.thenRun(() -> {
+                    if (!reported) {
+                        reported = true;
+                        decoderManager.recordFirstDecode();
+                    }
+                });
+            }
+            return result;
+        }
+
+        @Override
+        public void dispose() {
+            decoder.dispose();
+        }
+    }
 }
@@ -0,0 +1,311 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.barcodedecoder;
+
+import android.graphics.Bitmap;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.zebra.ai_multibarcodes_capture.helpers.LogUtils;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-keyed pool of crop output buffers used by the BarcodeAnalyzer.
+ *
+ * Every analyzed frame used to allocate a new Bitmap (and an int[] for the Java fallback)
+ * the size of the capture zone. At 30 fps this produces tens of megabytes of garbage per
+ * second. The pool keeps a few buffers of each crop size in use and hands them back out
+ * once the decoder has finished with them.
+ *
+ * Buffers are kept per (width, height, config) key, so ARGB_8888 and ALPHA_8 (luminance-only)
+ * frames never share buffers. Up to {@link #MAX_KEYS} keys are kept at a time: with adaptive
+ * ROI the analyzer alternates between the ROI and the static region on refresh frames, and
+ * both must stay pooled. Requesting another key drops the buffers of the least recently used one.
+ *
+ * Thread Safety:
+ * - Buffers are acquired on the analyzer executor and released on the decoder completion
+ *   thread, so all state changes are synchronized on the pool.
+ * - Hit/miss counters are atomic and can be read from any thread.
+ */
+public class CropBufferPool {
+
+    private static final String TAG = "CropBufferPool";
+
+    /**
+     * Default maximum number of idle buffers kept per kind, for callers that analyze one frame
+     * at a time. BarcodeAnalyzer sizes its pool by pipeline depth instead
+     * (MAX_PIPELINE_DEPTH + 1), so every in-flight frame plus the next acquire is covered.
+     */
+    public static final int DEFAULT_MAX_POOLED = 2;
+
+    /**
+     * Maximum number of crop sizes kept: the adaptive ROI, the static region decoded on refresh
+     * frames, and the previous ROI whose buffers may still be in flight when it is replaced.
+     */
+    public static final int MAX_KEYS = 3;
+
+    /**
+     * The buffers of one crop size.
+     */
+    private static final class Slot {
+        int width = 0;
+        int height = 0;
+        @Nullable
+        Bitmap.Config config = null;
+        long lastUsed = 0;
+        final ArrayDeque<Bitmap> bitmaps = new ArrayDeque<>();
+        final ArrayDeque<int[]> pixelBuffers = new ArrayDeque<>();
+        final ArrayDeque<ByteBuffer> byteBuffers = new ArrayDeque<>();
+
+        boolean matches(int width, int height, @Nullable Bitmap.Config config) {
+            return this.config != null && this.width == width && this.height == height && this.config == config;
+        }
+
+        boolean isEmpty() {
+            return bitmaps.isEmpty() && pixelBuffers.isEmpty() && byteBuffers.isEmpty();
+        }
+
+        void recycleAll() {
+            for (Bitmap bitmap : bitmaps) {
+                if (!bitmap.isRecycled()) {
+                    bitmap.recycle();
+                }
+            }
+            bitmaps.clear();
+            pixelBuffers.clear();
+            byteBuffers.clear();
+        }
+    }
+
+    private final int maxPooled;
+    private final Slot[] slots = new Slot[MAX_KEYS];
+    // Incremented on every key lookup, to find the least recently used slot
+    private long useCounter = 0;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    public CropBufferPool() {
+        this(DEFAULT_MAX_POOLED);
+    }
+
+    /**
+     * @param maxPooled Maximum number of idle bitmaps (and pixel buffers) kept per crop size
+     */
+    public CropBufferPool(int maxPooled) {
+        this.maxPooled = Math.max(1, maxPooled);
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    /**
+     * Returns a mutable bitmap of the requested size and config, reusing a pooled one when possible.
+     * The content of a reused bitmap is undefined; callers are expected to overwrite every pixel.
+     *
+     * @param width The bitmap width
+     * @param height The bitmap height
+     * @param config The bitmap config
+     * @return A bitmap ready to be written to
+     */
+    @NonNull
+    public Bitmap acquireBitmap(int width, int height, @NonNull Bitmap.Config config) {
+        synchronized (this) {
+            Bitmap bitmap = ensureKey(width, height, config).bitmaps.pollFirst();
+            if (bitmap != null && !bitmap.isRecycled()) {
+                hitCount.incrementAndGet();
+                return bitmap;
+            }
+        }
+        missCount.incrementAndGet();
+        return Bitmap.createBitmap(width, height, config);
+    }
+
+    /**
+     * Returns a bitmap to the pool once the decoder no longer needs it.
+     * Bitmaps that do not match a pooled key, or that exceed the pool capacity, are recycled.
+     *
+     * @param bitmap The bitmap to release, may be null
+     */
+    public void releaseBitmap(@Nullable Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled()) {
+            return;
+        }
+        synchronized (this) {
+            Slot slot = findSlot(bitmap.getWidth(), bitmap.getHeight(), bitmap.getConfig());
+            if (slot != null && slot.bitmaps.size() < maxPooled) {
+                slot.bitmaps.addLast(bitmap);
+                return;
+            }
+        }
+        bitmap.recycle();
+    }
+
+    /**
+     * Returns an int[] with at least {@code size} elements, reusing a pooled one when possible.
+     * Used by the Java crop fallback to stage ARGB pixels before copying them into the bitmap.
+     *
+     * @param size The required number of pixels
+     * @return A pixel buffer of exactly {@code size} elements
+     */
+    @NonNull
+    public int[] acquirePixels(int size) {
+        synchronized (this) {
+            for (Slot slot : slots) {
+                if (slot.config != null && slot.width * slot.height == size && !slot.pixelBuffers.isEmpty()) {
+                    hitCount.incrementAndGet();
+                    return slot.pixelBuffers.pollFirst();
+                }
+            }
+        }
+        missCount.incrementAndGet();
+        return new int[size];
+    }
+
+    /**
+     * Returns a pixel buffer to the pool. Buffers that do not match the size of a pooled key are dropped.
+     *
+     * @param pixels The buffer to release, may be null
+     */
+    public void releasePixels(@Nullable int[] pixels) {
+        if (pixels == null) {
+            return;
+        }
+        synchronized (this) {
+            for (Slot slot : slots) {
+                if (slot.config != null && slot.width * slot.height == pixels.length) {
+                    if (slot.pixelBuffers.size() < maxPooled) {
+                        slot.pixelBuffers.addLast(pixels);
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns a ByteBuffer with a capacity of exactly {@code size} bytes, reusing a pooled one when possible.
+     * Used by the Java luminance-only fallback to stage Y rows before copying them into an ALPHA_8 bitmap.
+     * The returned buffer is cleared (position 0, limit = capacity).
+     *
+     * @param size The required number of bytes
+     * @return A byte buffer ready to be written to
+     */
+    @NonNull
+    public ByteBuffer acquireBytes(int size) {
+        synchronized (this) {
+            for (Slot slot : slots) {
+                if (slot.config != null && slot.width * slot.height == size && !slot.byteBuffers.isEmpty()) {
+                    hitCount.incrementAndGet();
+                    ByteBuffer buffer = slot.byteBuffers.pollFirst();
+                    buffer.clear();
+                    return buffer;
+                }
+            }
+        }
+        missCount.incrementAndGet();
+        return ByteBuffer.allocateDirect(size);
+    }
+
+    /**
+     * Returns a byte buffer to the pool. Buffers that do not match the size of a pooled key are dropped.
+     *
+     * @param buffer The buffer to release, may be null
+     */
+    public void releaseBytes(@Nullable ByteBuffer buffer) {
+        if (buffer == null) {
+            return;
+        }
+        synchronized (this) {
+            for (Slot slot : slots) {
+                if (slot.config != null && slot.width * slot.height == buffer.capacity()) {
+                    if (slot.byteBuffers.size() < maxPooled) {
+                        slot.byteBuffers.addLast(buffer);
+                    }
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops every pooled buffer. Called when the static crop region changes dimensions
+     * and when the analyzer is stopped.
+     */
+    public void clear() {
+        synchronized (this) {
+            for (Slot slot : slots) {
+                slot.recycleAll();
+                slot.width = 0;
+                slot.height = 0;
+                slot.config = null;
+                slot.lastUsed = 0;
+            }
+        }
+    }
+
+    /**
+     * @return The number of acquire calls served from the pool
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return The number of acquire calls that required a new allocation
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Resets the hit/miss counters.
+     */
+    public void resetCounters() {
+        hitCount.set(0);
+        missCount.set(0);
+    }
+
+    // Must be called while holding the pool lock
+    @Nullable
+    private Slot findSlot(int width, int height, @Nullable Bitmap.Config config) {
+        for (Slot slot : slots) {
+            if (slot.matches(width, height, config)) {
+                return slot;
+            }
+        }
+        return null;
+    }
+
+    // Must be called while holding the pool lock
+    @NonNull
+    private Slot ensureKey(int width, int height, @NonNull Bitmap.Config config) {
+        Slot slot = findSlot(width, height, config);
+        if (slot == null) {
+            // Reuse an unused slot, or the least recently used one
+            slot = slots[0];
+            for (Slot candidate : slots) {
+                if (candidate.config == null) {
+                    slot = candidate;
+                    break;
+                }
+                if (candidate.lastUsed < slot.lastUsed) {
+                    slot = candidate;
+                }
+            }
+            if (!slot.isEmpty() && LogUtils.isLoggingEnabled()) {
+                LogUtils.d(TAG, "Crop size " + width + "x" + height + " replaces " + slot.width + "x" + slot.height
+                        + ", dropping its pooled buffers");
+            }
+            slot.recycleAll();
+            slot.width = width;
+            slot.height = height;
+            slot.config = config;
+        }
+        slot.lastUsed = ++useCounter;
+        return slot;
+    }
+}
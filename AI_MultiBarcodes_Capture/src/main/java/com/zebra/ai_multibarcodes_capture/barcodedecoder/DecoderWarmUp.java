@@ -0,0 +1,122 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.barcodedecoder;
+
+import android.graphics.Bitmap;
+
+import androidx.annotation.NonNull;
+
+import com.zebra.ai.vision.detector.AIVisionSDKException;
+import com.zebra.ai.vision.detector.ImageData;
+import com.zebra.ai_multibarcodes_capture.helpers.LogUtils;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs synthetic frames through a new decoder before the analyzer is attached.
+ *
+ * The inference runtime and its delegates initialize lazily, so the first calls to process are
+ * far slower than the steady state, and the first scan an operator makes used to pay for it.
+ * The warm-up pays it up front, one frame at a time at the model input size, and measures the
+ * first (cold) call against the following (warm) ones.
+ */
+public final class DecoderWarmUp {
+
+    private static final String TAG = "DecoderWarmUp";
+
+    /**
+     * Cold vs warm latency of a warm-up.
+     */
+    public static final class Result {
+        /** The number of synthetic frames decoded */
+        public final int frames;
+        /** The latency of the first call, in nanoseconds */
+        public final long coldNanos;
+        /** The mean latency of the following calls, in nanoseconds */
+        public final long warmNanos;
+
+        Result(@NonNull long[] latencies) {
+            frames = latencies.length;
+            coldNanos = latencies[0];
+            long total = 0;
+            for (int i = 1; i < latencies.length; i++) {
+                total += latencies[i];
+            }
+            warmNanos = latencies.length > 1 ? total / (latencies.length - 1) : coldNanos;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return String.format(Locale.US, "%d frames, cold %.1fms, warm %.1fms",
+                    frames, coldNanos / 1e6, warmNanos / 1e6);
+        }
+    }
+
+    private DecoderWarmUp() {
+    }
+
+    /**
+     * Decodes synthetic frames one after the other, without blocking the calling thread.
+     *
+     * @param decoder The decoder to warm up
+     * @param width The frame width, the model input width
+     * @param height The frame height, the model input height
+     * @param frames The number of frames, at least 2 to measure the warm latency
+     * @return A future completed with the latencies, or with null if a frame failed
+     */
+    @NonNull
+    public static CompletableFuture<Result> run(@NonNull IBarcodeDecoder decoder, int width, int height, int frames) {
+        int frameCount = Math.max(2, frames);
+        Bitmap frame = createSyntheticFrame(width, height);
+        long[] latencies = new long[frameCount];
+
+        // Sequential: each frame is submitted once the previous one is decoded
+        CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+        for (int i = 0; i < frameCount; i++) {
+            final int index = i;
+            chain = chain.thenCompose(ignored -> {
+                long startNanos = System.nanoTime();
+                try {
+                    return decoder.process(ImageData.fromBitmap(frame, 0))
+                            .thenAccept(entities -> latencies[index] = System.nanoTime() - startNanos);
+                } catch (AIVisionSDKException e) {
+                    CompletableFuture<Void> failed = new CompletableFuture<>();
+                    failed.completeExceptionally(e);
+                    return failed;
+                }
+            });
+        }
+
+        return chain.handle((ignored, e) -> {
+            frame.recycle();
+            if (e != null) {
+                LogUtils.e(TAG, "Decoder warm-up failed: " + e.getMessage());
+                return null;
+            }
+            Result result = new Result(latencies);
+            LogUtils.i(TAG, "Decoder warmed up at " + width + "x" + height + ": " + result);
+            return result;
+        });
+    }
+
+    /**
+     * Creates a gray noise frame, so that the localizer runs over a textured image like a camera
+     * frame rather than a flat one.
+     */
+    @NonNull
+    private static Bitmap createSyntheticFrame(int width, int height) {
+        Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        Random random = new Random(width * 31L + height);
+        int[] row = new int[width];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int gray = 64 + random.nextInt(128);
+                row[x] = 0xFF000000 | (gray << 16) | (gray << 8) | gray;
+            }
+            bitmap.setPixels(row, 0, width, 0, y, width, 1);
+        }
+        return bitmap;
+    }
+}
@@ -0,0 +1,35 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.barcodedecoder;
+
+/**
+ * Stages of the analysis pipeline whose latency is tracked by {@link StageLatencyRecorder}.
+ */
+public enum ELatencyStage {
+    /** Cropping/converting the camera frame into the bitmap handed to the decoder. */
+    CROP("crop"),
+    /** Building the ImageData wrapper passed to the decoder. */
+    IMAGE_DATA("image"),
+    /** IBarcodeDecoder.process, from submission to completion. */
+    DECODE("decode"),
+    /** Mapping detection results to overlay coordinates (debounce, filtering, auto capture). */
+    MAPPING("mapping"),
+    /** Posting the results to the graphic overlay on the UI thread. */
+    OVERLAY("overlay"),
+    /** Rendering a frame of the preview window (FrameMetrics.TOTAL_DURATION). */
+    RENDER("render"),
+    /** Validating unstable barcodes with a high-res capture, from the captured image to the validated values. */
+    VALIDATION("validate");
+
+    private final String label;
+
+    ELatencyStage(String label) {
+        this.label = label;
+    }
+
+    /**
+     * @return The short label used in logs and in the on-screen latency overlay
+     */
+    public String getLabel() {
+        return label;
+    }
+}
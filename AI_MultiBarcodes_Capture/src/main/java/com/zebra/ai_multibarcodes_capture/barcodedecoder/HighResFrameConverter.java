@@ -0,0 +1,139 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.barcodedecoder;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.ImageFormat;
+import android.graphics.Rect;
+import android.graphics.YuvImage;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.camera.core.ImageProxy;
+
+import com.zebra.ai_multibarcodes_capture.helpers.LogUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Converts high-res ImageCapture frames into the bitmaps handed to the decoder.
+ *
+ * YUV_420_888 frames are converted straight from the Y plane by the native crop kernels of
+ * NativeYuvProcessor into a grayscale bitmap: barcodes only need the luminance, so there is
+ * no reason to encode the frame to JPEG and decode it back, which costs a lossy round trip
+ * of the whole 12+ MP frame. JPEG frames, the ImageCapture default, are decoded as they are.
+ */
+public final class HighResFrameConverter {
+
+    private static final String TAG = "HighResFrameConverter";
+
+    private HighResFrameConverter() {
+    }
+
+    /**
+     * Converts a high-res frame into a bitmap for the decoder.
+     *
+     * @param image The frame, JPEG or YUV_420_888
+     * @return The bitmap, grayscale for YUV frames, or null if the conversion fails
+     */
+    @Nullable
+    public static Bitmap toBitmap(@NonNull ImageProxy image) {
+        try {
+            if (image.getFormat() == ImageFormat.JPEG) {
+                ByteBuffer buffer = image.getPlanes()[0].getBuffer();
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+                return BitmapFactory.decodeByteArray(bytes, 0, bytes.length);
+            } else if (image.getFormat() == ImageFormat.YUV_420_888) {
+                ImageProxy.PlaneProxy yPlane = image.getPlanes()[0];
+                return cropLuminance(yPlane.getBuffer(), yPlane.getRowStride(),
+                        new Rect(0, 0, image.getWidth(), image.getHeight()));
+            }
+            LogUtils.w(TAG, "Unsupported image format: " + image.getFormat());
+            return null;
+        } catch (Exception e) {
+            LogUtils.e(TAG, "Error converting ImageProxy to Bitmap: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Crops the Y plane into a grayscale ARGB_8888 bitmap, natively when the library is
+     * available.
+     *
+     * @param yBuffer The Y plane
+     * @param yRowStride The row stride of the Y plane
+     * @param region The region to crop, inside the plane
+     * @return The bitmap, or null if the crop fails
+     */
+    @Nullable
+    public static Bitmap cropLuminance(@NonNull ByteBuffer yBuffer, int yRowStride, @NonNull Rect region) {
+        int width = region.width();
+        int height = region.height();
+        Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        if (NativeYuvProcessor.isAvailable() && NativeYuvProcessor.cropYToGrayscaleBitmapNative(
+                yBuffer, yRowStride, region.left, region.top, width, height, bitmap)) {
+            return bitmap;
+        }
+
+        // Java fallback, one row at a time
+        try {
+            int[] pixels = new int[width];
+            for (int row = 0; row < height; row++) {
+                int offset = (region.top + row) * yRowStride + region.left;
+                for (int col = 0; col < width; col++) {
+                    int y = yBuffer.get(offset + col) & 0xFF;
+                    // Pack as ARGB with R=G=B=Y (grayscale)
+                    pixels[col] = 0xFF000000 | (y << 16) | (y << 8) | y;
+                }
+                bitmap.setPixels(pixels, 0, width, 0, row, width, 1);
+            }
+            return bitmap;
+        } catch (Exception e) {
+            LogUtils.e(TAG, "Error cropping region " + region + ": " + e.getMessage(), e);
+            bitmap.recycle();
+            return null;
+        }
+    }
+
+    /**
+     * The former YUV conversion: NV21 copy, JPEG encode, then JPEG decode. Only kept as the
+     * reference of the conversion benchmark.
+     *
+     * @param yPlane The Y plane of a YUV_420_888 frame
+     * @param uPlane The U plane
+     * @param vPlane The V plane
+     * @param width The frame width
+     * @param height The frame height
+     * @return The color bitmap, or null if the conversion fails
+     */
+    @Nullable
+    public static Bitmap yuvToBitmapThroughJpeg(@NonNull ByteBuffer yPlane, @NonNull ByteBuffer uPlane,
+                                                @NonNull ByteBuffer vPlane, int width, int height) {
+        try {
+            ByteBuffer yBuffer = yPlane.duplicate();
+            ByteBuffer uBuffer = uPlane.duplicate();
+            ByteBuffer vBuffer = vPlane.duplicate();
+
+            int ySize = yBuffer.remaining();
+            int uSize = uBuffer.remaining();
+            int vSize = vBuffer.remaining();
+
+            byte[] nv21 = new byte[ySize + uSize + vSize];
+            yBuffer.get(nv21, 0, ySize);
+            vBuffer.get(nv21, ySize, vSize);
+            uBuffer.get(nv21, ySize + vSize, uSize);
+
+            YuvImage yuvImage = new YuvImage(nv21, ImageFormat.NV21, width, height, null);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            yuvImage.compressToJpeg(new Rect(0, 0, width, height), 90, out);
+
+            byte[] imageBytes = out.toByteArray();
+            return BitmapFactory.decodeByteArray(imageBytes, 0, imageBytes.length);
+        } catch (Exception e) {
+            LogUtils.e(TAG, "Error converting YUV through JPEG: " + e.getMessage(), e);
+            return null;
+        }
+    }
+}
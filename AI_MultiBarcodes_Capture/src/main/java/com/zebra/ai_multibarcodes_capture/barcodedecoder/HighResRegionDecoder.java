@@ -0,0 +1,151 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.barcodedecoder;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.BitmapRegionDecoder;
+import android.graphics.ImageFormat;
+import android.graphics.Rect;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.camera.core.ImageProxy;
+
+import com.zebra.ai.vision.entity.BarcodeEntity;
+import com.zebra.ai_multibarcodes_capture.helpers.LogUtils;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Decodes only regions of interest of a high-res capture, to validate a few unstable barcodes
+ * without decoding the whole frame.
+ *
+ * Each region is cropped natively: JPEG captures go through BitmapRegionDecoder, which only
+ * decompresses the blocks covering the region, and YUV_420_888 captures through the native Y
+ * plane crop. All the regions are submitted to the decoder before waiting for any of them, so
+ * the decodes are batched, and the cost grows with the number and size of the regions instead
+ * of with the sensor resolution.
+ *
+ * The regions are decoded without rotation, so the bounding boxes of the results are in the
+ * raw coordinates of their region.
+ */
+public class HighResRegionDecoder {
+
+    private static final String TAG = "HighResRegionDecoder";
+
+    /**
+     * The results of one region.
+     */
+    public static final class RegionResult {
+        /** The region in raw capture coordinates */
+        public final Rect region;
+        /** The decoded barcodes, bounding boxes relative to the region */
+        public final List<BarcodeEntity> entities;
+
+        RegionResult(@NonNull Rect region, @NonNull List<BarcodeEntity> entities) {
+            this.region = region;
+            this.entities = entities;
+        }
+    }
+
+    private final BarcodeHandler barcodeHandler;
+
+    /**
+     * @param barcodeHandler The handler whose decoder decodes the regions
+     */
+    public HighResRegionDecoder(@NonNull BarcodeHandler barcodeHandler) {
+        this.barcodeHandler = barcodeHandler;
+    }
+
+    /**
+     * Crops and decodes regions of a capture. Blocks until every region is decoded.
+     *
+     * @param image The high-res capture, JPEG or YUV_420_888
+     * @param regions The regions in raw capture coordinates
+     * @return The results of each region, in the order of the regions; a region that could not
+     *         be cropped or decoded has no entities
+     */
+    @NonNull
+    public List<RegionResult> decodeRegions(@NonNull ImageProxy image, @NonNull List<Rect> regions) {
+        Bitmap[] crops = crop(image, regions);
+
+        // Submit every region before waiting for the first one
+        List<CompletableFuture<List<BarcodeEntity>>> decodes = new ArrayList<>(regions.size());
+        for (Bitmap crop : crops) {
+            decodes.add(crop != null ? barcodeHandler.decodeBitmap(crop, 0) : null);
+        }
+
+        List<RegionResult> results = new ArrayList<>(regions.size());
+        for (int i = 0; i < regions.size(); i++) {
+            List<BarcodeEntity> entities = null;
+            CompletableFuture<List<BarcodeEntity>> decode = decodes.get(i);
+            if (decode != null) {
+                try {
+                    entities = decode.get();
+                } catch (Exception e) {
+                    LogUtils.e(TAG, "Error decoding region " + regions.get(i) + ": " + e.getMessage(), e);
+                }
+            }
+            results.add(new RegionResult(regions.get(i), entities != null ? entities : new ArrayList<>()));
+        }
+        for (Bitmap crop : crops) {
+            if (crop != null) {
+                crop.recycle();
+            }
+        }
+        return results;
+    }
+
+    /**
+     * @return The crop of each region, null for the regions that could not be cropped
+     */
+    private Bitmap[] crop(@NonNull ImageProxy image, @NonNull List<Rect> regions) {
+        Bitmap[] crops = new Bitmap[regions.size()];
+        Rect bounds = new Rect(0, 0, image.getWidth(), image.getHeight());
+        if (image.getFormat() == ImageFormat.JPEG) {
+            BitmapRegionDecoder regionDecoder = newRegionDecoder(image);
+            if (regionDecoder == null) {
+                return crops;
+            }
+            try {
+                BitmapFactory.Options options = new BitmapFactory.Options();
+                options.inPreferredConfig = Bitmap.Config.ARGB_8888;
+                for (int i = 0; i < crops.length; i++) {
+                    Rect region = new Rect(regions.get(i));
+                    if (region.intersect(bounds)) {
+                        crops[i] = regionDecoder.decodeRegion(region, options);
+                    }
+                }
+            } finally {
+                regionDecoder.recycle();
+            }
+        } else if (image.getFormat() == ImageFormat.YUV_420_888) {
+            ImageProxy.PlaneProxy yPlane = image.getPlanes()[0];
+            for (int i = 0; i < crops.length; i++) {
+                Rect region = new Rect(regions.get(i));
+                if (region.intersect(bounds)) {
+                    crops[i] = HighResFrameConverter.cropLuminance(yPlane.getBuffer(), yPlane.getRowStride(), region);
+                }
+            }
+        } else {
+            LogUtils.w(TAG, "Unsupported image format: " + image.getFormat());
+        }
+        return crops;
+    }
+
+    @Nullable
+    private BitmapRegionDecoder newRegionDecoder(@NonNull ImageProxy image) {
+        try {
+            ByteBuffer buffer = image.getPlanes()[0].getBuffer();
+            byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            return BitmapRegionDecoder.newInstance(bytes, 0, bytes.length);
+        } catch (Exception e) {
+            LogUtils.e(TAG, "Error opening JPEG for region decoding: " + e.getMessage(), e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.barcodedecoder;
+
+import androidx.annotation.NonNull;
+
+import com.zebra.ai.vision.detector.AIVisionSDKException;
+import com.zebra.ai.vision.detector.ImageData;
+import com.zebra.ai.vision.entity.BarcodeEntity;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Decoder used by BarcodeAnalyzer and BarcodeHandler.
+ *
+ * Implementations:
+ * - {@link SdkBarcodeDecoder}: the AI Vision SDK BarcodeDecoder, used by the application.
+ * - {@link ScriptedBarcodeDecoder}: returns scripted results after a configurable latency,
+ *   used to load-test the analyzer and the post-processing without a device.
+ */
+public interface IBarcodeDecoder {
+
+    /**
+     * Decodes the barcodes of an image asynchronously.
+     *
+     * @param imageData The image to decode
+     * @return A future completed with the detected barcodes
+     * @throws AIVisionSDKException If the request cannot be submitted
+     */
+    @NonNull
+    CompletableFuture<List<BarcodeEntity>> process(@NonNull ImageData imageData) throws AIVisionSDKException;
+
+    /**
+     * Releases the decoder resources. The decoder must not be used afterwards.
+     */
+    void dispose();
+}
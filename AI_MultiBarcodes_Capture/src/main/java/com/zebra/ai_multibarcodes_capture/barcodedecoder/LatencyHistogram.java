@@ -0,0 +1,189 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.barcodedecoder;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free, allocation-free latency histogram with log-linear buckets.
+ *
+ * Values are recorded in microseconds. Below 16 us every value has its own bucket; above,
+ * each power of two is split into 16 linear sub-buckets, so any reported percentile is
+ * within 6.25% of the recorded value. Values above {@link #MAX_TRACKABLE_MICROS} (about 67 s)
+ * are clamped into the last bucket, while {@link #getMaxMicros()} still reports the exact maximum.
+ *
+ * Thread Safety:
+ * - {@link #recordNanos(long)} may be called concurrently from any thread. It only performs
+ *   atomic increments on pre-allocated storage and never allocates.
+ * - {@link #reset()} is not atomic with respect to concurrent recording; a value recorded
+ *   while resetting may be partially counted. This is acceptable for monitoring purposes.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_MSB = 25;
+
+    /**
+     * Largest value (in microseconds) with its own bucket.
+     */
+    public static final long MAX_TRACKABLE_MICROS = (1L << (MAX_MSB + 1)) - 1;
+
+    private static final int BUCKET_COUNT = (MAX_MSB - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * Records a duration.
+     *
+     * @param durationNanos The duration in nanoseconds, negative values are ignored
+     */
+    public void recordNanos(long durationNanos) {
+        if (durationNanos < 0) {
+            return;
+        }
+        long micros = durationNanos / 1_000;
+        buckets.incrementAndGet(bucketIndex(micros));
+        totalCount.incrementAndGet();
+        totalMicros.addAndGet(micros);
+
+        long currentMax = maxMicros.get();
+        while (micros > currentMax && !maxMicros.compareAndSet(currentMax, micros)) {
+            currentMax = maxMicros.get();
+        }
+    }
+
+    /**
+     * @return The number of recorded values
+     */
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * @return The largest recorded value in microseconds, 0 if nothing was recorded
+     */
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    /**
+     * @return The mean of the recorded values in microseconds, 0 if nothing was recorded
+     */
+    public long getMeanMicros() {
+        long count = totalCount.get();
+        return count == 0 ? 0 : totalMicros.get() / count;
+    }
+
+    /**
+     * Returns the value below which the given percentage of recorded values fall.
+     * Scans the buckets without allocating, so it can be called on every frame.
+     *
+     * @param percentile The percentile, between 0 and 100
+     * @return The value in microseconds, 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        // Sum the buckets rather than reading totalCount so the scan is self-consistent
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            count += buckets.get(i);
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        double clamped = Math.max(0.0, Math.min(100.0, percentile));
+        long targetRank = Math.max(1, (long) Math.ceil(clamped / 100.0 * count));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += buckets.get(i);
+            if (cumulative >= targetRank) {
+                return Math.min(bucketUpperBound(i), maxMicros.get());
+            }
+        }
+        return maxMicros.get();
+    }
+
+    /**
+     * Takes an immutable snapshot of the main percentiles.
+     *
+     * @return The snapshot
+     */
+    @NonNull
+    public Snapshot snapshot() {
+        return new Snapshot(
+                getCount(),
+                getValueAtPercentile(50.0),
+                getValueAtPercentile(95.0),
+                getValueAtPercentile(99.0),
+                getMaxMicros(),
+                getMeanMicros());
+    }
+
+    /**
+     * Clears all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        totalCount.set(0);
+        totalMicros.set(0);
+        maxMicros.set(0);
+    }
+
+    static int bucketIndex(long micros) {
+        if (micros < SUB_BUCKET_COUNT) {
+            return (int) micros;
+        }
+        if (micros > MAX_TRACKABLE_MICROS) {
+            return BUCKET_COUNT - 1;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(micros);
+        int shift = msb - SUB_BUCKET_BITS;
+        // (micros >>> shift) is in [SUB_BUCKET_COUNT, 2 * SUB_BUCKET_COUNT)
+        return shift * SUB_BUCKET_COUNT + (int) (micros >>> shift);
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < 2 * SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long subBucket = (index % SUB_BUCKET_COUNT) + SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Immutable view of a histogram at a point in time. All values are in microseconds.
+     */
+    public static final class Snapshot {
+        public final long count;
+        public final long p50Micros;
+        public final long p95Micros;
+        public final long p99Micros;
+        public final long maxMicros;
+        public final long meanMicros;
+
+        Snapshot(long count, long p50Micros, long p95Micros, long p99Micros, long maxMicros, long meanMicros) {
+            this.count = count;
+            this.p50Micros = p50Micros;
+            this.p95Micros = p95Micros;
+            this.p99Micros = p99Micros;
+            this.maxMicros = maxMicros;
+            this.meanMicros = meanMicros;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "count=" + count + " p50=" + p50Micros + "us p95=" + p95Micros
+                    + "us p99=" + p99Micros + "us max=" + maxMicros + "us";
+        }
+    }
+}
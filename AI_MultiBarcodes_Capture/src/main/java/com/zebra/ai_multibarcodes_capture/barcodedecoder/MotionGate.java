@@ -0,0 +1,210 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.barcodedecoder;
+
+import androidx.annotation.NonNull;
+
+import com.zebra.ai_multibarcodes_capture.helpers.LogUtils;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides per frame whether the scene changed enough to warrant a new inference.
+ *
+ * The Y plane of the analyzed region is reduced to a small grid of mean luma values
+ * (a "signature"). The signature of each frame is compared to the signature of the last
+ * frame that was actually decoded: if fewer than {@code changedCellsPercent} of the cells
+ * moved by more than {@code cellThreshold} luma levels, the scene is considered static
+ * and the previous results can be reused.
+ *
+ * Comparing against the last decoded frame (rather than the previous frame) means slow
+ * drift eventually triggers a new inference. A refresh is also forced after
+ * {@code maxSkippedFrames} consecutive skips, so results never get older than that.
+ *
+ * Thread Safety:
+ * - {@link #shouldRunInference} must only be called from the analyzer executor.
+ * - Settings, {@link #invalidate()} and statistics may be used from any thread.
+ */
+public class MotionGate {
+
+    private static final String TAG = "MotionGate";
+
+    public static final int GRID_COLS = 32;
+    public static final int GRID_ROWS = 24;
+    private static final int CELL_COUNT = GRID_COLS * GRID_ROWS;
+
+    // Java fallback samples more sparsely than the native path to stay cheap
+    private static final int JAVA_SAMPLE_STEP = 4;
+
+    private volatile boolean enabled = false;
+    private volatile int cellThreshold = 12;
+    private volatile int changedCellsPercent = 3;
+    private volatile int maxSkippedFrames = 15;
+
+    // Reference = signature of the last decoded frame, current = scratch for the new frame
+    private byte[] referenceSignature = new byte[CELL_COUNT];
+    private byte[] currentSignature = new byte[CELL_COUNT];
+    private boolean hasReference = false;
+    private int referenceLeft, referenceTop, referenceWidth, referenceHeight;
+    private int consecutiveSkips = 0;
+    private volatile boolean invalidated = false;
+
+    private final AtomicLong evaluatedFrames = new AtomicLong();
+    private final AtomicLong skippedFrames = new AtomicLong();
+
+    /**
+     * Updates the gate settings.
+     *
+     * @param enabled true to skip inference on static scenes
+     * @param cellThreshold Luma difference (0-255) above which a grid cell counts as changed
+     * @param changedCellsPercent Percentage of changed cells (0-100) above which the scene counts as changed
+     * @param maxSkippedFrames Maximum number of consecutive skipped frames before a forced refresh
+     */
+    public void updateSettings(boolean enabled, int cellThreshold, int changedCellsPercent, int maxSkippedFrames) {
+        this.enabled = enabled;
+        this.cellThreshold = Math.max(0, Math.min(255, cellThreshold));
+        this.changedCellsPercent = Math.max(0, Math.min(100, changedCellsPercent));
+        this.maxSkippedFrames = Math.max(0, maxSkippedFrames);
+        invalidate();
+        LogUtils.d(TAG, "Settings updated - enabled: " + enabled + ", cellThreshold: " + this.cellThreshold
+                + ", changedCellsPercent: " + this.changedCellsPercent + ", maxSkippedFrames: " + this.maxSkippedFrames);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Forgets the reference frame, so the next frame always runs inference.
+     * Called when the analyzed region changes or the previous results are no longer valid.
+     */
+    public void invalidate() {
+        invalidated = true;
+    }
+
+    /**
+     * Compares the region of the Y plane with the last decoded frame.
+     *
+     * @param yBuffer Y plane buffer
+     * @param yRowStride Y plane row stride
+     * @param left Region left
+     * @param top Region top
+     * @param width Region width
+     * @param height Region height
+     * @param canReuseResults false when there are no previous results to reuse, forcing inference
+     * @return true if inference should run on this frame, false if the previous results can be reused
+     */
+    public boolean shouldRunInference(@NonNull ByteBuffer yBuffer, int yRowStride,
+                                      int left, int top, int width, int height, boolean canReuseResults) {
+        if (!enabled) {
+            return true;
+        }
+        evaluatedFrames.incrementAndGet();
+
+        if (invalidated) {
+            invalidated = false;
+            hasReference = false;
+        }
+
+        int changedCells = computeChangedCells(yBuffer, yRowStride, left, top, width, height);
+        boolean sameRegion = hasReference && left == referenceLeft && top == referenceTop
+                && width == referenceWidth && height == referenceHeight;
+
+        boolean run;
+        if (changedCells < 0 || !sameRegion || !canReuseResults) {
+            run = true;
+        } else if (changedCells * 100 > changedCellsPercent * CELL_COUNT) {
+            run = true;
+        } else {
+            // Static scene: skip unless a refresh is due
+            run = consecutiveSkips >= maxSkippedFrames;
+        }
+
+        if (run) {
+            // The new frame becomes the reference for the next comparisons
+            byte[] swap = referenceSignature;
+            referenceSignature = currentSignature;
+            currentSignature = swap;
+            hasReference = changedCells >= 0;
+            referenceLeft = left;
+            referenceTop = top;
+            referenceWidth = width;
+            referenceHeight = height;
+            consecutiveSkips = 0;
+        } else {
+            consecutiveSkips++;
+            skippedFrames.incrementAndGet();
+            if (LogUtils.isLoggingEnabled()) {
+                LogUtils.v(TAG, "Static scene (" + changedCells + "/" + CELL_COUNT + " cells changed), skipping inference");
+            }
+        }
+        return run;
+    }
+
+    /**
+     * @return The fraction (0-1) of evaluated frames for which inference was skipped
+     */
+    public float getSkipRatio() {
+        long evaluated = evaluatedFrames.get();
+        return evaluated == 0 ? 0f : (float) skippedFrames.get() / evaluated;
+    }
+
+    public long getSkippedFrameCount() {
+        return skippedFrames.get();
+    }
+
+    public long getEvaluatedFrameCount() {
+        return evaluatedFrames.get();
+    }
+
+    /**
+     * Resets the skip statistics.
+     */
+    public void resetStatistics() {
+        evaluatedFrames.set(0);
+        skippedFrames.set(0);
+    }
+
+    private int computeChangedCells(ByteBuffer yBuffer, int yRowStride, int left, int top, int width, int height) {
+        if (width < GRID_COLS * JAVA_SAMPLE_STEP || height < GRID_ROWS * JAVA_SAMPLE_STEP) {
+            return -1;
+        }
+        if (NativeYuvProcessor.isAvailable() && yBuffer.isDirect()) {
+            return NativeYuvProcessor.computeLumaChangedCellsNative(yBuffer, yRowStride, left, top, width, height,
+                    GRID_COLS, GRID_ROWS, referenceSignature, currentSignature, cellThreshold);
+        }
+        return computeChangedCellsJava(yBuffer, yRowStride, left, top, width, height);
+    }
+
+    /**
+     * Java fallback of NativeYuvProcessor.computeLumaChangedCellsNative.
+     */
+    private int computeChangedCellsJava(ByteBuffer yBuffer, int yRowStride, int left, int top, int width, int height) {
+        int threshold = cellThreshold;
+        int changed = 0;
+        for (int r = 0; r < GRID_ROWS; r++) {
+            int y0 = top + (height * r) / GRID_ROWS;
+            int y1 = top + (height * (r + 1)) / GRID_ROWS;
+            for (int c = 0; c < GRID_COLS; c++) {
+                int x0 = left + (width * c) / GRID_COLS;
+                int x1 = left + (width * (c + 1)) / GRID_COLS;
+                int sum = 0;
+                int samples = 0;
+                for (int y = y0; y < y1; y += JAVA_SAMPLE_STEP) {
+                    int rowOffset = y * yRowStride;
+                    for (int x = x0; x < x1; x += JAVA_SAMPLE_STEP) {
+                        sum += yBuffer.get(rowOffset + x) & 0xFF;
+                        samples++;
+                    }
+                }
+                int mean = samples > 0 ? sum / samples : 0;
+                int index = r * GRID_COLS + c;
+                if (Math.abs(mean - (referenceSignature[index] & 0xFF)) > threshold) {
+                    changed++;
+                }
+                currentSignature[index] = (byte) mean;
+            }
+        }
+        return changed;
+    }
+}
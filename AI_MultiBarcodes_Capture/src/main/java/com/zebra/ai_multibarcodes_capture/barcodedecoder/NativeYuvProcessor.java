@@ -122,4 +122,92 @@ public class NativeYuvProcessor {
             int cropHeight,
             Bitmap bitmap
     );
+
+    /**
+     * Native method to crop the Y plane into a single-channel ALPHA_8 Bitmap.
+     * The luminance is copied row by row without any expansion, so the cropped frame
+     * stays one byte per pixel end to end (a quarter of the ARGB_8888 bandwidth).
+     *
+     * @param yBuffer      Y plane direct ByteBuffer
+     * @param yRowStride   Row stride for Y plane
+     * @param cropLeft     Left coordinate of crop region
+     * @param cropTop      Top coordinate of crop region
+     * @param cropWidth    Width of crop region
+     * @param cropHeight   Height of crop region
+     * @param bitmap       Pre-allocated ALPHA_8 bitmap of size cropWidth x cropHeight
+     * @return true if successful, false otherwise
+     */
+    public static native boolean cropYToLuminanceBitmapNative(
+            ByteBuffer yBuffer,
+            int yRowStride,
+            int cropLeft,
+            int cropTop,
+            int cropWidth,
+            int cropHeight,
+            Bitmap bitmap
+    );
+
+    /**
+     * Native method to crop the Y plane into an ALPHA_8 Bitmap, box-downscaling and rotating it
+     * in the same pass (NEON kernels on ARM).
+     * Each output pixel is the rounded mean of a downscale x downscale block of the crop, and the
+     * result is rotated clockwise by rotationDegrees, so a frame rotated by its
+     * ImageInfo.getRotationDegrees() comes out upright.
+     *
+     * @param yBuffer         Y plane direct ByteBuffer
+     * @param yRowStride      Row stride for Y plane
+     * @param cropLeft        Left coordinate of crop region
+     * @param cropTop         Top coordinate of crop region
+     * @param cropWidth       Width of crop region
+     * @param cropHeight      Height of crop region
+     * @param downscale       Downscale factor: 1, 2 or 4
+     * @param rotationDegrees Clockwise rotation: 0, 90, 180 or 270
+     * @param bitmap          Pre-allocated ALPHA_8 bitmap of size (cropWidth / downscale) x (cropHeight / downscale),
+     *                        width and height swapped for 90 and 270 degrees
+     * @return true if successful, false otherwise
+     */
+    public static native boolean cropYToLuminanceTransformedNative(
+            ByteBuffer yBuffer,
+            int yRowStride,
+            int cropLeft,
+            int cropTop,
+            int cropWidth,
+            int cropHeight,
+            int downscale,
+            int rotationDegrees,
+            Bitmap bitmap
+    );
+
+    /**
+     * Native change detector for motion-gated inference.
+     * Computes the mean luma of each cell of a gridCols x gridRows grid over the region into
+     * {@code current}, and counts the cells that differ from {@code reference} by more than
+     * {@code cellThreshold} luma levels.
+     *
+     * @param yBuffer       Y plane direct ByteBuffer
+     * @param yRowStride    Row stride for Y plane
+     * @param regionLeft    Left coordinate of the compared region
+     * @param regionTop     Top coordinate of the compared region
+     * @param regionWidth   Width of the compared region
+     * @param regionHeight  Height of the compared region
+     * @param gridCols      Number of cell columns (max 64)
+     * @param gridRows      Number of cell rows (max 64)
+     * @param reference     Signature of the reference frame (gridCols * gridRows bytes)
+     * @param current       Receives the signature of this frame (gridCols * gridRows bytes)
+     * @param cellThreshold Luma difference above which a cell counts as changed
+     * @return The number of changed cells, or -1 on error
+     */
+    public static native int computeLumaChangedCellsNative(
+            ByteBuffer yBuffer,
+            int yRowStride,
+            int regionLeft,
+            int regionTop,
+            int regionWidth,
+            int regionHeight,
+            int gridCols,
+            int gridRows,
+            byte[] reference,
+            byte[] current,
+            int cellThreshold
+    );
 }
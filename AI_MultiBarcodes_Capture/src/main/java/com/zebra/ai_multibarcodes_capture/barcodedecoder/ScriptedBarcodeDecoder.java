@@ -0,0 +1,202 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.barcodedecoder;
+
+import android.graphics.Rect;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.zebra.ai.vision.detector.ImageData;
+import com.zebra.ai.vision.entity.BarcodeEntity;
+import com.zebra.ai_multibarcodes_capture.replay.IReplayDecoder;
+import com.zebra.ai_multibarcodes_capture.replay.RecordedFrame;
+import com.zebra.ai_multibarcodes_capture.replay.ReplayDetections;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deterministic fake decoder for load tests and benchmarks.
+ *
+ * Each call returns the next entry of a script of entity lists (cycling at the end), after a
+ * latency drawn from a {@link LatencyDistribution}. The latencies come from a seeded random
+ * generator, so two runs with the same seed see exactly the same sequence.
+ *
+ * The image content is ignored. The entities are supplied by the caller (typically mocks or
+ * entities captured from a real session), since the SDK does not expose a way to build them.
+ *
+ * Like the SDK decoder, {@link #process(ImageData)} is asynchronous and requests are served one
+ * at a time by a single inference thread. {@link #decode(RecordedFrame)} is the synchronous
+ * variant used by the replay pipeline, which reads the bounding boxes of the entities into a
+ * {@link ReplayDetections}.
+ */
+public class ScriptedBarcodeDecoder implements IBarcodeDecoder, IReplayDecoder {
+
+    /**
+     * Source of simulated inference latencies.
+     */
+    public interface LatencyDistribution {
+
+        /**
+         * @param random The seeded generator to draw from
+         * @return The next latency in nanoseconds
+         */
+        long nextLatencyNanos(@NonNull Random random);
+
+        /**
+         * @return A distribution with no latency, to measure post-processing alone
+         */
+        @NonNull
+        static LatencyDistribution none() {
+            return random -> 0;
+        }
+
+        /**
+         * @param latencyMs The latency in milliseconds
+         * @return A distribution always returning the same latency
+         */
+        @NonNull
+        static LatencyDistribution constant(double latencyMs) {
+            final long nanos = toNanos(latencyMs);
+            return random -> nanos;
+        }
+
+        /**
+         * @param minMs The smallest latency in milliseconds
+         * @param maxMs The largest latency in milliseconds
+         * @return A distribution uniform between the two bounds
+         */
+        @NonNull
+        static LatencyDistribution uniform(double minMs, double maxMs) {
+            final long minNanos = toNanos(minMs);
+            final long rangeNanos = Math.max(0, toNanos(maxMs) - minNanos);
+            return random -> minNanos + (long) (random.nextDouble() * rangeNanos);
+        }
+
+        /**
+         * Log-normal distribution fitted on a median and a 99th percentile, the usual shape of
+         * inference latencies (a narrow body with a long tail).
+         *
+         * @param p50Ms The median latency in milliseconds
+         * @param p99Ms The 99th percentile latency in milliseconds, at least p50Ms
+         * @return The distribution
+         */
+        @NonNull
+        static LatencyDistribution logNormal(double p50Ms, double p99Ms) {
+            // z-score of the 99th percentile of the standard normal distribution
+            final double z99 = 2.326;
+            final double mu = Math.log(Math.max(p50Ms, 1e-3));
+            final double sigma = Math.max(0.0, (Math.log(Math.max(p99Ms, p50Ms)) - mu) / z99);
+            return random -> toNanos(Math.exp(mu + sigma * random.nextGaussian()));
+        }
+
+        static long toNanos(double ms) {
+            return Math.max(0, (long) (ms * 1_000_000.0));
+        }
+    }
+
+    private final List<List<BarcodeEntity>> script;
+    private final LatencyDistribution latencyDistribution;
+    private final Random random;
+    private final ExecutorService inferenceExecutor = Executors.newSingleThreadExecutor();
+    private int nextIndex = 0;
+    private long callCount = 0;
+
+    /**
+     * @param script The entity lists returned by successive calls, cycled at the end. A null or
+     *               empty list entry returns an empty result.
+     * @param latencyDistribution The simulated inference latency
+     * @param seed The seed of the latency generator
+     */
+    public ScriptedBarcodeDecoder(@NonNull List<List<BarcodeEntity>> script,
+                                  @NonNull LatencyDistribution latencyDistribution, long seed) {
+        if (script.isEmpty()) {
+            throw new IllegalArgumentException("The script must contain at least one entry");
+        }
+        this.script = new ArrayList<>(script);
+        this.latencyDistribution = latencyDistribution;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Creates a decoder returning the same entities on every call.
+     *
+     * @param entities The entities of every frame
+     * @param latencyDistribution The simulated inference latency
+     * @param seed The seed of the latency generator
+     * @return The decoder
+     */
+    @NonNull
+    public static ScriptedBarcodeDecoder repeating(@NonNull List<BarcodeEntity> entities,
+                                                   @NonNull LatencyDistribution latencyDistribution, long seed) {
+        return new ScriptedBarcodeDecoder(Collections.singletonList(entities), latencyDistribution, seed);
+    }
+
+    @NonNull
+    @Override
+    public CompletableFuture<List<BarcodeEntity>> process(@NonNull ImageData imageData) {
+        try {
+            return CompletableFuture.supplyAsync(this::nextResult, inferenceExecutor);
+        } catch (RejectedExecutionException e) {
+            CompletableFuture<List<BarcodeEntity>> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+
+    @Nullable
+    @Override
+    public ReplayDetections decode(@NonNull RecordedFrame frame) {
+        ReplayDetections detections = new ReplayDetections();
+        for (BarcodeEntity entity : nextResult()) {
+            Rect boundingBox = entity.getBoundingBox();
+            // Like DetectionResultProcessor.ingest, entities without bounding box are ignored
+            if (boundingBox != null) {
+                detections.add(entity, boundingBox.left, boundingBox.top, boundingBox.right, boundingBox.bottom);
+            }
+        }
+        return detections;
+    }
+
+    /**
+     * Draws the next latency, waits for it and returns the next scripted result.
+     */
+    private List<BarcodeEntity> nextResult() {
+        long latencyNanos;
+        List<BarcodeEntity> entities;
+        synchronized (this) {
+            latencyNanos = latencyDistribution.nextLatencyNanos(random);
+            entities = script.get(nextIndex);
+            nextIndex = (nextIndex + 1) % script.size();
+            callCount++;
+        }
+        if (latencyNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(latencyNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Callers may modify the list they receive, as with the SDK
+        return entities != null ? new ArrayList<>(entities) : new ArrayList<>();
+    }
+
+    /**
+     * @return The number of results returned so far
+     */
+    public synchronized long getCallCount() {
+        return callCount;
+    }
+
+    @Override
+    public void dispose() {
+        inferenceExecutor.shutdownNow();
+    }
+}
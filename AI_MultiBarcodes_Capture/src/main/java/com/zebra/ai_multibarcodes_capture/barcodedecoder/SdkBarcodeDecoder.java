@@ -0,0 +1,38 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.barcodedecoder;
+
+import androidx.annotation.NonNull;
+
+import com.zebra.ai.vision.detector.AIVisionSDKException;
+import com.zebra.ai.vision.detector.BarcodeDecoder;
+import com.zebra.ai.vision.detector.ImageData;
+import com.zebra.ai.vision.entity.BarcodeEntity;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link IBarcodeDecoder} backed by the AI Vision SDK BarcodeDecoder.
+ */
+public class SdkBarcodeDecoder implements IBarcodeDecoder {
+
+    private final BarcodeDecoder barcodeDecoder;
+
+    /**
+     * @param barcodeDecoder The SDK decoder, as returned by BarcodeDecoder.getBarcodeDecoder
+     */
+    public SdkBarcodeDecoder(@NonNull BarcodeDecoder barcodeDecoder) {
+        this.barcodeDecoder = barcodeDecoder;
+    }
+
+    @NonNull
+    @Override
+    public CompletableFuture<List<BarcodeEntity>> process(@NonNull ImageData imageData) throws AIVisionSDKException {
+        return barcodeDecoder.process(imageData);
+    }
+
+    @Override
+    public void dispose() {
+        barcodeDecoder.dispose();
+    }
+}
@@ -0,0 +1,73 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.barcodedecoder;
+
+import androidx.annotation.NonNull;
+
+/**
+ * Per-stage latency recorder for the analysis pipeline.
+ * Holds one {@link LatencyHistogram} per {@link ELatencyStage}, so p50/p95/p99/max can be
+ * reported for each stage instead of a single rolling average.
+ *
+ * Recording is lock-free and allocation-free and may happen on any thread: the analyzer
+ * records the crop, image data and decode stages, while the activity records the mapping
+ * and overlay stages.
+ */
+public class StageLatencyRecorder {
+
+    private static final ELatencyStage[] STAGES = ELatencyStage.values();
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[STAGES.length];
+
+    public StageLatencyRecorder() {
+        for (int i = 0; i < STAGES.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Records the time elapsed since {@code startNanos} for the given stage.
+     *
+     * @param stage The pipeline stage
+     * @param startNanos The stage start time, from System.nanoTime()
+     */
+    public void recordSince(@NonNull ELatencyStage stage, long startNanos) {
+        histograms[stage.ordinal()].recordNanos(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Records a duration for the given stage.
+     *
+     * @param stage The pipeline stage
+     * @param durationNanos The duration in nanoseconds
+     */
+    public void record(@NonNull ELatencyStage stage, long durationNanos) {
+        histograms[stage.ordinal()].recordNanos(durationNanos);
+    }
+
+    /**
+     * @param stage The pipeline stage
+     * @return The live histogram of the stage
+     */
+    @NonNull
+    public LatencyHistogram getHistogram(@NonNull ELatencyStage stage) {
+        return histograms[stage.ordinal()];
+    }
+
+    /**
+     * @param stage The pipeline stage
+     * @return A snapshot of the stage percentiles
+     */
+    @NonNull
+    public LatencyHistogram.Snapshot snapshot(@NonNull ELatencyStage stage) {
+        return histograms[stage.ordinal()].snapshot();
+    }
+
+    /**
+     * Clears every stage histogram.
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+    }
+}
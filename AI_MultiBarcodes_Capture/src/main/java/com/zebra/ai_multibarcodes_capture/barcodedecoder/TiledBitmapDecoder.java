@@ -0,0 +1,236 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.barcodedecoder;
+
+import android.graphics.Bitmap;
+import android.graphics.Rect;
+
+import androidx.annotation.NonNull;
+
+import com.zebra.ai.vision.detector.ImageData;
+import com.zebra.ai.vision.entity.BarcodeEntity;
+import com.zebra.ai_multibarcodes_capture.helpers.LogUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Decodes a very high-resolution bitmap as overlapping tiles of the model input size.
+ *
+ * Decoding a 12 MP frame at once squeezes it into the model input, so small codes far from the
+ * camera shrink below what the localizer can see. Tiles sized to the model input keep every
+ * code at its native resolution. The tiles are decoded concurrently, at most parallelism at a
+ * time, and the barcodes found twice in the overlap of neighbouring tiles are merged.
+ *
+ * The tiles are decoded without rotation, so the bounds of the results are in the raw
+ * coordinates of the bitmap.
+ */
+public class TiledBitmapDecoder {
+
+    private static final String TAG = "TiledBitmapDecoder";
+
+    /**
+     * Minimum part of the smaller of two boxes covered by the other one for them to be the
+     * same barcode seen from two tiles.
+     */
+    private static final float SEAM_OVERLAP = 0.5f;
+
+    /**
+     * A barcode decoded in a tile.
+     */
+    public static final class Detection {
+        /** The decoded barcode, bounding box relative to its tile */
+        public final BarcodeEntity entity;
+        /** The bounding box in bitmap coordinates */
+        public final Rect bounds;
+
+        public Detection(@NonNull BarcodeEntity entity, @NonNull Rect bounds) {
+            this.entity = entity;
+            this.bounds = bounds;
+        }
+
+        boolean hasValue() {
+            return entity.getValue() != null && !entity.getValue().isEmpty();
+        }
+    }
+
+    private final IBarcodeDecoder decoder;
+    private final int tileWidth;
+    private final int tileHeight;
+    private final float overlapRatio;
+    private final ExecutorService executor;
+
+    /**
+     * @param decoder The decoder of the tiles
+     * @param tileWidth The tile width, the model input width
+     * @param tileHeight The tile height, the model input height
+     * @param overlapRatio The overlap of neighbouring tiles, as a ratio of the tile size
+     * @param parallelism The number of tiles decoded at the same time
+     */
+    public TiledBitmapDecoder(@NonNull IBarcodeDecoder decoder, int tileWidth, int tileHeight,
+                              float overlapRatio, int parallelism) {
+        this.decoder = decoder;
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.overlapRatio = overlapRatio;
+        this.executor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+    }
+
+    /**
+     * Decodes a bitmap tile by tile. The bitmap must not be recycled before the future completes.
+     *
+     * @param bitmap The bitmap to decode
+     * @return A future completed with the barcodes of every tile, duplicates merged
+     */
+    @NonNull
+    public CompletableFuture<List<Detection>> decode(@NonNull Bitmap bitmap) {
+        List<Rect> tiles = computeTiles(bitmap.getWidth(), bitmap.getHeight(), tileWidth, tileHeight, overlapRatio);
+        long startNanos = System.nanoTime();
+
+        List<CompletableFuture<List<Detection>>> decodes = new ArrayList<>(tiles.size());
+        for (Rect tile : tiles) {
+            decodes.add(CompletableFuture.supplyAsync(() -> decodeTile(bitmap, tile), executor));
+        }
+
+        return CompletableFuture.allOf(decodes.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            List<Detection> detections = new ArrayList<>();
+            for (CompletableFuture<List<Detection>> decode : decodes) {
+                detections.addAll(decode.join());
+            }
+            List<Detection> merged = merge(detections);
+            if (LogUtils.isLoggingEnabled()) {
+                LogUtils.d(TAG, "Decoded " + bitmap.getWidth() + "x" + bitmap.getHeight() + " as " + tiles.size() +
+                        " tiles of " + tileWidth + "x" + tileHeight + " in " + (System.nanoTime() - startNanos) / 1000000 +
+                        "ms: " + detections.size() + " barcodes, " + merged.size() + " after merging the seams");
+            }
+            return merged;
+        });
+    }
+
+    /**
+     * Decodes one tile, blocking the pool thread so that at most parallelism tiles are in flight.
+     */
+    @NonNull
+    private List<Detection> decodeTile(@NonNull Bitmap bitmap, @NonNull Rect tile) {
+        List<Detection> detections = new ArrayList<>();
+        Bitmap crop = null;
+        try {
+            crop = Bitmap.createBitmap(bitmap, tile.left, tile.top, tile.width(), tile.height());
+            List<BarcodeEntity> entities = decoder.process(ImageData.fromBitmap(crop, 0)).get();
+            for (BarcodeEntity entity : entities) {
+                Rect bbox = entity.getBoundingBox();
+                if (bbox == null) {
+                    continue;
+                }
+                Rect bounds = new Rect(bbox);
+                bounds.offset(tile.left, tile.top);
+                detections.add(new Detection(entity, bounds));
+            }
+        } catch (Exception e) {
+            LogUtils.e(TAG, "Error decoding tile " + tile + ": " + e.getMessage(), e);
+        } finally {
+            if (crop != null && crop != bitmap) {
+                crop.recycle();
+            }
+        }
+        return detections;
+    }
+
+    /**
+     * Stops the tile decoding threads. The decoder itself is not disposed.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Lays tiles over an image, overlapping by at least the given ratio and spread evenly so that
+     * the last tile ends on the image edge. Tiles are clamped to the image when it is smaller.
+     *
+     * @param width The image width
+     * @param height The image height
+     * @param tileWidth The tile width
+     * @param tileHeight The tile height
+     * @param overlapRatio The minimum overlap of neighbouring tiles, as a ratio of the tile size
+     * @return The tiles, row by row
+     */
+    @NonNull
+    public static List<Rect> computeTiles(int width, int height, int tileWidth, int tileHeight, float overlapRatio) {
+        int[] lefts = tileOrigins(width, tileWidth, overlapRatio);
+        int[] tops = tileOrigins(height, tileHeight, overlapRatio);
+        List<Rect> tiles = new ArrayList<>(lefts.length * tops.length);
+        for (int top : tops) {
+            for (int left : lefts) {
+                tiles.add(new Rect(left, top, Math.min(width, left + tileWidth), Math.min(height, top + tileHeight)));
+            }
+        }
+        return tiles;
+    }
+
+    private static int[] tileOrigins(int size, int tileSize, float overlapRatio) {
+        if (size <= tileSize) {
+            return new int[] {0};
+        }
+        int stride = Math.max(1, tileSize - Math.round(tileSize * overlapRatio));
+        int count = (size - tileSize + stride - 1) / stride + 1;
+        int[] origins = new int[count];
+        for (int i = 0; i < count; i++) {
+            origins[i] = (int) ((long) i * (size - tileSize) / (count - 1));
+        }
+        return origins;
+    }
+
+    /**
+     * Merges the barcodes found in the overlap of several tiles. Two detections are the same
+     * barcode when their boxes cover each other and their values do not disagree; the one with a
+     * value is kept, then the larger one, a barcode cut by a tile edge being smaller.
+     *
+     * @param detections The detections of every tile, in bitmap coordinates
+     * @return The detections without duplicates
+     */
+    @NonNull
+    public static List<Detection> merge(@NonNull List<Detection> detections) {
+        List<Detection> merged = new ArrayList<>(detections.size());
+        for (Detection detection : detections) {
+            int duplicate = -1;
+            for (int i = 0; i < merged.size(); i++) {
+                if (isSameBarcode(merged.get(i), detection)) {
+                    duplicate = i;
+                    break;
+                }
+            }
+            if (duplicate < 0) {
+                merged.add(detection);
+            } else if (isBetter(detection, merged.get(duplicate))) {
+                merged.set(duplicate, detection);
+            }
+        }
+        return merged;
+    }
+
+    private static boolean isSameBarcode(@NonNull Detection a, @NonNull Detection b) {
+        if (a.hasValue() && b.hasValue()
+                && (a.entity.getSymbology() != b.entity.getSymbology() || !a.entity.getValue().equals(b.entity.getValue()))) {
+            return false;
+        }
+        Rect intersection = new Rect();
+        if (!intersection.setIntersect(a.bounds, b.bounds)) {
+            return false;
+        }
+        long smallerArea = Math.min(area(a.bounds), area(b.bounds));
+        return smallerArea > 0 && area(intersection) >= SEAM_OVERLAP * smallerArea;
+    }
+
+    private static boolean isBetter(@NonNull Detection candidate, @NonNull Detection current) {
+        if (candidate.hasValue() != current.hasValue()) {
+            return candidate.hasValue();
+        }
+        return area(candidate.bounds) > area(current.bounds);
+    }
+
+    private static long area(@NonNull Rect rect) {
+        return (long) rect.width() * rect.height();
+    }
+}
@@ -0,0 +1,432 @@
+package com.zebra.ai_multibarcodes_capture.conditions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Matches a value against many regexes at once, with full-match semantics (like
+ * Matcher.matches()).
+ *
+ * The regexes are combined into one deterministic automaton whose states carry the ids of the
+ * patterns that match when the value ends there, so a single scan of the value reports every
+ * matching pattern, whatever the number of patterns. Patterns using constructs the automaton
+ * does not implement (see RegexNfa), and values containing supplementary characters, are
+ * matched with java.util.regex instead. If the union automaton grows too large, or cannot be
+ * built for any other reason, all patterns are matched with java.util.regex.
+ *
+ * The matcher is immutable, so it can be shared and used from any thread.
+ */
+public final class MultiPatternMatcher {
+
+    // Limits of the union automaton, beyond which every pattern is left to java.util.regex
+    private static final int MAX_DFA_STATES = 4096;
+    private static final int MAX_TRANSITIONS = 1 << 18;
+
+    /**
+     * Maximum number of patterns reported by {@link #matchMask(CharSequence)}.
+     */
+    public static final int MAX_MASK_PATTERNS = Long.SIZE;
+
+    private static final int DEAD_STATE = 0;
+    private static final int ASCII_SIZE = 128;
+    private static final int[] NO_MATCHES = new int[0];
+
+    private final Pattern[] patterns;
+    // Patterns matched with java.util.regex; the automaton covers all the others
+    private final int[] fallbackPatterns;
+    private final int[] automatonPatterns;
+
+    // Automaton: character classes, transitions by state and class, and matches by state
+    private final int[] classBoundaries;
+    private final int[] asciiClasses;
+    private final int classCount;
+    private final int startState;
+    private final int[] transitions;
+    private final int[][] stateMatches;
+
+    private MultiPatternMatcher(Pattern[] patterns, int[] fallbackPatterns, int[] automatonPatterns,
+                                int[] classBoundaries, int[] asciiClasses, int startState, int[] transitions,
+                                int[][] stateMatches) {
+        this.patterns = patterns;
+        this.fallbackPatterns = fallbackPatterns;
+        this.automatonPatterns = automatonPatterns;
+        this.classBoundaries = classBoundaries;
+        this.asciiClasses = asciiClasses;
+        this.classCount = classBoundaries.length;
+        this.startState = startState;
+        this.transitions = transitions;
+        this.stateMatches = stateMatches;
+    }
+
+    /**
+     * Compiles regexes into a matcher.
+     *
+     * @param regexes The regexes, whose index in the list is their pattern id
+     * @return The matcher
+     * @throws PatternSyntaxException If a regex is not valid for java.util.regex
+     */
+    public static MultiPatternMatcher compile(List<String> regexes) {
+        int patternCount = regexes.size();
+        Pattern[] patterns = new Pattern[patternCount];
+        RegexNfa nfa = new RegexNfa();
+        List<Integer> starts = new ArrayList<>();
+        List<Integer> automatonPatterns = new ArrayList<>();
+        List<Integer> fallbackPatterns = new ArrayList<>();
+        for (int id = 0; id < patternCount; id++) {
+            patterns[id] = Pattern.compile(regexes.get(id));
+            try {
+                starts.add(nfa.add(regexes.get(id), id));
+                automatonPatterns.add(id);
+            } catch (RegexNfa.UnsupportedRegexException | RuntimeException e) {
+                fallbackPatterns.add(id);
+            }
+        }
+
+        if (!starts.isEmpty()) {
+            MultiPatternMatcher matcher;
+            try {
+                matcher = determinize(nfa, starts, patterns, toArray(fallbackPatterns), toArray(automatonPatterns));
+            } catch (RuntimeException e) {
+                // A malformed automaton must not fail the patterns java.util.regex accepted
+                matcher = null;
+            }
+            if (matcher != null) {
+                return matcher;
+            }
+            // Too large or not buildable, every pattern goes through java.util.regex
+            fallbackPatterns.addAll(automatonPatterns);
+            automatonPatterns.clear();
+        }
+        int[] fallback = toArray(fallbackPatterns);
+        Arrays.sort(fallback);
+        return new MultiPatternMatcher(patterns, fallback, new int[0], new int[]{0}, new int[ASCII_SIZE],
+                DEAD_STATE, new int[1], new int[][]{NO_MATCHES});
+    }
+
+    /**
+     * Builds the union automaton of the NFA by subset construction.
+     *
+     * @return The matcher, null if the automaton exceeds the size limits
+     */
+    private static MultiPatternMatcher determinize(RegexNfa nfa, List<Integer> starts, Pattern[] patterns,
+                                                   int[] fallbackPatterns, int[] automatonPatterns) {
+        // Character classes: the characters between two consecutive range boundaries behave alike
+        TreeSet<Integer> boundarySet = new TreeSet<>();
+        boundarySet.add(0);
+        for (int state = 0; state < nfa.stateCount; state++) {
+            if (nfa.types[state] == RegexNfa.CHARS) {
+                int[] ranges = nfa.ranges[state];
+                for (int i = 0; i < ranges.length; i += 2) {
+                    boundarySet.add(ranges[i]);
+                    if (ranges[i + 1] < Character.MAX_VALUE) {
+                        boundarySet.add(ranges[i + 1] + 1);
+                    }
+                }
+            }
+        }
+        int[] classBoundaries = toArray(new ArrayList<>(boundarySet));
+        int classCount = classBoundaries.length;
+        int[] asciiClasses = new int[ASCII_SIZE];
+        for (int c = 0; c < ASCII_SIZE; c++) {
+            asciiClasses[c] = classOf(classBoundaries, c);
+        }
+
+        // Classes accepted by each CHARS state
+        boolean[][] acceptedClasses = new boolean[nfa.stateCount][];
+        for (int state = 0; state < nfa.stateCount; state++) {
+            if (nfa.types[state] == RegexNfa.CHARS) {
+                acceptedClasses[state] = new boolean[classCount];
+                for (int characterClass = 0; characterClass < classCount; characterClass++) {
+                    acceptedClasses[state][characterClass] =
+                            RegexNfa.contains(nfa.ranges[state], classBoundaries[characterClass]);
+                }
+            }
+        }
+
+        // Dead state first, then the start state
+        List<int[]> dfaStates = new ArrayList<>();
+        Map<StateSet, Integer> dfaStateIds = new HashMap<>();
+        // Target DFA state of each set of NFA states reached by a transition, before closure
+        Map<StateSet, Integer> movedStateIds = new HashMap<>();
+        dfaStates.add(new int[0]);
+        dfaStateIds.put(new StateSet(new int[0]), DEAD_STATE);
+        boolean[] visited = new boolean[nfa.stateCount];
+        int[] stack = new int[nfa.stateCount];
+        int startState = addState(closure(nfa, toArray(starts), visited, stack), dfaStates, dfaStateIds);
+
+        int[] transitions = new int[Math.min(MAX_TRANSITIONS, 64 * classCount)];
+        int[] moved = new int[nfa.stateCount];
+        for (int dfaState = 1; dfaState < dfaStates.size(); dfaState++) {
+            if (dfaStates.size() > MAX_DFA_STATES || dfaStates.size() * (long) classCount > MAX_TRANSITIONS) {
+                return null;
+            }
+            if (transitions.length < dfaStates.size() * classCount) {
+                transitions = Arrays.copyOf(transitions,
+                        Math.min(MAX_TRANSITIONS, Math.max(transitions.length * 2, dfaStates.size() * classCount)));
+            }
+            int[] set = dfaStates.get(dfaState);
+            for (int characterClass = 0; characterClass < classCount; characterClass++) {
+                int movedCount = 0;
+                for (int nfaState : set) {
+                    if (nfa.types[nfaState] == RegexNfa.CHARS && acceptedClasses[nfaState][characterClass]) {
+                        moved[movedCount++] = nfa.out1[nfaState];
+                    }
+                }
+                int target = DEAD_STATE;
+                if (movedCount > 0) {
+                    StateSet movedSet = new StateSet(Arrays.copyOf(moved, movedCount));
+                    Integer movedTarget = movedStateIds.get(movedSet);
+                    if (movedTarget == null) {
+                        movedTarget = addState(closure(nfa, movedSet.states, visited, stack), dfaStates, dfaStateIds);
+                        movedStateIds.put(movedSet, movedTarget);
+                    }
+                    target = movedTarget;
+                }
+                transitions[dfaState * classCount + characterClass] = target;
+            }
+        }
+
+        int[][] stateMatches = new int[dfaStates.size()][];
+        for (int dfaState = 0; dfaState < dfaStates.size(); dfaState++) {
+            int[] set = dfaStates.get(dfaState);
+            int matchCount = 0;
+            for (int nfaState : set) {
+                if (nfa.types[nfaState] == RegexNfa.MATCH) {
+                    moved[matchCount++] = nfa.matchIds[nfaState];
+                }
+            }
+            if (matchCount == 0) {
+                stateMatches[dfaState] = NO_MATCHES;
+            } else {
+                // A pattern has a single MATCH state, so its id appears once
+                stateMatches[dfaState] = Arrays.copyOf(moved, matchCount);
+                Arrays.sort(stateMatches[dfaState]);
+            }
+        }
+        return new MultiPatternMatcher(patterns, fallbackPatterns, automatonPatterns, classBoundaries, asciiClasses,
+                startState, Arrays.copyOf(transitions, dfaStates.size() * classCount), stateMatches);
+    }
+
+    private static int addState(int[] set, List<int[]> dfaStates, Map<StateSet, Integer> dfaStateIds) {
+        StateSet key = new StateSet(set);
+        Integer id = dfaStateIds.get(key);
+        if (id == null) {
+            id = dfaStates.size();
+            dfaStates.add(set);
+            dfaStateIds.put(key, id);
+        }
+        return id;
+    }
+
+    /**
+     * @return The sorted CHARS and MATCH states reachable from the given states without input
+     */
+    private static int[] closure(RegexNfa nfa, int[] states, boolean[] visited, int[] stack) {
+        int stackSize = 0;
+        int resultSize = 0;
+        int[] result = new int[nfa.stateCount];
+        for (int state : states) {
+            if (!visited[state]) {
+                visited[state] = true;
+                stack[stackSize++] = state;
+            }
+        }
+        int visitedCount = 0;
+        while (stackSize > 0) {
+            int state = stack[--stackSize];
+            // The visited states are kept at the end of the result array, to clear their marks
+            result[result.length - ++visitedCount] = state;
+            if (nfa.types[state] == RegexNfa.SPLIT) {
+                if (!visited[nfa.out1[state]]) {
+                    visited[nfa.out1[state]] = true;
+                    stack[stackSize++] = nfa.out1[state];
+                }
+                if (!visited[nfa.out2[state]]) {
+                    visited[nfa.out2[state]] = true;
+                    stack[stackSize++] = nfa.out2[state];
+                }
+            }
+        }
+        for (int i = result.length - visitedCount; i < result.length; i++) {
+            int state = result[i];
+            visited[state] = false;
+            if (nfa.types[state] != RegexNfa.SPLIT) {
+                result[resultSize++] = state;
+            }
+        }
+        int[] closure = Arrays.copyOf(result, resultSize);
+        Arrays.sort(closure);
+        return closure;
+    }
+
+    /**
+     * A set of NFA states, as a map key.
+     */
+    private static final class StateSet {
+        final int[] states;
+        private final int hash;
+
+        StateSet(int[] states) {
+            this.states = states;
+            this.hash = Arrays.hashCode(states);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof StateSet && Arrays.equals(states, ((StateSet) o).states);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static int classOf(int[] classBoundaries, int c) {
+        int index = Arrays.binarySearch(classBoundaries, c);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * @return The number of patterns
+     */
+    public int getPatternCount() {
+        return patterns.length;
+    }
+
+    /**
+     * @return The number of patterns matched with java.util.regex instead of the automaton
+     */
+    public int getFallbackPatternCount() {
+        return fallbackPatterns.length;
+    }
+
+    /**
+     * Runs the automaton over the value.
+     *
+     * @return The ids of the automaton patterns matching the value, null if the value contains
+     * supplementary characters and must be matched with java.util.regex
+     */
+    private int[] scan(CharSequence value) {
+        int state = startState;
+        int length = value.length();
+        for (int i = 0; i < length && state != DEAD_STATE; i++) {
+            char c = value.charAt(i);
+            int characterClass;
+            if (c < ASCII_SIZE) {
+                characterClass = asciiClasses[c];
+            } else if (Character.isSurrogate(c)) {
+                // java.util.regex matches code points, not chars
+                return null;
+            } else {
+                characterClass = classOf(classBoundaries, c);
+            }
+            state = transitions[state * classCount + characterClass];
+        }
+        return stateMatches[state];
+    }
+
+    /**
+     * @param value The value to match
+     * @return true if the value matches at least one pattern
+     */
+    public boolean matchesAny(CharSequence value) {
+        int[] matches = scan(value);
+        if (matches == null) {
+            for (int id : automatonPatterns) {
+                if (patterns[id].matcher(value).matches()) {
+                    return true;
+                }
+            }
+        } else if (matches.length > 0) {
+            return true;
+        }
+        for (int id : fallbackPatterns) {
+            if (patterns[id].matcher(value).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reports every pattern matching the value.
+     *
+     * @param value The value to match
+     * @param matches Set to true at the id of each matching pattern and false elsewhere, at
+     *                least getPatternCount() long
+     * @return The number of matching patterns
+     */
+    public int match(CharSequence value, boolean[] matches) {
+        Arrays.fill(matches, 0, patterns.length, false);
+        int matchCount = 0;
+        int[] automatonMatches = scan(value);
+        if (automatonMatches == null) {
+            for (int id : automatonPatterns) {
+                if (patterns[id].matcher(value).matches()) {
+                    matches[id] = true;
+                    matchCount++;
+                }
+            }
+        } else {
+            for (int id : automatonMatches) {
+                matches[id] = true;
+            }
+            matchCount += automatonMatches.length;
+        }
+        for (int id : fallbackPatterns) {
+            if (patterns[id].matcher(value).matches()) {
+                matches[id] = true;
+                matchCount++;
+            }
+        }
+        return matchCount;
+    }
+
+    /**
+     * Reports every pattern matching the value as a bitmask, without allocating when the value
+     * is matched by the automaton.
+     *
+     * @param value The value to match
+     * @return The mask with bit id set for each matching pattern
+     * @throws IllegalStateException If there are more than MAX_MASK_PATTERNS patterns
+     */
+    public long matchMask(CharSequence value) {
+        if (patterns.length > MAX_MASK_PATTERNS) {
+            throw new IllegalStateException(patterns.length + " patterns do not fit in a mask");
+        }
+        long mask = 0;
+        int[] automatonMatches = scan(value);
+        if (automatonMatches == null) {
+            for (int id : automatonPatterns) {
+                if (patterns[id].matcher(value).matches()) {
+                    mask |= 1L << id;
+                }
+            }
+        } else {
+            for (int id : automatonMatches) {
+                mask |= 1L << id;
+            }
+        }
+        for (int id : fallbackPatterns) {
+            if (patterns[id].matcher(value).matches()) {
+                mask |= 1L << id;
+            }
+        }
+        return mask;
+    }
+}
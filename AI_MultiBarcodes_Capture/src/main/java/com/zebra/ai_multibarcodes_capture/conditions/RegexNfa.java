@@ -0,0 +1,523 @@
+package com.zebra.ai_multibarcodes_capture.conditions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Thompson NFA of several regexes, built for {@link MultiPatternMatcher}.
+ *
+ * Only the subset of java.util.regex whose full-match semantics the automaton reproduces
+ * exactly is parsed: literals, '.', character classes with ranges and negation, the \d \D \w
+ * \W \s \S escapes, escaped punctuation, capturing and non-capturing groups, alternation, the
+ * greedy and lazy *, +, ?, {n}, {n,} and {n,m} quantifiers, '^' at the start and '$' at the end
+ * of the pattern. Any other construct raises UnsupportedRegexException, and the pattern is
+ * left to java.util.regex.
+ */
+final class RegexNfa {
+
+    static final int CHARS = 0;
+    static final int SPLIT = 1;
+    static final int MATCH = 2;
+
+    // Per pattern limits, beyond which the pattern is left to java.util.regex
+    private static final int MAX_REPEAT = 100;
+    private static final int MAX_STATES_PER_PATTERN = 10_000;
+
+    private static final int MAX_CHAR = Character.MAX_VALUE;
+    private static final int[] DIGIT = {'0', '9'};
+    private static final int[] WORD = {'0', '9', 'A', 'Z', '_', '_', 'a', 'z'};
+    private static final int[] SPACE = {'\t', '\r', ' ', ' '};
+    // Any character but the line terminators, as '.' without DOTALL
+    private static final int[] DOT = complement(new int[]{'\n', '\n', '\r', '\r', 0x85, 0x85, 0x2028, 0x2029});
+
+    /**
+     * Thrown for constructs outside the supported subset.
+     */
+    static final class UnsupportedRegexException extends Exception {
+        UnsupportedRegexException(String message) {
+            super(message);
+        }
+    }
+
+    // States: type, character ranges (CHARS), next states (SPLIT uses both) and pattern id (MATCH)
+    int stateCount = 0;
+    int[] types = new int[64];
+    int[][] ranges = new int[64][];
+    int[] out1 = new int[64];
+    int[] out2 = new int[64];
+    int[] matchIds = new int[64];
+    private int patternFirstState;
+
+    /**
+     * Adds a pattern to the NFA.
+     *
+     * @param regex A regex accepted by Pattern.compile
+     * @param patternId The id reported by the MATCH state of the pattern
+     * @return The start state of the pattern
+     * @throws UnsupportedRegexException If the pattern is outside the supported subset, in which
+     *                                   case the NFA is left unchanged
+     */
+    int add(String regex, int patternId) throws UnsupportedRegexException {
+        patternFirstState = stateCount;
+        try {
+            Node root = new Parser(regex).parse();
+            int matchState = newState(MATCH, null, -1, -1);
+            matchIds[matchState] = patternId;
+            return compile(root, matchState);
+        } catch (UnsupportedRegexException | RuntimeException e) {
+            stateCount = patternFirstState;
+            throw e;
+        }
+    }
+
+    private int newState(int type, int[] stateRanges, int next1, int next2) throws UnsupportedRegexException {
+        if (stateCount - patternFirstState >= MAX_STATES_PER_PATTERN) {
+            throw new UnsupportedRegexException("too many states");
+        }
+        if (stateCount == types.length) {
+            int capacity = stateCount * 2;
+            types = Arrays.copyOf(types, capacity);
+            ranges = Arrays.copyOf(ranges, capacity);
+            out1 = Arrays.copyOf(out1, capacity);
+            out2 = Arrays.copyOf(out2, capacity);
+            matchIds = Arrays.copyOf(matchIds, capacity);
+        }
+        int state = stateCount++;
+        types[state] = type;
+        ranges[state] = stateRanges;
+        out1[state] = next1;
+        out2[state] = next2;
+        matchIds[state] = -1;
+        return state;
+    }
+
+    /**
+     * Compiles a node followed by the given state.
+     *
+     * @return The start state of the node
+     */
+    private int compile(Node node, int next) throws UnsupportedRegexException {
+        if (node instanceof CharsNode) {
+            return newState(CHARS, ((CharsNode) node).ranges, next, -1);
+        }
+        if (node instanceof SequenceNode) {
+            List<Node> children = ((SequenceNode) node).children;
+            for (int i = children.size() - 1; i >= 0; i--) {
+                next = compile(children.get(i), next);
+            }
+            return next;
+        }
+        if (node instanceof AlternationNode) {
+            List<Node> alternatives = ((AlternationNode) node).alternatives;
+            int start = compile(alternatives.get(alternatives.size() - 1), next);
+            for (int i = alternatives.size() - 2; i >= 0; i--) {
+                start = newState(SPLIT, null, compile(alternatives.get(i), next), start);
+            }
+            return start;
+        }
+        RepeatNode repeat = (RepeatNode) node;
+        int start = next;
+        if (repeat.max < 0) {
+            // Unbounded: a loop through the child
+            int loop = newState(SPLIT, null, -1, next);
+            // Compiled before the store: the child may grow the state arrays
+            int body = compile(repeat.child, loop);
+            out1[loop] = body;
+            start = loop;
+        } else {
+            // Optional copies, then the required ones
+            for (int i = repeat.min; i < repeat.max; i++) {
+                start = newState(SPLIT, null, compile(repeat.child, start), start);
+            }
+        }
+        for (int i = 0; i < repeat.min; i++) {
+            start = compile(repeat.child, start);
+        }
+        return start;
+    }
+
+    // Parsed regex nodes
+
+    private abstract static class Node {
+    }
+
+    private static final class CharsNode extends Node {
+        final int[] ranges;
+
+        CharsNode(int[] ranges) {
+            this.ranges = ranges;
+        }
+    }
+
+    private static final class SequenceNode extends Node {
+        final List<Node> children = new ArrayList<>();
+    }
+
+    private static final class AlternationNode extends Node {
+        final List<Node> alternatives = new ArrayList<>();
+    }
+
+    private static final class RepeatNode extends Node {
+        final Node child;
+        final int min;
+        final int max;  // -1 when unbounded
+
+        RepeatNode(Node child, int min, int max) {
+            this.child = child;
+            this.min = min;
+            this.max = max;
+        }
+    }
+
+    /**
+     * Recursive descent parser of the supported subset.
+     */
+    private static final class Parser {
+        private final String regex;
+        private int position = 0;
+
+        Parser(String regex) {
+            this.regex = regex;
+        }
+
+        Node parse() throws UnsupportedRegexException {
+            Node root = parseAlternation();
+            if (position < regex.length()) {
+                throw new UnsupportedRegexException("unexpected '" + regex.charAt(position) + "'");
+            }
+            return root;
+        }
+
+        private boolean atEnd() {
+            return position >= regex.length();
+        }
+
+        private char peek() {
+            return regex.charAt(position);
+        }
+
+        private Node parseAlternation() throws UnsupportedRegexException {
+            Node first = parseSequence();
+            if (atEnd() || peek() != '|') {
+                return first;
+            }
+            AlternationNode alternation = new AlternationNode();
+            alternation.alternatives.add(first);
+            while (!atEnd() && peek() == '|') {
+                position++;
+                alternation.alternatives.add(parseSequence());
+            }
+            return alternation;
+        }
+
+        private Node parseSequence() throws UnsupportedRegexException {
+            SequenceNode sequence = new SequenceNode();
+            while (!atEnd() && peek() != '|' && peek() != ')') {
+                Node atom = parseQuantified();
+                if (atom != null) {
+                    sequence.children.add(atom);
+                }
+            }
+            return sequence;
+        }
+
+        /**
+         * @return The atom with its quantifier, null for an anchor
+         */
+        private Node parseQuantified() throws UnsupportedRegexException {
+            int atomStart = position;
+            Node atom = parseAtom();
+            if (atEnd() || !isQuantifier(peek())) {
+                return atom;
+            }
+            if (atom == null) {
+                throw new UnsupportedRegexException("quantified anchor at " + atomStart);
+            }
+
+            int min;
+            int max;
+            char quantifier = regex.charAt(position++);
+            if (quantifier == '*') {
+                min = 0;
+                max = -1;
+            } else if (quantifier == '+') {
+                min = 1;
+                max = -1;
+            } else if (quantifier == '?') {
+                min = 0;
+                max = 1;
+            } else {
+                min = parseNumber();
+                max = min;
+                if (!atEnd() && peek() == ',') {
+                    position++;
+                    max = !atEnd() && peek() == '}' ? -1 : parseNumber();
+                }
+                if (atEnd() || peek() != '}') {
+                    throw new UnsupportedRegexException("malformed repetition at " + atomStart);
+                }
+                position++;
+                if (min > MAX_REPEAT || max > MAX_REPEAT || (max >= 0 && max < min)) {
+                    throw new UnsupportedRegexException("repetition out of range at " + atomStart);
+                }
+            }
+
+            if (!atEnd() && peek() == '?') {
+                // Lazy: same matches as greedy for a full match
+                position++;
+            } else if (!atEnd() && peek() == '+') {
+                throw new UnsupportedRegexException("possessive quantifier at " + atomStart);
+            }
+            if (!atEnd() && isQuantifier(peek())) {
+                throw new UnsupportedRegexException("stacked quantifiers at " + atomStart);
+            }
+            return new RepeatNode(atom, min, max);
+        }
+
+        private static boolean isQuantifier(char c) {
+            return c == '*' || c == '+' || c == '?' || c == '{';
+        }
+
+        private int parseNumber() throws UnsupportedRegexException {
+            int start = position;
+            int value = 0;
+            while (!atEnd() && peek() >= '0' && peek() <= '9') {
+                value = value * 10 + (regex.charAt(position++) - '0');
+                if (value > MAX_REPEAT) {
+                    throw new UnsupportedRegexException("repetition out of range at " + start);
+                }
+            }
+            if (position == start) {
+                throw new UnsupportedRegexException("malformed repetition at " + start);
+            }
+            return value;
+        }
+
+        /**
+         * @return The atom, null for an anchor
+         */
+        private Node parseAtom() throws UnsupportedRegexException {
+            int start = position;
+            char c = regex.charAt(position++);
+            switch (c) {
+                case '(':
+                    if (!atEnd() && peek() == '?') {
+                        if (position + 1 < regex.length() && regex.charAt(position + 1) == ':') {
+                            position += 2;
+                        } else {
+                            throw new UnsupportedRegexException("special group at " + start);
+                        }
+                    }
+                    Node group = parseAlternation();
+                    if (atEnd() || peek() != ')') {
+                        throw new UnsupportedRegexException("unclosed group at " + start);
+                    }
+                    position++;
+                    return group;
+                case '[':
+                    return new CharsNode(parseClass());
+                case '.':
+                    return new CharsNode(DOT);
+                case '^':
+                    // Start of input, which a full match implies
+                    if (start != 0) {
+                        throw new UnsupportedRegexException("'^' inside the pattern at " + start);
+                    }
+                    return null;
+                case '$':
+                    // End of input, which a full match implies
+                    if (start != regex.length() - 1) {
+                        throw new UnsupportedRegexException("'$' inside the pattern at " + start);
+                    }
+                    return null;
+                case '\\':
+                    return new CharsNode(parseEscape(false));
+                case '*':
+                case '+':
+                case '?':
+                case '{':
+                    throw new UnsupportedRegexException("dangling quantifier at " + start);
+                default:
+                    return new CharsNode(literal(c));
+            }
+        }
+
+        private int[] literal(char c) throws UnsupportedRegexException {
+            if (Character.isSurrogate(c)) {
+                throw new UnsupportedRegexException("supplementary character at " + (position - 1));
+            }
+            return new int[]{c, c};
+        }
+
+        /**
+         * Parses the escape following a backslash.
+         *
+         * @param inClass true inside a character class
+         */
+        private int[] parseEscape(boolean inClass) throws UnsupportedRegexException {
+            if (atEnd()) {
+                throw new UnsupportedRegexException("trailing backslash");
+            }
+            char c = regex.charAt(position++);
+            switch (c) {
+                case 'd':
+                    return DIGIT;
+                case 'D':
+                    return complement(DIGIT);
+                case 'w':
+                    return WORD;
+                case 'W':
+                    return complement(WORD);
+                case 's':
+                    return SPACE;
+                case 'S':
+                    return complement(SPACE);
+                case 't':
+                    return new int[]{'\t', '\t'};
+                case 'n':
+                    return new int[]{'\n', '\n'};
+                case 'r':
+                    return new int[]{'\r', '\r'};
+                case 'f':
+                    return new int[]{'\f', '\f'};
+                case 'a':
+                    return new int[]{0x07, 0x07};
+                case 'e':
+                    return new int[]{0x1B, 0x1B};
+                default:
+                    // Escaped ASCII punctuation stands for itself; letters and digits are other constructs
+                    if (c < 128 && !Character.isLetterOrDigit(c)) {
+                        return new int[]{c, c};
+                    }
+                    throw new UnsupportedRegexException("escape \\" + c + (inClass ? " in class" : ""));
+            }
+        }
+
+        /**
+         * Parses a character class, after its opening bracket.
+         */
+        private int[] parseClass() throws UnsupportedRegexException {
+            int start = position - 1;
+            boolean negated = false;
+            if (!atEnd() && peek() == '^') {
+                negated = true;
+                position++;
+            }
+            if (!atEnd() && peek() == ']') {
+                throw new UnsupportedRegexException("leading ']' in class at " + start);
+            }
+
+            List<int[]> items = new ArrayList<>();
+            while (true) {
+                if (atEnd()) {
+                    throw new UnsupportedRegexException("unclosed class at " + start);
+                }
+                char c = regex.charAt(position++);
+                if (c == ']') {
+                    break;
+                }
+                if (c == '[' || (c == '&' && !atEnd() && peek() == '&')) {
+                    throw new UnsupportedRegexException("nested class or intersection at " + start);
+                }
+
+                int[] item;
+                boolean single;
+                if (c == '\\') {
+                    item = parseEscape(true);
+                    single = item.length == 2 && item[0] == item[1];
+                } else {
+                    item = literal(c);
+                    single = true;
+                }
+
+                // Range, unless the '-' closes the class
+                if (!atEnd() && peek() == '-' && position + 1 < regex.length() && regex.charAt(position + 1) != ']') {
+                    if (!single) {
+                        throw new UnsupportedRegexException("range from a class escape at " + start);
+                    }
+                    position++;
+                    char endChar = regex.charAt(position++);
+                    int[] end;
+                    if (endChar == '\\') {
+                        end = parseEscape(true);
+                    } else if (endChar == '[') {
+                        throw new UnsupportedRegexException("nested class at " + start);
+                    } else {
+                        end = literal(endChar);
+                    }
+                    if (end.length != 2 || end[0] != end[1] || end[0] < item[0]) {
+                        throw new UnsupportedRegexException("malformed range at " + start);
+                    }
+                    item = new int[]{item[0], end[0]};
+                }
+                items.add(item);
+            }
+
+            int[] union = union(items);
+            return negated ? complement(union) : union;
+        }
+    }
+
+    // Character sets, as sorted and disjoint [low, high] pairs
+
+    private static int[] union(List<int[]> sets) {
+        int pairCount = 0;
+        for (int[] set : sets) {
+            pairCount += set.length / 2;
+        }
+        int[][] pairs = new int[pairCount][];
+        int index = 0;
+        for (int[] set : sets) {
+            for (int i = 0; i < set.length; i += 2) {
+                pairs[index++] = new int[]{set[i], set[i + 1]};
+            }
+        }
+        Arrays.sort(pairs, (a, b) -> Integer.compare(a[0], b[0]));
+
+        int[] merged = new int[pairCount * 2];
+        int length = 0;
+        for (int[] pair : pairs) {
+            if (length > 0 && pair[0] <= merged[length - 1] + 1) {
+                merged[length - 1] = Math.max(merged[length - 1], pair[1]);
+            } else {
+                merged[length++] = pair[0];
+                merged[length++] = pair[1];
+            }
+        }
+        return Arrays.copyOf(merged, length);
+    }
+
+    private static int[] complement(int[] set) {
+        int[] result = new int[set.length + 2];
+        int length = 0;
+        int next = 0;
+        for (int i = 0; i < set.length; i += 2) {
+            if (set[i] > next) {
+                result[length++] = next;
+                result[length++] = set[i] - 1;
+            }
+            next = set[i + 1] + 1;
+        }
+        if (next <= MAX_CHAR) {
+            result[length++] = next;
+            result[length++] = MAX_CHAR;
+        }
+        return Arrays.copyOf(result, length);
+    }
+
+    /**
+     * @return true if the character set contains the character
+     */
+    static boolean contains(int[] set, int c) {
+        for (int i = 0; i < set.length; i += 2) {
+            if (c < set[i]) {
+                return false;
+            }
+            if (c <= set[i + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
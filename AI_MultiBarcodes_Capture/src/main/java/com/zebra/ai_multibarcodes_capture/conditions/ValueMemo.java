@@ -0,0 +1,209 @@
+package com.zebra.ai_multibarcodes_capture.conditions;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bounded memo of the results computed for a barcode value and symbology.
+ *
+ * The same barcodes are seen in nearly every frame of a scan session, so the result of
+ * evaluating conditions on a value is kept and reused by the following frames. When the memo
+ * is full, the CLOCK policy evicts an entry that was not used since the hand last passed it,
+ * which approximates least recently used without reordering entries on every hit.
+ *
+ * The memo belongs to the compiled conditions whose results it holds, so compiling the
+ * conditions again, when they change, starts with an empty memo. The methods are synchronized,
+ * the memo can be shared between threads.
+ */
+public final class ValueMemo<T> {
+
+    // Symbology of the results that only depend on the value
+    public static final int ANY_SYMBOLOGY = -1;
+
+    private final int capacity;
+    private final Map<Key, Integer> slots;
+    private final Key[] keys;
+    private final Object[] results;
+    // CLOCK reference bits, set by a hit and cleared as the hand passes
+    private final boolean[] referenced;
+    private int size = 0;
+    private int hand = 0;
+    // Reused to look up entries without allocating
+    private final Key probe = new Key(null, ANY_SYMBOLOGY);
+
+    private long hits = 0;
+    private long misses = 0;
+
+    /**
+     * @param capacity The maximum number of entries, at least 1
+     */
+    public ValueMemo(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1: " + capacity);
+        }
+        this.capacity = capacity;
+        this.slots = new HashMap<>(capacity * 2);
+        this.keys = new Key[capacity];
+        this.results = new Object[capacity];
+        this.referenced = new boolean[capacity];
+    }
+
+    /**
+     * @param value The barcode value
+     * @param symbology The barcode symbology, or ANY_SYMBOLOGY
+     * @return The memoized result, null if there is none
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public synchronized T get(@NonNull String value, int symbology) {
+        probe.set(value, symbology);
+        Integer slot = slots.get(probe);
+        if (slot == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        referenced[slot] = true;
+        return (T) results[slot];
+    }
+
+    /**
+     * Memoizes a result, evicting an entry if the memo is full.
+     *
+     * @param value The barcode value
+     * @param symbology The barcode symbology, or ANY_SYMBOLOGY
+     * @param result The result, which must not be modified afterwards
+     */
+    public synchronized void put(@NonNull String value, int symbology, @NonNull T result) {
+        probe.set(value, symbology);
+        Integer existing = slots.get(probe);
+        if (existing != null) {
+            results[existing] = result;
+            return;
+        }
+        int slot;
+        if (size < capacity) {
+            slot = size++;
+        } else {
+            slot = evict();
+        }
+        Key key = new Key(value, symbology);
+        keys[slot] = key;
+        results[slot] = result;
+        // A new entry survives the next pass of the hand only if it is used again
+        referenced[slot] = false;
+        slots.put(key, slot);
+    }
+
+    /**
+     * @return The slot of the evicted entry
+     */
+    private int evict() {
+        while (referenced[hand]) {
+            referenced[hand] = false;
+            hand = (hand + 1) % capacity;
+        }
+        int slot = hand;
+        slots.remove(keys[slot]);
+        hand = (hand + 1) % capacity;
+        return slot;
+    }
+
+    /**
+     * Removes every entry, keeping the hit counters.
+     */
+    public synchronized void clear() {
+        slots.clear();
+        for (int i = 0; i < size; i++) {
+            keys[i] = null;
+            results[i] = null;
+            referenced[i] = false;
+        }
+        size = 0;
+        hand = 0;
+    }
+
+    /**
+     * @return The number of entries
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return The maximum number of entries
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return The number of lookups that found a result
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return The number of lookups that found no result
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * @return The ratio of lookups that found a result, 0 before any lookup
+     */
+    public synchronized float getHitRate() {
+        long lookups = hits + misses;
+        return lookups > 0 ? (float) hits / lookups : 0f;
+    }
+
+    /**
+     * Resets the hit and miss counters.
+     */
+    public synchronized void resetStatistics() {
+        hits = 0;
+        misses = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(Locale.US, "%d/%d entries, hit rate %.1f%% (%d hits, %d misses)",
+                size, capacity, getHitRate() * 100f, hits, misses);
+    }
+
+    private static final class Key {
+        String value;
+        int symbology;
+        int hash;
+
+        Key(String value, int symbology) {
+            set(value, symbology);
+        }
+
+        void set(String value, int symbology) {
+            this.value = value;
+            this.symbology = symbology;
+            this.hash = value != null ? value.hashCode() * 31 + symbology : symbology;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return symbology == other.symbology && hash == other.hash && value.equals(other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.zebra.ai_multibarcodes_capture.filtering;
+
+import androidx.annotation.Nullable;
+
+import com.zebra.ai.vision.entity.BarcodeEntity;
+import com.zebra.ai_multibarcodes_capture.conditions.MultiPatternMatcher;
+import com.zebra.ai_multibarcodes_capture.conditions.ValueMemo;
+import com.zebra.ai_multibarcodes_capture.filtering.models.FilteringCondition;
+import com.zebra.ai_multibarcodes_capture.filtering.models.FilteringConditionList;
+import com.zebra.ai_multibarcodes_capture.helpers.LogUtils;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static com.zebra.ai_multibarcodes_capture.helpers.Constants.TAG;
+
+/**
+ * Filtering conditions compiled once into a predicate program, giving the same results as
+ * {@link FilteringEvaluator} without re-reading the conditions for every barcode:
+ * - SYMBOLOGY conditions become a single symbology bitset.
+ * - The regexes of the CONTAINS_REGEX and COMPLEX conditions are combined into one
+ *   MultiPatternMatcher, so a single scan of the value tells which of them match.
+ * - COMPLEX conditions become symbology/pattern pairs, checked against the scan result.
+ * Invalid conditions are dropped, like the evaluator ignores them.
+ *
+ * Optionally, the decisions of the pattern conditions are memoized by value and symbology in a
+ * bounded ValueMemo, as the same barcodes come back in nearly every frame.
+ *
+ * The pattern conditions are checked against a bitmask of the matching patterns, so evaluating
+ * a barcode allocates nothing. Beyond 64 patterns, the matches go to a per-thread buffer.
+ *
+ * The program is immutable apart from its memo and match buffers, so it can be shared and
+ * evaluated from any thread. Compile it again when the conditions change, which also discards
+ * the memo.
+ */
+public final class FilteringProgram {
+
+    private static final FilteringProgram INCLUDE_ALL = new FilteringProgram(true, new BitSet(),
+            MultiPatternMatcher.compile(new ArrayList<>()), new boolean[0], new int[0], new int[0], null);
+
+    private final boolean includeAll;
+    private final BitSet symbologies;
+    private final MultiPatternMatcher matcher;
+    // Patterns of CONTAINS_REGEX conditions, by pattern id, and as a mask when they fit in one
+    private final boolean[] regexPatterns;
+    private final long regexPatternMask;
+    // COMPLEX conditions: symbology and pattern id
+    private final int[] complexSymbologies;
+    private final int[] complexPatternIds;
+    // Decisions of the pattern conditions by value and symbology, null if not memoized
+    @Nullable
+    private final ValueMemo<Boolean> decisionMemo;
+    // Matches by pattern id when the patterns do not fit in a mask, one buffer per evaluating thread
+    private final ThreadLocal<boolean[]> matchBuffers;
+
+    private FilteringProgram(boolean includeAll, BitSet symbologies, MultiPatternMatcher matcher,
+                             boolean[] regexPatterns, int[] complexSymbologies, int[] complexPatternIds,
+                             @Nullable ValueMemo<Boolean> decisionMemo) {
+        this.includeAll = includeAll;
+        this.symbologies = symbologies;
+        this.matcher = matcher;
+        this.regexPatterns = regexPatterns;
+        long mask = 0;
+        int maskedPatterns = Math.min(regexPatterns.length, MultiPatternMatcher.MAX_MASK_PATTERNS);
+        for (int patternId = 0; patternId < maskedPatterns; patternId++) {
+            if (regexPatterns[patternId]) {
+                mask |= 1L << patternId;
+            }
+        }
+        this.regexPatternMask = mask;
+        this.complexSymbologies = complexSymbologies;
+        this.complexPatternIds = complexPatternIds;
+        this.decisionMemo = decisionMemo;
+        int patternCount = matcher.getPatternCount();
+        this.matchBuffers = ThreadLocal.withInitial(() -> new boolean[patternCount]);
+    }
+
+    /**
+     * Compiles filtering conditions.
+     *
+     * @param conditionList The filtering conditions, evaluated with OR logic
+     * @return The program, including every entity if no conditions are defined
+     */
+    public static FilteringProgram compile(@Nullable FilteringConditionList conditionList) {
+        return compile(conditionList, 0);
+    }
+
+    /**
+     * Compiles filtering conditions, memoizing the decisions of the pattern conditions.
+     *
+     * @param conditionList The filtering conditions, evaluated with OR logic
+     * @param memoCapacity The number of decisions memoized by value and symbology, 0 to disable
+     * @return The program, including every entity if no conditions are defined
+     */
+    public static FilteringProgram compile(@Nullable FilteringConditionList conditionList, int memoCapacity) {
+        if (conditionList == null || conditionList.isEmpty()) {
+            // No conditions defined = include all entities
+            return INCLUDE_ALL;
+        }
+
+        BitSet symbologies = new BitSet();
+        List<String> regexes = new ArrayList<>();
+        List<Integer> regexPatternIds = new ArrayList<>();
+        List<Integer> complexSymbologies = new ArrayList<>();
+        List<Integer> complexPatternIds = new ArrayList<>();
+        for (FilteringCondition condition : conditionList.getConditions()) {
+            if (condition == null || condition.getType() == null) {
+                continue;
+            }
+            switch (condition.getType()) {
+                case SYMBOLOGY:
+                    if (condition.getSymbology() >= 0) {
+                        symbologies.set(condition.getSymbology());
+                    }
+                    break;
+                case CONTAINS_REGEX:
+                    int patternId = patternId(condition.getRegex(), regexes);
+                    if (patternId >= 0) {
+                        regexPatternIds.add(patternId);
+                    }
+                    break;
+                case COMPLEX:
+                    if (condition.getSymbology() >= 0) {
+                        int complexPatternId = patternId(condition.getRegex(), regexes);
+                        if (complexPatternId >= 0) {
+                            complexSymbologies.add(condition.getSymbology());
+                            complexPatternIds.add(complexPatternId);
+                        }
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        MultiPatternMatcher matcher = MultiPatternMatcher.compile(regexes);
+        boolean[] regexPatterns = new boolean[regexes.size()];
+        for (int patternId : regexPatternIds) {
+            regexPatterns[patternId] = true;
+        }
+        LogUtils.d(TAG, "FilteringProgram: compiled " + conditionList.size() + " conditions into "
+                + symbologies.cardinality() + " symbologies, " + regexes.size() + " patterns ("
+                + matcher.getFallbackPatternCount() + " through java.util.regex), "
+                + complexPatternIds.size() + " complex checks");
+        // Symbology conditions are cheaper to check than a memo lookup
+        ValueMemo<Boolean> decisionMemo = memoCapacity > 0 && !regexes.isEmpty()
+                ? new ValueMemo<>(memoCapacity) : null;
+        return new FilteringProgram(false, symbologies, matcher, regexPatterns,
+                toArray(complexSymbologies), toArray(complexPatternIds), decisionMemo);
+    }
+
+    /**
+     * @return The pattern id of the regex, shared by identical regexes, or -1 if it is empty or invalid
+     */
+    private static int patternId(@Nullable String regex, List<String> regexes) {
+        if (regex == null || regex.isEmpty()) {
+            return -1;
+        }
+        int patternId = regexes.indexOf(regex);
+        if (patternId >= 0) {
+            return patternId;
+        }
+        try {
+            Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            LogUtils.e(TAG, "FilteringProgram: Invalid regex pattern, condition ignored: " + regex, e);
+            return -1;
+        }
+        regexes.add(regex);
+        return regexes.size() - 1;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+
+    /**
+     * Determines if an entity should be included, like FilteringEvaluator.shouldIncludeEntity.
+     *
+     * @param entity The barcode entity to evaluate
+     * @return true if the entity should be included, false otherwise
+     */
+    public boolean shouldIncludeEntity(@Nullable BarcodeEntity entity) {
+        if (includeAll) {
+            return true;
+        }
+        if (entity == null) {
+            return false;
+        }
+        return shouldInclude(entity.getSymbology(), entity.getValue());
+    }
+
+    /**
+     * Determines if a barcode should be included from its symbology and value.
+     *
+     * @param symbology The symbology of the barcode
+     * @param value The decoded value of the barcode, may be null
+     * @return true if the barcode matches any condition, or if no conditions are defined
+     */
+    public boolean shouldInclude(int symbology, @Nullable String value) {
+        if (includeAll) {
+            return true;
+        }
+        // Cheapest check first, the conditions being OR-ed
+        if (symbology >= 0 && symbologies.get(symbology)) {
+            return true;
+        }
+        if (value == null || value.isEmpty() || matcher.getPatternCount() == 0) {
+            return false;
+        }
+        ValueMemo<Boolean> memo = decisionMemo;
+        if (memo == null) {
+            return matchesPatterns(symbology, value);
+        }
+        Boolean decision = memo.get(value, symbology);
+        if (decision == null) {
+            decision = matchesPatterns(symbology, value);
+            memo.put(value, symbology, decision);
+        }
+        return decision;
+    }
+
+    /**
+     * @return true if the value matches a CONTAINS_REGEX condition, or a COMPLEX condition of the symbology
+     */
+    private boolean matchesPatterns(int symbology, String value) {
+        if (complexPatternIds.length == 0) {
+            // Only CONTAINS_REGEX patterns
+            return matcher.matchesAny(value);
+        }
+
+        if (matcher.getPatternCount() <= MultiPatternMatcher.MAX_MASK_PATTERNS) {
+            long mask = matcher.matchMask(value);
+            if (mask == 0) {
+                return false;
+            }
+            if ((mask & regexPatternMask) != 0) {
+                return true;
+            }
+            for (int i = 0; i < complexPatternIds.length; i++) {
+                if (complexSymbologies[i] == symbology && (mask & (1L << complexPatternIds[i])) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        boolean[] matches = matchBuffers.get();
+        if (matcher.match(value, matches) == 0) {
+            return false;
+        }
+        for (int patternId = 0; patternId < matches.length; patternId++) {
+            if (matches[patternId] && regexPatterns[patternId]) {
+                return true;
+            }
+        }
+        for (int i = 0; i < complexPatternIds.length; i++) {
+            if (complexSymbologies[i] == symbology && matches[complexPatternIds[i]]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if every entity is included (no conditions defined)
+     */
+    public boolean isIncludeAll() {
+        return includeAll;
+    }
+
+    /**
+     * @return The memo of the decisions, for its statistics, null if decisions are not memoized
+     */
+    @Nullable
+    public ValueMemo<Boolean> getDecisionMemo() {
+        return decisionMemo;
+    }
+}
@@ -0,0 +1,136 @@
+package com.zebra.ai_multibarcodes_capture.helpers;
+
+import android.graphics.RectF;
+
+import java.util.List;
+
+/**
+ * Computes an adaptive region of interest from the barcodes tracked by the DebounceManager.
+ * Once some cache entries are stable, the analyzer only needs to decode the area around them:
+ * the ROI is the union of their overlay bounding boxes, expanded by a margin.
+ *
+ * To avoid reallocating crop buffers on every frame, the ROI is only replaced when the tracked
+ * barcodes leave it, or when it becomes much larger than needed.
+ * The analyzer is responsible for the periodic full-frame refresh that discovers new barcodes.
+ */
+public class AdaptiveRoiController {
+
+    private static final String TAG = Constants.TAG;
+
+    // Replace a containing ROI only when the fitted ROI is less than this fraction of its area
+    private static final float SHRINK_AREA_RATIO = 0.5f;
+
+    // Settings
+    private boolean enabled = false;
+    private int marginPercent = 20;
+    private int minStableFrames = 3;
+    private int refreshInterval = 10;
+
+    // Current ROI in overlay coordinates, null when not enough barcodes are stable
+    private RectF currentRoi = null;
+    private final RectF candidateRoi = new RectF();
+
+    /**
+     * Updates the adaptive ROI settings.
+     *
+     * @param enabled Whether adaptive ROI cropping is enabled
+     * @param marginPercent Margin added around the tracked barcodes, as a percentage of the union size
+     * @param minStableFrames Number of consecutive frames with the same value before a barcode drives the ROI
+     * @param refreshInterval Number of frames between full-frame refreshes
+     */
+    public void updateSettings(boolean enabled, int marginPercent, int minStableFrames, int refreshInterval) {
+        this.enabled = enabled;
+        this.marginPercent = Math.max(0, marginPercent);
+        this.minStableFrames = Math.max(1, minStableFrames);
+        this.refreshInterval = Math.max(1, refreshInterval);
+        currentRoi = null;
+        LogUtils.d(TAG, "AdaptiveRoiController settings updated - enabled: " + enabled +
+                ", marginPercent: " + this.marginPercent + ", minStableFrames: " + this.minStableFrames +
+                ", refreshInterval: " + this.refreshInterval);
+    }
+
+    /**
+     * @return Whether adaptive ROI cropping is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return Number of frames between full-frame refreshes
+     */
+    public int getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    /**
+     * Forgets the current ROI.
+     */
+    public void reset() {
+        currentRoi = null;
+    }
+
+    /**
+     * Updates the ROI from the debounce cache.
+     *
+     * @param cache The debounce cache entries, in overlay coordinates
+     * @param overlayWidth The overlay width, used to clamp the ROI
+     * @param overlayHeight The overlay height, used to clamp the ROI
+     * @return The ROI in overlay coordinates, or null if no barcode is stable enough
+     */
+    public RectF update(List<CachedBarcode> cache, int overlayWidth, int overlayHeight) {
+        if (!enabled || overlayWidth <= 0 || overlayHeight <= 0) {
+            currentRoi = null;
+            return null;
+        }
+
+        // Union of the stable tracked barcodes
+        boolean hasStable = false;
+        for (CachedBarcode cached : cache) {
+            if (!cached.hasDecodedValue() || cached.getConsistentValueCount() < minStableFrames) {
+                continue;
+            }
+            IntRect rect = cached.getOverlayRect();
+            if (!hasStable) {
+                candidateRoi.set(rect.left, rect.top, rect.right, rect.bottom);
+                hasStable = true;
+            } else {
+                candidateRoi.union(rect.left, rect.top, rect.right, rect.bottom);
+            }
+        }
+
+        if (!hasStable) {
+            if (currentRoi != null) {
+                LogUtils.v(TAG, "AdaptiveRoi: no stable barcodes, releasing ROI");
+            }
+            currentRoi = null;
+            return null;
+        }
+
+        float marginX = candidateRoi.width() * marginPercent / 100f;
+        float marginY = candidateRoi.height() * marginPercent / 100f;
+        RectF roi = new RectF(
+                Math.max(0f, candidateRoi.left - marginX),
+                Math.max(0f, candidateRoi.top - marginY),
+                Math.min(overlayWidth, candidateRoi.right + marginX),
+                Math.min(overlayHeight, candidateRoi.bottom + marginY));
+        if (roi.isEmpty()) {
+            currentRoi = null;
+            return null;
+        }
+
+        // Keep the current ROI while it still contains every tracked barcode and is not oversized
+        if (currentRoi != null && currentRoi.contains(candidateRoi)
+                && area(roi) >= SHRINK_AREA_RATIO * area(currentRoi)) {
+            return currentRoi;
+        }
+
+        currentRoi = roi;
+        LogUtils.v(TAG, "AdaptiveRoi: ROI updated to " + roi);
+        return currentRoi;
+    }
+
+    private static float area(RectF rect) {
+        return rect.width() * rect.height();
+    }
+}
@@ -1,7 +1,5 @@
 package com.zebra.ai_multibarcodes_capture.helpers;
 
-import android.graphics.Rect;
-
 import com.zebra.ai.vision.entity.BarcodeEntity;
 
 import java.util.Objects;
@@ -9,31 +7,63 @@ import java.util.Objects;
 /**
  * Represents a cached barcode entry for debouncing purposes.
  * Stores the barcode entity, overlay rect, frame age, and stability tracking data.
+ *
+ * Each entry also runs a constant-velocity motion model: the velocity of its center is
+ * estimated from successive positions (smoothed across frames), and the overlay rect is
+ * extrapolated by it to predict where the barcode will be in the next frame.
  */
 public class CachedBarcode {
-    private BarcodeEntity entity;
-    private Rect overlayRect;
+
+    // Weight of the latest measured velocity in the smoothed velocity
+    private static final float VELOCITY_GAIN = 0.5f;
+    // Frames beyond which the prediction stops extrapolating
+    private static final int MAX_PREDICTION_FRAMES = 5;
+
+    private final BarcodeEntity entity;
+    // Read once from the entity, which never changes for a cache entry
+    private final String value;
+    private final int symbology;
+    private final IntRect overlayRect;
     private int frameAge;
 
+    // Motion model, in overlay pixels per frame
+    private float velocityX = 0f;
+    private float velocityY = 0f;
+    private final IntRect predictedRect;
+
+    // Track continuity: frames since creation and frames the barcode was detected in
+    private int lifetimeFrames = 0;
+    private int hitCount = 1;
+    private int lastHitFrame = 0;
+
     // Stability tracking fields for high-res stabilization
     private String lastValue;           // Previous frame's value
     private int consistentValueCount;   // How many frames with same value
     private int valueChangeCount;       // How many times value changed
     private boolean needsHighResValidation;
 
+    // Slot in the DebounceManager spatial index, -1 when not indexed
+    int gridSlot = -1;
+
+    // Identifier given by the DebounceManager, stable for the life of the entry
+    int trackId = -1;
+
     /**
      * Creates a new cached barcode entry.
      *
      * @param entity The barcode entity
      * @param overlayRect The bounding box mapped to overlay coordinates
      */
-    public CachedBarcode(BarcodeEntity entity, Rect overlayRect) {
+    public CachedBarcode(BarcodeEntity entity, IntRect overlayRect) {
         this.entity = entity;
-        this.overlayRect = new Rect(overlayRect);
+        this.value = entity.getValue();
+        this.symbology = entity.getSymbology();
+        this.overlayRect = new IntRect(overlayRect);
+        this.predictedRect = new IntRect(overlayRect);
         this.frameAge = 0;
 
         // Initialize stability tracking
-        this.lastValue = entity.getValue();
+        this.lastValue = value;
         this.consistentValueCount = (lastValue != null && !lastValue.isEmpty()) ? 1 : 0;
         this.valueChangeCount = 0;
         this.needsHighResValidation = (lastValue == null || lastValue.isEmpty());
@@ -43,7 +73,11 @@ public class CachedBarcode {
         return entity;
     }
 
-    public Rect getOverlayRect() {
+    /**
+     * @return The last overlay rect, updated in place when the barcode moves: copy it to keep it
+     * across frames
+     */
+    public IntRect getOverlayRect() {
         return overlayRect;
     }
 
@@ -56,11 +90,19 @@ public class CachedBarcode {
     }
 
     public String getValue() {
-        return entity.getValue();
+        return value;
     }
 
     public int getSymbology() {
-        return entity.getSymbology();
+        return symbology;
+    }
+
+    /**
+     * @return The identifier of the track, stable while the barcode stays in the cache,
+     * -1 if the entry was not added by a DebounceManager
+     */
+    public int getTrackId() {
+        return trackId;
     }
 
     public int getFrameAge() {
@@ -73,6 +115,24 @@ public class CachedBarcode {
      */
     public void incrementFrameAge() {
         frameAge++;
+        lifetimeFrames++;
+        updatePrediction();
+    }
+
+    /**
+     * Increments the frame age for a frame that was not decoded (see
+     * DetectionResultProcessor.predict), moving the prediction forward without counting the
+     * frame in the track continuity.
+     */
+    public void advancePrediction() {
+        frameAge++;
+        updatePrediction();
+    }
+
+    private void updatePrediction() {
+        int frames = Math.min(frameAge, MAX_PREDICTION_FRAMES);
+        predictedRect.set(overlayRect);
+        predictedRect.offset(Math.round(velocityX * frames), Math.round(velocityY * frames));
     }
 
     /**
@@ -84,12 +144,72 @@ public class CachedBarcode {
     }
 
     /**
-     * Updates the cached overlay rect.
+     * Updates the cached overlay rect and the motion model.
+     * Must be called before {@link #resetFrameAge()}, the frame age being the time elapsed
+     * since the previous position.
      *
      * @param newOverlayRect The new overlay rect
      */
-    public void updatePosition(Rect newOverlayRect) {
-        this.overlayRect = new Rect(newOverlayRect);
+    public void updatePosition(IntRect newOverlayRect) {
+        int frames = Math.max(1, frameAge);
+        float measuredVelocityX = (float) (newOverlayRect.centerX() - overlayRect.centerX()) / frames;
+        float measuredVelocityY = (float) (newOverlayRect.centerY() - overlayRect.centerY()) / frames;
+        if (hitCount == 1) {
+            // First motion measurement
+            velocityX = measuredVelocityX;
+            velocityY = measuredVelocityY;
+        } else {
+            velocityX += VELOCITY_GAIN * (measuredVelocityX - velocityX);
+            velocityY += VELOCITY_GAIN * (measuredVelocityY - velocityY);
+        }
+        hitCount++;
+        lastHitFrame = lifetimeFrames;
+
+        overlayRect.set(newOverlayRect);
+        predictedRect.set(newOverlayRect);
+    }
+
+    /**
+     * @return Where the barcode is expected in the current frame, from its last position and velocity
+     */
+    public IntRect getPredictedRect() {
+        return predictedRect;
+    }
+
+    public int getPredictedCenterX() {
+        return predictedRect.centerX();
+    }
+
+    public int getPredictedCenterY() {
+        return predictedRect.centerY();
+    }
+
+    /**
+     * @return The horizontal velocity in overlay pixels per frame
+     */
+    public float getVelocityX() {
+        return velocityX;
+    }
+
+    /**
+     * @return The vertical velocity in overlay pixels per frame
+     */
+    public float getVelocityY() {
+        return velocityY;
+    }
+
+    /**
+     * @return The number of frames this barcode was detected in, including the first one
+     */
+    public int getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return The number of frames from the first detection to the last one, inclusive
+     */
+    public int getTrackSpan() {
+        return lastHitFrame + 1;
     }
 
     /**
@@ -98,9 +218,23 @@ public class CachedBarcode {
      * @param rect The rect to calculate distance to
      * @return The distance in pixels
      */
-    public double distanceTo(Rect rect) {
-        return Math.sqrt(Math.pow(this.overlayRect.centerX() - rect.centerX(), 2) +
-                         Math.pow(this.overlayRect.centerY() - rect.centerY(), 2));
+    public double distanceTo(IntRect rect) {
+        return distance(overlayRect, rect);
+    }
+
+    /**
+     * Calculates the Euclidean distance from the predicted center to a rect's center.
+     *
+     * @param rect The rect to calculate distance to
+     * @return The distance in pixels
+     */
+    public double predictedDistanceTo(IntRect rect) {
+        return distance(predictedRect, rect);
+    }
+
+    private static double distance(IntRect a, IntRect b) {
+        return Math.sqrt(Math.pow(a.centerX() - b.centerX(), 2) +
+                         Math.pow(a.centerY() - b.centerY(), 2));
     }
 
     /**
@@ -109,17 +243,31 @@ public class CachedBarcode {
      * @param other The rect to calculate IOU with
      * @return IOU value between 0.0 and 1.0
      */
-    public double calculateIOU(Rect other) {
-        int intersectLeft = Math.max(overlayRect.left, other.left);
-        int intersectTop = Math.max(overlayRect.top, other.top);
-        int intersectRight = Math.min(overlayRect.right, other.right);
-        int intersectBottom = Math.min(overlayRect.bottom, other.bottom);
+    public double calculateIOU(IntRect other) {
+        return intersectionOverUnion(overlayRect, other);
+    }
+
+    /**
+     * Calculates Intersection over Union (IOU) of the predicted rect with another rect.
+     *
+     * @param other The rect to calculate IOU with
+     * @return IOU value between 0.0 and 1.0
+     */
+    public double calculatePredictedIOU(IntRect other) {
+        return intersectionOverUnion(predictedRect, other);
+    }
+
+    private static double intersectionOverUnion(IntRect rect, IntRect other) {
+        int intersectLeft = Math.max(rect.left, other.left);
+        int intersectTop = Math.max(rect.top, other.top);
+        int intersectRight = Math.min(rect.right, other.right);
+        int intersectBottom = Math.min(rect.bottom, other.bottom);
 
         int intersectWidth = Math.max(0, intersectRight - intersectLeft);
         int intersectHeight = Math.max(0, intersectBottom - intersectTop);
         int intersectionArea = intersectWidth * intersectHeight;
 
-        int area1 = overlayRect.width() * overlayRect.height();
+        int area1 = rect.width() * rect.height();
         int area2 = other.width() * other.height();
         int unionArea = area1 + area2 - intersectionArea;
 
@@ -170,7 +318,7 @@ public class CachedBarcode {
      * @return true if the entity has a non-empty value
      */
     public boolean hasDecodedValue() {
-        return entity.getValue() != null && !entity.getValue().isEmpty();
+        return value != null && !value.isEmpty();
     }
 
     /**
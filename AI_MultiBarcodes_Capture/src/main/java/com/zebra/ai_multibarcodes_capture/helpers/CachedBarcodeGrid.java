@@ -0,0 +1,263 @@
+package com.zebra.ai_multibarcodes_capture.helpers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Uniform grid over the overlay centers of the debounce cache (last or predicted positions),
+ * so that matching a detection only looks at the cached barcodes around it instead of the
+ * whole cache.
+ *
+ * The grid is built from the cache in O(n) (counting sort of the entries by cell) and stays
+ * usable while entries move or get added afterwards: queries are widened by the largest
+ * displacement of an indexed entry since the build, and added entries are kept in a short
+ * list that callers scan linearly. Once either grows too large the grid invalidates itself
+ * and the owner rebuilds it.
+ */
+final class CachedBarcodeGrid {
+
+    private static final int MIN_CELL_SIZE = 16;
+    private static final int MAX_CELLS = 4096;
+    // Entries added since the build that are tolerated before a rebuild
+    private static final int MIN_UNINDEXED_ENTRIES = 16;
+
+    // Entries sorted by cell, with the center they were indexed at
+    private CachedBarcode[] slots = new CachedBarcode[64];
+    private int[] slotCenterX = new int[64];
+    private int[] slotCenterY = new int[64];
+    private int[] slotCell = new int[64];
+    private final int[] cellStart = new int[MAX_CELLS + 1];
+    private int size = 0;
+
+    private int originX = 0;
+    private int originY = 0;
+    private int cellSize = MIN_CELL_SIZE;
+    private int columns = 0;
+    private int rows = 0;
+
+    private int maxBoxWidth = 0;
+    private int maxBoxHeight = 0;
+    private int maxDisplacement = 0;
+    private final List<CachedBarcode> unindexed = new ArrayList<>();
+    private boolean valid = false;
+    private boolean predictedPositions = false;
+
+    /**
+     * Indexes the given entries, replacing the previous content.
+     *
+     * @param cache The cached barcodes
+     * @param requestedCellSize The preferred cell size in overlay pixels, enlarged if the
+     *                          entries spread over too many cells
+     * @param predictedPositions true to index the predicted rects instead of the last ones
+     */
+    void rebuild(List<CachedBarcode> cache, int requestedCellSize, boolean predictedPositions) {
+        this.predictedPositions = predictedPositions;
+        size = cache.size();
+        unindexed.clear();
+        maxDisplacement = 0;
+        maxBoxWidth = 0;
+        maxBoxHeight = 0;
+        valid = true;
+        if (size == 0) {
+            columns = 0;
+            rows = 0;
+            return;
+        }
+        ensureCapacity(size);
+
+        int minX = Integer.MAX_VALUE;
+        int minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int maxY = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            CachedBarcode cached = cache.get(i);
+            int centerX = centerX(cached);
+            int centerY = centerY(cached);
+            minX = Math.min(minX, centerX);
+            minY = Math.min(minY, centerY);
+            maxX = Math.max(maxX, centerX);
+            maxY = Math.max(maxY, centerY);
+            maxBoxWidth = Math.max(maxBoxWidth, cached.getOverlayRect().width());
+            maxBoxHeight = Math.max(maxBoxHeight, cached.getOverlayRect().height());
+        }
+
+        originX = minX;
+        originY = minY;
+        cellSize = Math.max(MIN_CELL_SIZE, requestedCellSize);
+        long spanX = (long) maxX - minX;
+        long spanY = (long) maxY - minY;
+        while ((spanX / cellSize + 1) * (spanY / cellSize + 1) > MAX_CELLS) {
+            cellSize *= 2;
+        }
+        columns = (int) (spanX / cellSize + 1);
+        rows = (int) (spanY / cellSize + 1);
+        int cellCount = columns * rows;
+
+        // Counting sort of the entries by cell; slotCell temporarily holds the cell of cache entry i
+        Arrays.fill(cellStart, 0, cellCount + 1, 0);
+        for (int i = 0; i < size; i++) {
+            CachedBarcode cached = cache.get(i);
+            int cell = ((centerY(cached) - originY) / cellSize) * columns
+                    + (centerX(cached) - originX) / cellSize;
+            slotCell[i] = cell;
+            cellStart[cell + 1]++;
+        }
+        for (int cell = 0; cell < cellCount; cell++) {
+            cellStart[cell + 1] += cellStart[cell];
+        }
+        // Fill each cell from its end so that cellStart ends up back at the cell starts
+        for (int i = size - 1; i >= 0; i--) {
+            int slot = --cellStart[slotCell[i] + 1];
+            CachedBarcode cached = cache.get(i);
+            slots[slot] = cached;
+            slotCenterX[slot] = centerX(cached);
+            slotCenterY[slot] = centerY(cached);
+            cached.gridSlot = slot;
+        }
+        // cellStart[cell + 1] now holds the start of the cell; shift it back to cellStart[cell]
+        System.arraycopy(cellStart, 1, cellStart, 0, cellCount);
+        cellStart[cellCount] = size;
+    }
+
+    private int centerX(CachedBarcode cached) {
+        return predictedPositions ? cached.getPredictedCenterX() : cached.getCenterX();
+    }
+
+    private int centerY(CachedBarcode cached) {
+        return predictedPositions ? cached.getPredictedCenterY() : cached.getCenterY();
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (slots.length >= capacity) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, slots.length * 2);
+        slots = new CachedBarcode[newCapacity];
+        slotCenterX = new int[newCapacity];
+        slotCenterY = new int[newCapacity];
+        slotCell = new int[newCapacity];
+    }
+
+    /**
+     * @return false when the grid no longer reflects the cache and must be rebuilt
+     */
+    boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Marks the grid as out of date, e.g. after entries were removed from the cache.
+     */
+    void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Records that an entry's overlay rect changed since the build.
+     */
+    void onMoved(CachedBarcode cached) {
+        int slot = cached.gridSlot;
+        if (slot < 0 || slot >= size || slots[slot] != cached) {
+            return;
+        }
+        int displacement = Math.max(Math.abs(centerX(cached) - slotCenterX[slot]),
+                Math.abs(centerY(cached) - slotCenterY[slot]));
+        maxDisplacement = Math.max(maxDisplacement, displacement);
+        maxBoxWidth = Math.max(maxBoxWidth, cached.getOverlayRect().width());
+        maxBoxHeight = Math.max(maxBoxHeight, cached.getOverlayRect().height());
+        if (maxDisplacement > cellSize) {
+            valid = false;
+        }
+    }
+
+    /**
+     * Records an entry added to the cache since the build.
+     */
+    void onAdded(CachedBarcode cached) {
+        cached.gridSlot = -1;
+        unindexed.add(cached);
+        maxBoxWidth = Math.max(maxBoxWidth, cached.getOverlayRect().width());
+        maxBoxHeight = Math.max(maxBoxHeight, cached.getOverlayRect().height());
+        if (unindexed.size() > Math.max(MIN_UNINDEXED_ENTRIES, size / 4)) {
+            valid = false;
+        }
+    }
+
+    /**
+     * Collects the indexed entries whose center may lie inside the given bounds (inclusive).
+     * The result can contain entries slightly outside, the caller checks the actual match.
+     * Entries added since the build are not included, see {@link #getUnindexed()}.
+     *
+     * @param out Receives the slots of the entries, at least {@link #size()} long
+     * @return The number of slots written
+     */
+    int query(long left, long top, long right, long bottom, int[] out) {
+        if (size == 0) {
+            return 0;
+        }
+        left -= maxDisplacement;
+        top -= maxDisplacement;
+        right += maxDisplacement;
+        bottom += maxDisplacement;
+        int firstColumn = cellIndex(left - originX, columns);
+        int lastColumn = cellIndex(right - originX, columns);
+        int firstRow = cellIndex(top - originY, rows);
+        int lastRow = cellIndex(bottom - originY, rows);
+
+        int count = 0;
+        for (int row = firstRow; row <= lastRow; row++) {
+            int rowCell = row * columns;
+            for (int slot = cellStart[rowCell + firstColumn], end = cellStart[rowCell + lastColumn + 1]; slot < end; slot++) {
+                int centerX = slotCenterX[slot];
+                int centerY = slotCenterY[slot];
+                if (centerX >= left && centerX <= right && centerY >= top && centerY <= bottom) {
+                    out[count++] = slot;
+                }
+            }
+        }
+        return count;
+    }
+
+    private int cellIndex(long offset, int cellCount) {
+        if (offset <= 0) {
+            return 0;
+        }
+        return (int) Math.min(cellCount - 1, offset / cellSize);
+    }
+
+    /**
+     * @return The entry indexed at the given slot
+     */
+    CachedBarcode get(int slot) {
+        return slots[slot];
+    }
+
+    /**
+     * @return The number of indexed entries
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return The entries added since the build, not returned by {@link #query}
+     */
+    List<CachedBarcode> getUnindexed() {
+        return unindexed;
+    }
+
+    /**
+     * @return The largest overlay rect width among the entries
+     */
+    int getMaxBoxWidth() {
+        return maxBoxWidth;
+    }
+
+    /**
+     * @return The largest overlay rect height among the entries
+     */
+    int getMaxBoxHeight() {
+        return maxBoxHeight;
+    }
+}
@@ -26,9 +26,11 @@ public class CameraActivitySettingsLoader {
 
         // Capture mode settings
         public ECaptureTriggerMode captureTriggerMode = ECaptureTriggerMode.CAPTURE_ON_PRESS;
+        public boolean isDenseCaptureEnabled = false;
 
         // Display settings
         public boolean displayAnalysisPerSecond = false;
+        public boolean displayLatencyHistograms = false;
 
         // Autofocus settings
         public boolean forceContinuousAutofocus = false;
@@ -39,6 +41,8 @@ public class CameraActivitySettingsLoader {
         public int debounceThreshold = 50;
         public int debounceAlgorithm = 0; // 0 = Center Distance, 1 = IOU
         public float debounceIouThreshold = 0.3f;
+        public boolean debounceMotionPrediction = false;
+        public int predictedFrameInterval = 0;
 
         // Auto capture settings
         public boolean isAutoCaptureEnabled = false;
@@ -47,6 +51,40 @@ public class CameraActivitySettingsLoader {
         // High-res stabilization settings
         public boolean isHighResStabilizationEnabled = false;
         public int highResStabilityThreshold = 3;
+        public boolean isHighResRoiDecodeEnabled = false;
+        public int highResRoiPadding = 25;
+        public boolean isHighResYuvCaptureEnabled = false;
+        public boolean isHighResTiledDecodeEnabled = false;
+
+        // Frame format settings
+        public boolean luminanceOnlyFrames = false;
+        public boolean nativeCropTransform = false;
+        public EModelInputSize modelInputSize = EModelInputSize.SMALL;
+
+        // Analyzer pipeline settings
+        public int analyzerPipelineDepth = 1;
+
+        // Motion gate settings
+        public boolean isMotionGateEnabled = false;
+        public int motionGateCellThreshold = 12;
+        public int motionGateChangedCellsPercent = 3;
+        public int motionGateMaxSkippedFrames = 15;
+
+        // Adaptive ROI settings
+        public boolean isAdaptiveRoiEnabled = false;
+        public int adaptiveRoiMarginPercent = 20;
+        public int adaptiveRoiMinStableFrames = 3;
+        public int adaptiveRoiRefreshInterval = 10;
+
+        // Frame recording settings
+        public boolean isFrameRecordingEnabled = false;
+        public int frameRecordingMaxMb = 512;
+
+        // Overlay settings
+        public EOverlayMotionMode overlayMotionMode = EOverlayMotionMode.OFF;
+
+        // Decision memo settings
+        public int decisionMemoCapacity = 0;
 
         // Camera settings
         public ECameraResolution cameraResolution = ECameraResolution.MP_2;
@@ -85,6 +123,27 @@ public class CameraActivitySettingsLoader {
         // Load high-res stabilization settings
         loadHighResStabilizationSettings(sharedPreferences, settings);
 
+        // Load luminance-only frames settings
+        loadLuminanceOnlyFramesSettings(sharedPreferences, settings);
+
+        // Load analyzer pipeline settings
+        loadAnalyzerPipelineSettings(sharedPreferences, settings);
+
+        // Load motion gate settings
+        loadMotionGateSettings(sharedPreferences, settings);
+
+        // Load adaptive ROI settings
+        loadAdaptiveRoiSettings(sharedPreferences, settings);
+
+        // Load frame recording settings
+        loadFrameRecordingSettings(sharedPreferences, settings);
+
+        // Load overlay motion settings
+        loadOverlayMotionSettings(sharedPreferences, settings);
+
+        // Load decision memo settings
+        loadDecisionMemoSettings(sharedPreferences, settings);
+
         // Load camera settings
         loadCameraSettings(sharedPreferences, settings);
 
@@ -103,14 +162,22 @@ public class CameraActivitySettingsLoader {
                 Constants.SHARED_PREFERENCES_CAPTURE_TRIGGER_MODE,
                 Constants.SHARED_PREFERENCES_CAPTURE_TRIGGER_MODE_DEFAULT);
         settings.captureTriggerMode = ECaptureTriggerMode.fromKey(captureTriggerModeKey);
-        LogUtils.d(TAG, "Loaded capture trigger mode: " + settings.captureTriggerMode.toString());
+        settings.isDenseCaptureEnabled = sharedPreferences.getBoolean(
+                Constants.SHARED_PREFERENCES_DENSE_CAPTURE,
+                Constants.SHARED_PREFERENCES_DENSE_CAPTURE_DEFAULT);
+        LogUtils.d(TAG, "Loaded capture trigger mode: " + settings.captureTriggerMode.toString() +
+                ", dense capture: " + settings.isDenseCaptureEnabled);
     }
 
     private static void loadDisplayAnalysisSettings(SharedPreferences sharedPreferences, CameraSettings settings) {
         settings.displayAnalysisPerSecond = sharedPreferences.getBoolean(
                 Constants.SHARED_PREFERENCES_DISPLAY_ANALYSIS_PER_SECOND,
                 Constants.SHARED_PREFERENCES_DISPLAY_ANALYSIS_PER_SECOND_DEFAULT);
-        LogUtils.d(TAG, "Display analysis per second: " + settings.displayAnalysisPerSecond);
+        settings.displayLatencyHistograms = sharedPreferences.getBoolean(
+                Constants.SHARED_PREFERENCES_DISPLAY_LATENCY_HISTOGRAMS,
+                Constants.SHARED_PREFERENCES_DISPLAY_LATENCY_HISTOGRAMS_DEFAULT);
+        LogUtils.d(TAG, "Display analysis per second: " + settings.displayAnalysisPerSecond +
+                ", latency histograms: " + settings.displayLatencyHistograms);
     }
 
     private static void loadForceContinuousAutofocusSettings(SharedPreferences sharedPreferences, CameraSettings settings) {
@@ -137,12 +204,20 @@ public class CameraActivitySettingsLoader {
                 Constants.SHARED_PREFERENCES_DEBOUNCE_IOU_THRESHOLD,
                 Constants.SHARED_PREFERENCES_DEBOUNCE_IOU_THRESHOLD_DEFAULT);
         settings.debounceIouThreshold = iouThresholdInt / 100.0f;
+        settings.debounceMotionPrediction = sharedPreferences.getBoolean(
+                Constants.SHARED_PREFERENCES_DEBOUNCE_MOTION_PREDICTION,
+                Constants.SHARED_PREFERENCES_DEBOUNCE_MOTION_PREDICTION_DEFAULT);
+        settings.predictedFrameInterval = sharedPreferences.getInt(
+                Constants.SHARED_PREFERENCES_PREDICTED_FRAME_INTERVAL,
+                Constants.SHARED_PREFERENCES_PREDICTED_FRAME_INTERVAL_DEFAULT);
 
         LogUtils.d(TAG, "Debounce enabled: " + settings.isDebounceEnabled +
                 ", maxFrames: " + settings.debounceMaxFrames +
                 ", threshold: " + settings.debounceThreshold +
                 ", algorithm: " + settings.debounceAlgorithm +
-                ", iouThreshold: " + settings.debounceIouThreshold);
+                ", iouThreshold: " + settings.debounceIouThreshold +
+                ", motionPrediction: " + settings.debounceMotionPrediction +
+                ", predictedFrameInterval: " + settings.predictedFrameInterval);
     }
 
     private static void loadAutoCaptureSettings(Context context, CameraSettings settings) {
@@ -159,9 +234,121 @@ public class CameraActivitySettingsLoader {
         settings.highResStabilityThreshold = sharedPreferences.getInt(
                 Constants.SHARED_PREFERENCES_HIGH_RES_STABILITY_THRESHOLD,
                 Constants.SHARED_PREFERENCES_HIGH_RES_STABILITY_THRESHOLD_DEFAULT);
+        settings.isHighResRoiDecodeEnabled = sharedPreferences.getBoolean(
+                Constants.SHARED_PREFERENCES_HIGH_RES_ROI_DECODE,
+                Constants.SHARED_PREFERENCES_HIGH_RES_ROI_DECODE_DEFAULT);
+        settings.highResRoiPadding = Math.max(0, sharedPreferences.getInt(
+                Constants.SHARED_PREFERENCES_HIGH_RES_ROI_PADDING,
+                Constants.SHARED_PREFERENCES_HIGH_RES_ROI_PADDING_DEFAULT));
+        settings.isHighResYuvCaptureEnabled = sharedPreferences.getBoolean(
+                Constants.SHARED_PREFERENCES_HIGH_RES_YUV_CAPTURE,
+                Constants.SHARED_PREFERENCES_HIGH_RES_YUV_CAPTURE_DEFAULT);
+        settings.isHighResTiledDecodeEnabled = sharedPreferences.getBoolean(
+                Constants.SHARED_PREFERENCES_HIGH_RES_TILED_DECODE,
+                Constants.SHARED_PREFERENCES_HIGH_RES_TILED_DECODE_DEFAULT);
 
         LogUtils.d(TAG, "High-res stabilization enabled: " + settings.isHighResStabilizationEnabled +
-                ", threshold: " + settings.highResStabilityThreshold);
+                ", threshold: " + settings.highResStabilityThreshold +
+                ", ROI decode: " + settings.isHighResRoiDecodeEnabled +
+                " (padding " + settings.highResRoiPadding + "%)" +
+                ", YUV capture: " + settings.isHighResYuvCaptureEnabled +
+                ", tiled decode: " + settings.isHighResTiledDecodeEnabled);
+    }
+
+    private static void loadLuminanceOnlyFramesSettings(SharedPreferences sharedPreferences, CameraSettings settings) {
+        settings.luminanceOnlyFrames = sharedPreferences.getBoolean(
+                Constants.SHARED_PREFERENCES_LUMINANCE_ONLY_FRAMES,
+                Constants.SHARED_PREFERENCES_LUMINANCE_ONLY_FRAMES_DEFAULT);
+
+        settings.nativeCropTransform = sharedPreferences.getBoolean(
+                Constants.SHARED_PREFERENCES_NATIVE_CROP_TRANSFORM,
+                Constants.SHARED_PREFERENCES_NATIVE_CROP_TRANSFORM_DEFAULT);
+        String modelInputSizeKey = sharedPreferences.getString(
+                Constants.SHARED_PREFERENCES_MODEL_INPUT_SIZE,
+                Constants.SHARED_PREFERENCES_MODEL_INPUT_SIZE_DEFAULT);
+        try {
+            settings.modelInputSize = EModelInputSize.valueOf(modelInputSizeKey);
+        } catch (IllegalArgumentException e) {
+            LogUtils.w(TAG, "Invalid model input size key: " + modelInputSizeKey + ", using default");
+            settings.modelInputSize = EModelInputSize.valueOf(Constants.SHARED_PREFERENCES_MODEL_INPUT_SIZE_DEFAULT);
+        }
+
+        LogUtils.d(TAG, "Luminance-only frames: " + settings.luminanceOnlyFrames +
+                ", native crop transform: " + settings.nativeCropTransform +
+                " (model input " + settings.modelInputSize + ")");
+    }
+
+    private static void loadAnalyzerPipelineSettings(SharedPreferences sharedPreferences, CameraSettings settings) {
+        settings.analyzerPipelineDepth = sharedPreferences.getInt(
+                Constants.SHARED_PREFERENCES_ANALYZER_PIPELINE_DEPTH,
+                Constants.SHARED_PREFERENCES_ANALYZER_PIPELINE_DEPTH_DEFAULT);
+        LogUtils.d(TAG, "Analyzer pipeline depth: " + settings.analyzerPipelineDepth);
+    }
+
+    private static void loadMotionGateSettings(SharedPreferences sharedPreferences, CameraSettings settings) {
+        settings.isMotionGateEnabled = sharedPreferences.getBoolean(
+                Constants.SHARED_PREFERENCES_MOTION_GATE_ENABLED,
+                Constants.SHARED_PREFERENCES_MOTION_GATE_ENABLED_DEFAULT);
+        settings.motionGateCellThreshold = sharedPreferences.getInt(
+                Constants.SHARED_PREFERENCES_MOTION_GATE_CELL_THRESHOLD,
+                Constants.SHARED_PREFERENCES_MOTION_GATE_CELL_THRESHOLD_DEFAULT);
+        settings.motionGateChangedCellsPercent = sharedPreferences.getInt(
+                Constants.SHARED_PREFERENCES_MOTION_GATE_CHANGED_CELLS_PERCENT,
+                Constants.SHARED_PREFERENCES_MOTION_GATE_CHANGED_CELLS_PERCENT_DEFAULT);
+        settings.motionGateMaxSkippedFrames = sharedPreferences.getInt(
+                Constants.SHARED_PREFERENCES_MOTION_GATE_MAX_SKIPPED_FRAMES,
+                Constants.SHARED_PREFERENCES_MOTION_GATE_MAX_SKIPPED_FRAMES_DEFAULT);
+
+        LogUtils.d(TAG, "Motion gate enabled: " + settings.isMotionGateEnabled +
+                ", cellThreshold: " + settings.motionGateCellThreshold +
+                ", changedCellsPercent: " + settings.motionGateChangedCellsPercent +
+                ", maxSkippedFrames: " + settings.motionGateMaxSkippedFrames);
+    }
+
+    private static void loadAdaptiveRoiSettings(SharedPreferences sharedPreferences, CameraSettings settings) {
+        settings.isAdaptiveRoiEnabled = sharedPreferences.getBoolean(
+                Constants.SHARED_PREFERENCES_ADAPTIVE_ROI_ENABLED,
+                Constants.SHARED_PREFERENCES_ADAPTIVE_ROI_ENABLED_DEFAULT);
+        settings.adaptiveRoiMarginPercent = sharedPreferences.getInt(
+                Constants.SHARED_PREFERENCES_ADAPTIVE_ROI_MARGIN_PERCENT,
+                Constants.SHARED_PREFERENCES_ADAPTIVE_ROI_MARGIN_PERCENT_DEFAULT);
+        settings.adaptiveRoiMinStableFrames = sharedPreferences.getInt(
+                Constants.SHARED_PREFERENCES_ADAPTIVE_ROI_MIN_STABLE_FRAMES,
+                Constants.SHARED_PREFERENCES_ADAPTIVE_ROI_MIN_STABLE_FRAMES_DEFAULT);
+        settings.adaptiveRoiRefreshInterval = sharedPreferences.getInt(
+                Constants.SHARED_PREFERENCES_ADAPTIVE_ROI_REFRESH_INTERVAL,
+                Constants.SHARED_PREFERENCES_ADAPTIVE_ROI_REFRESH_INTERVAL_DEFAULT);
+
+        LogUtils.d(TAG, "Adaptive ROI enabled: " + settings.isAdaptiveRoiEnabled +
+                ", marginPercent: " + settings.adaptiveRoiMarginPercent +
+                ", minStableFrames: " + settings.adaptiveRoiMinStableFrames +
+                ", refreshInterval: " + settings.adaptiveRoiRefreshInterval);
+    }
+
+    private static void loadFrameRecordingSettings(SharedPreferences sharedPreferences, CameraSettings settings) {
+        settings.isFrameRecordingEnabled = sharedPreferences.getBoolean(
+                Constants.SHARED_PREFERENCES_RECORD_ANALYZER_FRAMES,
+                Constants.SHARED_PREFERENCES_RECORD_ANALYZER_FRAMES_DEFAULT);
+        settings.frameRecordingMaxMb = sharedPreferences.getInt(
+                Constants.SHARED_PREFERENCES_RECORD_ANALYZER_FRAMES_MAX_MB,
+                Constants.SHARED_PREFERENCES_RECORD_ANALYZER_FRAMES_MAX_MB_DEFAULT);
+        LogUtils.d(TAG, "Frame recording enabled: " + settings.isFrameRecordingEnabled +
+                ", maxMb: " + settings.frameRecordingMaxMb);
+    }
+
+    private static void loadOverlayMotionSettings(SharedPreferences sharedPreferences, CameraSettings settings) {
+        String overlayMotionModeKey = sharedPreferences.getString(
+                Constants.SHARED_PREFERENCES_OVERLAY_MOTION_MODE,
+                Constants.SHARED_PREFERENCES_OVERLAY_MOTION_MODE_DEFAULT);
+        settings.overlayMotionMode = EOverlayMotionMode.fromKey(overlayMotionModeKey);
+        LogUtils.d(TAG, "Overlay motion mode: " + settings.overlayMotionMode);
+    }
+
+    private static void loadDecisionMemoSettings(SharedPreferences sharedPreferences, CameraSettings settings) {
+        settings.decisionMemoCapacity = Math.max(0, sharedPreferences.getInt(
+                Constants.SHARED_PREFERENCES_DECISION_MEMO_CAPACITY,
+                Constants.SHARED_PREFERENCES_DECISION_MEMO_CAPACITY_DEFAULT));
+        LogUtils.d(TAG, "Decision memo capacity: " + settings.decisionMemoCapacity);
     }
 
     private static void loadCameraSettings(SharedPreferences sharedPreferences, CameraSettings settings) {
@@ -261,6 +261,65 @@ public class Constants {
     public static final String SHARED_PREFERENCES_DISPLAY_ANALYSIS_PER_SECOND = "SHARED_PREFERENCES_DISPLAY_ANALYSIS_PER_SECOND";
     public static final boolean SHARED_PREFERENCES_DISPLAY_ANALYSIS_PER_SECOND_DEFAULT = false;
 
+    // Display per-stage latency histograms (p50/p95/p99/max) preferences
+    public static final String SHARED_PREFERENCES_DISPLAY_LATENCY_HISTOGRAMS = "SHARED_PREFERENCES_DISPLAY_LATENCY_HISTOGRAMS";
+    public static final boolean SHARED_PREFERENCES_DISPLAY_LATENCY_HISTOGRAMS_DEFAULT = false;
+
+    // Luminance-only frames preferences (hand off cropped frames as single-channel Y instead of ARGB_8888)
+    public static final String SHARED_PREFERENCES_LUMINANCE_ONLY_FRAMES = "SHARED_PREFERENCES_LUMINANCE_ONLY_FRAMES";
+    public static final boolean SHARED_PREFERENCES_LUMINANCE_ONLY_FRAMES_DEFAULT = false;
+
+    // Native crop transform preferences (downscale luminance crops to the model input size and rotate them upright in one pass)
+    public static final String SHARED_PREFERENCES_NATIVE_CROP_TRANSFORM = "SHARED_PREFERENCES_NATIVE_CROP_TRANSFORM";
+    public static final boolean SHARED_PREFERENCES_NATIVE_CROP_TRANSFORM_DEFAULT = false;
+
+    // Analyzer pipeline depth preferences (1 = one frame in flight, 2-3 = overlapped crop/decode/post-processing)
+    public static final String SHARED_PREFERENCES_ANALYZER_PIPELINE_DEPTH = "SHARED_PREFERENCES_ANALYZER_PIPELINE_DEPTH";
+    public static final int SHARED_PREFERENCES_ANALYZER_PIPELINE_DEPTH_DEFAULT = 1;
+
+    // Motion-gated inference preferences (skip the decoder while the scene is static)
+    public static final String SHARED_PREFERENCES_MOTION_GATE_ENABLED = "SHARED_PREFERENCES_MOTION_GATE_ENABLED";
+    public static final boolean SHARED_PREFERENCES_MOTION_GATE_ENABLED_DEFAULT = false;
+
+    // Luma difference (0-255) above which a grid cell counts as changed
+    public static final String SHARED_PREFERENCES_MOTION_GATE_CELL_THRESHOLD = "SHARED_PREFERENCES_MOTION_GATE_CELL_THRESHOLD";
+    public static final int SHARED_PREFERENCES_MOTION_GATE_CELL_THRESHOLD_DEFAULT = 12;
+
+    // Percentage of changed cells above which the scene counts as changed
+    public static final String SHARED_PREFERENCES_MOTION_GATE_CHANGED_CELLS_PERCENT = "SHARED_PREFERENCES_MOTION_GATE_CHANGED_CELLS_PERCENT";
+    public static final int SHARED_PREFERENCES_MOTION_GATE_CHANGED_CELLS_PERCENT_DEFAULT = 3;
+
+    // Maximum consecutive skipped frames before a forced refresh
+    public static final String SHARED_PREFERENCES_MOTION_GATE_MAX_SKIPPED_FRAMES = "SHARED_PREFERENCES_MOTION_GATE_MAX_SKIPPED_FRAMES";
+    public static final int SHARED_PREFERENCES_MOTION_GATE_MAX_SKIPPED_FRAMES_DEFAULT = 15;
+
+    // Adaptive ROI preferences (crop to the tracked barcodes, requires debounce)
+    public static final String SHARED_PREFERENCES_ADAPTIVE_ROI_ENABLED = "SHARED_PREFERENCES_ADAPTIVE_ROI_ENABLED";
+    public static final boolean SHARED_PREFERENCES_ADAPTIVE_ROI_ENABLED_DEFAULT = false;
+
+    // Margin around the tracked barcodes, as a percentage of their union size
+    public static final String SHARED_PREFERENCES_ADAPTIVE_ROI_MARGIN_PERCENT = "SHARED_PREFERENCES_ADAPTIVE_ROI_MARGIN_PERCENT";
+    public static final int SHARED_PREFERENCES_ADAPTIVE_ROI_MARGIN_PERCENT_DEFAULT = 20;
+
+    // Consecutive frames with the same value before a barcode drives the ROI
+    public static final String SHARED_PREFERENCES_ADAPTIVE_ROI_MIN_STABLE_FRAMES = "SHARED_PREFERENCES_ADAPTIVE_ROI_MIN_STABLE_FRAMES";
+    public static final int SHARED_PREFERENCES_ADAPTIVE_ROI_MIN_STABLE_FRAMES_DEFAULT = 3;
+
+    // Frames between full-frame refreshes used to discover new barcodes
+    public static final String SHARED_PREFERENCES_ADAPTIVE_ROI_REFRESH_INTERVAL = "SHARED_PREFERENCES_ADAPTIVE_ROI_REFRESH_INTERVAL";
+    public static final int SHARED_PREFERENCES_ADAPTIVE_ROI_REFRESH_INTERVAL_DEFAULT = 10;
+
+    // Record analyzer frames to a replay file (see replay.FrameRecorder)
+    public static final String SHARED_PREFERENCES_RECORD_ANALYZER_FRAMES = "SHARED_PREFERENCES_RECORD_ANALYZER_FRAMES";
+    public static final boolean SHARED_PREFERENCES_RECORD_ANALYZER_FRAMES_DEFAULT = false;
+
+    // Maximum size of a frame recording in megabytes
+    public static final String SHARED_PREFERENCES_RECORD_ANALYZER_FRAMES_MAX_MB = "SHARED_PREFERENCES_RECORD_ANALYZER_FRAMES_MAX_MB";
+    public static final int SHARED_PREFERENCES_RECORD_ANALYZER_FRAMES_MAX_MB_DEFAULT = 512;
+
+    // Folder (in the app external files dir) where frame recordings are written
+    public static final String FRAME_RECORDINGS_FOLDER = "frame_recordings";
+
     // Logging Enabled preferences
     public static final String SHARED_PREFERENCES_LOGGING_ENABLED = "SHARED_PREFERENCES_LOGGING_ENABLED";
     public static final boolean SHARED_PREFERENCES_LOGGING_ENABLED_DEFAULT = false;
@@ -287,6 +346,22 @@ public class Constants {
     public static final String SHARED_PREFERENCES_DEBOUNCE_IOU_THRESHOLD = "SHARED_PREFERENCES_DEBOUNCE_IOU_THRESHOLD";
     public static final int SHARED_PREFERENCES_DEBOUNCE_IOU_THRESHOLD_DEFAULT = 20; // 0.2
 
+    // Motion-predicted debounce matching (match detections against the extrapolated position of each tracked barcode)
+    public static final String SHARED_PREFERENCES_DEBOUNCE_MOTION_PREDICTION = "SHARED_PREFERENCES_DEBOUNCE_MOTION_PREDICTION";
+    public static final boolean SHARED_PREFERENCES_DEBOUNCE_MOTION_PREDICTION_DEFAULT = false;
+
+    // Frames drawn from the predicted positions between two decodes (0 = decode every frame, requires debounce)
+    public static final String SHARED_PREFERENCES_PREDICTED_FRAME_INTERVAL = "SHARED_PREFERENCES_PREDICTED_FRAME_INTERVAL";
+    public static final int SHARED_PREFERENCES_PREDICTED_FRAME_INTERVAL_DEFAULT = 0;
+
+    // Motion of the overlay boxes between two analysis results ("off", "interpolate" or "extrapolate", see EOverlayMotionMode)
+    public static final String SHARED_PREFERENCES_OVERLAY_MOTION_MODE = "SHARED_PREFERENCES_OVERLAY_MOTION_MODE";
+    public static final String SHARED_PREFERENCES_OVERLAY_MOTION_MODE_DEFAULT = "off";
+
+    // Filtering decisions and auto capture pattern matches memoized by barcode value (0 = disabled)
+    public static final String SHARED_PREFERENCES_DECISION_MEMO_CAPACITY = "SHARED_PREFERENCES_DECISION_MEMO_CAPACITY";
+    public static final int SHARED_PREFERENCES_DECISION_MEMO_CAPACITY_DEFAULT = 0;
+
     public static final int KEYCODE_BUTTON_R1 = 103;
     public static final int KEYCODE_SCAN = 10036;
 
@@ -311,4 +386,49 @@ public class Constants {
     public static final String SHARED_PREFERENCES_PERIODIC_HIGH_RES_INTERVAL =
         "PERIODIC_HIGH_RES_INTERVAL";
     public static final int SHARED_PREFERENCES_PERIODIC_HIGH_RES_INTERVAL_DEFAULT = 0; // 0 = disabled
+
+    // Decode only the padded regions of the unstable barcodes in the high-res capture
+    public static final String SHARED_PREFERENCES_HIGH_RES_ROI_DECODE =
+        "HIGH_RES_ROI_DECODE";
+    public static final boolean SHARED_PREFERENCES_HIGH_RES_ROI_DECODE_DEFAULT = false;
+
+    // Padding of each high-res region, in percent of the barcode width and height on each side
+    public static final String SHARED_PREFERENCES_HIGH_RES_ROI_PADDING =
+        "HIGH_RES_ROI_PADDING";
+    public static final int SHARED_PREFERENCES_HIGH_RES_ROI_PADDING_DEFAULT = 25;
+
+    // Capture the high-res frames as YUV_420_888 instead of JPEG
+    public static final String SHARED_PREFERENCES_HIGH_RES_YUV_CAPTURE =
+        "HIGH_RES_YUV_CAPTURE";
+    public static final boolean SHARED_PREFERENCES_HIGH_RES_YUV_CAPTURE_DEFAULT = false;
+
+    // Decode the high-res frames as overlapping tiles of the model input size
+    public static final String SHARED_PREFERENCES_HIGH_RES_TILED_DECODE =
+        "HIGH_RES_TILED_DECODE";
+    public static final boolean SHARED_PREFERENCES_HIGH_RES_TILED_DECODE_DEFAULT = false;
+
+    // Overlap of neighbouring tiles, in percent of the tile size
+    public static final String SHARED_PREFERENCES_TILED_DECODE_OVERLAP =
+        "TILED_DECODE_OVERLAP";
+    public static final int SHARED_PREFERENCES_TILED_DECODE_OVERLAP_DEFAULT = 15;
+
+    // Number of tiles decoded at the same time
+    public static final String SHARED_PREFERENCES_TILED_DECODE_PARALLELISM =
+        "TILED_DECODE_PARALLELISM";
+    public static final int SHARED_PREFERENCES_TILED_DECODE_PARALLELISM_DEFAULT = 2;
+
+    // Long press on the capture button takes a single high-res shot, decoded as tiles
+    public static final String SHARED_PREFERENCES_DENSE_CAPTURE =
+        "DENSE_CAPTURE";
+    public static final boolean SHARED_PREFERENCES_DENSE_CAPTURE_DEFAULT = false;
+
+    // Keep one decoder alive for the whole process, preloaded at application start
+    public static final String SHARED_PREFERENCES_DECODER_WARM_POOL =
+        "DECODER_WARM_POOL";
+    public static final boolean SHARED_PREFERENCES_DECODER_WARM_POOL_DEFAULT = false;
+
+    // Synthetic frames decoded by a new decoder before the analyzer is attached (0 = no warm-up, otherwise at least 2)
+    public static final String SHARED_PREFERENCES_DECODER_WARMUP_FRAMES =
+        "DECODER_WARMUP_FRAMES";
+    public static final int SHARED_PREFERENCES_DECODER_WARMUP_FRAMES_DEFAULT = 0;
 }
@@ -4,11 +4,17 @@ import android.graphics.Rect;
 import android.graphics.RectF;
 import android.view.Display;
 
+import androidx.annotation.Nullable;
+
 /**
  * Helper class for coordinate transformations between different coordinate spaces:
  * - Raw sensor coordinates (the actual camera sensor)
  * - Effective image coordinates (after rotation adjustment)
  * - Overlay coordinates (screen display space)
+ *
+ * The boxes of a frame can also be mapped in one pass ({@link #mapBoxesToOverlay}) with a
+ * transform composed once from the crop region, sensor rotation and display rotation
+ * ({@link #setBoxTransform}), giving exactly the same result as the per-Rect methods.
  */
 public class CoordinateMapper {
 
@@ -27,6 +33,26 @@ public class CoordinateMapper {
     // Rotation tracking
     private int initialRotation = 0;
 
+    // Parameters of the composed box transform, see setBoxTransform
+    private boolean boxTransformDirty = true;
+    private boolean boxCropped = false;
+    private boolean boxCropUpright = false;
+    private final IntRect boxCropRegion = new IntRect();
+    private int boxCropScale = 1;
+    private int boxRotationDegrees = 0;
+    private int boxDisplayRotation = 0;
+
+    // Composed transform: the crop and rotation steps form an exact integer affine transform
+    // (x', y') = (m00 x + m01 y + m02, m10 x + m11 y + m12), each output axis following a
+    // single input axis. The overlay scale and offset are applied last, in float, like
+    // mapBoundingBoxToOverlay does, so that the truncated results are identical.
+    private int m00 = 1, m01 = 0, m02 = 0;
+    private int m10 = 0, m11 = 1, m12 = 0;
+    private boolean boxScaled = false;
+    private float boxScale = 1f;
+    private float boxOffsetX = 0f;
+    private float boxOffsetY = 0f;
+
     /**
      * Sets the image dimensions (effective dimensions after rotation).
      *
@@ -34,6 +60,7 @@ public class CoordinateMapper {
      * @param height The effective image height
      */
     public void setImageDimensions(int width, int height) {
+        boxTransformDirty |= width != imageWidth || height != imageHeight;
         this.imageWidth = width;
         this.imageHeight = height;
     }
@@ -45,6 +72,7 @@ public class CoordinateMapper {
      * @param height The raw sensor height
      */
     public void setRawSensorDimensions(int width, int height) {
+        boxTransformDirty |= width != rawSensorWidth || height != rawSensorHeight;
         this.rawSensorWidth = width;
         this.rawSensorHeight = height;
     }
@@ -56,6 +84,7 @@ public class CoordinateMapper {
      * @param height The overlay height
      */
     public void setOverlayDimensions(int width, int height) {
+        boxTransformDirty |= width != overlayWidth || height != overlayHeight;
         this.overlayWidth = width;
         this.overlayHeight = height;
     }
@@ -66,6 +95,7 @@ public class CoordinateMapper {
      * @param rotation The initial rotation value (Surface.ROTATION_*)
      */
     public void setInitialRotation(int rotation) {
+        boxTransformDirty |= rotation != initialRotation;
         this.initialRotation = rotation;
     }
 
@@ -108,9 +138,26 @@ public class CoordinateMapper {
         if (overlayWidth == 0 || overlayHeight == 0) {
             return bbox;
         }
+        return mapBoundingBoxToOverlay(bbox, currentRotation, new Rect());
+    }
+
+    /**
+     * Maps a bounding box from effective image coordinates to overlay coordinates,
+     * writing the result into the given rect instead of allocating one.
+     *
+     * @param bbox The bounding box in effective image coordinates
+     * @param currentRotation The current display rotation
+     * @param out Receives the bounding box in overlay coordinates, may be bbox itself
+     * @return out
+     */
+    public Rect mapBoundingBoxToOverlay(Rect bbox, int currentRotation, Rect out) {
+        if (overlayWidth == 0 || overlayHeight == 0) {
+            out.set(bbox);
+            return out;
+        }
 
         int relativeRotation = ((currentRotation - initialRotation + 4) % 4);
-        Rect transformedBbox = transformBoundingBoxForRotation(bbox, relativeRotation);
+        transformBoundingBoxForRotation(bbox, relativeRotation, out);
 
         int effectiveImageWidth = imageWidth;
         int effectiveImageHeight = imageHeight;
@@ -127,12 +174,13 @@ public class CoordinateMapper {
         float offsetX = (overlayWidth - effectiveImageWidth * scale) / 2f;
         float offsetY = (overlayHeight - effectiveImageHeight * scale) / 2f;
 
-        return new Rect(
-                (int) (transformedBbox.left * scale + offsetX),
-                (int) (transformedBbox.top * scale + offsetY),
-                (int) (transformedBbox.right * scale + offsetX),
-                (int) (transformedBbox.bottom * scale + offsetY)
+        out.set(
+                (int) (out.left * scale + offsetX),
+                (int) (out.top * scale + offsetY),
+                (int) (out.right * scale + offsetX),
+                (int) (out.bottom * scale + offsetY)
         );
+        return out;
     }
 
     /**
@@ -143,37 +191,59 @@ public class CoordinateMapper {
      * @return The transformed bounding box
      */
     public Rect transformBoundingBoxForRotation(Rect bbox, int relativeRotation) {
+        return transformBoundingBoxForRotation(bbox, relativeRotation, new Rect());
+    }
+
+    /**
+     * Transforms a bounding box based on relative rotation, writing the result into the given rect.
+     *
+     * @param bbox The bounding box to transform
+     * @param relativeRotation The relative rotation (0, 1, 2, or 3 representing 0°, 90°, 180°, 270°)
+     * @param out Receives the transformed bounding box, may be bbox itself
+     * @return out
+     */
+    public Rect transformBoundingBoxForRotation(Rect bbox, int relativeRotation, Rect out) {
+        int left = bbox.left;
+        int top = bbox.top;
+        int right = bbox.right;
+        int bottom = bbox.bottom;
         switch (relativeRotation) {
             case 0:
-                return new Rect(bbox);
+                out.set(left, top, right, bottom);
+                break;
             case 1:
                 // 90 degree clockwise rotation
-                return new Rect(
-                        bbox.top,
-                        imageWidth - bbox.right,
-                        bbox.bottom,
-                        imageWidth - bbox.left
+                out.set(
+                        top,
+                        imageWidth - right,
+                        bottom,
+                        imageWidth - left
                 );
+                break;
             case 2:
                 // 180 degree rotation
-                return new Rect(
-                        imageWidth - bbox.right,
-                        imageHeight - bbox.bottom,
-                        imageWidth - bbox.left,
-                        imageHeight - bbox.top
+                out.set(
+                        imageWidth - right,
+                        imageHeight - bottom,
+                        imageWidth - left,
+                        imageHeight - top
                 );
+                break;
             case 3:
                 // 270 degree clockwise rotation
-                return new Rect(
-                        imageHeight - bbox.bottom,
-                        bbox.left,
-                        imageHeight - bbox.top,
-                        bbox.right
+                out.set(
+                        imageHeight - bottom,
+                        left,
+                        imageHeight - top,
+                        right
                 );
+                break;
             default:
                 LogUtils.w(TAG, "Unknown relative rotation: " + relativeRotation + ", using original bbox");
-                return new Rect(bbox);
+                out.set(left, top, right, bottom);
+                break;
         }
+        return out;
     }
 
     /**
@@ -242,6 +312,62 @@ public class CoordinateMapper {
         return rawRect;
     }
 
+    /**
+     * Converts overlay coordinates to the raw coordinates of a capture with its own resolution,
+     * such as a high-res ImageCapture frame.
+     * The capture is assumed to fill the overlay once rotated, scaled and centered, which is
+     * the mapping used to match high-res results back to the overlay, so this is its inverse.
+     *
+     * @param overlayRect The rectangle in overlay coordinates
+     * @param captureWidth The raw width of the capture, before rotation
+     * @param captureHeight The raw height of the capture, before rotation
+     * @param rotationDegrees The rotation of the capture (0, 90, 180, 270)
+     * @param paddingRatio The margin added on each side, as a ratio of the rectangle width and height
+     * @param out Receives the region in raw capture coordinates, clamped to the capture
+     * @return true if the region is not empty, false if it is or if the dimensions are unknown
+     */
+    public boolean mapOverlayToCaptureRegion(Rect overlayRect, int captureWidth, int captureHeight,
+                                             int rotationDegrees, float paddingRatio, Rect out) {
+        if (overlayWidth == 0 || overlayHeight == 0 || captureWidth <= 0 || captureHeight <= 0) {
+            return false;
+        }
+        boolean swapped = rotationDegrees == 90 || rotationDegrees == 270;
+        int effectiveWidth = swapped ? captureHeight : captureWidth;
+        int effectiveHeight = swapped ? captureWidth : captureHeight;
+
+        float scale = Math.max((float) overlayWidth / effectiveWidth, (float) overlayHeight / effectiveHeight);
+        float offsetX = (overlayWidth - effectiveWidth * scale) / 2f;
+        float offsetY = (overlayHeight - effectiveHeight * scale) / 2f;
+
+        float padX = overlayRect.width() * paddingRatio;
+        float padY = overlayRect.height() * paddingRatio;
+        int left = Math.max(0, (int) Math.floor((overlayRect.left - padX - offsetX) / scale));
+        int top = Math.max(0, (int) Math.floor((overlayRect.top - padY - offsetY) / scale));
+        int right = Math.min(effectiveWidth, (int) Math.ceil((overlayRect.right + padX - offsetX) / scale));
+        int bottom = Math.min(effectiveHeight, (int) Math.ceil((overlayRect.bottom + padY - offsetY) / scale));
+        if (right <= left || bottom <= top) {
+            out.setEmpty();
+            return false;
+        }
+
+        // Reverse the clockwise rotation of the capture
+        switch (rotationDegrees) {
+            case 90:
+                out.set(top, captureHeight - right, bottom, captureHeight - left);
+                break;
+            case 180:
+                out.set(captureWidth - right, captureHeight - bottom, captureWidth - left, captureHeight - top);
+                break;
+            case 270:
+                out.set(captureWidth - bottom, left, captureWidth - top, right);
+                break;
+            default:
+                out.set(left, top, right, bottom);
+                break;
+        }
+        return true;
+    }
+
     /**
      * Reverses the rotation to convert from effective coordinates to raw sensor coordinates.
      *
@@ -296,40 +422,65 @@ public class CoordinateMapper {
      * @return The bounding box in effective image coordinates
      */
     public Rect transformRawSensorToEffective(Rect bbox, int rotationDegrees) {
-        LogUtils.v(TAG, "Transforming raw bbox " + bbox + " with rotationDegrees=" + rotationDegrees);
+        return transformRawSensorToEffective(bbox, rotationDegrees, new Rect());
+    }
 
+    /**
+     * Transforms a bounding box from raw sensor coordinates to effective image coordinates,
+     * writing the result into the given rect.
+     *
+     * @param bbox The bounding box in raw sensor coordinates
+     * @param rotationDegrees The rotation degrees from ImageProxy (0, 90, 180, 270)
+     * @param out Receives the bounding box in effective image coordinates, may be bbox itself
+     * @return out
+     */
+    public Rect transformRawSensorToEffective(Rect bbox, int rotationDegrees, Rect out) {
+        if (LogUtils.isLoggingEnabled()) {
+            LogUtils.v(TAG, "Transforming raw bbox " + bbox + " with rotationDegrees=" + rotationDegrees);
+        }
+
+        int left = bbox.left;
+        int top = bbox.top;
+        int right = bbox.right;
+        int bottom = bbox.bottom;
         switch (rotationDegrees) {
             case 0:
-                return new Rect(bbox);
+                out.set(left, top, right, bottom);
+                break;
 
             case 90:
-                return new Rect(
-                        rawSensorHeight - bbox.bottom,
-                        bbox.left,
-                        rawSensorHeight - bbox.top,
-                        bbox.right
+                out.set(
+                        rawSensorHeight - bottom,
+                        left,
+                        rawSensorHeight - top,
+                        right
                 );
+                break;
 
             case 180:
-                return new Rect(
-                        rawSensorWidth - bbox.right,
-                        rawSensorHeight - bbox.bottom,
-                        rawSensorWidth - bbox.left,
-                        rawSensorHeight - bbox.top
+                out.set(
+                        rawSensorWidth - right,
+                        rawSensorHeight - bottom,
+                        rawSensorWidth - left,
+                        rawSensorHeight - top
                 );
+                break;
 
             case 270:
-                return new Rect(
-                        bbox.top,
-                        rawSensorWidth - bbox.right,
-                        bbox.bottom,
-                        rawSensorWidth - bbox.left
+                out.set(
+                        top,
+                        rawSensorWidth - right,
+                        bottom,
+                        rawSensorWidth - left
                 );
+                break;
 
             default:
                 LogUtils.w(TAG, "Unknown rotation degrees for raw->effective: " + rotationDegrees);
-                return new Rect(bbox);
+                out.set(left, top, right, bottom);
+                break;
         }
+        return out;
     }
 
     /**
@@ -347,4 +498,211 @@ public class CoordinateMapper {
                 bbox.bottom + cropRegion.top
         );
     }
+
+    /**
+     * Adjusts a bounding box from a downscaled crop to full coordinates.
+     *
+     * @param bbox The bounding box relative to the downscaled cropped region
+     * @param cropRegion The crop region, in the coordinates to return
+     * @param cropScale The downscale factor of the crop
+     * @return The bounding box in the coordinates of the crop region
+     */
+    public Rect adjustBboxForCropRegion(Rect bbox, Rect cropRegion, int cropScale) {
+        return adjustBboxForCropRegion(bbox, cropRegion, cropScale, new Rect());
+    }
+
+    /**
+     * Adjusts a bounding box from a downscaled crop to full coordinates, writing the result
+     * into the given rect.
+     *
+     * @param bbox The bounding box relative to the downscaled cropped region
+     * @param cropRegion The crop region, in the coordinates to return
+     * @param cropScale The downscale factor of the crop
+     * @param out Receives the bounding box in the coordinates of the crop region, may be bbox itself
+     * @return out
+     */
+    public Rect adjustBboxForCropRegion(Rect bbox, Rect cropRegion, int cropScale, Rect out) {
+        int scale = Math.max(1, cropScale);
+        out.set(
+                bbox.left * scale + cropRegion.left,
+                bbox.top * scale + cropRegion.top,
+                bbox.right * scale + cropRegion.left,
+                bbox.bottom * scale + cropRegion.top
+        );
+        return out;
+    }
+
+    /**
+     * Sets the transform applied by {@link #mapBoxesToOverlay}, for the boxes of a frame decoded
+     * with the given crop. The transform is only composed again when these parameters or the
+     * dimensions and initial rotation changed since the previous call.
+     *
+     * @param cropRegion The crop region in raw sensor coordinates, null for a full frame
+     * @param cropScale The downscale factor of the crop
+     * @param cropUpright true if the crop was rotated by rotationDegrees before decoding
+     * @param rotationDegrees The rotation degrees from ImageProxy (0, 90, 180, 270), only used with a crop region
+     * @param currentRotation The current display rotation (Surface.ROTATION_*)
+     */
+    public void setBoxTransform(@Nullable IntRect cropRegion, int cropScale, boolean cropUpright,
+                                int rotationDegrees, int currentRotation) {
+        boolean cropped = cropRegion != null;
+        if (!boxTransformDirty && cropped == boxCropped && boxDisplayRotation == currentRotation
+                && (!cropped || (boxCropRegion.equals(cropRegion) && boxCropScale == cropScale
+                        && boxCropUpright == cropUpright && boxRotationDegrees == rotationDegrees))) {
+            return;
+        }
+        boxCropped = cropped;
+        if (cropped) {
+            boxCropRegion.set(cropRegion);
+        }
+        boxCropScale = cropScale;
+        boxCropUpright = cropUpright;
+        boxRotationDegrees = rotationDegrees;
+        boxDisplayRotation = currentRotation;
+        boxTransformDirty = false;
+        composeBoxTransform();
+    }
+
+    private void composeBoxTransform() {
+        m00 = 1; m01 = 0; m02 = 0;
+        m10 = 0; m11 = 1; m12 = 0;
+
+        if (boxCropped) {
+            // adjustBboxForCropRegion; an upright crop is offset by the crop region once rotated,
+            // whose top left corner is given by transformRawSensorToEffective
+            int originLeft = boxCropRegion.left;
+            int originTop = boxCropRegion.top;
+            if (boxCropUpright) {
+                switch (boxRotationDegrees) {
+                    case 0:
+                        break;
+                    case 90:
+                        originLeft = rawSensorHeight - boxCropRegion.bottom;
+                        originTop = boxCropRegion.left;
+                        break;
+                    case 180:
+                        originLeft = rawSensorWidth - boxCropRegion.right;
+                        originTop = rawSensorHeight - boxCropRegion.bottom;
+                        break;
+                    case 270:
+                        originLeft = boxCropRegion.top;
+                        originTop = rawSensorWidth - boxCropRegion.right;
+                        break;
+                    default:
+                        LogUtils.w(TAG, "Unknown rotation degrees for raw->effective: " + boxRotationDegrees);
+                        break;
+                }
+            }
+            int scale = Math.max(1, boxCropScale);
+            concatenate(scale, 0, originLeft, 0, scale, originTop);
+
+            // transformRawSensorToEffective, skipped for an upright crop
+            if (!boxCropUpright) {
+                switch (boxRotationDegrees) {
+                    case 0:
+                        break;
+                    case 90:
+                        concatenate(0, -1, rawSensorHeight, 1, 0, 0);
+                        break;
+                    case 180:
+                        concatenate(-1, 0, rawSensorWidth, 0, -1, rawSensorHeight);
+                        break;
+                    case 270:
+                        concatenate(0, 1, 0, -1, 0, rawSensorWidth);
+                        break;
+                    default:
+                        LogUtils.w(TAG, "Unknown rotation degrees for raw->effective: " + boxRotationDegrees);
+                        break;
+                }
+            }
+        }
+
+        // mapBoundingBoxToOverlay, which leaves the boxes as they are without overlay dimensions
+        boxScaled = overlayWidth != 0 && overlayHeight != 0;
+        if (!boxScaled) {
+            return;
+        }
+        int relativeRotation = ((boxDisplayRotation - initialRotation + 4) % 4);
+        switch (relativeRotation) {
+            case 0:
+                break;
+            case 1:
+                concatenate(0, 1, 0, -1, 0, imageWidth);
+                break;
+            case 2:
+                concatenate(-1, 0, imageWidth, 0, -1, imageHeight);
+                break;
+            case 3:
+                concatenate(0, -1, imageHeight, 1, 0, 0);
+                break;
+            default:
+                LogUtils.w(TAG, "Unknown relative rotation: " + relativeRotation + ", using original bbox");
+                break;
+        }
+
+        int effectiveImageWidth = imageWidth;
+        int effectiveImageHeight = imageHeight;
+        if (relativeRotation == 1 || relativeRotation == 3) {
+            effectiveImageWidth = imageHeight;
+            effectiveImageHeight = imageWidth;
+        }
+        float scaleX = (float) overlayWidth / effectiveImageWidth;
+        float scaleY = (float) overlayHeight / effectiveImageHeight;
+        boxScale = Math.max(scaleX, scaleY);
+        boxOffsetX = (overlayWidth - effectiveImageWidth * boxScale) / 2f;
+        boxOffsetY = (overlayHeight - effectiveImageHeight * boxScale) / 2f;
+    }
+
+    /**
+     * Applies the given step after the current transform.
+     */
+    private void concatenate(int a00, int a01, int a02, int a10, int a11, int a12) {
+        int n00 = a00 * m00 + a01 * m10;
+        int n01 = a00 * m01 + a01 * m11;
+        int n02 = a00 * m02 + a01 * m12 + a02;
+        int n10 = a10 * m00 + a11 * m10;
+        int n11 = a10 * m01 + a11 * m11;
+        int n12 = a10 * m02 + a11 * m12 + a12;
+        m00 = n00; m01 = n01; m02 = n02;
+        m10 = n10; m11 = n11; m12 = n12;
+    }
+
+    /**
+     * Maps the boxes of a frame from decoder coordinates to overlay coordinates in place, with
+     * the transform set by {@link #setBoxTransform}. Same result as adjustBboxForCropRegion,
+     * transformRawSensorToEffective and mapBoundingBoxToOverlay applied to each box.
+     *
+     * @param boxes left, top, right, bottom of each box, in whole pixels
+     * @param count The number of boxes
+     */
+    public void mapBoxesToOverlay(float[] boxes, int count) {
+        // A negative factor mirrors the axis, so the low edge comes from the high one
+        boolean mirrorX = m00 + m01 < 0;
+        boolean mirrorY = m10 + m11 < 0;
+        for (int k = 0, end = count * 4; k < end; k += 4) {
+            int left = (int) boxes[k];
+            int top = (int) boxes[k + 1];
+            int right = (int) boxes[k + 2];
+            int bottom = (int) boxes[k + 3];
+            int x1 = m00 * left + m01 * top + m02;
+            int y1 = m10 * left + m11 * top + m12;
+            int x2 = m00 * right + m01 * bottom + m02;
+            int y2 = m10 * right + m11 * bottom + m12;
+            int outLeft = mirrorX ? x2 : x1;
+            int outTop = mirrorY ? y2 : y1;
+            int outRight = mirrorX ? x1 : x2;
+            int outBottom = mirrorY ? y1 : y2;
+            if (boxScaled) {
+                boxes[k] = (int) (outLeft * boxScale + boxOffsetX);
+                boxes[k + 1] = (int) (outTop * boxScale + boxOffsetY);
+                boxes[k + 2] = (int) (outRight * boxScale + boxOffsetX);
+                boxes[k + 3] = (int) (outBottom * boxScale + boxOffsetY);
+            } else {
+                boxes[k] = outLeft;
+                boxes[k + 1] = outTop;
+                boxes[k + 2] = outRight;
+                boxes[k + 3] = outBottom;
+            }
+        }
+    }
 }
@@ -1,15 +1,25 @@
 package com.zebra.ai_multibarcodes_capture.helpers;
 
-import android.graphics.Rect;
+import androidx.annotation.Nullable;
 
 import com.zebra.ai.vision.entity.BarcodeEntity;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Manages barcode debouncing logic to stabilize detection results across frames.
  * Extracts debounce-related methods from CameraXLivePreviewActivity.
+ *
+ * Cached barcodes are indexed by a uniform grid over their overlay centers, so a lookup only
+ * compares a detection with the entries around it. A whole frame is matched at once by
+ * {@link #matchFrame}, which assigns each cache entry to at most one detection, best pairs first.
+ *
+ * With motion prediction enabled, detections are matched against the position each cached
+ * barcode is expected at (see {@link CachedBarcode#getPredictedRect()}) instead of its last
+ * position, which keeps fast moving barcodes matched. Track continuity is reported by
+ * {@link #getTrackStatistics()}.
  */
 public class DebounceManager {
 
@@ -19,7 +29,55 @@ public class DebounceManager {
     public static final int ALGORITHM_CENTER_DISTANCE = 0;
     public static final int ALGORITHM_IOU = 1;
 
+    // Query bound standing for "anywhere", kept far from overflow
+    private static final long UNBOUNDED = 1L << 40;
+
+    // Pair keys: score (22 bits) | inverted detection index (20 bits) | inverted slot (20 bits)
+    private static final int SCORE_LEVELS = 1 << 22;
+    private static final int INDEX_BITS = 20;
+    private static final int INDEX_MASK = (1 << INDEX_BITS) - 1;
+
+    /**
+     * Snapshot of the track continuity counters, see {@link #getTrackStatistics()}.
+     */
+    public static final class TrackStatistics {
+        // Tracks created, and tracks that expired since the statistics were reset
+        public final long tracksStarted;
+        public final long tracksEnded;
+        // Ended tracks seen on a single frame, typically a broken match
+        public final long singleFrameTracks;
+        // Mean number of frames from first to last detection of the ended tracks
+        public final float meanTrackSpan;
+        // Fraction of the frames within the ended tracks' spans in which they were detected
+        public final float continuity;
+        // Matches that only succeeded thanks to the motion prediction
+        public final long predictionRescues;
+
+        TrackStatistics(long tracksStarted, long tracksEnded, long singleFrameTracks, long spanSum,
+                        long hitSum, long predictionRescues) {
+            this.tracksStarted = tracksStarted;
+            this.tracksEnded = tracksEnded;
+            this.singleFrameTracks = singleFrameTracks;
+            this.meanTrackSpan = tracksEnded == 0 ? 0f : (float) spanSum / tracksEnded;
+            this.continuity = spanSum == 0 ? 0f : (float) hitSum / spanSum;
+            this.predictionRescues = predictionRescues;
+        }
+
+        @Override
+        public String toString() {
+            return "tracks started: " + tracksStarted + ", ended: " + tracksEnded
+                    + ", single frame: " + singleFrameTracks + ", mean span: " + meanTrackSpan
+                    + ", continuity: " + continuity + ", prediction rescues: " + predictionRescues;
+        }
+    }
+
     private final List<CachedBarcode> debounceCache = new ArrayList<>();
+    private final CachedBarcodeGrid grid = new CachedBarcodeGrid();
+
+    // Reusable matching buffers
+    private int[] candidateSlots = new int[64];
+    private long[] pairKeys = new long[256];
+    private boolean[] assignedSlots = new boolean[64];
 
     // Settings
     private boolean enabled = false;
@@ -27,6 +85,18 @@ public class DebounceManager {
     private int distanceThreshold = 50;
     private int algorithm = ALGORITHM_CENTER_DISTANCE;
     private float iouThreshold = 0.3f;
+    private boolean motionPrediction = false;
+
+    // Track continuity counters
+    private long tracksStarted = 0;
+    private long tracksEnded = 0;
+    private long singleFrameTracks = 0;
+    private long endedSpanSum = 0;
+    private long endedHitSum = 0;
+    private long predictionRescues = 0;
+
+    // Track identifiers, never reused while the process lives
+    private int nextTrackId = 0;
 
     /**
      * Updates the debounce settings.
@@ -45,7 +115,7 @@ public class DebounceManager {
         this.algorithm = algorithm;
         this.iouThreshold = iouThreshold;
         // Clear cache when settings change
-        debounceCache.clear();
+        clearCache();
         LogUtils.d(TAG, "DebounceManager settings updated - enabled: " + enabled +
                 ", maxFrames: " + maxFrames + ", threshold: " + distanceThreshold +
                 ", algorithm: " + algorithm + ", iouThreshold: " + iouThreshold);
@@ -66,6 +136,25 @@ public class DebounceManager {
         );
     }
 
+    /**
+     * Enables matching detections against the predicted positions of the cached barcodes
+     * rather than their last positions.
+     */
+    public void setMotionPredictionEnabled(boolean enabled) {
+        if (motionPrediction != enabled) {
+            motionPrediction = enabled;
+            grid.invalidate();
+        }
+        LogUtils.d(TAG, "DebounceManager motion prediction: " + enabled);
+    }
+
+    /**
+     * @return Whether matching uses the predicted positions
+     */
+    public boolean isMotionPredictionEnabled() {
+        return motionPrediction;
+    }
+
     /**
      * @return Whether debouncing is enabled
      */
@@ -78,37 +167,79 @@ public class DebounceManager {
      */
     public void clearCache() {
         debounceCache.clear();
+        grid.invalidate();
     }
 
     /**
-     * @return The current cache for iteration
+     * @return The current cache for iteration. Positions must be changed through this manager
+     * ({@link #refreshEntry}), which keeps the spatial index up to date.
      */
     public List<CachedBarcode> getCache() {
         return debounceCache;
     }
 
     /**
-     * Updates an existing cache entry or adds a new one for the given barcode.
+     * Updates the best matching cache entry or adds a new one for the given barcode.
      *
      * @param entity The barcode entity
      * @param overlayRect The bounding box mapped to overlay coordinates
      */
-    public void updateOrAddToCache(BarcodeEntity entity, Rect overlayRect) {
-        // Look for an existing cache entry using the selected algorithm
-        for (CachedBarcode cached : debounceCache) {
-            boolean isMatch = isMatch(cached, overlayRect);
-
-            if (isMatch) {
-                // Update existing entry
-                cached.updatePosition(overlayRect);
-                cached.resetFrameAge();
-                // Update stability tracking with current value
-                cached.updateValue(entity.getValue());
-                return;
-            }
+    public void updateOrAddToCache(BarcodeEntity entity, IntRect overlayRect) {
+        updateOrAddToCache(entity, overlayRect, findCachedMatch(overlayRect, null));
+    }
+
+    /**
+     * Updates the given cache entry, as matched by {@link #matchFrame}, or adds a new one
+     * for the barcode when it has no match.
+     *
+     * @param entity The barcode entity
+     * @param overlayRect The bounding box mapped to overlay coordinates
+     * @param match The cache entry matched to this barcode, null if none
+     * @return The updated or added cache entry
+     */
+    public CachedBarcode updateOrAddToCache(BarcodeEntity entity, IntRect overlayRect, @Nullable CachedBarcode match) {
+        if (match != null) {
+            refreshEntry(match, entity, overlayRect);
+            return match;
+        }
+        CachedBarcode cached = new CachedBarcode(entity, overlayRect);
+        cached.trackId = nextTrackId;
+        nextTrackId = (nextTrackId + 1) & Integer.MAX_VALUE;
+        debounceCache.add(cached);
+        tracksStarted++;
+        if (grid.isValid()) {
+            grid.onAdded(cached);
+        }
+        return cached;
+    }
+
+    /**
+     * Records that a cache entry was seen again in this frame: moves it, resets its age and
+     * tracks the stability of the detected value.
+     *
+     * @param cached The cache entry
+     * @param entity The entity detected at its position, possibly without value
+     * @param overlayRect The bounding box mapped to overlay coordinates
+     */
+    public void refreshEntry(CachedBarcode cached, BarcodeEntity entity, IntRect overlayRect) {
+        refreshEntry(cached, entity.getValue(), overlayRect);
+    }
+
+    /**
+     * Same as {@link #refreshEntry(CachedBarcode, BarcodeEntity, IntRect)} with the value already
+     * read from the detected entity.
+     *
+     * @param cached The cache entry
+     * @param value The value detected at its position, null or empty if none
+     * @param overlayRect The bounding box mapped to overlay coordinates, copied
+     */
+    public void refreshEntry(CachedBarcode cached, @Nullable String value, IntRect overlayRect) {
+        cached.updatePosition(overlayRect);
+        cached.resetFrameAge();
+        cached.updateValue(value);
+        if (grid.isValid()) {
+            grid.onMoved(cached);
         }
-        // No existing entry found, add new one
-        debounceCache.add(new CachedBarcode(entity, overlayRect));
     }
 
     /**
@@ -116,73 +247,289 @@ public class DebounceManager {
      * Excludes barcodes that have already been used this frame.
      *
      * @param boundingBox The bounding box to match
-     * @param usedCacheEntries List of cache entries already used this frame
+     * @param usedCacheEntries List of cache entries already used this frame, null if none
      * @return The matching CachedBarcode or null if none found
      */
-    public CachedBarcode findCachedMatch(Rect boundingBox, List<CachedBarcode> usedCacheEntries) {
+    public CachedBarcode findCachedMatch(IntRect boundingBox, @Nullable List<CachedBarcode> usedCacheEntries) {
+        ensureGrid();
         CachedBarcode bestMatch = null;
         double bestScore = 0;
 
-        for (CachedBarcode cached : debounceCache) {
+        int candidateCount = queryCandidates(boundingBox);
+        for (int i = 0; i < candidateCount; i++) {
+            CachedBarcode cached = grid.get(candidateSlots[i]);
+            double score = matchScore(cached, boundingBox);
             // Skip if already used this frame
-            if (usedCacheEntries.contains(cached)) {
-                continue;
+            if (score > bestScore && (usedCacheEntries == null || !usedCacheEntries.contains(cached))) {
+                bestMatch = cached;
+                bestScore = score;
+            }
+        }
+        List<CachedBarcode> unindexed = grid.getUnindexed();
+        for (int i = 0; i < unindexed.size(); i++) {
+            CachedBarcode cached = unindexed.get(i);
+            double score = matchScore(cached, boundingBox);
+            if (score > bestScore && (usedCacheEntries == null || !usedCacheEntries.contains(cached))) {
+                bestMatch = cached;
+                bestScore = score;
             }
+        }
+
+        countPredictionRescue(bestMatch, boundingBox);
+        return bestMatch;
+    }
 
-            if (algorithm == ALGORITHM_CENTER_DISTANCE) {
-                // Center Distance algorithm
-                double distance = cached.distanceTo(boundingBox);
-                if (distance <= distanceThreshold) {
-                    double score = 1.0 / (1.0 + distance); // Higher score for closer
-                    if (score > bestScore) {
-                        bestMatch = cached;
-                        bestScore = score;
-                    }
+    /**
+     * Matches all the detections of a frame against the cache at once. Every candidate pair
+     * passing the threshold of the selected algorithm is ranked by score (IOU, or closeness of
+     * the centers) and pairs are taken best first, so each cache entry goes to the detection
+     * that fits it best rather than to the first one processed.
+     * The cache is not modified, see {@link #updateOrAddToCache(BarcodeEntity, IntRect, CachedBarcode)}
+     * and {@link #refreshEntry}.
+     *
+     * @param overlayRects The bounding boxes of the frame in overlay coordinates
+     * @param matches Receives, for each bounding box, the matched cache entry or null;
+     *                at least overlayRects.size() long
+     */
+    public void matchFrame(List<IntRect> overlayRects, CachedBarcode[] matches) {
+        int detectionCount = overlayRects.size();
+        Arrays.fill(matches, 0, detectionCount, null);
+        // One rebuild per frame keeps the queries tight whatever happened since the last frame
+        grid.rebuild(debounceCache, preferredCellSize(), motionPrediction);
+        int cacheSize = grid.size();
+        if (cacheSize == 0 || detectionCount == 0) {
+            return;
+        }
+        if (detectionCount > INDEX_MASK + 1 || cacheSize > INDEX_MASK + 1) {
+            LogUtils.w(TAG, "Debounce: too many barcodes to match (" + detectionCount + ", " + cacheSize + ")");
+            return;
+        }
+
+        int pairCount = 0;
+        for (int detection = 0; detection < detectionCount; detection++) {
+            IntRect boundingBox = overlayRects.get(detection);
+            int candidateCount = queryCandidates(boundingBox);
+            for (int i = 0; i < candidateCount; i++) {
+                int slot = candidateSlots[i];
+                double score = matchScore(grid.get(slot), boundingBox);
+                if (score <= 0) {
+                    continue;
                 }
-            } else {
-                // IOU algorithm
-                double iou = cached.calculateIOU(boundingBox);
-                if (iou >= iouThreshold && iou > bestScore) {
-                    bestMatch = cached;
-                    bestScore = iou;
+                if (pairCount == pairKeys.length) {
+                    pairKeys = Arrays.copyOf(pairKeys, pairCount * 2);
                 }
+                long quantizedScore = Math.min(SCORE_LEVELS, Math.max(1, Math.round(score * SCORE_LEVELS)));
+                // Ties go to the lowest detection index, then the lowest slot
+                pairKeys[pairCount++] = (quantizedScore << (2 * INDEX_BITS))
+                        | ((long) (INDEX_MASK - detection) << INDEX_BITS)
+                        | (INDEX_MASK - slot);
             }
         }
+        sortPairKeys(pairKeys, pairCount);
 
-        return bestMatch;
+        if (assignedSlots.length < cacheSize) {
+            assignedSlots = new boolean[Math.max(cacheSize, assignedSlots.length * 2)];
+        }
+        Arrays.fill(assignedSlots, 0, cacheSize, false);
+        for (int i = pairCount - 1; i >= 0; i--) {
+            long key = pairKeys[i];
+            int detection = INDEX_MASK - (int) ((key >>> INDEX_BITS) & INDEX_MASK);
+            int slot = INDEX_MASK - (int) (key & INDEX_MASK);
+            if (matches[detection] == null && !assignedSlots[slot]) {
+                matches[detection] = grid.get(slot);
+                assignedSlots[slot] = true;
+                countPredictionRescue(matches[detection], overlayRects.get(detection));
+            }
+        }
+    }
+
+    /**
+     * Sorts the first count keys in ascending order, in place. A heapsort rather than
+     * Arrays.sort, which may allocate a work array for large inputs.
+     */
+    private static void sortPairKeys(long[] keys, int count) {
+        for (int i = count / 2 - 1; i >= 0; i--) {
+            siftDown(keys, i, count);
+        }
+        for (int end = count - 1; end > 0; end--) {
+            long top = keys[0];
+            keys[0] = keys[end];
+            keys[end] = top;
+            siftDown(keys, 0, end);
+        }
+    }
+
+    private static void siftDown(long[] keys, int node, int count) {
+        long key = keys[node];
+        int child;
+        while ((child = 2 * node + 1) < count) {
+            if (child + 1 < count && keys[child + 1] > keys[child]) {
+                child++;
+            }
+            if (keys[child] <= key) {
+                break;
+            }
+            keys[node] = keys[child];
+            node = child;
+        }
+        keys[node] = key;
+    }
+
+    /**
+     * Counts a match that the last position alone would have missed.
+     */
+    private void countPredictionRescue(@Nullable CachedBarcode match, IntRect boundingBox) {
+        if (motionPrediction && match != null && matchScore(match, boundingBox, false) <= 0) {
+            predictionRescues++;
+        }
     }
 
     /**
      * Increments the age of all cache entries and removes expired ones.
      */
     public void incrementAndPruneCacheAge() {
-        List<CachedBarcode> toRemove = new ArrayList<>();
+        ageAndPrune(true);
+    }
+
+    /**
+     * Ages the cache for a frame that was not decoded: moves the predictions forward and
+     * removes expired entries, without counting the frame in the track continuity.
+     */
+    public void advancePredictions() {
+        ageAndPrune(false);
+    }
 
-        for (CachedBarcode cached : debounceCache) {
-            cached.incrementFrameAge();
-            if (cached.getFrameAge() > maxFrames) {
-                toRemove.add(cached);
+    private void ageAndPrune(boolean decodedFrame) {
+        int kept = 0;
+        int size = debounceCache.size();
+        for (int i = 0; i < size; i++) {
+            CachedBarcode cached = debounceCache.get(i);
+            if (decodedFrame) {
+                cached.incrementFrameAge();
+            } else {
+                cached.advancePrediction();
             }
+            if (cached.getFrameAge() <= maxFrames) {
+                debounceCache.set(kept++, cached);
+            } else {
+                recordEndedTrack(cached);
+            }
+        }
+
+        int removed = size - kept;
+        if (removed > 0) {
+            // Removing from the end shifts nothing and, unlike subList, allocates nothing
+            for (int i = size - 1; i >= kept; i--) {
+                debounceCache.remove(i);
+            }
+            if (LogUtils.isLoggingEnabled()) {
+                LogUtils.v(TAG, "Removed " + removed + " expired cache entries");
+            }
+        }
+        if (removed > 0 || motionPrediction) {
+            // Entries were removed, or the predicted positions moved
+            grid.invalidate();
         }
+    }
+
+    private void recordEndedTrack(CachedBarcode cached) {
+        tracksEnded++;
+        endedSpanSum += cached.getTrackSpan();
+        endedHitSum += cached.getHitCount();
+        if (cached.getHitCount() == 1) {
+            singleFrameTracks++;
+        }
+    }
+
+    /**
+     * @return The track continuity counters since the last reset
+     */
+    public TrackStatistics getTrackStatistics() {
+        return new TrackStatistics(tracksStarted, tracksEnded, singleFrameTracks, endedSpanSum,
+                endedHitSum, predictionRescues);
+    }
+
+    /**
+     * Resets the track continuity counters.
+     */
+    public void resetTrackStatistics() {
+        tracksStarted = 0;
+        tracksEnded = 0;
+        singleFrameTracks = 0;
+        endedSpanSum = 0;
+        endedHitSum = 0;
+        predictionRescues = 0;
+    }
+
+    private void ensureGrid() {
+        if (!grid.isValid()) {
+            grid.rebuild(debounceCache, preferredCellSize(), motionPrediction);
+        }
+    }
 
-        debounceCache.removeAll(toRemove);
-        if (toRemove.size() > 0) {
-            LogUtils.v(TAG, "Removed " + toRemove.size() + " expired cache entries");
+    /**
+     * @return The grid cell size matching the reach of the selected algorithm
+     */
+    private int preferredCellSize() {
+        if (algorithm == ALGORITHM_CENTER_DISTANCE) {
+            return distanceThreshold;
+        }
+        // Overlapping boxes have centers less than a box size apart
+        int total = 0;
+        for (int i = 0; i < debounceCache.size(); i++) {
+            IntRect rect = debounceCache.get(i).getOverlayRect();
+            total += Math.max(rect.width(), rect.height());
         }
+        return debounceCache.isEmpty() ? 0 : total / debounceCache.size();
     }
 
     /**
-     * Checks if a cached barcode matches a given bounding box using the current algorithm.
+     * Collects the slots of the indexed entries that can match the given bounding box
+     * into candidateSlots.
+     *
+     * @return The number of candidates
+     */
+    private int queryCandidates(IntRect boundingBox) {
+        if (candidateSlots.length < grid.size()) {
+            candidateSlots = new int[Math.max(grid.size(), candidateSlots.length * 2)];
+        }
+        long centerX = boundingBox.centerX();
+        long centerY = boundingBox.centerY();
+        long reachX;
+        long reachY;
+        if (algorithm == ALGORITHM_CENTER_DISTANCE) {
+            reachX = distanceThreshold;
+            reachY = distanceThreshold;
+        } else if (iouThreshold > 0) {
+            // A positive IOU needs the boxes to overlap
+            reachX = (boundingBox.width() + grid.getMaxBoxWidth()) / 2 + 1;
+            reachY = (boundingBox.height() + grid.getMaxBoxHeight()) / 2 + 1;
+        } else {
+            reachX = UNBOUNDED;
+            reachY = UNBOUNDED;
+        }
+        return grid.query(centerX - reachX, centerY - reachY, centerX + reachX, centerY + reachY, candidateSlots);
+    }
+
+    /**
+     * Scores a cached barcode against a bounding box using the current algorithm.
      *
      * @param cached The cached barcode
      * @param boundingBox The bounding box to check
-     * @return true if they match according to the current algorithm
+     * @return A score in (0, 1], higher for a better match, or -1 if they do not match
      */
-    private boolean isMatch(CachedBarcode cached, Rect boundingBox) {
+    private double matchScore(CachedBarcode cached, IntRect boundingBox) {
+        return matchScore(cached, boundingBox, motionPrediction);
+    }
+
+    private double matchScore(CachedBarcode cached, IntRect boundingBox, boolean predicted) {
         if (algorithm == ALGORITHM_CENTER_DISTANCE) {
-            return cached.distanceTo(boundingBox) <= distanceThreshold;
+            double distance = predicted ? cached.predictedDistanceTo(boundingBox) : cached.distanceTo(boundingBox);
+            return distance <= distanceThreshold ? 1.0 / (1.0 + distance) : -1; // Higher score for closer
         } else {
-            return cached.calculateIOU(boundingBox) >= iouThreshold;
+            double iou = predicted ? cached.calculatePredictedIOU(boundingBox) : cached.calculateIOU(boundingBox);
+            // Keep a positive score for a zero threshold, where any entry matches
+            return iou >= iouThreshold ? Math.max(iou, Double.MIN_VALUE) : -1;
         }
     }
 }
@@ -0,0 +1,593 @@
+package com.zebra.ai_multibarcodes_capture.helpers;
+
+import android.graphics.Color;
+import android.graphics.Rect;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import com.zebra.ai.vision.entity.BarcodeEntity;
+import com.zebra.ai_multibarcodes_capture.filtering.FilteringProgram;
+import com.zebra.ai_multibarcodes_capture.filtering.models.FilteringConditionList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Turns the raw decoder results of one frame into what the overlay and the capture need:
+ * bounding boxes mapped to overlay coordinates, debounced values, colors and the filtered entities.
+ * Extracts the per-frame processing from CameraXLivePreviewActivity.onDetectionResult so it
+ * can also be driven by the offline frame replayer.
+ *
+ * Side effects that belong to the activity (high-res capture trigger, adaptive ROI,
+ * auto capture, overlay update) stay in the caller.
+ *
+ * The processing runs on every analyzed frame, so it allocates nothing once warmed up: the
+ * boxes of a frame are mapped in one pass over a float array (see
+ * CoordinateMapper.mapBoxesToOverlay) and the results are written into pooled
+ * {@link FrameResult}s backed by primitive arrays. Each result is reference counted and goes
+ * back to the pool once every holder released it.
+ *
+ * Boxes are handled as {@link IntRect}s, Android Rects being only read from the decoder results
+ * and written for the overlay, so the processing also runs on a plain JVM (see
+ * replay.ReplayPipeline, which passes the bounding boxes as an int array).
+ */
+public class DetectionResultProcessor {
+
+    private static final String TAG = Constants.TAG;
+
+    // Frames kept for reuse; beyond that, frames still held when a new one is needed are not pooled
+    private static final int MAX_POOLED_FRAMES = 8;
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Output of {@link #process}. The boxes (in overlay coordinates), decoded strings, colors and
+     * track ids are index-aligned; filteredEntities only holds the entities that passed the
+     * filtering conditions.
+     *
+     * A frame is handed out with one reference owned by the caller, who must {@link #release()}
+     * it when done. Holders that keep it longer, e.g. on another thread, {@link #retain()} it
+     * first. A released frame is reused by the processor and must no longer be read.
+     */
+    public static final class FrameResult {
+        // Track id of the boxes without debounce cache entry
+        public static final int NO_TRACK = -1;
+
+        public final List<BarcodeEntity> filteredEntities = new ArrayList<>();
+
+        // left, top, right, bottom of each box
+        private int[] bounds = new int[INITIAL_CAPACITY * 4];
+        private int[] colors = new int[INITIAL_CAPACITY];
+        private String[] decodedStrings = new String[INITIAL_CAPACITY];
+        private int[] trackIds = new int[INITIAL_CAPACITY];
+        private int size = 0;
+        private final AtomicInteger references = new AtomicInteger();
+
+        /**
+         * @return The number of boxes
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Copies a box into the given rect.
+         *
+         * @param index The box index, less than {@link #size()}
+         * @param out Receives the box in overlay coordinates
+         * @return out
+         */
+        public Rect getRect(int index, Rect out) {
+            int offset = index * 4;
+            out.set(bounds[offset], bounds[offset + 1], bounds[offset + 2], bounds[offset + 3]);
+            return out;
+        }
+
+        /**
+         * Copies a box into the given rect, without Android classes.
+         *
+         * @param index The box index, less than {@link #size()}
+         * @param out Receives the box in overlay coordinates
+         * @return out
+         */
+        public IntRect getBounds(int index, IntRect out) {
+            int offset = index * 4;
+            return out.set(bounds[offset], bounds[offset + 1], bounds[offset + 2], bounds[offset + 3]);
+        }
+
+        /**
+         * @return The decoded string of a box, empty when the barcode has no value
+         */
+        public String getDecodedString(int index) {
+            return decodedStrings[index];
+        }
+
+        /**
+         * @return The color of a box
+         */
+        public int getColor(int index) {
+            return colors[index];
+        }
+
+        /**
+         * @return The debounce track of a box (see CachedBarcode.getTrackId), {@link #NO_TRACK} if none
+         */
+        public int getTrackId(int index) {
+            return trackIds[index];
+        }
+
+        /**
+         * Adds a reference to this frame.
+         *
+         * @return This frame
+         */
+        public FrameResult retain() {
+            if (references.getAndIncrement() <= 0) {
+                throw new IllegalStateException("Frame result retained after being released");
+            }
+            return this;
+        }
+
+        /**
+         * Drops a reference to this frame; the last one gives it back to the processor.
+         */
+        public void release() {
+            if (references.decrementAndGet() < 0) {
+                throw new IllegalStateException("Frame result released too many times");
+            }
+        }
+
+        // Takes the frame from the pool if no one holds it
+        private boolean acquire() {
+            return references.compareAndSet(0, 1);
+        }
+
+        private void clear() {
+            Arrays.fill(decodedStrings, 0, size, null);
+            size = 0;
+            filteredEntities.clear();
+        }
+
+        private void add(IntRect rect, String decodedString, int color, int trackId) {
+            if (size == colors.length) {
+                int capacity = size * 2;
+                bounds = Arrays.copyOf(bounds, capacity * 4);
+                colors = Arrays.copyOf(colors, capacity);
+                decodedStrings = Arrays.copyOf(decodedStrings, capacity);
+                trackIds = Arrays.copyOf(trackIds, capacity);
+            }
+            int offset = size * 4;
+            bounds[offset] = rect.left;
+            bounds[offset + 1] = rect.top;
+            bounds[offset + 2] = rect.right;
+            bounds[offset + 3] = rect.bottom;
+            colors[size] = color;
+            decodedStrings[size] = decodedString;
+            trackIds[size] = trackId;
+            size++;
+        }
+    }
+
+    private final CoordinateMapper coordinateMapper;
+    private final DebounceManager debounceManager;
+    private final List<FrameResult> framePool = new ArrayList<>();
+
+    // Detections of the last ingested frame, read once from the entities
+    private boolean ingestedResult = false;
+    private int ingestedCount = 0;
+    private BarcodeEntity[] ingestedEntities = new BarcodeEntity[INITIAL_CAPACITY];
+    private String[] ingestedValues = new String[INITIAL_CAPACITY];
+    // left, top, right, bottom of each bounding box
+    private float[] ingestedBounds = new float[INITIAL_CAPACITY * 4];
+
+    // Per-frame scratch buffers
+    private float[] overlayBounds = new float[INITIAL_CAPACITY * 4];
+    private IntRect[] overlayRectBuffer = newRects(INITIAL_CAPACITY);
+    private final List<IntRect> overlayRects = new ArrayList<>(INITIAL_CAPACITY);
+    private CachedBarcode[] cacheMatches = new CachedBarcode[INITIAL_CAPACITY];
+    private final IntRect logRect = new IntRect();
+    // Crop region of the frame passed as a Rect, copied
+    private final IntRect cropBox = new IntRect();
+
+    // Settings
+    private boolean filteringEnabled = false;
+    // Compiled once per settings update, immutable
+    private volatile FilteringProgram filteringProgram = FilteringProgram.compile(null);
+    private boolean highResLoggingEnabled = false;
+
+    /**
+     * @param coordinateMapper The mapper from decoder coordinates to overlay coordinates
+     * @param debounceManager The debounce cache shared with the caller
+     */
+    public DetectionResultProcessor(@NonNull CoordinateMapper coordinateMapper, @NonNull DebounceManager debounceManager) {
+        this.coordinateMapper = coordinateMapper;
+        this.debounceManager = debounceManager;
+    }
+
+    /**
+     * Updates the filtering settings, compiling the conditions into a FilteringProgram.
+     * Compiling discards the decisions memoized for the previous conditions.
+     *
+     * @param enabled Whether filtering is enabled
+     * @param conditions The filtering conditions, evaluated with OR logic
+     * @param memoCapacity The number of decisions memoized by value and symbology, 0 to disable
+     */
+    public void setFilteringSettings(boolean enabled, @NonNull FilteringConditionList conditions, int memoCapacity) {
+        this.filteringProgram = FilteringProgram.compile(conditions, memoCapacity);
+        this.filteringEnabled = enabled;
+    }
+
+    /**
+     * @return The compiled filtering conditions, for the statistics of their decision memo
+     */
+    @NonNull
+    public FilteringProgram getFilteringProgram() {
+        return filteringProgram;
+    }
+
+    /**
+     * Enables the detailed bounding box logs used to debug high-res stabilization.
+     */
+    public void setHighResLoggingEnabled(boolean enabled) {
+        this.highResLoggingEnabled = enabled;
+    }
+
+    /**
+     * Processes the results of one frame and ages the debounce cache.
+     *
+     * @param result The decoder results, null when the decoder returned nothing
+     * @param cropRegion The crop region of the frame in raw sensor coordinates, null for a full frame
+     * @param imageRotationDegrees The rotation of the frame, only used with a crop region
+     * @param overlayWidth The overlay width
+     * @param overlayHeight The overlay height
+     * @param displayRotation The current display rotation (Surface.ROTATION_*)
+     * @return The processed frame, to release when done
+     */
+    @NonNull
+    public FrameResult process(@Nullable List<BarcodeEntity> result, @Nullable Rect cropRegion, int imageRotationDegrees,
+                               int overlayWidth, int overlayHeight, int displayRotation) {
+        return process(result, cropRegion, 1, false, imageRotationDegrees, overlayWidth, overlayHeight, displayRotation);
+    }
+
+    /**
+     * Processes the results of one frame whose crop was transformed while cropping
+     * (see BarcodeAnalyzer.setCropTransformSettings), and ages the debounce cache.
+     *
+     * @param result The decoder results, null when the decoder returned nothing
+     * @param cropRegion The crop region of the frame in raw sensor coordinates, null for a full frame
+     * @param cropScale The downscale factor of the crop, the boxes are multiplied by it
+     * @param cropUpright true if the crop was rotated by imageRotationDegrees before decoding
+     * @param imageRotationDegrees The rotation of the frame, only used with a crop region
+     * @param overlayWidth The overlay width, read once per frame by the caller
+     * @param overlayHeight The overlay height, read once per frame by the caller
+     * @param displayRotation The current display rotation (Surface.ROTATION_*), read once per frame by the caller
+     * @return The processed frame, to release when done
+     */
+    @NonNull
+    public FrameResult process(@Nullable List<BarcodeEntity> result, @Nullable Rect cropRegion, int cropScale,
+                               boolean cropUpright, int imageRotationDegrees,
+                               int overlayWidth, int overlayHeight, int displayRotation) {
+        ingest(result);
+        return processIngested(cropRegion != null ? cropBox.set(cropRegion) : null, cropScale, cropUpright,
+                imageRotationDegrees, overlayWidth, overlayHeight, displayRotation);
+    }
+
+    /**
+     * Processes the results of one frame whose bounding boxes were read beforehand, and ages the
+     * debounce cache. Same as {@link #process(List, Rect, int, int, int, int)} without Android
+     * classes, for the frame replay on a plain JVM.
+     *
+     * @param entities The decoder results, null when the decoder returned nothing
+     * @param boundingBoxes left, top, right, bottom of the bounding box of each entity, in
+     *                      effective (rotated) image coordinates, read instead of getBoundingBox
+     * @param cropRegion The crop region of the frame in raw sensor coordinates, null for a full frame
+     * @param imageRotationDegrees The rotation of the frame, only used with a crop region
+     * @param overlayWidth The overlay width
+     * @param overlayHeight The overlay height
+     * @param displayRotation The current display rotation (Surface.ROTATION_*)
+     * @return The processed frame, to release when done
+     */
+    @NonNull
+    public FrameResult process(@Nullable List<BarcodeEntity> entities, @NonNull int[] boundingBoxes,
+                               @Nullable IntRect cropRegion, int imageRotationDegrees,
+                               int overlayWidth, int overlayHeight, int displayRotation) {
+        ingest(entities, boundingBoxes);
+        return processIngested(cropRegion, 1, false, imageRotationDegrees,
+                overlayWidth, overlayHeight, displayRotation);
+    }
+
+    /**
+     * Copies the bounding boxes, values and entities of the decoder results into the scratch
+     * buffers, so that the entities are read once and the processing does not call them again.
+     *
+     * @param result The decoder results, null when the decoder returned nothing
+     */
+    @VisibleForTesting
+    void ingest(@Nullable List<BarcodeEntity> result) {
+        ingestedResult = result != null;
+        ingestedCount = 0;
+        if (result == null) {
+            return;
+        }
+        int resultSize = result.size();
+        ensureCapacity(resultSize);
+        for (int i = 0; i < resultSize; i++) {
+            BarcodeEntity bEntity = result.get(i);
+            Rect rect = bEntity.getBoundingBox();
+            if (rect != null) {
+                addIngested(bEntity, rect.left, rect.top, rect.right, rect.bottom);
+            }
+        }
+        clearStaleIngested();
+    }
+
+    /**
+     * Same as {@link #ingest(List)} with the bounding boxes already read from the entities.
+     *
+     * @param entities The decoder results, null when the decoder returned nothing
+     * @param boundingBoxes left, top, right, bottom of the bounding box of each entity
+     */
+    @VisibleForTesting
+    void ingest(@Nullable List<BarcodeEntity> entities, @NonNull int[] boundingBoxes) {
+        ingestedResult = entities != null;
+        ingestedCount = 0;
+        if (entities == null) {
+            return;
+        }
+        int resultSize = entities.size();
+        ensureCapacity(resultSize);
+        for (int i = 0; i < resultSize; i++) {
+            int offset = i * 4;
+            addIngested(entities.get(i), boundingBoxes[offset], boundingBoxes[offset + 1],
+                    boundingBoxes[offset + 2], boundingBoxes[offset + 3]);
+        }
+        clearStaleIngested();
+    }
+
+    private void ensureCapacity(int resultSize) {
+        if (ingestedEntities.length < resultSize) {
+            int capacity = Math.max(resultSize, ingestedEntities.length * 2);
+            ingestedEntities = Arrays.copyOf(ingestedEntities, capacity);
+            ingestedValues = Arrays.copyOf(ingestedValues, capacity);
+            ingestedBounds = Arrays.copyOf(ingestedBounds, capacity * 4);
+            overlayBounds = new float[capacity * 4];
+            overlayRectBuffer = growRects(overlayRectBuffer, capacity);
+            cacheMatches = new CachedBarcode[capacity];
+        }
+    }
+
+    private void addIngested(BarcodeEntity bEntity, int left, int top, int right, int bottom) {
+        ingestedEntities[ingestedCount] = bEntity;
+        ingestedValues[ingestedCount] = bEntity.getValue();
+        int offset = ingestedCount * 4;
+        ingestedBounds[offset] = left;
+        ingestedBounds[offset + 1] = top;
+        ingestedBounds[offset + 2] = right;
+        ingestedBounds[offset + 3] = bottom;
+        ingestedCount++;
+    }
+
+    private void clearStaleIngested() {
+        // Do not keep the entities of older frames alive
+        Arrays.fill(ingestedEntities, ingestedCount, ingestedEntities.length, null);
+        Arrays.fill(ingestedValues, ingestedCount, ingestedValues.length, null);
+    }
+
+    /**
+     * Processes the frame last passed to {@link #ingest}, see {@link #process}.
+     * Allocates nothing once the buffers and the frame pool are large enough.
+     */
+    @VisibleForTesting
+    @NonNull
+    FrameResult processIngested(@Nullable IntRect cropRegion, int cropScale, boolean cropUpright,
+                                int imageRotationDegrees, int overlayWidth, int overlayHeight,
+                                int displayRotation) {
+        FrameResult frameResult = obtainFrameResult();
+
+        if (ingestedResult) {
+            coordinateMapper.setOverlayDimensions(overlayWidth, overlayHeight);
+            coordinateMapper.setBoxTransform(cropRegion, cropScale, cropUpright, imageRotationDegrees, displayRotation);
+
+            // Map every box first, so the frame can be matched against the debounce cache at once
+            System.arraycopy(ingestedBounds, 0, overlayBounds, 0, ingestedCount * 4);
+            coordinateMapper.mapBoxesToOverlay(overlayBounds, ingestedCount);
+            overlayRects.clear();
+            boolean logging = LogUtils.isLoggingEnabled();
+            for (int i = 0; i < ingestedCount; i++) {
+                int offset = i * 4;
+                IntRect overlayRect = overlayRectBuffer[i];
+                overlayRect.set((int) overlayBounds[offset], (int) overlayBounds[offset + 1],
+                        (int) overlayBounds[offset + 2], (int) overlayBounds[offset + 3]);
+                overlayRects.add(overlayRect);
+                if (logging) {
+                    logMapping(i, overlayRect, cropRegion, cropScale);
+                }
+            }
+
+            boolean debounceEnabled = debounceManager.isEnabled();
+            if (debounceEnabled) {
+                debounceManager.matchFrame(overlayRects, cacheMatches);
+            }
+            for (int i = 0; i < ingestedCount; i++) {
+                processEntity(frameResult, ingestedEntities[i], ingestedValues[i], overlayRects.get(i),
+                        debounceEnabled ? cacheMatches[i] : null);
+            }
+            // Do not keep matched entries alive past the frame
+            Arrays.fill(cacheMatches, 0, ingestedCount, null);
+        }
+        else
+        {
+            LogUtils.v(TAG, "Results empty.");
+
+            // If debounce is enabled, use cached barcodes when detection returns no results
+            List<CachedBarcode> debounceCache = debounceManager.getCache();
+            if (debounceManager.isEnabled() && !debounceCache.isEmpty()) {
+                boolean logging = LogUtils.isLoggingEnabled();
+                if (logging) {
+                    LogUtils.v(TAG, "Debounce: Using " + debounceCache.size() + " cached barcodes for empty detection result");
+                }
+                for (int i = 0; i < debounceCache.size(); i++) {
+                    CachedBarcode cached = debounceCache.get(i);
+                    frameResult.add(cached.getOverlayRect(), cached.getValue(), Color.BLUE, cached.getTrackId());  // All cached entries are BLUE
+                    frameResult.filteredEntities.add(cached.getEntity());
+                    if (logging) {
+                        LogUtils.v(TAG, "Debounce: Added cached barcode '" + cached.getValue() + "' at (" + cached.getCenterX() + ", " + cached.getCenterY() + ")");
+                    }
+                }
+            }
+        }
+
+        // Age and prune cache after processing all barcodes
+        if (debounceManager.isEnabled()) {
+            debounceManager.incrementAndPruneCacheAge();
+        }
+        return frameResult;
+    }
+
+    /**
+     * Builds a frame for which the decoder did not run (see BarcodeAnalyzer.setPredictedFrameInterval):
+     * the tracked barcodes are drawn where their motion model predicts them, then the cache is
+     * aged without counting the frame in the track continuity.
+     *
+     * @return The predicted frame, empty when debouncing is disabled, to release when done
+     */
+    @NonNull
+    public FrameResult predict() {
+        FrameResult frameResult = obtainFrameResult();
+        if (!debounceManager.isEnabled()) {
+            return frameResult;
+        }
+        List<CachedBarcode> debounceCache = debounceManager.getCache();
+        for (int i = 0; i < debounceCache.size(); i++) {
+            CachedBarcode cached = debounceCache.get(i);
+            if (cached.hasDecodedValue() && shouldIncludeEntity(cached.getEntity())) {
+                frameResult.add(cached.getPredictedRect(), cached.getValue(), Color.BLUE, cached.getTrackId());  // Not decoded on this frame
+                frameResult.filteredEntities.add(cached.getEntity());
+            }
+        }
+        debounceManager.advancePredictions();
+        return frameResult;
+    }
+
+    /**
+     * Takes a frame no one holds from the pool, or creates one.
+     */
+    private FrameResult obtainFrameResult() {
+        for (int i = 0; i < framePool.size(); i++) {
+            FrameResult frameResult = framePool.get(i);
+            if (frameResult.acquire()) {
+                frameResult.clear();
+                return frameResult;
+            }
+        }
+        FrameResult frameResult = new FrameResult();
+        frameResult.acquire();
+        if (framePool.size() < MAX_POOLED_FRAMES) {
+            framePool.add(frameResult);
+        } else {
+            LogUtils.w(TAG, "All " + MAX_POOLED_FRAMES + " pooled frame results are held, allocating one");
+        }
+        return frameResult;
+    }
+
+    private static IntRect[] newRects(int count) {
+        return growRects(new IntRect[0], count);
+    }
+
+    private static IntRect[] growRects(IntRect[] rects, int capacity) {
+        IntRect[] grown = Arrays.copyOf(rects, capacity);
+        for (int i = rects.length; i < capacity; i++) {
+            grown[i] = new IntRect();
+        }
+        return grown;
+    }
+
+    private void logMapping(int index, IntRect overlayRect, @Nullable IntRect cropRegion, int cropScale) {
+        int offset = index * 4;
+        logRect.set((int) ingestedBounds[offset], (int) ingestedBounds[offset + 1],
+                (int) ingestedBounds[offset + 2], (int) ingestedBounds[offset + 3]);
+        LogUtils.v(TAG, "Overlay rect: " + overlayRect + " (bbox " + logRect
+                + (cropRegion != null ? " x" + cropScale + " + crop offset " + cropRegion.left + "," + cropRegion.top : "") + ")");
+
+        String barcodeValue = ingestedValues[index];
+        if (highResLoggingEnabled && debounceManager.isEnabled() && barcodeValue != null && !barcodeValue.isEmpty()) {
+            LogUtils.d(TAG, "HighRes-Preview: Caching barcode '" + barcodeValue + "'");
+            LogUtils.d(TAG, "HighRes-Preview:   Raw bbox from SDK: " + logRect);
+            LogUtils.d(TAG, "HighRes-Preview:   Final overlayRect: " + overlayRect);
+            LogUtils.d(TAG, "HighRes-Preview:   imageWidth=" + coordinateMapper.getImageWidth() + ", imageHeight=" + coordinateMapper.getImageHeight());
+        }
+    }
+
+    private void processEntity(FrameResult frameResult, BarcodeEntity bEntity, String detectedValue,
+                               IntRect overlayRect, @Nullable CachedBarcode cachedMatch) {
+        String barcodeValue = detectedValue;
+        boolean usedCache = false;  // Track if cache was used for color coding
+        BarcodeEntity entityToCapture = bEntity;  // Entity to use for capture
+        CachedBarcode track = cachedMatch;
+        boolean logging = LogUtils.isLoggingEnabled();
+
+        // Apply debounce logic if enabled
+        if (debounceManager.isEnabled()) {
+            if (barcodeValue != null && !barcodeValue.isEmpty()) {
+                // Barcode has a value - update the matched cache entry or add a new one
+                if (cachedMatch != null) {
+                    debounceManager.refreshEntry(cachedMatch, barcodeValue, overlayRect);
+                } else {
+                    track = debounceManager.updateOrAddToCache(bEntity, overlayRect, null);
+                }
+                // usedCache stays false - this is a fresh decode
+            } else if (cachedMatch != null) {
+                // Barcode has no value - use the cached value and entity
+                barcodeValue = cachedMatch.getValue();
+                entityToCapture = cachedMatch.getEntity();  // Use cached entity for capture
+                // Update stability tracking - empty value indicates instability
+                debounceManager.refreshEntry(cachedMatch, detectedValue, overlayRect);
+                usedCache = true;  // Mark as cache hit
+                if (logging) {
+                    LogUtils.v(TAG, "Debounce: Using cached value '" + barcodeValue + "' for empty barcode");
+                }
+            }
+        }
+
+        // Check if the entity passes the filtering conditions
+        // If filtering is not enabled, it returns always true
+        if (barcodeValue != null && !barcodeValue.isEmpty() && shouldIncludeEntity(entityToCapture)) {
+            frameResult.add(overlayRect, barcodeValue, usedCache ? Color.BLUE : Color.GREEN,  // BLUE for cached, GREEN for decoded
+                    track != null ? track.getTrackId() : FrameResult.NO_TRACK);
+            if (logging) {
+                String hashCode = String.valueOf(entityToCapture.hashCode());
+                // Ensure the string has at least 4 characters
+                if (hashCode.length() >= 4) {
+                    // Get the last four digits
+                    hashCode = hashCode.substring(hashCode.length() - 4);
+                }
+                LogUtils.d(TAG, "Tracker UUID: " + hashCode + " Tracker Detected entity - Value: " + barcodeValue);
+            }
+            frameResult.filteredEntities.add(entityToCapture);
+        } else if (barcodeValue == null || barcodeValue.isEmpty()) {
+            // Show RED box for empty barcodes (no value, no cache match)
+            frameResult.add(overlayRect, "", Color.RED, FrameResult.NO_TRACK);  // Empty string for display
+            LogUtils.v(TAG, "Barcode has no value (and no cache match), showing RED box");
+        } else if (logging) {
+            LogUtils.v(TAG, "Barcode does not match filtering conditions, ignoring: " + barcodeValue);
+        }
+    }
+
+    private boolean shouldIncludeEntity(BarcodeEntity entity)
+    {
+        if (!filteringEnabled) {
+            // If filtering is disabled, include all entities
+            return true;
+        }
+
+        // Use the compiled filtering conditions with OR logic
+        boolean shouldInclude = filteringProgram.shouldIncludeEntity(entity);
+        if (LogUtils.isLoggingEnabled()) {
+            LogUtils.v(TAG, "Filtering - Entity value: '" + entity.getValue() + "', symbology: " + entity.getSymbology() + ", shouldInclude: " + shouldInclude);
+        }
+        return shouldInclude;
+    }
+}
@@ -0,0 +1,47 @@
+package com.zebra.ai_multibarcodes_capture.helpers;
+
+import androidx.annotation.NonNull;
+
+/**
+ * How the overlay boxes move between two analysis results.
+ */
+public enum EOverlayMotionMode {
+    /** Boxes stay where the last analysis result put them. */
+    OFF("off"),
+    /**
+     * Boxes glide from their drawn position to the new result over the interval between the
+     * last two results. Smooth, but drawn one analysis interval behind.
+     */
+    INTERPOLATE("interpolate"),
+    /**
+     * Boxes keep moving from the last result with the velocity of their track, for up to the
+     * interval between the last two results. Smooth and ahead of the analysis latency.
+     */
+    EXTRAPOLATE("extrapolate");
+
+    private String key;
+
+    EOverlayMotionMode(String key)
+    {
+        this.key = key;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return key;
+    }
+
+    public static EOverlayMotionMode fromKey(String key)
+    {
+        switch(key)
+        {
+            case "interpolate":
+                return INTERPOLATE;
+            case "extrapolate":
+                return EXTRAPOLATE;
+            default:
+                return OFF;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.zebra.ai_multibarcodes_capture.helpers;
+
+import android.graphics.Rect;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Integer rectangle with the fields and semantics of android.graphics.Rect, used by the
+ * per-frame processing (coordinate mapping, debounce cache) so that it also runs on a plain JVM,
+ * e.g. in the frame replay, where the framework classes are not available.
+ *
+ * Rects are converted at the Android boundary only: {@link #set(Rect)} reads the fields of a
+ * decoder bounding box and {@link #toRect()} builds a Rect for the framework APIs.
+ */
+public final class IntRect {
+
+    public int left;
+    public int top;
+    public int right;
+    public int bottom;
+
+    public IntRect() {
+    }
+
+    public IntRect(int left, int top, int right, int bottom) {
+        this.left = left;
+        this.top = top;
+        this.right = right;
+        this.bottom = bottom;
+    }
+
+    public IntRect(@NonNull IntRect other) {
+        set(other);
+    }
+
+    public IntRect set(int left, int top, int right, int bottom) {
+        this.left = left;
+        this.top = top;
+        this.right = right;
+        this.bottom = bottom;
+        return this;
+    }
+
+    public IntRect set(@NonNull IntRect other) {
+        return set(other.left, other.top, other.right, other.bottom);
+    }
+
+    /**
+     * Copies the edges of an Android rect, reading its fields only.
+     *
+     * @param rect The rect to copy
+     * @return This rect
+     */
+    public IntRect set(@NonNull Rect rect) {
+        return set(rect.left, rect.top, rect.right, rect.bottom);
+    }
+
+    /**
+     * @return A new Android rect with the same edges
+     */
+    @NonNull
+    public Rect toRect() {
+        return new Rect(left, top, right, bottom);
+    }
+
+    public void offset(int dx, int dy) {
+        left += dx;
+        top += dy;
+        right += dx;
+        bottom += dy;
+    }
+
+    public int width() {
+        return right - left;
+    }
+
+    public int height() {
+        return bottom - top;
+    }
+
+    public int centerX() {
+        return (left + right) >> 1;
+    }
+
+    public int centerY() {
+        return (top + bottom) >> 1;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        IntRect other = (IntRect) o;
+        return left == other.left && top == other.top && right == other.right && bottom == other.bottom;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = left;
+        result = 31 * result + top;
+        result = 31 * result + right;
+        result = 31 * result + bottom;
+        return result;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        // Same format as Rect, the logs stay comparable
+        return "Rect(" + left + ", " + top + " - " + right + ", " + bottom + ")";
+    }
+}
@@ -0,0 +1,97 @@
+package com.zebra.ai_multibarcodes_capture.helpers;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.zebra.ai.vision.entity.BarcodeEntity;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands the processed frames over from the analyzer thread to the overlay and the capture.
+ * Extracted from CameraXLivePreviewActivity.onDetectionResult so that its per-frame cost can
+ * be checked along with DetectionResultProcessor.
+ *
+ * The last frame is retained for the capture. Frames arriving before the UI thread drew the
+ * previous one replace it, and a single preallocated runnable draws whichever is pending, so
+ * the hand-off allocates nothing.
+ */
+public class OverlayFrameHandOff {
+
+    private final Executor uiExecutor;
+    private final Runnable drawRunnable;
+
+    // Last processed frame, retained for the capture
+    private DetectionResultProcessor.FrameResult latestFrame;
+    private final Object latestFrameLock = new Object();
+
+    // Latest frame waiting for the overlay
+    private final AtomicReference<DetectionResultProcessor.FrameResult> pendingFrame = new AtomicReference<>();
+
+    /**
+     * @param uiExecutor Runs the draw runnable on the UI thread
+     * @param drawRunnable Draws the frame returned by {@link #takePending()}
+     */
+    public OverlayFrameHandOff(@NonNull Executor uiExecutor, @NonNull Runnable drawRunnable) {
+        this.uiExecutor = uiExecutor;
+        this.drawRunnable = drawRunnable;
+    }
+
+    /**
+     * Keeps the frame for the capture, releasing the previous one.
+     *
+     * @param frameResult The frame, retained until the next one is kept
+     */
+    public void keepLatest(@NonNull DetectionResultProcessor.FrameResult frameResult) {
+        DetectionResultProcessor.FrameResult previous;
+        synchronized (latestFrameLock) {
+            previous = latestFrame;
+            latestFrame = frameResult.retain();
+        }
+        if (previous != null) {
+            previous.release();
+        }
+    }
+
+    /**
+     * Adds the filtered entities of the last kept frame to the given list.
+     *
+     * @param out The list to add to
+     */
+    public void copyLatestFilteredEntities(@NonNull List<BarcodeEntity> out) {
+        synchronized (latestFrameLock) {
+            // The kept frame is not reused by the processor until released
+            if (latestFrame != null) {
+                out.addAll(latestFrame.filteredEntities);
+            }
+        }
+    }
+
+    /**
+     * Hands the frame over to the overlay, replacing the pending one if the UI thread did not
+     * draw it yet.
+     *
+     * @param frameResult The frame, whose reference is taken over
+     */
+    public void post(@NonNull DetectionResultProcessor.FrameResult frameResult) {
+        DetectionResultProcessor.FrameResult skippedFrame = pendingFrame.getAndSet(frameResult);
+        if (skippedFrame != null) {
+            // The draw runnable is already posted
+            skippedFrame.release();
+        } else {
+            uiExecutor.execute(drawRunnable);
+        }
+    }
+
+    /**
+     * Takes the frame to draw, on the UI thread. The caller releases it once drawn.
+     *
+     * @return The pending frame, or null if it was already drawn
+     */
+    @Nullable
+    public DetectionResultProcessor.FrameResult takePending() {
+        return pendingFrame.getAndSet(null);
+    }
+}
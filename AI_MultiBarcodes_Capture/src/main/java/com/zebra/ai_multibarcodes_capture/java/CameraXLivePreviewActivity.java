@@ -8,16 +8,20 @@ import android.content.Intent;
 import android.content.IntentFilter;
 import android.content.SharedPreferences;
 import android.content.pm.ActivityInfo;
-import android.graphics.Color;
 import android.graphics.Rect;
 import android.graphics.RectF;
 import android.hardware.camera2.CaptureRequest;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.SystemClock;
 import android.util.Size;
 import android.view.Display;
+import android.view.FrameMetrics;
 import android.view.KeyEvent;
 import android.view.Surface;
 import android.view.View;
+import android.view.Window;
 import android.view.WindowManager;
 import android.widget.Button;
 import android.widget.ImageView;
@@ -42,33 +46,44 @@ import androidx.camera.lifecycle.ProcessCameraProvider;
 import androidx.lifecycle.ViewModelProvider;
 
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.graphics.ImageFormat;
-import android.graphics.YuvImage;
 import android.view.animation.AlphaAnimation;
 import android.view.animation.Animation;
-import java.io.ByteArrayOutputStream;
-import java.nio.ByteBuffer;
 
 import com.google.common.util.concurrent.ListenableFuture;
 import com.zebra.ai.vision.entity.BarcodeEntity;
 
 import com.zebra.ai_multibarcodes_capture.CameraXViewModel;
+import com.zebra.ai_multibarcodes_capture.MainApplication;
 import com.zebra.ai_multibarcodes_capture.R;
 import com.zebra.ai_multibarcodes_capture.barcodedecoder.BarcodeAnalyzer;
+import com.zebra.ai_multibarcodes_capture.barcodedecoder.BarcodeDecoderManager;
 import com.zebra.ai_multibarcodes_capture.barcodedecoder.BarcodeGraphic;
 import com.zebra.ai_multibarcodes_capture.barcodedecoder.BarcodeHandler;
+import com.zebra.ai_multibarcodes_capture.barcodedecoder.DecoderWarmUp;
+import com.zebra.ai_multibarcodes_capture.barcodedecoder.ELatencyStage;
+import com.zebra.ai_multibarcodes_capture.barcodedecoder.HighResFrameConverter;
+import com.zebra.ai_multibarcodes_capture.barcodedecoder.HighResRegionDecoder;
+import com.zebra.ai_multibarcodes_capture.barcodedecoder.LatencyHistogram;
+import com.zebra.ai_multibarcodes_capture.barcodedecoder.StageLatencyRecorder;
+import com.zebra.ai_multibarcodes_capture.barcodedecoder.TiledBitmapDecoder;
 import com.zebra.ai_multibarcodes_capture.databinding.ActivityCameraXlivePreviewBinding;
+import com.zebra.ai_multibarcodes_capture.helpers.AdaptiveRoiController;
 import com.zebra.ai_multibarcodes_capture.helpers.CachedBarcode;
+import com.zebra.ai_multibarcodes_capture.helpers.CameraActivitySettingsLoader;
 import com.zebra.ai_multibarcodes_capture.helpers.Constants;
 import com.zebra.ai_multibarcodes_capture.helpers.CoordinateMapper;
 import com.zebra.ai_multibarcodes_capture.helpers.DebounceManager;
+import com.zebra.ai_multibarcodes_capture.helpers.DetectionResultProcessor;
 import com.zebra.ai_multibarcodes_capture.helpers.ECameraResolution;
 import com.zebra.ai_multibarcodes_capture.helpers.BaseActivity;
 import com.zebra.ai_multibarcodes_capture.helpers.ECaptureTriggerMode;
+import com.zebra.ai_multibarcodes_capture.helpers.EModelInputSize;
 import com.zebra.ai_multibarcodes_capture.helpers.LogUtils;
+import com.zebra.ai_multibarcodes_capture.helpers.OverlayFrameHandOff;
 import com.zebra.ai_multibarcodes_capture.helpers.PreferencesHelper;
 import com.zebra.ai_multibarcodes_capture.helpers.ThemeHelpers;
+import com.zebra.ai_multibarcodes_capture.replay.FrameRecorder;
 import com.zebra.ai_multibarcodes_capture.helpers.camera.CameraResolutionProviderFactory;
 import com.zebra.ai_multibarcodes_capture.helpers.camera.DynamicCameraResolutionProvider;
 import com.zebra.ai_multibarcodes_capture.helpers.camera.ICameraResolutionProvider;
@@ -76,11 +91,10 @@ import com.zebra.ai_multibarcodes_capture.managedconfig.ManagedConfigurationRece
 
 import com.zebra.ai_multibarcodes_capture.settings.SettingsActivity;
 import com.zebra.ai_multibarcodes_capture.views.CaptureZoneOverlay;
-import com.zebra.ai_multibarcodes_capture.autocapture.AutoCaptureEvaluator;
-import com.zebra.ai_multibarcodes_capture.autocapture.AutoCapturePreferencesHelper;
+import com.zebra.ai_multibarcodes_capture.autocapture.AutoCapturePlan;
 import com.zebra.ai_multibarcodes_capture.autocapture.models.AutoCaptureConditionList;
-import com.zebra.ai_multibarcodes_capture.filtering.FilteringEvaluator;
-import com.zebra.ai_multibarcodes_capture.filtering.FilteringPreferencesHelper;
+import com.zebra.ai_multibarcodes_capture.conditions.ValueMemo;
+import com.zebra.ai_multibarcodes_capture.filtering.FilteringProgram;
 import com.zebra.ai_multibarcodes_capture.filtering.models.FilteringConditionList;
 import com.zebra.datawedgeprofileintents.DWProfileBaseSettings;
 import com.zebra.datawedgeprofileintents.DWProfileCommandBase;
@@ -88,8 +102,13 @@ import com.zebra.datawedgeprofileintents.DWScannerPluginDisable;
 
 import static com.zebra.ai_multibarcodes_capture.helpers.Constants.*;
 
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.Locale;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -179,18 +198,57 @@ public class CameraXLivePreviewActivity extends BaseActivity implements BarcodeA
     private TextView analysisOverlay;
     private boolean displayAnalysisPerSecond = false;
 
+    // Per-stage latency overlay
+    private TextView latencyOverlay;
+    private boolean displayLatencyHistograms = false;
+    private long lastLatencyOverlayUpdateMs = 0;
+    private static final long LATENCY_OVERLAY_REFRESH_MS = 500;
+
+    // Luminance-only frame hand-off setting
+    private boolean luminanceOnlyFrames = false;
+
+    // Native crop transform setting (downscale to the model input and rotate upright while cropping)
+    private boolean nativeCropTransform = false;
+    private EModelInputSize modelInputSize = EModelInputSize.SMALL;
+
+    // Analyzer pipeline depth setting
+    private int analyzerPipelineDepth = Constants.SHARED_PREFERENCES_ANALYZER_PIPELINE_DEPTH_DEFAULT;
+
+    // Motion-gated inference settings
+    private boolean isMotionGateEnabled = false;
+    private int motionGateCellThreshold = Constants.SHARED_PREFERENCES_MOTION_GATE_CELL_THRESHOLD_DEFAULT;
+    private int motionGateChangedCellsPercent = Constants.SHARED_PREFERENCES_MOTION_GATE_CHANGED_CELLS_PERCENT_DEFAULT;
+    private int motionGateMaxSkippedFrames = Constants.SHARED_PREFERENCES_MOTION_GATE_MAX_SKIPPED_FRAMES_DEFAULT;
+
+    // Frame recording settings (offline replay)
+    private boolean isFrameRecordingEnabled = false;
+    private int frameRecordingMaxMb = Constants.SHARED_PREFERENCES_RECORD_ANALYZER_FRAMES_MAX_MB_DEFAULT;
+    @Nullable
+    private FrameRecorder frameRecorder = null;
+
     // Force continuous autofocus setting
     private boolean forceContinuousAutofocus = false;
 
     // Debounce manager
     private final DebounceManager debounceManager = new DebounceManager();
 
+    // Frames drawn from the tracked barcodes' predicted positions between two decodes
+    private int predictedFrameInterval = Constants.SHARED_PREFERENCES_PREDICTED_FRAME_INTERVAL_DEFAULT;
+
     // Coordinate mapper
     private final CoordinateMapper coordinateMapper = new CoordinateMapper();
 
+    // Per-frame mapping, debounce and filtering of the detection results
+    private final DetectionResultProcessor detectionResultProcessor = new DetectionResultProcessor(coordinateMapper, debounceManager);
+
+    // Adaptive ROI controller
+    private final AdaptiveRoiController adaptiveRoiController = new AdaptiveRoiController();
+
     // Auto capture settings
     private boolean isAutoCaptureEnabled = false;
     private AutoCaptureConditionList autoCaptureConditions = null;
+    // Compiled from autoCaptureConditions, evaluated on every frame
+    private volatile AutoCapturePlan autoCapturePlan = AutoCapturePlan.compile(null);
 
     // High-res stabilization settings
     private ImageCapture imageCaptureUseCase;
@@ -199,9 +257,19 @@ public class CameraXLivePreviewActivity extends BaseActivity implements BarcodeA
     private static final long HIGH_RES_CAPTURE_COOLDOWN_MS = 500;
     private boolean isHighResStabilizationEnabled = false;
     private int highResStabilityThreshold = 3;  // Trigger after N unstable frames
+    private boolean isHighResRoiDecodeEnabled = false;
+    private boolean isHighResYuvCaptureEnabled = false;
+    private boolean isHighResTiledDecodeEnabled = false;
+    private int highResRoiPadding = Constants.SHARED_PREFERENCES_HIGH_RES_ROI_PADDING_DEFAULT;
     private int consecutiveUnstableFrames = 0;
 
+    // Single-shot dense capture, triggered by a long press on the capture button
+    private boolean isDenseCaptureEnabled = false;
+    private boolean isDenseCapturing = false;
+
     private BarcodeHandler barcodeHandler;
+    // Whether barcodeHandler borrows the decoder kept warm by MainApplication
+    private volatile boolean isDecoderWarmPoolEnabled = false;
 
     private String selectedModel = BARCODE_DETECTION;
 
@@ -209,7 +277,23 @@ public class CameraXLivePreviewActivity extends BaseActivity implements BarcodeA
 
     private int initialRotation = Surface.ROTATION_0;
 
-    List<BarcodeEntity> entitiesHolder;
+    // Hands the processed frames over to the overlay, and keeps the last one for captureData
+    private final OverlayFrameHandOff overlayFrameHandOff = new OverlayFrameHandOff(this::runOnUiThread, this::updateOverlay);
+    private volatile long overlayPostNanos = 0;
+
+    // Retained overlay graphic, updated in place with every frame
+    private BarcodeGraphic barcodeGraphic;
+
+    // Render time of the preview window, collected while the latency overlay is displayed
+    private HandlerThread frameMetricsThread;
+    private Window.OnFrameMetricsAvailableListener frameMetricsListener;
+    private volatile int renderedFrames = 0;
+    private volatile int jankyFrames = 0;
+
+    // Frames in each analyzer pipeline stage after the last analysis, shown in the latency overlay
+    private volatile int cropQueueDepth = 0;
+    private volatile int decodeQueueDepth = 0;
+    private volatile int postQueueDepth = 0;
 
     private String captureFilePath;
     private String endpointUri;
@@ -248,6 +332,9 @@ public class CameraXLivePreviewActivity extends BaseActivity implements BarcodeA
         binding = ActivityCameraXlivePreviewBinding.inflate(getLayoutInflater());
         setContentView(binding.getRoot());
 
+        barcodeGraphic = new BarcodeGraphic(binding.graphicOverlay);
+        binding.graphicOverlay.add(barcodeGraphic);
+
         ThemeHelpers.applyCustomFont(this);
 
         resolutionSelector = new ResolutionSelector.Builder()
@@ -293,6 +380,13 @@ public class CameraXLivePreviewActivity extends BaseActivity implements BarcodeA
                         });
 
         binding.captureButton.setOnClickListener(v -> captureData());
+        binding.captureButton.setOnLongClickListener(v -> {
+            if (!isDenseCaptureEnabled) {
+                return false;
+            }
+            triggerDenseCapture();
+            return true;
+        });
 
         closeButton = findViewById(R.id.closeButton);
         closeButton.setOnClickListener(v -> finish());
@@ -304,6 +398,7 @@ public class CameraXLivePreviewActivity extends BaseActivity implements BarcodeA
         flashlightToggleIcon.setOnClickListener(v -> toggleFlashlight());
 
         analysisOverlay = findViewById(R.id.analysis_overlay);
+        latencyOverlay = findViewById(R.id.latency_overlay);
 
         initCaptureZone();
     }
@@ -372,6 +467,10 @@ public class CameraXLivePreviewActivity extends BaseActivity implements BarcodeA
 
         BarcodeAnalyzer analyzer = barcodeHandler.getBarcodeAnalyzer();
 
+        // The adaptive ROI belongs to the previous capture zone, rebuild it from the next results
+        adaptiveRoiController.reset();
+        analyzer.setAdaptiveCropRegion(null, adaptiveRoiController.getRefreshInterval());
+
         if (captureZoneOverlay != null && captureZoneOverlay.isVisible()) {
             RectF captureZone = captureZoneOverlay.getCaptureZone();
             if (captureZone != null && !captureZone.isEmpty()) {
@@ -390,6 +489,33 @@ public class CameraXLivePreviewActivity extends BaseActivity implements BarcodeA
         LogUtils.d(TAG, "Analyzer crop region cleared");
     }
 
+    /**
+     * Updates the analyzer's adaptive crop region from the stable barcodes of the debounce cache.
+     * The ROI is mapped to raw sensor coordinates and kept inside the capture zone crop region.
+     * Called after each detection result, once the debounce cache has been updated.
+     */
+    private void updateAdaptiveCropRegion() {
+        if (barcodeHandler == null || barcodeHandler.getBarcodeAnalyzer() == null) {
+            return;
+        }
+        BarcodeAnalyzer analyzer = barcodeHandler.getBarcodeAnalyzer();
+        if (!adaptiveRoiController.isEnabled() || !debounceManager.isEnabled()) {
+            analyzer.setAdaptiveCropRegion(null, adaptiveRoiController.getRefreshInterval());
+            return;
+        }
+
+        RectF overlayRoi = adaptiveRoiController.update(debounceManager.getCache(),
+                binding.graphicOverlay.getWidth(), binding.graphicOverlay.getHeight());
+        Rect rawRoi = overlayRoi != null ? mapOverlayToRawSensorCoordinates(overlayRoi) : null;
+
+        // Never decode outside the capture zone
+        Rect staticRegion = analyzer.getCropRegion();
+        if (rawRoi != null && staticRegion != null && !rawRoi.intersect(staticRegion)) {
+            rawRoi = null;
+        }
+        analyzer.setAdaptiveCropRegion(rawRoi, adaptiveRoiController.getRefreshInterval());
+    }
+
     private void loadCaptureZoneSettings() {
         // Load enabled state
         boolean isEnabled = PreferencesHelper.isCaptureZoneEnabled(this);
@@ -487,112 +613,190 @@ public class CameraXLivePreviewActivity extends BaseActivity implements BarcodeA
         LogUtils.d(TAG, "=== loadFlashlightSettings() END ===");
     }
 
-    private void loadFilteringSettings() {
+    private void loadFilteringSettings(CameraActivitySettingsLoader.CameraSettings settings) {
         LogUtils.d(TAG, "=== loadFilteringSettings() START ===");
 
-        // Load filtering enabled state using FilteringPreferencesHelper
-        isFilteringEnabled = FilteringPreferencesHelper.isFilteringEnabled(this);
-
-        // Load filtering conditions using FilteringPreferencesHelper
-        filteringConditions = FilteringPreferencesHelper.loadConditions(this);
+        isFilteringEnabled = settings.isFilteringEnabled;
+        filteringConditions = settings.filteringConditions;
+        // Compiling the conditions again also discards the decisions memoized for the previous ones
+        detectionResultProcessor.setFilteringSettings(isFilteringEnabled, filteringConditions, settings.decisionMemoCapacity);
 
         LogUtils.d(TAG, "Loaded filtering settings - enabled: " + isFilteringEnabled + ", conditions count: " + filteringConditions.size());
         LogUtils.d(TAG, "=== loadFilteringSettings() END ===");
     }
 
-    private void loadCaptureModeSettings() {
+    private void loadCaptureModeSettings(CameraActivitySettingsLoader.CameraSettings settings) {
         LogUtils.d(TAG, "=== loadCaptureModeSettings() START ===");
 
-        // Get the SharedPreferences object
-        SharedPreferences sharedPreferences = getSharedPreferences(getPackageName(), Context.MODE_PRIVATE);
-
-        // Load capture trigger mode
-        String captureTriggerModeKey = sharedPreferences.getString(Constants.SHARED_PREFERENCES_CAPTURE_TRIGGER_MODE, Constants.SHARED_PREFERENCES_CAPTURE_TRIGGER_MODE_DEFAULT);
-        captureTriggerMode = ECaptureTriggerMode.fromKey(captureTriggerModeKey);
+        captureTriggerMode = settings.captureTriggerMode;
+        isDenseCaptureEnabled = settings.isDenseCaptureEnabled;
+        isDenseCapturing = false;
 
-        LogUtils.d(TAG, "Loaded capture trigger mode: " + captureTriggerMode.toString() + " (" + captureTriggerMode.getDisplayName(this) + ")");
+        LogUtils.d(TAG, "Loaded capture trigger mode: " + captureTriggerMode.toString() + " (" + captureTriggerMode.getDisplayName(this) + ")" +
+            ", dense capture: " + isDenseCaptureEnabled);
         LogUtils.d(TAG, "=== loadCaptureModeSettings() END ===");
     }
 
-    private void loadDisplayAnalysisSettings() {
+    private void loadDisplayAnalysisSettings(CameraActivitySettingsLoader.CameraSettings settings) {
         LogUtils.d(TAG, "=== loadDisplayAnalysisSettings() START ===");
 
-        // Get the SharedPreferences object
-        SharedPreferences sharedPreferences = getSharedPreferences(getPackageName(), Context.MODE_PRIVATE);
-
-        // Load display analysis per second setting
-        displayAnalysisPerSecond = sharedPreferences.getBoolean(Constants.SHARED_PREFERENCES_DISPLAY_ANALYSIS_PER_SECOND, Constants.SHARED_PREFERENCES_DISPLAY_ANALYSIS_PER_SECOND_DEFAULT);
+        displayAnalysisPerSecond = settings.displayAnalysisPerSecond;
+        displayLatencyHistograms = settings.displayLatencyHistograms;
 
         // Update overlay visibility
         if (analysisOverlay != null) {
             analysisOverlay.setVisibility(displayAnalysisPerSecond ? View.VISIBLE : View.GONE);
         }
+        if (latencyOverlay != null) {
+            latencyOverlay.setVisibility(displayLatencyHistograms ? View.VISIBLE : View.GONE);
+        }
 
         // Update analyzer timing callback
         updateAnalyzerTimingCallback();
 
+        // Frame metrics are only collected for the latency overlay
+        if (displayLatencyHistograms) {
+            startFrameMetrics();
+        } else {
+            stopFrameMetrics();
+        }
+
         LogUtils.d(TAG, "Display analysis per second: " + displayAnalysisPerSecond);
+        LogUtils.d(TAG, "Display latency histograms: " + displayLatencyHistograms);
         LogUtils.d(TAG, "=== loadDisplayAnalysisSettings() END ===");
     }
 
-    private void loadForceContinuousAutofocusSettings() {
-        LogUtils.d(TAG, "=== loadForceContinuousAutofocusSettings() START ===");
+    private void loadLuminanceOnlyFramesSettings(CameraActivitySettingsLoader.CameraSettings settings) {
+        LogUtils.d(TAG, "=== loadLuminanceOnlyFramesSettings() START ===");
+
+        luminanceOnlyFrames = settings.luminanceOnlyFrames;
+
+        // Native crop transform downscales towards the model input size
+        nativeCropTransform = settings.nativeCropTransform;
+        modelInputSize = settings.modelInputSize;
+
+        // Update analyzer frame format
+        updateAnalyzerFrameFormat();
+
+        LogUtils.d(TAG, "Luminance-only frames: " + luminanceOnlyFrames);
+        LogUtils.d(TAG, "Native crop transform: " + nativeCropTransform + " (model input " + modelInputSize + ")");
+        LogUtils.d(TAG, "=== loadLuminanceOnlyFramesSettings() END ===");
+    }
 
-        // Get the SharedPreferences object
-        SharedPreferences sharedPreferences = getSharedPreferences(getPackageName(), Context.MODE_PRIVATE);
+    private void loadAnalyzerPipelineSettings(CameraActivitySettingsLoader.CameraSettings settings) {
+        LogUtils.d(TAG, "=== loadAnalyzerPipelineSettings() START ===");
 
-        // Load force continuous autofocus setting
-        forceContinuousAutofocus = sharedPreferences.getBoolean(Constants.SHARED_PREFERENCES_FORCE_CONTINUOUS_AUTOFOCUS, Constants.SHARED_PREFERENCES_FORCE_CONTINUOUS_AUTOFOCUS_DEFAULT);
+        analyzerPipelineDepth = settings.analyzerPipelineDepth;
+
+        // Update analyzer pipeline depth
+        updateAnalyzerPipelineDepth();
+
+        LogUtils.d(TAG, "Analyzer pipeline depth: " + analyzerPipelineDepth);
+        LogUtils.d(TAG, "=== loadAnalyzerPipelineSettings() END ===");
+    }
+
+    private void loadMotionGateSettings(CameraActivitySettingsLoader.CameraSettings settings) {
+        LogUtils.d(TAG, "=== loadMotionGateSettings() START ===");
+
+        isMotionGateEnabled = settings.isMotionGateEnabled;
+        motionGateCellThreshold = settings.motionGateCellThreshold;
+        motionGateChangedCellsPercent = settings.motionGateChangedCellsPercent;
+        motionGateMaxSkippedFrames = settings.motionGateMaxSkippedFrames;
+
+        // Update analyzer motion gate
+        updateAnalyzerMotionGate();
+
+        LogUtils.d(TAG, "Motion gate enabled: " + isMotionGateEnabled + ", cellThreshold: " + motionGateCellThreshold
+                + ", changedCellsPercent: " + motionGateChangedCellsPercent + ", maxSkippedFrames: " + motionGateMaxSkippedFrames);
+        LogUtils.d(TAG, "=== loadMotionGateSettings() END ===");
+    }
+
+    private void loadFrameRecordingSettings(CameraActivitySettingsLoader.CameraSettings settings) {
+        LogUtils.d(TAG, "=== loadFrameRecordingSettings() START ===");
+
+        isFrameRecordingEnabled = settings.isFrameRecordingEnabled;
+        frameRecordingMaxMb = settings.frameRecordingMaxMb;
+
+        LogUtils.d(TAG, "Frame recording enabled: " + isFrameRecordingEnabled + ", maxMb: " + frameRecordingMaxMb);
+        LogUtils.d(TAG, "=== loadFrameRecordingSettings() END ===");
+    }
+
+    private void loadAdaptiveRoiSettings(CameraActivitySettingsLoader.CameraSettings settings) {
+        LogUtils.d(TAG, "=== loadAdaptiveRoiSettings() START ===");
+
+        adaptiveRoiController.updateSettings(settings.isAdaptiveRoiEnabled, settings.adaptiveRoiMarginPercent,
+                settings.adaptiveRoiMinStableFrames, settings.adaptiveRoiRefreshInterval);
+        if (settings.isAdaptiveRoiEnabled && !debounceManager.isEnabled()) {
+            LogUtils.w(TAG, "Adaptive ROI requires debounce to be enabled, ignoring");
+        }
+
+        // Start from the static crop region, the ROI follows the next detection results
+        if (barcodeHandler != null && barcodeHandler.getBarcodeAnalyzer() != null) {
+            barcodeHandler.getBarcodeAnalyzer().setAdaptiveCropRegion(null, adaptiveRoiController.getRefreshInterval());
+        }
+
+        LogUtils.d(TAG, "=== loadAdaptiveRoiSettings() END ===");
+    }
+
+    private void loadForceContinuousAutofocusSettings(CameraActivitySettingsLoader.CameraSettings settings) {
+        LogUtils.d(TAG, "=== loadForceContinuousAutofocusSettings() START ===");
+
+        forceContinuousAutofocus = settings.forceContinuousAutofocus;
 
         LogUtils.d(TAG, "Force continuous autofocus: " + forceContinuousAutofocus);
         LogUtils.d(TAG, "=== loadForceContinuousAutofocusSettings() END ===");
     }
 
-    private void loadDebounceSettings() {
+    private void loadDebounceSettings(CameraActivitySettingsLoader.CameraSettings settings) {
         LogUtils.d(TAG, "=== loadDebounceSettings() START ===");
 
-        // Get the SharedPreferences object
-        SharedPreferences sharedPreferences = getSharedPreferences(getPackageName(), Context.MODE_PRIVATE);
-
-        // Load debounce settings
-        boolean isDebounceEnabled = sharedPreferences.getBoolean(Constants.SHARED_PREFERENCES_DEBOUNCE_ENABLED, Constants.SHARED_PREFERENCES_DEBOUNCE_ENABLED_DEFAULT);
-        int debounceMaxFrames = sharedPreferences.getInt(Constants.SHARED_PREFERENCES_DEBOUNCE_MAX_FRAMES, Constants.SHARED_PREFERENCES_DEBOUNCE_MAX_FRAMES_DEFAULT);
-        int debounceThreshold = sharedPreferences.getInt(Constants.SHARED_PREFERENCES_DEBOUNCE_THRESHOLD, Constants.SHARED_PREFERENCES_DEBOUNCE_THRESHOLD_DEFAULT);
-        int debounceAlgorithm = sharedPreferences.getInt(Constants.SHARED_PREFERENCES_DEBOUNCE_ALGORITHM, Constants.SHARED_PREFERENCES_DEBOUNCE_ALGORITHM_DEFAULT);
-        int iouThresholdInt = sharedPreferences.getInt(Constants.SHARED_PREFERENCES_DEBOUNCE_IOU_THRESHOLD, Constants.SHARED_PREFERENCES_DEBOUNCE_IOU_THRESHOLD_DEFAULT);
-        float debounceIouThreshold = iouThresholdInt / 100.0f;
-
         // Update debounce manager with new settings
-        debounceManager.updateSettings(isDebounceEnabled, debounceMaxFrames, debounceThreshold, debounceAlgorithm, debounceIouThreshold);
+        debounceManager.updateSettings(settings);
+
+        // Motion prediction of the tracked barcodes
+        debounceManager.setMotionPredictionEnabled(settings.debounceMotionPrediction);
+        predictedFrameInterval = settings.predictedFrameInterval;
+        if (predictedFrameInterval >= settings.debounceMaxFrames) {
+            LogUtils.w(TAG, "Predicted frame interval " + predictedFrameInterval + " reaches the debounce max frames, tracks would expire between decodes");
+        }
+        updateAnalyzerPredictedFrames();
 
         LogUtils.d(TAG, "=== loadDebounceSettings() END ===");
     }
 
-    private void loadAutoCaptureSettings() {
-        isAutoCaptureEnabled = AutoCapturePreferencesHelper.isAutoCaptureEnabled(this);
-        autoCaptureConditions = AutoCapturePreferencesHelper.loadConditions(this);
+    private void loadOverlayMotionSettings(CameraActivitySettingsLoader.CameraSettings settings) {
+        barcodeGraphic.setMotionMode(settings.overlayMotionMode);
+        LogUtils.d(TAG, "Overlay motion mode: " + settings.overlayMotionMode);
+    }
+
+    private void loadAutoCaptureSettings(CameraActivitySettingsLoader.CameraSettings settings) {
+        isAutoCaptureEnabled = settings.isAutoCaptureEnabled;
+        autoCaptureConditions = settings.autoCaptureConditions;
+        // Compiling the conditions again also discards the pattern matches memoized for the previous ones
+        autoCapturePlan = AutoCapturePlan.compile(autoCaptureConditions, settings.decisionMemoCapacity);
         LogUtils.d(TAG, "Auto capture enabled: " + isAutoCaptureEnabled + ", conditions: " + (autoCaptureConditions != null ? autoCaptureConditions.size() : 0));
     }
 
-    private void loadHighResStabilizationSettings() {
+    private void loadHighResStabilizationSettings(CameraActivitySettingsLoader.CameraSettings settings) {
         LogUtils.d(TAG, "=== loadHighResStabilizationSettings() START ===");
 
-        SharedPreferences sharedPreferences = getSharedPreferences(getPackageName(), Context.MODE_PRIVATE);
-
-        isHighResStabilizationEnabled = sharedPreferences.getBoolean(
-            Constants.SHARED_PREFERENCES_HIGH_RES_STABILIZATION_ENABLED,
-            Constants.SHARED_PREFERENCES_HIGH_RES_STABILIZATION_ENABLED_DEFAULT);
+        isHighResStabilizationEnabled = settings.isHighResStabilizationEnabled;
+        detectionResultProcessor.setHighResLoggingEnabled(isHighResStabilizationEnabled);
+        highResStabilityThreshold = settings.highResStabilityThreshold;
 
-        highResStabilityThreshold = sharedPreferences.getInt(
-            Constants.SHARED_PREFERENCES_HIGH_RES_STABILITY_THRESHOLD,
-            Constants.SHARED_PREFERENCES_HIGH_RES_STABILITY_THRESHOLD_DEFAULT);
+        isHighResRoiDecodeEnabled = settings.isHighResRoiDecodeEnabled;
+        highResRoiPadding = settings.highResRoiPadding;
+        isHighResYuvCaptureEnabled = settings.isHighResYuvCaptureEnabled;
+        isHighResTiledDecodeEnabled = settings.isHighResTiledDecodeEnabled;
 
         // Reset counters when settings are reloaded
         consecutiveUnstableFrames = 0;
         isHighResCapturing = false;
 
         LogUtils.d(TAG, "High-res stabilization enabled: " + isHighResStabilizationEnabled +
-            ", threshold: " + highResStabilityThreshold);
+            ", threshold: " + highResStabilityThreshold + ", ROI decode: " + isHighResRoiDecodeEnabled +
+            " (padding " + highResRoiPadding + "%), YUV capture: " + isHighResYuvCaptureEnabled +
+            ", tiled decode: " + isHighResTiledDecodeEnabled);
         LogUtils.d(TAG, "=== loadHighResStabilizationSettings() END ===");
     }
 
@@ -649,11 +853,11 @@ public class CameraXLivePreviewActivity extends BaseActivity implements BarcodeA
     }
 
     /**
-     * Sets up the ImageCapture use case for high-res stabilization.
+     * Sets up the ImageCapture use case for high-res stabilization and dense capture.
      */
-    @SuppressLint("UnsafeOptInUsageError")
+    @SuppressLint({"UnsafeOptInUsageError", "RestrictedApi"})
     private void setupImageCapture() {
-        if (!isHighResStabilizationEnabled) {
+        if (!isHighResStabilizationEnabled && !isDenseCaptureEnabled) {
             imageCaptureUseCase = null;
             return;
         }
@@ -668,8 +872,13 @@ public class CameraXLivePreviewActivity extends BaseActivity implements BarcodeA
             .build();
         builder.setResolutionSelector(highResSelector);
 
+        if (isHighResYuvCaptureEnabled) {
+            // Deliver the frames as YUV, converted straight from the Y plane (no JPEG encode and decode)
+            builder.setBufferFormat(ImageFormat.YUV_420_888);
+        }
+
         imageCaptureUseCase = builder.build();
-        LogUtils.d(TAG, "ImageCapture use case configured for high-res stabilization");
+        LogUtils.d(TAG, "ImageCapture use case configured for high-res stabilization / dense capture");
     }
 
     /**
@@ -770,7 +979,18 @@ public class CameraXLivePreviewActivity extends BaseActivity implements BarcodeA
                     LogUtils.i(TAG, "HighRes: Compare with Analysis image: " + imageWidth + "x" + imageHeight);
                     LogUtils.i(TAG, "HighRes: rawSensorWidth=" + rawSensorWidth + ", rawSensorHeight=" + rawSensorHeight);
 
-                    processHighResForStabilization(image, targetBarcodes, rotationDegrees);
+                    long validationStartNanos = System.nanoTime();
+                    if (isHighResRoiDecodeEnabled) {
+                        processHighResRegions(image, targetBarcodes, rotationDegrees);
+                    } else if (isHighResTiledDecodeEnabled) {
+                        processHighResTiles(image, targetBarcodes, rotationDegrees);
+                    } else {
+                        processHighResForStabilization(image, targetBarcodes, rotationDegrees);
+                    }
+                    StageLatencyRecorder latencyRecorder = getActiveLatencyRecorder();
+                    if (latencyRecorder != null) {
+                        latencyRecorder.recordSince(ELatencyStage.VALIDATION, validationStartNanos);
+                    }
                     image.close();
                     runOnUiThread(() -> isHighResCapturing = false);
                 }
@@ -800,7 +1020,7 @@ public class CameraXLivePreviewActivity extends BaseActivity implements BarcodeA
         LogUtils.i(TAG, "HighRes: Processing captured image with rotation=" + rotationDegrees);
 
         try {
-            Bitmap bitmap = imageProxyToBitmap(image);
+            Bitmap bitmap = HighResFrameConverter.toBitmap(image);
             if (bitmap == null) {
                 LogUtils.e(TAG, "HighRes: Failed to convert ImageProxy to Bitmap");
                 return;
@@ -839,7 +1059,7 @@ public class CameraXLivePreviewActivity extends BaseActivity implements BarcodeA
                     ", currentValue='" + target.getLastValue() + "'");
 
                 BarcodeEntity match = findMatchingBarcode(
-                    target.getOverlayRect(), highResResults,
+                    target.getOverlayRect().toRect(), highResResults,
                     bitmap.getWidth(), bitmap.getHeight());
 
                 if (match != null && match.getValue() != null && !match.getValue().isEmpty()) {
@@ -868,48 +1088,190 @@ public class CameraXLivePreviewActivity extends BaseActivity implements BarcodeA
     }
 
     /**
-     * Converts an ImageProxy to a Bitmap.
+     * Validates unstable barcodes by decoding only their regions of the high-res image.
+     * The overlay rect of each target is mapped to the raw capture coordinates and padded, then
+     * every region is cropped and decoded on its own, so the validation cost follows the number
+     * of unstable barcodes rather than the sensor resolution.
+     *
+     * @param image The captured high-res image
+     * @param targetBarcodes The list of unstable barcodes to validate
+     * @param rotationDegrees The rotation degrees from the captured image
+     */
+    private void processHighResRegions(ImageProxy image,
+            List<CachedBarcode> targetBarcodes, int rotationDegrees) {
+        if (barcodeHandler == null || !barcodeHandler.isDecoderReady()) {
+            LogUtils.w(TAG, "HighRes: Cannot decode regions - decoder not ready");
+            return;
+        }
+        long processingStartTime = System.currentTimeMillis();
+        int captureWidth = image.getWidth();
+        int captureHeight = image.getHeight();
+        float padding = highResRoiPadding / 100f;
+
+        try {
+            List<CachedBarcode> targets = new ArrayList<>(targetBarcodes.size());
+            List<Rect> regions = new ArrayList<>(targetBarcodes.size());
+            List<Rect> targetRegions = new ArrayList<>(targetBarcodes.size());
+            long regionArea = 0;
+            for (CachedBarcode target : targetBarcodes) {
+                Rect overlayRect = target.getOverlayRect().toRect();
+                Rect region = new Rect();
+                Rect targetRegion = new Rect();
+                if (coordinateMapper.mapOverlayToCaptureRegion(overlayRect, captureWidth, captureHeight,
+                        rotationDegrees, padding, region)
+                        && coordinateMapper.mapOverlayToCaptureRegion(overlayRect, captureWidth,
+                        captureHeight, rotationDegrees, 0f, targetRegion)) {
+                    targets.add(target);
+                    regions.add(region);
+                    targetRegions.add(targetRegion);
+                    regionArea += (long) region.width() * region.height();
+                } else {
+                    LogUtils.d(TAG, "HighRes: Target rect=" + target.getOverlayRect() + " is outside the capture");
+                }
+            }
+            if (regions.isEmpty()) {
+                LogUtils.w(TAG, "HighRes: No region to decode");
+                return;
+            }
+
+            long decodeStartTime = System.currentTimeMillis();
+            List<HighResRegionDecoder.RegionResult> results =
+                new HighResRegionDecoder(barcodeHandler).decodeRegions(image, regions);
+            long decodeTime = System.currentTimeMillis() - decodeStartTime;
+
+            int validatedCount = 0;
+            for (int i = 0; i < targets.size(); i++) {
+                CachedBarcode target = targets.get(i);
+                BarcodeEntity match = findRegionMatch(targetRegions.get(i), results.get(i));
+                if (match != null) {
+                    String oldValue = target.getLastValue();
+                    target.setValidatedValue(match.getValue());
+                    validatedCount++;
+                    LogUtils.i(TAG, "HighRes: *** VALIDATED *** '" + oldValue + "' -> '" + match.getValue() + "'");
+                } else {
+                    LogUtils.d(TAG, "HighRes: No match found in region " + regions.get(i) + " for target rect="
+                        + target.getOverlayRect() + " (" + results.get(i).entities.size() + " barcodes)");
+                }
+            }
+
+            long totalProcessingTime = System.currentTimeMillis() - processingStartTime;
+            LogUtils.i(TAG, "HighRes: ROI decode of " + regions.size() + " regions covering " +
+                String.format(Locale.US, "%.1f", regionArea * 100.0 / ((long) captureWidth * captureHeight)) +
+                "% of " + captureWidth + "x" + captureHeight + ": decode " + decodeTime + "ms, total " +
+                totalProcessingTime + "ms, validated " + validatedCount + "/" + targetBarcodes.size());
+        } catch (Exception e) {
+            LogUtils.e(TAG, "HighRes: Error in region processing: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Validates unstable barcodes by decoding the whole high-res image as tiles of the model
+     * input size, so that small barcodes keep their native resolution. The tiles are decoded
+     * without rotation, so each target is mapped to the raw capture coordinates to be matched.
      *
-     * @param image The ImageProxy to convert
-     * @return The converted Bitmap, or null if conversion fails
+     * @param image The captured high-res image
+     * @param targetBarcodes The list of unstable barcodes to validate
+     * @param rotationDegrees The rotation degrees from the captured image
      */
-    private Bitmap imageProxyToBitmap(ImageProxy image) {
+    private void processHighResTiles(ImageProxy image,
+            List<CachedBarcode> targetBarcodes, int rotationDegrees) {
+        if (barcodeHandler == null || !barcodeHandler.isDecoderReady()) {
+            LogUtils.w(TAG, "HighRes: Cannot decode tiles - decoder not ready");
+            return;
+        }
+        long processingStartTime = System.currentTimeMillis();
+        Bitmap bitmap = HighResFrameConverter.toBitmap(image);
+        if (bitmap == null) {
+            LogUtils.e(TAG, "HighRes: Failed to convert ImageProxy to Bitmap");
+            return;
+        }
+
         try {
-            if (image.getFormat() == ImageFormat.JPEG) {
-                ByteBuffer buffer = image.getPlanes()[0].getBuffer();
-                byte[] bytes = new byte[buffer.remaining()];
-                buffer.get(bytes);
-                return BitmapFactory.decodeByteArray(bytes, 0, bytes.length);
-            } else if (image.getFormat() == ImageFormat.YUV_420_888) {
-                // Convert YUV to JPEG first
-                ByteBuffer yBuffer = image.getPlanes()[0].getBuffer();
-                ByteBuffer uBuffer = image.getPlanes()[1].getBuffer();
-                ByteBuffer vBuffer = image.getPlanes()[2].getBuffer();
-
-                int ySize = yBuffer.remaining();
-                int uSize = uBuffer.remaining();
-                int vSize = vBuffer.remaining();
-
-                byte[] nv21 = new byte[ySize + uSize + vSize];
-                yBuffer.get(nv21, 0, ySize);
-                vBuffer.get(nv21, ySize, vSize);
-                uBuffer.get(nv21, ySize + vSize, uSize);
-
-                YuvImage yuvImage = new YuvImage(nv21, ImageFormat.NV21,
-                    image.getWidth(), image.getHeight(), null);
-                ByteArrayOutputStream out = new ByteArrayOutputStream();
-                yuvImage.compressToJpeg(new Rect(0, 0,
-                    image.getWidth(), image.getHeight()), 90, out);
-
-                byte[] imageBytes = out.toByteArray();
-                return BitmapFactory.decodeByteArray(imageBytes, 0, imageBytes.length);
+            long decodeStartTime = System.currentTimeMillis();
+            List<TiledBitmapDecoder.Detection> detections = barcodeHandler.decodeBitmapTiled(bitmap).get();
+            long decodeTime = System.currentTimeMillis() - decodeStartTime;
+
+            int validatedCount = 0;
+            Rect targetRegion = new Rect();
+            for (CachedBarcode target : targetBarcodes) {
+                if (!coordinateMapper.mapOverlayToCaptureRegion(target.getOverlayRect().toRect(), bitmap.getWidth(),
+                        bitmap.getHeight(), rotationDegrees, 0f, targetRegion)) {
+                    LogUtils.d(TAG, "HighRes: Target rect=" + target.getOverlayRect() + " is outside the capture");
+                    continue;
+                }
+                BarcodeEntity match = findTileMatch(targetRegion, detections);
+                if (match != null) {
+                    String oldValue = target.getLastValue();
+                    target.setValidatedValue(match.getValue());
+                    validatedCount++;
+                    LogUtils.i(TAG, "HighRes: *** VALIDATED *** '" + oldValue + "' -> '" + match.getValue() + "'");
+                } else {
+                    LogUtils.d(TAG, "HighRes: No match found in tiles for target rect=" + target.getOverlayRect());
+                }
             }
-            LogUtils.w(TAG, "Unsupported image format: " + image.getFormat());
-            return null;
+
+            long totalProcessingTime = System.currentTimeMillis() - processingStartTime;
+            LogUtils.i(TAG, "HighRes: Tiled decode of " + bitmap.getWidth() + "x" + bitmap.getHeight() + ": " +
+                detections.size() + " barcodes, decode " + decodeTime + "ms, total " + totalProcessingTime +
+                "ms, validated " + validatedCount + "/" + targetBarcodes.size());
         } catch (Exception e) {
-            LogUtils.e(TAG, "Error converting ImageProxy to Bitmap: " + e.getMessage(), e);
-            return null;
+            LogUtils.e(TAG, "HighRes: Error in tiled processing: " + e.getMessage(), e);
+        } finally {
+            bitmap.recycle();
+        }
+    }
+
+    /**
+     * Finds the tiled detection that belongs to the target.
+     *
+     * @param targetRegion The target in raw capture coordinates
+     * @param detections The tiled detections, bounds in raw capture coordinates
+     * @return The decoded barcode whose center lies in the target with the best IOU, or null
+     */
+    private BarcodeEntity findTileMatch(Rect targetRegion, List<TiledBitmapDecoder.Detection> detections) {
+        BarcodeEntity best = null;
+        double bestIOU = -1;
+        for (TiledBitmapDecoder.Detection detection : detections) {
+            Rect bounds = detection.bounds;
+            String value = detection.entity.getValue();
+            if (value == null || value.isEmpty() || !targetRegion.contains(bounds.centerX(), bounds.centerY())) {
+                continue;
+            }
+            double iou = calculateIOU(targetRegion, bounds);
+            if (iou > bestIOU) {
+                bestIOU = iou;
+                best = detection.entity;
+            }
         }
+        return best;
+    }
+
+    /**
+     * Finds the barcode decoded in a region that belongs to the target, the region padding
+     * possibly showing parts of its neighbours.
+     *
+     * @param targetRegion The unpadded target in raw capture coordinates
+     * @param result The results of the padded region, bounding boxes relative to the region
+     * @return The decoded barcode whose center lies in the target with the best IOU, or null
+     */
+    private BarcodeEntity findRegionMatch(Rect targetRegion, HighResRegionDecoder.RegionResult result) {
+        Rect target = new Rect(targetRegion);
+        target.offset(-result.region.left, -result.region.top);
+        BarcodeEntity best = null;
+        double bestIOU = -1;
+        for (BarcodeEntity entity : result.entities) {
+            Rect bbox = entity.getBoundingBox();
+            if (bbox == null || entity.getValue() == null || entity.getValue().isEmpty()
+                    || !target.contains(bbox.centerX(), bbox.centerY())) {
+                continue;
+            }
+            double iou = calculateIOU(target, bbox);
+            if (iou > bestIOU) {
+                bestIOU = iou;
+                best = entity;
+            }
+        }
+        return best;
     }
 
     /**
@@ -1150,7 +1512,7 @@ public class CameraXLivePreviewActivity extends BaseActivity implements BarcodeA
     private void updateAnalyzerTimingCallback() {
         if (barcodeHandler != null && barcodeHandler.getBarcodeAnalyzer() != null) {
             BarcodeAnalyzer analyzer = barcodeHandler.getBarcodeAnalyzer();
-            if (displayAnalysisPerSecond) {
+            if (displayAnalysisPerSecond || displayLatencyHistograms) {
                 analyzer.setTimingCallback(this);
                 analyzer.setTimingEnabled(true);
                 LogUtils.d(TAG, "Timing callback enabled on analyzer");
@@ -1162,6 +1524,82 @@ public class CameraXLivePreviewActivity extends BaseActivity implements BarcodeA
         }
     }
 
+    private void updateAnalyzerFrameFormat() {
+        if (barcodeHandler != null && barcodeHandler.getBarcodeAnalyzer() != null) {
+            barcodeHandler.getBarcodeAnalyzer().setLuminanceOnlyEnabled(luminanceOnlyFrames);
+            barcodeHandler.getBarcodeAnalyzer().setCropTransformSettings(nativeCropTransform,
+                    modelInputSize.getWidth(), modelInputSize.getHeight());
+        }
+    }
+
+    private void updateAnalyzerPipelineDepth() {
+        if (barcodeHandler != null && barcodeHandler.getBarcodeAnalyzer() != null) {
+            barcodeHandler.getBarcodeAnalyzer().setPipelineDepth(analyzerPipelineDepth);
+        }
+    }
+
+    /**
+     * Starts recording the analyzer frames to a new file when frame recording is enabled.
+     * The recording is closed in onPause, so each camera session gets its own file.
+     */
+    private void updateAnalyzerFrameRecorder() {
+        if (barcodeHandler == null || barcodeHandler.getBarcodeAnalyzer() == null) {
+            return;
+        }
+        if (!isFrameRecordingEnabled) {
+            stopFrameRecording();
+            return;
+        }
+        if (frameRecorder != null) {
+            return;
+        }
+        File folder = getExternalFilesDir(Constants.FRAME_RECORDINGS_FOLDER);
+        if (folder == null || (!folder.exists() && !folder.mkdirs())) {
+            LogUtils.e(TAG, "Can not create frame recordings folder");
+            return;
+        }
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyyMMdd_HHmmss", Locale.US);
+        File file = new File(folder, "frames_" + sdf.format(new Date()) + ".aimr");
+        try {
+            frameRecorder = new FrameRecorder(file, frameRecordingMaxMb * 1024L * 1024L);
+            barcodeHandler.getBarcodeAnalyzer().setFrameRecorder(frameRecorder);
+        } catch (IOException | IllegalArgumentException e) {
+            LogUtils.e(TAG, "Can not start frame recording: " + e.getMessage());
+            frameRecorder = null;
+        }
+    }
+
+    private void stopFrameRecording() {
+        if (frameRecorder == null) {
+            return;
+        }
+        if (barcodeHandler != null && barcodeHandler.getBarcodeAnalyzer() != null) {
+            barcodeHandler.getBarcodeAnalyzer().setFrameRecorder(null);
+        }
+        try {
+            frameRecorder.close();
+            LogUtils.i(TAG, "Frame recording saved: " + frameRecorder.getFile().getAbsolutePath()
+                    + " (" + frameRecorder.getFrameCount() + " frames)");
+        } catch (IOException e) {
+            LogUtils.e(TAG, "Can not close frame recording: " + e.getMessage());
+        }
+        frameRecorder = null;
+    }
+
+    private void updateAnalyzerPredictedFrames() {
+        if (barcodeHandler != null && barcodeHandler.getBarcodeAnalyzer() != null) {
+            // Predicted frames are drawn from the debounce cache
+            barcodeHandler.getBarcodeAnalyzer().setPredictedFrameInterval(debounceManager.isEnabled() ? predictedFrameInterval : 0);
+        }
+    }
+
+    private void updateAnalyzerMotionGate() {
+        if (barcodeHandler != null && barcodeHandler.getBarcodeAnalyzer() != null) {
+            barcodeHandler.getBarcodeAnalyzer().setMotionGateSettings(isMotionGateEnabled,
+                    motionGateCellThreshold, motionGateChangedCellsPercent, motionGateMaxSkippedFrames);
+        }
+    }
+
     @Override
     public void onAnalysisTiming(long analysisTimeMs, int analysisPerSecond) {
         // Update the overlay on UI thread
@@ -1170,9 +1608,120 @@ public class CameraXLivePreviewActivity extends BaseActivity implements BarcodeA
                 String text = String.format(getString(R.string.analysis_overlay_format), analysisPerSecond, analysisTimeMs);
                 analysisOverlay.setText(text);
             }
+            if (latencyOverlay != null && displayLatencyHistograms) {
+                updateLatencyOverlay();
+            }
         });
     }
 
+    /**
+     * Refreshes the per-stage latency overlay (p50/p95/p99/max in milliseconds).
+     * Throttled because it is triggered after every analysis.
+     */
+    private void updateLatencyOverlay() {
+        long now = SystemClock.elapsedRealtime();
+        if (now - lastLatencyOverlayUpdateMs < LATENCY_OVERLAY_REFRESH_MS) {
+            return;
+        }
+        if (barcodeHandler == null || barcodeHandler.getBarcodeAnalyzer() == null) {
+            return;
+        }
+        lastLatencyOverlayUpdateMs = now;
+
+        BarcodeAnalyzer analyzer = barcodeHandler.getBarcodeAnalyzer();
+        StageLatencyRecorder recorder = analyzer.getLatencyRecorder();
+        String format = getString(R.string.latency_overlay_stage_format);
+        StringBuilder text = new StringBuilder();
+        for (ELatencyStage stage : ELatencyStage.values()) {
+            LatencyHistogram.Snapshot snapshot = recorder.snapshot(stage);
+            if (snapshot.count == 0) {
+                continue;
+            }
+            if (text.length() > 0) {
+                text.append('\n');
+            }
+            text.append(String.format(Locale.US, format, stage.getLabel(),
+                    snapshot.p50Micros / 1000.0, snapshot.p95Micros / 1000.0,
+                    snapshot.p99Micros / 1000.0, snapshot.maxMicros / 1000.0));
+        }
+        if (text.length() > 0) {
+            text.append('\n');
+            text.append(String.format(Locale.US, getString(R.string.pipeline_queues_overlay_format),
+                    cropQueueDepth, decodeQueueDepth, postQueueDepth, analyzer.getPipelineDepth()));
+        }
+        if (analyzer.isMotionGateEnabled()) {
+            if (text.length() > 0) {
+                text.append('\n');
+            }
+            text.append(String.format(Locale.US, getString(R.string.motion_gate_overlay_format),
+                    analyzer.getMotionGateSkipRatio() * 100f));
+        }
+        if (debounceManager.isEnabled()) {
+            DebounceManager.TrackStatistics tracks = debounceManager.getTrackStatistics();
+            if (tracks.tracksEnded > 0) {
+                if (text.length() > 0) {
+                    text.append('\n');
+                }
+                text.append(String.format(Locale.US, getString(R.string.track_continuity_overlay_format),
+                        tracks.continuity * 100f, tracks.meanTrackSpan, tracks.predictionRescues));
+            }
+        }
+        if (barcodeGraphic.getPositionErrorCount() > 0) {
+            if (text.length() > 0) {
+                text.append('\n');
+            }
+            text.append(String.format(Locale.US, getString(R.string.overlay_motion_overlay_format),
+                    barcodeGraphic.getMotionMode().toString(), barcodeGraphic.getMeanPositionError()));
+        }
+        ValueMemo<Boolean> filterMemo = detectionResultProcessor.getFilteringProgram().getDecisionMemo();
+        ValueMemo<boolean[]> captureMemo = autoCapturePlan.getMatchMemo();
+        if (filterMemo != null || captureMemo != null) {
+            if (text.length() > 0) {
+                text.append('\n');
+            }
+            text.append(String.format(Locale.US, getString(R.string.decision_memo_overlay_format),
+                    filterMemo != null ? filterMemo.getHitRate() * 100f : 0f,
+                    captureMemo != null ? captureMemo.getHitRate() * 100f : 0f));
+        }
+        DecoderWarmUp.Result warmUp = barcodeHandler.getWarmUpResult();
+        if (warmUp != null) {
+            if (text.length() > 0) {
+                text.append('\n');
+            }
+            text.append(String.format(Locale.US, getString(R.string.warm_up_overlay_format),
+                    warmUp.coldNanos / 1e6, warmUp.warmNanos / 1e6, warmUp.frames));
+        }
+        if (isDecoderWarmPoolEnabled) {
+            BarcodeDecoderManager decoderManager = ((MainApplication) getApplication()).getBarcodeDecoderManager();
+            long timeToFirstDecodeMs = decoderManager.getTimeToFirstDecodeMs();
+            if (timeToFirstDecodeMs >= 0) {
+                if (text.length() > 0) {
+                    text.append('\n');
+                }
+                text.append(String.format(Locale.US, getString(R.string.time_to_first_decode_overlay_format),
+                        timeToFirstDecodeMs, getString(decoderManager.isFirstDecodeWarm()
+                                ? R.string.decoder_state_warm : R.string.decoder_state_cold)));
+            }
+        }
+        int frames = renderedFrames;
+        if (frames > 0) {
+            if (text.length() > 0) {
+                text.append('\n');
+            }
+            text.append(String.format(Locale.US, getString(R.string.frame_metrics_overlay_format),
+                    jankyFrames * 100f / frames, frames));
+        }
+        latencyOverlay.setText(text.toString());
+    }
+
+    @Override
+    public void onPipelineQueueDepths(int cropQueueDepth, int decodeQueueDepth, int postQueueDepth) {
+        // Called after every analysis, the latency overlay reads them on its next refresh
+        this.cropQueueDepth = cropQueueDepth;
+        this.decodeQueueDepth = decodeQueueDepth;
+        this.postQueueDepth = postQueueDepth;
+    }
+
     /**
      * Determines if an entity should be included based on the filtering conditions.
      * Uses OR logic: entity matches if it satisfies ANY condition.
@@ -1181,19 +1730,6 @@ public class CameraXLivePreviewActivity extends BaseActivity implements BarcodeA
      * @param entity The barcode entity to evaluate
      * @return true if the entity should be included, false otherwise
      */
-    private boolean shouldIncludeEntity(BarcodeEntity entity)
-    {
-        if (!isFilteringEnabled) {
-            // If filtering is disabled, include all entities
-            return true;
-        }
-
-        // Use FilteringEvaluator with OR logic
-        boolean shouldInclude = FilteringEvaluator.shouldIncludeEntity(entity, filteringConditions);
-        LogUtils.v(TAG, "Filtering - Entity value: '" + entity.getValue() + "', symbology: " + entity.getSymbology() + ", shouldInclude: " + shouldInclude);
-        return shouldInclude;
-    }
-
     private boolean isBarcodeInCaptureZone(Rect overlayRect) {
         // If capture zone is not enabled or overlay is not available, allow all barcodes
         if (captureZoneOverlay == null || !captureZoneOverlay.isVisible()) {
@@ -1329,142 +1865,42 @@ public class CameraXLivePreviewActivity extends BaseActivity implements BarcodeA
     // Handles barcode detection results and updates the graphical overlay
     @Override
     public void onDetectionResult(List<BarcodeEntity> result) {
-        List<Rect> rects = new ArrayList<>();
-        List<String> decodedStrings = new ArrayList<>();
-        List<Integer> colors = new ArrayList<>();  // Track color for each barcode
-        List<BarcodeEntity> filtered_entities = new ArrayList<>();
-
-        // Track which cache entries were used this frame (for debounce)
-        List<CachedBarcode> usedCacheEntries = new ArrayList<>();
+        final StageLatencyRecorder latencyRecorder = getActiveLatencyRecorder();
+        final long mappingStartNanos = latencyRecorder != null ? System.nanoTime() : 0;
 
-        // Get crop region and rotation info if cropping is enabled
+        // Get crop region and rotation info of the frame these results come from
+        // (the crop region may differ from frame to frame with adaptive ROI)
         Rect cropRegion = null;
         int imageRotationDegrees = 0;
+        int cropScale = 1;
+        boolean cropUpright = false;
+        boolean predictedFrame = false;
         if (barcodeHandler != null && barcodeHandler.getBarcodeAnalyzer() != null) {
             BarcodeAnalyzer analyzer = barcodeHandler.getBarcodeAnalyzer();
-            if (analyzer.isCroppingEnabled()) {
-                cropRegion = analyzer.getCropRegion();
-                imageRotationDegrees = analyzer.getLastImageRotationDegrees();
-                LogUtils.v(TAG, "Crop region active: " + cropRegion + ", rotationDegrees: " + imageRotationDegrees);
-            }
-        }
-
-        if (result != null) {
-            for (BarcodeEntity bEntity : result) {
-                Rect rect = bEntity.getBoundingBox();
-                if (rect != null) {
-                    Rect adjustedRect;
-                    if (cropRegion != null) {
-                        // The bounding box from the decoder is relative to the cropped image.
-                        // The crop was done in raw sensor space, so we add the crop offset
-                        // in raw sensor space to get full raw sensor coordinates.
-                        Rect rawSensorRect = coordinateMapper.adjustBboxForCropRegion(rect, cropRegion);
-                        LogUtils.v(TAG, "Raw sensor rect: " + rawSensorRect + " (bbox " + rect + " + crop offset " + cropRegion.left + "," + cropRegion.top + ")");
-
-                        // Transform from raw sensor space to effective (rotated) image space.
-                        // This is needed because we decoded with rotation=0, so bboxes are in raw sensor coords,
-                        // but mapBoundingBoxToOverlay expects effective image coords.
-                        adjustedRect = coordinateMapper.transformRawSensorToEffective(rawSensorRect, imageRotationDegrees);
-                        LogUtils.v(TAG, "Effective rect after rotation transform: " + adjustedRect);
-                    } else {
-                        adjustedRect = rect;
-                    }
-
-                    // Update overlay dimensions and get the overlay rect
-                    coordinateMapper.setOverlayDimensions(
-                            binding.graphicOverlay.getWidth(),
-                            binding.graphicOverlay.getHeight());
-                    Display display = getWindowManager().getDefaultDisplay();
-                    int currentRotation = display.getRotation();
-                    Rect overlayRect = coordinateMapper.mapBoundingBoxToOverlay(adjustedRect, currentRotation);
-
-                    // Get the barcode value and symbology
-                    String barcodeValue = bEntity.getValue();
-                    int symbology = bEntity.getSymbology();
-                    boolean usedCache = false;  // Track if cache was used for color coding
-                    BarcodeEntity entityToCapture = bEntity;  // Entity to use for capture
-
-                    // Apply debounce logic if enabled
-                    if (debounceManager.isEnabled()) {
-                        if (barcodeValue != null && !barcodeValue.isEmpty()) {
-                            // Barcode has a value - update the cache
-                            if (isHighResStabilizationEnabled) {
-                                LogUtils.d(TAG, "HighRes-Preview: Caching barcode '" + barcodeValue + "'");
-                                LogUtils.d(TAG, "HighRes-Preview:   Raw bbox from SDK: " + rect);
-                                LogUtils.d(TAG, "HighRes-Preview:   After adjustments: " + adjustedRect);
-                                LogUtils.d(TAG, "HighRes-Preview:   Final overlayRect: " + overlayRect);
-                                LogUtils.d(TAG, "HighRes-Preview:   imageWidth=" + coordinateMapper.getImageWidth() + ", imageHeight=" + coordinateMapper.getImageHeight());
-                            }
-                            debounceManager.updateOrAddToCache(bEntity, overlayRect);
-                            // usedCache stays false - this is a fresh decode
-                        } else {
-                            // Barcode has no value - try to find a cached match
-                            CachedBarcode cachedMatch = debounceManager.findCachedMatch(overlayRect, usedCacheEntries);
-                            if (cachedMatch != null) {
-                                // Use cached value and entity
-                                barcodeValue = cachedMatch.getValue();
-                                symbology = cachedMatch.getSymbology();
-                                entityToCapture = cachedMatch.getEntity();  // Use cached entity for capture
-                                usedCacheEntries.add(cachedMatch);
-                                cachedMatch.updatePosition(overlayRect);
-                                cachedMatch.resetFrameAge();
-                                // Update stability tracking - empty value indicates instability
-                                cachedMatch.updateValue(bEntity.getValue());
-                                usedCache = true;  // Mark as cache hit
-                                LogUtils.v(TAG, "Debounce: Using cached value '" + barcodeValue + "' for empty barcode");
-                            }
-                        }
-                    }
-
-
-                    // Check if the entity passes the filtering conditions
-                    // If filtering is not enabled, it returns always true
-                    if (barcodeValue != null && !barcodeValue.isEmpty() && shouldIncludeEntity(entityToCapture)) {
-                        // Now if necessary, check if the barcode meets the
-                        rects.add(overlayRect);
-                        String hashCode = String.valueOf(entityToCapture.hashCode());
-                        // Ensure the string has at least 4 characters
-                        if (hashCode.length() >= 4) {
-                            // Get the last four digits
-                            hashCode = hashCode.substring(hashCode.length() - 4);
-                        }
-                        decodedStrings.add(barcodeValue);
-                        colors.add(usedCache ? Color.BLUE : Color.GREEN);  // BLUE for cached, GREEN for decoded
-                        LogUtils.d(TAG, "Tracker UUID: " + hashCode + " Tracker Detected entity - Value: " + barcodeValue);
-                        filtered_entities.add(entityToCapture);
-                    } else if (barcodeValue == null || barcodeValue.isEmpty()) {
-                        // Show RED box for empty barcodes (no value, no cache match)
-                        rects.add(overlayRect);
-                        decodedStrings.add("");  // Empty string for display
-                        colors.add(Color.RED);
-                        LogUtils.v(TAG, "Barcode has no value (and no cache match), showing RED box");
-                    } else {
-                        LogUtils.v(TAG, "Barcode does not match filtering conditions, ignoring: " + barcodeValue);
-                    }
-                }
-            }
-        }
-        else
-        {
-            LogUtils.v(TAG, "Results empty.");
-
-            // If debounce is enabled, use cached barcodes when detection returns no results
-            List<CachedBarcode> debounceCache = debounceManager.getCache();
-            if (debounceManager.isEnabled() && !debounceCache.isEmpty()) {
-                LogUtils.v(TAG, "Debounce: Using " + debounceCache.size() + " cached barcodes for empty detection result");
-                for (CachedBarcode cached : debounceCache) {
-                    rects.add(cached.getOverlayRect());
-                    decodedStrings.add(cached.getValue());
-                    colors.add(Color.BLUE);  // All cached entries are BLUE
-                    filtered_entities.add(cached.getEntity());
-                    LogUtils.v(TAG, "Debounce: Added cached barcode '" + cached.getValue() + "' at (" + cached.getCenterX() + ", " + cached.getCenterY() + ")");
+            predictedFrame = analyzer.isResultPredicted();
+            cropRegion = analyzer.getResultCropRegion();
+            if (cropRegion != null) {
+                imageRotationDegrees = analyzer.getResultRotationDegrees();
+                cropScale = analyzer.getResultCropScale();
+                cropUpright = analyzer.isResultCropUpright();
+                if (LogUtils.isLoggingEnabled()) {
+                    LogUtils.v(TAG, "Crop region active: " + cropRegion + ", rotationDegrees: " + imageRotationDegrees
+                            + ", scale: " + cropScale + ", upright: " + cropUpright);
                 }
             }
         }
 
-        // Age and prune cache after processing all barcodes
-        if (debounceManager.isEnabled()) {
-            debounceManager.incrementAndPruneCacheAge();
+        // Display rotation and overlay size are read once per frame
+        int displayRotation = getWindowManager().getDefaultDisplay().getRotation();
+        // Frames skipped by the analyzer show the tracked barcodes at their predicted positions
+        DetectionResultProcessor.FrameResult frameResult = predictedFrame
+                ? detectionResultProcessor.predict()
+                : detectionResultProcessor.process(result, cropRegion, cropScale, cropUpright, imageRotationDegrees,
+                        binding.graphicOverlay.getWidth(), binding.graphicOverlay.getHeight(), displayRotation);
+
+        // Follow the tracked barcodes with the adaptive crop region
+        if (adaptiveRoiController.isEnabled()) {
+            updateAdaptiveCropRegion();
         }
 
         // Check for high-res stabilization trigger (after debounce processing)
@@ -1472,23 +1908,100 @@ public class CameraXLivePreviewActivity extends BaseActivity implements BarcodeA
             checkAndTriggerHighResCapture();
         }
 
-        entitiesHolder = filtered_entities;
+        overlayFrameHandOff.keepLatest(frameResult);
 
         // Auto capture evaluation
-        if (isAutoCaptureEnabled && autoCaptureConditions != null && !autoCaptureConditions.isEmpty()) {
-            if (AutoCaptureEvaluator.evaluateConditions(autoCaptureConditions, filtered_entities)) {
+        AutoCapturePlan plan = autoCapturePlan;
+        if (isAutoCaptureEnabled && plan.hasConditions()) {
+            if (plan.evaluate(frameResult.filteredEntities)) {
+                frameResult.release();
+                if (latencyRecorder != null) {
+                    latencyRecorder.recordSince(ELatencyStage.MAPPING, mappingStartNanos);
+                }
                 runOnUiThread(() -> captureData());
                 return; // Skip overlay update since we're capturing
             }
         }
 
-        runOnUiThread(() -> {
-            binding.graphicOverlay.clear();
-            if (rects.size() > 0) {
-                binding.graphicOverlay.clear();
-                binding.graphicOverlay.add(new BarcodeGraphic(binding.graphicOverlay, rects, decodedStrings, colors));
+        if (latencyRecorder != null) {
+            long postNanos = System.nanoTime();
+            latencyRecorder.record(ELatencyStage.MAPPING, postNanos - mappingStartNanos);
+            overlayPostNanos = postNanos;
+        } else {
+            overlayPostNanos = 0;
+        }
+
+        // Hand our reference over to the overlay
+        overlayFrameHandOff.post(frameResult);
+    }
+
+    /**
+     * Draws the pending frame on the overlay, on the UI thread.
+     */
+    private void updateOverlay() {
+        DetectionResultProcessor.FrameResult frameResult = overlayFrameHandOff.takePending();
+        if (frameResult == null) {
+            return;
+        }
+        barcodeGraphic.update(frameResult);
+        frameResult.release();
+        // Overlay stage covers the wait for the UI thread plus the overlay update
+        StageLatencyRecorder latencyRecorder = getActiveLatencyRecorder();
+        long postNanos = overlayPostNanos;
+        if (latencyRecorder != null && postNanos != 0) {
+            latencyRecorder.recordSince(ELatencyStage.OVERLAY, postNanos);
+        }
+    }
+
+    /**
+     * Starts collecting the render time of the preview window: the total duration of each
+     * frame goes to the render stage of the latency recorder, and frames exceeding their
+     * deadline are counted as janky.
+     */
+    private void startFrameMetrics() {
+        if (frameMetricsListener != null) {
+            return;
+        }
+        renderedFrames = 0;
+        jankyFrames = 0;
+        frameMetricsThread = new HandlerThread("FrameMetrics");
+        frameMetricsThread.start();
+        frameMetricsListener = (window, frameMetrics, dropCountSinceLastInvocation) -> {
+            long totalNanos = frameMetrics.getMetric(FrameMetrics.TOTAL_DURATION);
+            StageLatencyRecorder latencyRecorder = getActiveLatencyRecorder();
+            if (latencyRecorder != null) {
+                latencyRecorder.record(ELatencyStage.RENDER, totalNanos);
             }
-        });
+            renderedFrames++;
+            if (totalNanos > frameMetrics.getMetric(FrameMetrics.DEADLINE)) {
+                jankyFrames++;
+            }
+        };
+        getWindow().addOnFrameMetricsAvailableListener(frameMetricsListener,
+                new Handler(frameMetricsThread.getLooper()));
+    }
+
+    private void stopFrameMetrics() {
+        if (frameMetricsListener == null) {
+            return;
+        }
+        getWindow().removeOnFrameMetricsAvailableListener(frameMetricsListener);
+        frameMetricsListener = null;
+        frameMetricsThread.quitSafely();
+        frameMetricsThread = null;
+    }
+
+    /**
+     * Returns the analyzer latency recorder when timing is enabled, null otherwise,
+     * so the mapping and overlay stages are only timed while the timing overlay is on.
+     */
+    @Nullable
+    private StageLatencyRecorder getActiveLatencyRecorder() {
+        if (barcodeHandler != null && barcodeHandler.getBarcodeAnalyzer() != null
+                && barcodeHandler.getBarcodeAnalyzer().isTimingEnabled()) {
+            return barcodeHandler.getBarcodeAnalyzer().getLatencyRecorder();
+        }
+        return null;
     }
 
     private void bindAnalysisUseCase() {
@@ -1498,7 +2011,14 @@ public class CameraXLivePreviewActivity extends BaseActivity implements BarcodeA
         try {
             LogUtils.i(TAG, "Using Entity Analyzer");
             executors.execute(() -> {
-                barcodeHandler = new BarcodeHandler(this, this, analysisUseCase);
+                MainApplication application = (MainApplication) getApplication();
+                isDecoderWarmPoolEnabled = application.isDecoderWarmPoolEnabled();
+                if (isDecoderWarmPoolEnabled) {
+                    // Reuse the decoder preloaded at application start, rebuilt only if its settings changed
+                    barcodeHandler = new BarcodeHandler(this, this, analysisUseCase, application.getBarcodeDecoderManager());
+                } else {
+                    barcodeHandler = new BarcodeHandler(this, this, analysisUseCase);
+                }
                 // Set callback to initialize crop region once analyzer is ready
                 barcodeHandler.setAnalyzerReadyCallback(new BarcodeHandler.AnalyzerReadyCallback() {
                     @Override
@@ -1508,6 +2028,11 @@ public class CameraXLivePreviewActivity extends BaseActivity implements BarcodeA
                         runOnUiThread(() -> {
                             updateAnalyzerCropRegion();
                             updateAnalyzerTimingCallback();
+                            updateAnalyzerFrameFormat();
+                            updateAnalyzerPipelineDepth();
+                            updateAnalyzerMotionGate();
+                            updateAnalyzerPredictedFrames();
+                            updateAnalyzerFrameRecorder();
                         });
                     }
                 });
@@ -1526,7 +2051,7 @@ public class CameraXLivePreviewActivity extends BaseActivity implements BarcodeA
             return;
         }
         if (previewUseCase != null) {
-            binding.graphicOverlay.clear();
+            barcodeGraphic.clearBoxes();
             cameraProvider.unbind(previewUseCase);
         }
         if (analysisUseCase != null) {
@@ -1570,10 +2095,10 @@ public class CameraXLivePreviewActivity extends BaseActivity implements BarcodeA
         // This is critical because CameraX may select a different resolution than requested
         updateActualImageDimensions();
 
-        // Setup and bind ImageCapture separately if high-res stabilization is enabled
+        // Setup and bind ImageCapture separately if high-res stabilization or dense capture is enabled
         // Binding separately allows ImageCapture to get the true maximum sensor resolution
         // instead of being limited by the Preview + ImageAnalysis stream combination
-        if (isHighResStabilizationEnabled) {
+        if (isHighResStabilizationEnabled || isDenseCaptureEnabled) {
             setupImageCapture();
             if (imageCaptureUseCase != null) {
                 LogUtils.d(TAG, "Binding ImageCapture separately for maximum resolution");
@@ -1608,26 +2133,47 @@ public class CameraXLivePreviewActivity extends BaseActivity implements BarcodeA
             loadCaptureZoneSettings();
         }
 
+        // Read every setting once, the loaders below only apply them
+        CameraActivitySettingsLoader.CameraSettings settings = CameraActivitySettingsLoader.loadAllSettings(this);
+
         // Load filtering settings
-        loadFilteringSettings();
+        loadFilteringSettings(settings);
 
         // Load capture mode settings
-        loadCaptureModeSettings();
+        loadCaptureModeSettings(settings);
 
         // Load display analysis per second settings
-        loadDisplayAnalysisSettings();
+        loadDisplayAnalysisSettings(settings);
+
+        // Load luminance-only frames settings
+        loadLuminanceOnlyFramesSettings(settings);
+
+        // Load analyzer pipeline settings
+        loadAnalyzerPipelineSettings(settings);
+
+        // Load motion gate settings
+        loadMotionGateSettings(settings);
+
+        // Load frame recording settings
+        loadFrameRecordingSettings(settings);
 
         // Load force continuous autofocus settings
-        loadForceContinuousAutofocusSettings();
+        loadForceContinuousAutofocusSettings(settings);
 
         // Load debounce settings
-        loadDebounceSettings();
+        loadDebounceSettings(settings);
+
+        // Load overlay motion settings
+        loadOverlayMotionSettings(settings);
+
+        // Load adaptive ROI settings (after debounce, which it depends on)
+        loadAdaptiveRoiSettings(settings);
 
         // Load auto capture settings
-        loadAutoCaptureSettings();
+        loadAutoCaptureSettings(settings);
 
         // Load high-res stabilization settings
-        loadHighResStabilizationSettings();
+        loadHighResStabilizationSettings(settings);
 
         // Flashlight settings are now loaded after camera is bound in bindPreviewUseCase()
 
@@ -1664,6 +2210,22 @@ public class CameraXLivePreviewActivity extends BaseActivity implements BarcodeA
         super.onPause();
         LogUtils.v(TAG, "onPause called");
 
+        if (debounceManager.isEnabled()) {
+            LogUtils.i(TAG, "Track continuity: " + debounceManager.getTrackStatistics());
+        }
+        if (barcodeGraphic.getPositionErrorCount() > 0) {
+            LogUtils.i(TAG, "Overlay motion " + barcodeGraphic.getMotionMode() + ": mean position error "
+                    + barcodeGraphic.getMeanPositionError() + " px over " + barcodeGraphic.getPositionErrorCount() + " results");
+        }
+        ValueMemo<Boolean> filterMemo = detectionResultProcessor.getFilteringProgram().getDecisionMemo();
+        if (filterMemo != null) {
+            LogUtils.i(TAG, "Filtering decision memo: " + filterMemo);
+        }
+        ValueMemo<boolean[]> captureMemo = autoCapturePlan.getMatchMemo();
+        if (captureMemo != null) {
+            LogUtils.i(TAG, "Auto capture match memo: " + captureMemo);
+        }
+
         // Unregister the BroadcastReceiver
         try {
             unregisterReceiver(reloadPreferencesReceiver);
@@ -1674,6 +2236,8 @@ public class CameraXLivePreviewActivity extends BaseActivity implements BarcodeA
         }
 
         stopAnalyzing();
+        stopFrameRecording();
+        stopFrameMetrics();
         unBindCameraX();
         disposeModels();
     }
@@ -1712,31 +2276,111 @@ public class CameraXLivePreviewActivity extends BaseActivity implements BarcodeA
         }
     }
 
-    private void captureData() {
-        if(entitiesHolder != null) {
-             if(entitiesHolder.size() > 0)
-            {
-                ArrayList<Bundle> barcodeDataList = new ArrayList<>();
-                for (BarcodeEntity bEntity : entitiesHolder) {
-                    Bundle barcodeBundle = new Bundle();
-                    barcodeBundle.putString("value", bEntity.getValue());
-                    barcodeBundle.putInt("symbology", bEntity.getSymbology());
-                    barcodeBundle.putInt("hashcode", bEntity.hashCode());
-                    barcodeDataList.add(barcodeBundle);
-                }
+    /**
+     * Takes a single high-res shot and decodes it as tiles of the model input size, to capture
+     * every barcode of a dense scene, small and far away ones included, in one go. The decoded
+     * barcodes that pass the filters are shown like a regular capture.
+     */
+    private void triggerDenseCapture() {
+        if (imageCaptureUseCase == null) {
+            LogUtils.w(TAG, "Dense capture: ImageCapture use case is null");
+            return;
+        }
+        if (barcodeHandler == null || !barcodeHandler.isDecoderReady()) {
+            LogUtils.w(TAG, "Dense capture: decoder not ready");
+            return;
+        }
+        if (isDenseCapturing) {
+            LogUtils.w(TAG, "Dense capture: already capturing");
+            return;
+        }
+        isDenseCapturing = true;
+        showHighResFlash();
+        final long captureStartTime = System.currentTimeMillis();
+
+        imageCaptureUseCase.takePicture(executors,
+            new ImageCapture.OnImageCapturedCallback() {
+                @Override
+                public void onCaptureSuccess(@NonNull ImageProxy image) {
+                    long captureTime = System.currentTimeMillis() - captureStartTime;
+                    Bitmap bitmap = HighResFrameConverter.toBitmap(image);
+                    image.close();
+                    if (bitmap == null) {
+                        LogUtils.e(TAG, "Dense capture: Failed to convert ImageProxy to Bitmap");
+                        runOnUiThread(() -> isDenseCapturing = false);
+                        return;
+                    }
 
-                Bundle bundle = new Bundle();
-                bundle.putParcelableArrayList("barcodeDataList", barcodeDataList);
+                    ArrayList<Bundle> barcodeDataList = new ArrayList<>();
+                    try {
+                        long decodeStartTime = System.currentTimeMillis();
+                        List<TiledBitmapDecoder.Detection> detections = barcodeHandler.decodeBitmapTiled(bitmap).get();
+                        FilteringProgram filteringProgram = detectionResultProcessor.getFilteringProgram();
+                        for (TiledBitmapDecoder.Detection detection : detections) {
+                            BarcodeEntity entity = detection.entity;
+                            if (entity.getValue() == null || entity.getValue().isEmpty()
+                                    || (isFilteringEnabled && !filteringProgram.shouldIncludeEntity(entity))) {
+                                continue;
+                            }
+                            barcodeDataList.add(toBarcodeBundle(entity));
+                        }
+                        LogUtils.i(TAG, "Dense capture of " + bitmap.getWidth() + "x" + bitmap.getHeight() +
+                            ": capture " + captureTime + "ms, decode " + (System.currentTimeMillis() - decodeStartTime) +
+                            "ms, " + detections.size() + " barcodes, " + barcodeDataList.size() + " kept");
+                    } catch (Exception e) {
+                        LogUtils.e(TAG, "Dense capture: Error decoding tiles: " + e.getMessage(), e);
+                    } finally {
+                        bitmap.recycle();
+                    }
 
-                Intent intent = new Intent(this, CapturedBarcodesActivity.class);
-                if (isHttpsPostMode) {
-                    intent.putExtra(Constants.ENDPOINT_URI, endpointUri);
-                } else {
-                    intent.putExtra(Constants.CAPTURE_FILE_PATH, captureFilePath);
+                    runOnUiThread(() -> {
+                        isDenseCapturing = false;
+                        showCapturedBarcodes(barcodeDataList);
+                    });
                 }
-                intent.putExtras(bundle);
-                startActivity(intent);
+
+                @Override
+                public void onError(@NonNull ImageCaptureException e) {
+                    LogUtils.e(TAG, "Dense capture: Capture failed: " + e.getMessage() + " (code " + e.getImageCaptureError() + ")");
+                    runOnUiThread(() -> isDenseCapturing = false);
+                }
+            });
+    }
+
+    private static Bundle toBarcodeBundle(BarcodeEntity bEntity) {
+        Bundle barcodeBundle = new Bundle();
+        barcodeBundle.putString("value", bEntity.getValue());
+        barcodeBundle.putInt("symbology", bEntity.getSymbology());
+        barcodeBundle.putInt("hashcode", bEntity.hashCode());
+        return barcodeBundle;
+    }
+
+    private void captureData() {
+        List<BarcodeEntity> capturedEntities = new ArrayList<>();
+        overlayFrameHandOff.copyLatestFilteredEntities(capturedEntities);
+        ArrayList<Bundle> barcodeDataList = new ArrayList<>();
+        for (BarcodeEntity bEntity : capturedEntities) {
+            barcodeDataList.add(toBarcodeBundle(bEntity));
+        }
+        showCapturedBarcodes(barcodeDataList);
+    }
+
+    /**
+     * Opens the captured barcodes screen, unless nothing was captured.
+     */
+    private void showCapturedBarcodes(ArrayList<Bundle> barcodeDataList) {
+        if (barcodeDataList.size() > 0) {
+            Bundle bundle = new Bundle();
+            bundle.putParcelableArrayList("barcodeDataList", barcodeDataList);
+
+            Intent intent = new Intent(this, CapturedBarcodesActivity.class);
+            if (isHttpsPostMode) {
+                intent.putExtra(Constants.ENDPOINT_URI, endpointUri);
+            } else {
+                intent.putExtra(Constants.CAPTURE_FILE_PATH, captureFilePath);
             }
+            intent.putExtras(bundle);
+            startActivity(intent);
         }
     }
 
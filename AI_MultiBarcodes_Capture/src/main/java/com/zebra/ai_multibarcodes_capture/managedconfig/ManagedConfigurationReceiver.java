@@ -235,6 +235,59 @@ public class ManagedConfigurationReceiver extends BroadcastReceiver {
         // Update display analysis per second
         updateBooleanSetting(editor, advancedSettings, "display_analysis_per_second", Constants.SHARED_PREFERENCES_DISPLAY_ANALYSIS_PER_SECOND);
 
+        // Update display latency histograms
+        updateBooleanSetting(editor, advancedSettings, "display_latency_histograms", Constants.SHARED_PREFERENCES_DISPLAY_LATENCY_HISTOGRAMS);
+
+        // Update luminance-only frames
+        updateBooleanSetting(editor, advancedSettings, "luminance_only_frames", Constants.SHARED_PREFERENCES_LUMINANCE_ONLY_FRAMES);
+
+        // Update native crop transform
+        updateBooleanSetting(editor, advancedSettings, "native_crop_transform", Constants.SHARED_PREFERENCES_NATIVE_CROP_TRANSFORM);
+
+        // Update analyzer pipeline depth
+        updateIntegerSetting(editor, advancedSettings, "analyzer_pipeline_depth", Constants.SHARED_PREFERENCES_ANALYZER_PIPELINE_DEPTH);
+
+        // Update motion gate settings
+        updateBooleanSetting(editor, advancedSettings, "motion_gate_enabled", Constants.SHARED_PREFERENCES_MOTION_GATE_ENABLED);
+        updateIntegerSetting(editor, advancedSettings, "motion_gate_cell_threshold", Constants.SHARED_PREFERENCES_MOTION_GATE_CELL_THRESHOLD);
+        updateIntegerSetting(editor, advancedSettings, "motion_gate_changed_cells_percent", Constants.SHARED_PREFERENCES_MOTION_GATE_CHANGED_CELLS_PERCENT);
+        updateIntegerSetting(editor, advancedSettings, "motion_gate_max_skipped_frames", Constants.SHARED_PREFERENCES_MOTION_GATE_MAX_SKIPPED_FRAMES);
+
+        // Update adaptive ROI settings
+        updateBooleanSetting(editor, advancedSettings, "adaptive_roi_enabled", Constants.SHARED_PREFERENCES_ADAPTIVE_ROI_ENABLED);
+        updateIntegerSetting(editor, advancedSettings, "adaptive_roi_margin_percent", Constants.SHARED_PREFERENCES_ADAPTIVE_ROI_MARGIN_PERCENT);
+        updateIntegerSetting(editor, advancedSettings, "adaptive_roi_min_stable_frames", Constants.SHARED_PREFERENCES_ADAPTIVE_ROI_MIN_STABLE_FRAMES);
+        updateIntegerSetting(editor, advancedSettings, "adaptive_roi_refresh_interval", Constants.SHARED_PREFERENCES_ADAPTIVE_ROI_REFRESH_INTERVAL);
+
+        // Update frame recording settings
+        updateBooleanSetting(editor, advancedSettings, "record_analyzer_frames", Constants.SHARED_PREFERENCES_RECORD_ANALYZER_FRAMES);
+        updateIntegerSetting(editor, advancedSettings, "record_analyzer_frames_max_mb", Constants.SHARED_PREFERENCES_RECORD_ANALYZER_FRAMES_MAX_MB);
+
+        // Update debounce motion prediction
+        updateBooleanSetting(editor, advancedSettings, "debounce_motion_prediction", Constants.SHARED_PREFERENCES_DEBOUNCE_MOTION_PREDICTION);
+        updateIntegerSetting(editor, advancedSettings, "predicted_frame_interval", Constants.SHARED_PREFERENCES_PREDICTED_FRAME_INTERVAL);
+
+        // Update overlay motion mode
+        updateStringSetting(editor, advancedSettings, "overlay_motion_mode", Constants.SHARED_PREFERENCES_OVERLAY_MOTION_MODE);
+
+        // Update decision memo capacity
+        updateIntegerSetting(editor, advancedSettings, "decision_memo_capacity", Constants.SHARED_PREFERENCES_DECISION_MEMO_CAPACITY);
+
+        // Update high-res capture options
+        updateBooleanSetting(editor, advancedSettings, "high_res_roi_decode", Constants.SHARED_PREFERENCES_HIGH_RES_ROI_DECODE);
+        updateIntegerSetting(editor, advancedSettings, "high_res_roi_padding", Constants.SHARED_PREFERENCES_HIGH_RES_ROI_PADDING);
+        updateBooleanSetting(editor, advancedSettings, "high_res_yuv_capture", Constants.SHARED_PREFERENCES_HIGH_RES_YUV_CAPTURE);
+        updateBooleanSetting(editor, advancedSettings, "high_res_tiled_decode", Constants.SHARED_PREFERENCES_HIGH_RES_TILED_DECODE);
+        updateIntegerSetting(editor, advancedSettings, "tiled_decode_overlap", Constants.SHARED_PREFERENCES_TILED_DECODE_OVERLAP);
+        updateIntegerSetting(editor, advancedSettings, "tiled_decode_parallelism", Constants.SHARED_PREFERENCES_TILED_DECODE_PARALLELISM);
+        updateBooleanSetting(editor, advancedSettings, "dense_capture", Constants.SHARED_PREFERENCES_DENSE_CAPTURE);
+
+        // Update decoder warm pool, read at the next application start
+        updateBooleanSetting(editor, advancedSettings, "decoder_warm_pool", Constants.SHARED_PREFERENCES_DECODER_WARM_POOL);
+
+        // Update decoder warm-up frames
+        updateIntegerSetting(editor, advancedSettings, "decoder_warmup_frames", Constants.SHARED_PREFERENCES_DECODER_WARMUP_FRAMES);
+
         // Update logging enabled - also apply immediately to LogUtils
         if (advancedSettings.containsKey("logging_enabled")) {
             boolean loggingEnabled = advancedSettings.getBoolean("logging_enabled");
@@ -260,6 +313,22 @@ public class ManagedConfigurationReceiver extends BroadcastReceiver {
         }
     }
 
+    /**
+     * Helper method to update an integer setting from managed configuration
+     * @param editor SharedPreferences editor
+     * @param bundle Bundle containing the managed configuration values
+     * @param configKey Key in the managed configuration bundle
+     * @param prefKey Key in SharedPreferences
+     */
+    private void updateIntegerSetting(SharedPreferences.Editor editor, Bundle bundle,
+                                    String configKey, String prefKey) {
+        if (bundle.containsKey(configKey)) {
+            int value = bundle.getInt(configKey);
+            editor.putInt(prefKey, value);
+            LogUtils.d(TAG, "Updated " + configKey + ": " + value);
+        }
+    }
+
     /**
      * Helper method to update a string setting from managed configuration
      * @param editor SharedPreferences editor
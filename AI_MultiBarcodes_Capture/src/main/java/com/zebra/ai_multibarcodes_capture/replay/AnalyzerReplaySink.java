@@ -0,0 +1,50 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.replay;
+
+import android.graphics.Rect;
+
+import androidx.annotation.NonNull;
+
+import com.zebra.ai_multibarcodes_capture.barcodedecoder.BarcodeAnalyzer;
+import com.zebra.ai_multibarcodes_capture.helpers.LogUtils;
+
+/**
+ * Feeds recorded frames to a BarcodeAnalyzer as if they came from the camera.
+ *
+ * With {@code waitForAnalyzer} the sink blocks until the analyzer closes each frame, so no frame
+ * is dropped by the analyzer admission (use with max-speed pacing to measure throughput).
+ * Without it frames are handed over immediately and the analyzer drops the ones arriving while
+ * it is busy, like a live camera (use with real-time pacing).
+ *
+ * ReplayImageProxy has no android.media.Image, so the analyzer is given a full-frame crop region
+ * when it has none, which makes it read the planes directly.
+ */
+public class AnalyzerReplaySink implements FrameReplayer.FrameSink {
+
+    private static final String TAG = "AnalyzerReplaySink";
+    private static final long CLOSE_TIMEOUT_MS = 5000;
+
+    private final BarcodeAnalyzer analyzer;
+    private final boolean waitForAnalyzer;
+
+    /**
+     * @param analyzer The analyzer to feed, with its decoder and callback already set up
+     * @param waitForAnalyzer true to wait for the analyzer to release each frame
+     */
+    public AnalyzerReplaySink(@NonNull BarcodeAnalyzer analyzer, boolean waitForAnalyzer) {
+        this.analyzer = analyzer;
+        this.waitForAnalyzer = waitForAnalyzer;
+    }
+
+    @Override
+    public void onFrame(@NonNull RecordedFrame frame) throws Exception {
+        if (analyzer.getCropRegion() == null) {
+            analyzer.setCropRegion(new Rect(0, 0, frame.getWidth(), frame.getHeight()), frame.getWidth(), frame.getHeight());
+        }
+        ReplayImageProxy image = new ReplayImageProxy(frame);
+        analyzer.analyze(image);
+        if (waitForAnalyzer && !image.awaitClose(CLOSE_TIMEOUT_MS)) {
+            LogUtils.w(TAG, "Analyzer did not release frame " + frame.getIndex() + " within " + CLOSE_TIMEOUT_MS + " ms");
+        }
+    }
+}
@@ -0,0 +1,16 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.replay;
+
+/**
+ * How {@link FrameReplayer} schedules recorded frames.
+ */
+public enum EReplayPacing {
+    /** Frames are delivered back to back, as fast as the consumer accepts them. */
+    MAX_SPEED,
+    /**
+     * Frames are delivered at their recorded timestamps. Like a camera with a
+     * keep-only-latest backpressure strategy, frames that are already late when the
+     * consumer becomes free are skipped.
+     */
+    REAL_TIME
+}
@@ -0,0 +1,200 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.replay;
+
+import androidx.annotation.NonNull;
+import androidx.camera.core.ImageProxy;
+
+import com.zebra.ai_multibarcodes_capture.helpers.LogUtils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Records raw camera frames into a memory-mapped container (see {@link FrameRecordingFormat}),
+ * so an analysis session can be replayed offline with {@link FrameReplayer}.
+ *
+ * The whole capacity is mapped up front: recording a frame is a plain memory copy of its planes
+ * with no system call, so it can run on the analyzer thread. Frames that do
+ * not fit in the remaining capacity are dropped and the recorder reports itself full.
+ * {@link #close()} writes the final frame count and trims the file to the recorded size.
+ *
+ * Thread Safety: all methods are synchronized, frames may be recorded from any thread.
+ */
+public class FrameRecorder implements Closeable {
+
+    private static final String TAG = "FrameRecorder";
+
+    private final File file;
+    private final RandomAccessFile randomAccessFile;
+    private final FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int frameCount = 0;
+    private boolean full = false;
+
+    // Scratch arrays reused by record(ImageProxy)
+    private final ByteBuffer[] planeBuffers = new ByteBuffer[FrameRecordingFormat.MAX_PLANES];
+    private final int[] planeRowStrides = new int[FrameRecordingFormat.MAX_PLANES];
+    private final int[] planePixelStrides = new int[FrameRecordingFormat.MAX_PLANES];
+
+    /**
+     * Creates the recording file and maps its whole capacity.
+     *
+     * @param file The file to create, overwritten if it exists
+     * @param capacityBytes Maximum size of the recording, must fit in a single mapping (2 GB)
+     * @throws IOException If the file cannot be created or mapped
+     */
+    public FrameRecorder(@NonNull File file, long capacityBytes) throws IOException {
+        if (capacityBytes <= FrameRecordingFormat.HEADER_SIZE || capacityBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid recording capacity: " + capacityBytes);
+        }
+        this.file = file;
+        this.randomAccessFile = new RandomAccessFile(file, "rw");
+        try {
+            randomAccessFile.setLength(0);
+            this.channel = randomAccessFile.getChannel();
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacityBytes);
+        } catch (IOException e) {
+            randomAccessFile.close();
+            throw e;
+        }
+        buffer.order(FrameRecordingFormat.BYTE_ORDER);
+        buffer.putInt(FrameRecordingFormat.OFFSET_MAGIC, FrameRecordingFormat.MAGIC);
+        buffer.putInt(FrameRecordingFormat.OFFSET_VERSION, FrameRecordingFormat.VERSION);
+        buffer.putInt(FrameRecordingFormat.OFFSET_FRAME_COUNT, 0);
+        buffer.putLong(FrameRecordingFormat.OFFSET_DATA_END, FrameRecordingFormat.HEADER_SIZE);
+        buffer.position(FrameRecordingFormat.HEADER_SIZE);
+        LogUtils.d(TAG, "Recording frames to " + file.getAbsolutePath() + " (capacity " + capacityBytes + " bytes)");
+    }
+
+    /**
+     * Records a camera frame. The image is not closed.
+     *
+     * @param image The frame to record
+     * @return true if the frame was recorded, false if the recorder is closed or full
+     */
+    public synchronized boolean record(@NonNull ImageProxy image) {
+        ImageProxy.PlaneProxy[] planes = image.getPlanes();
+        int planeCount = Math.min(planes.length, FrameRecordingFormat.MAX_PLANES);
+        for (int i = 0; i < planeCount; i++) {
+            planeBuffers[i] = planes[i].getBuffer();
+            planeRowStrides[i] = planes[i].getRowStride();
+            planePixelStrides[i] = planes[i].getPixelStride();
+        }
+        try {
+            return record(image.getImageInfo().getTimestamp(), image.getWidth(), image.getHeight(), image.getFormat(),
+                    image.getImageInfo().getRotationDegrees(), planeCount, planeBuffers, planeRowStrides, planePixelStrides);
+        } finally {
+            // Do not keep the camera buffers reachable once the frame is closed
+            for (int i = 0; i < planeCount; i++) {
+                planeBuffers[i] = null;
+            }
+        }
+    }
+
+    /**
+     * Records a frame from its raw planes. The plane buffers are read from position 0 to their
+     * limit and their positions are left untouched.
+     *
+     * @param timestampNanos The frame timestamp in nanoseconds
+     * @param width The frame width
+     * @param height The frame height
+     * @param format The frame format (ImageFormat)
+     * @param rotationDegrees The rotation to apply to the frame to display it upright
+     * @param planes The plane buffers
+     * @param rowStrides The row stride of each plane
+     * @param pixelStrides The pixel stride of each plane
+     * @return true if the frame was recorded, false if the recorder is closed or full
+     */
+    public synchronized boolean record(long timestampNanos, int width, int height, int format, int rotationDegrees,
+                                       @NonNull ByteBuffer[] planes, @NonNull int[] rowStrides, @NonNull int[] pixelStrides) {
+        return record(timestampNanos, width, height, format, rotationDegrees,
+                Math.min(planes.length, FrameRecordingFormat.MAX_PLANES), planes, rowStrides, pixelStrides);
+    }
+
+    private boolean record(long timestampNanos, int width, int height, int format, int rotationDegrees, int planeCount,
+                           ByteBuffer[] planes, int[] rowStrides, int[] pixelStrides) {
+        if (buffer == null || full) {
+            return false;
+        }
+        long recordSize = FrameRecordingFormat.FRAME_HEADER_SIZE + (long) planeCount * FrameRecordingFormat.PLANE_HEADER_SIZE;
+        for (int i = 0; i < planeCount; i++) {
+            recordSize += planes[i].limit();
+        }
+        if (recordSize > buffer.remaining()) {
+            full = true;
+            LogUtils.w(TAG, "Recording full after " + frameCount + " frames");
+            return false;
+        }
+
+        buffer.putInt((int) recordSize);
+        buffer.putLong(timestampNanos);
+        buffer.putInt(width);
+        buffer.putInt(height);
+        buffer.putInt(format);
+        buffer.putInt(rotationDegrees);
+        buffer.putInt(planeCount);
+        for (int i = 0; i < planeCount; i++) {
+            buffer.putInt(rowStrides[i]);
+            buffer.putInt(pixelStrides[i]);
+            buffer.putInt(planes[i].limit());
+        }
+        for (int i = 0; i < planeCount; i++) {
+            ByteBuffer source = planes[i].duplicate();
+            source.position(0);
+            buffer.put(source);
+        }
+
+        frameCount++;
+        // Keep the header valid after every frame so a recording survives a crash
+        buffer.putLong(FrameRecordingFormat.OFFSET_DATA_END, buffer.position());
+        buffer.putInt(FrameRecordingFormat.OFFSET_FRAME_COUNT, frameCount);
+        return true;
+    }
+
+    /**
+     * @return The number of recorded frames
+     */
+    public synchronized int getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * @return true once a frame did not fit in the remaining capacity
+     */
+    public synchronized boolean isFull() {
+        return full;
+    }
+
+    /**
+     * @return The recording file
+     */
+    @NonNull
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Flushes the recording and trims the file to the recorded frames.
+     * Further calls to record are ignored.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (buffer == null) {
+            return;
+        }
+        long dataEnd = buffer.position();
+        buffer.force();
+        buffer = null;
+        try {
+            channel.truncate(dataEnd);
+        } finally {
+            randomAccessFile.close();
+        }
+        LogUtils.d(TAG, "Recording closed: " + frameCount + " frames, " + dataEnd + " bytes");
+    }
+}
@@ -0,0 +1,154 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.replay;
+
+import androidx.annotation.NonNull;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Read-only access to a recording written by {@link FrameRecorder}.
+ *
+ * The file is memory-mapped and indexed once when opened; {@link #getFrame(int)} then returns
+ * views on the mapping without copying pixels, so frames can be replayed at memory speed.
+ * Only plain java.nio is used, so recordings can be read on a desktop JVM as well as on device.
+ */
+public class FrameRecording implements Closeable {
+
+    private final RandomAccessFile randomAccessFile;
+    private final MappedByteBuffer buffer;
+    private final int[] frameOffsets;
+
+    private FrameRecording(RandomAccessFile randomAccessFile, MappedByteBuffer buffer, int[] frameOffsets) {
+        this.randomAccessFile = randomAccessFile;
+        this.buffer = buffer;
+        this.frameOffsets = frameOffsets;
+    }
+
+    /**
+     * Opens and indexes a recording.
+     *
+     * @param file The recording file
+     * @return The opened recording
+     * @throws IOException If the file cannot be read or is not a valid recording
+     */
+    @NonNull
+    public static FrameRecording open(@NonNull File file) throws IOException {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = randomAccessFile.getChannel();
+            if (channel.size() < FrameRecordingFormat.HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Invalid recording size: " + channel.size());
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(FrameRecordingFormat.BYTE_ORDER);
+
+            if (buffer.getInt(FrameRecordingFormat.OFFSET_MAGIC) != FrameRecordingFormat.MAGIC) {
+                throw new IOException("Not a frame recording: " + file);
+            }
+            int version = buffer.getInt(FrameRecordingFormat.OFFSET_VERSION);
+            if (version != FrameRecordingFormat.VERSION) {
+                throw new IOException("Unsupported recording version: " + version);
+            }
+            int frameCount = buffer.getInt(FrameRecordingFormat.OFFSET_FRAME_COUNT);
+            long dataEnd = buffer.getLong(FrameRecordingFormat.OFFSET_DATA_END);
+            if (frameCount < 0 || dataEnd < FrameRecordingFormat.HEADER_SIZE || dataEnd > buffer.capacity()) {
+                throw new IOException("Corrupted recording header: " + file);
+            }
+
+            int[] frameOffsets = new int[frameCount];
+            int offset = FrameRecordingFormat.HEADER_SIZE;
+            for (int i = 0; i < frameCount; i++) {
+                if (offset + FrameRecordingFormat.FRAME_HEADER_SIZE > dataEnd) {
+                    throw new IOException("Truncated recording at frame " + i);
+                }
+                frameOffsets[i] = offset;
+                int recordSize = buffer.getInt(offset);
+                if (recordSize < FrameRecordingFormat.FRAME_HEADER_SIZE || offset + (long) recordSize > dataEnd) {
+                    throw new IOException("Corrupted frame record " + i);
+                }
+                offset += recordSize;
+            }
+            return new FrameRecording(randomAccessFile, buffer, frameOffsets);
+        } catch (IOException | RuntimeException e) {
+            randomAccessFile.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return The number of frames in the recording
+     */
+    public int getFrameCount() {
+        return frameOffsets.length;
+    }
+
+    /**
+     * @return The time between the first and last frames in nanoseconds
+     */
+    public long getDurationNanos() {
+        if (frameOffsets.length < 2) {
+            return 0;
+        }
+        return getTimestampNanos(frameOffsets.length - 1) - getTimestampNanos(0);
+    }
+
+    /**
+     * Reads the timestamp of a frame without building the frame.
+     *
+     * @param index The frame index
+     * @return The camera timestamp of the frame in nanoseconds
+     */
+    public long getTimestampNanos(int index) {
+        return buffer.getLong(frameOffsets[index] + 4);
+    }
+
+    /**
+     * Returns a frame of the recording. The plane buffers are views on the mapping.
+     *
+     * @param index The frame index
+     * @return The frame
+     */
+    @NonNull
+    public RecordedFrame getFrame(int index) {
+        int offset = frameOffsets[index];
+        int position = offset + 4;
+        long timestampNanos = buffer.getLong(position);
+        position += 8;
+        int width = buffer.getInt(position);
+        int height = buffer.getInt(position + 4);
+        int format = buffer.getInt(position + 8);
+        int rotationDegrees = buffer.getInt(position + 12);
+        int planeCount = buffer.getInt(position + 16);
+        position += 20;
+
+        ByteBuffer[] planes = new ByteBuffer[planeCount];
+        int[] rowStrides = new int[planeCount];
+        int[] pixelStrides = new int[planeCount];
+        int dataPosition = position + planeCount * FrameRecordingFormat.PLANE_HEADER_SIZE;
+        for (int i = 0; i < planeCount; i++) {
+            rowStrides[i] = buffer.getInt(position);
+            pixelStrides[i] = buffer.getInt(position + 4);
+            int length = buffer.getInt(position + 8);
+            position += FrameRecordingFormat.PLANE_HEADER_SIZE;
+
+            ByteBuffer plane = buffer.duplicate();
+            plane.position(dataPosition);
+            plane.limit(dataPosition + length);
+            planes[i] = plane.slice().asReadOnlyBuffer();
+            dataPosition += length;
+        }
+        return new RecordedFrame(index, timestampNanos, width, height, format, rotationDegrees,
+                planes, rowStrides, pixelStrides);
+    }
+
+    @Override
+    public void close() throws IOException {
+        randomAccessFile.close();
+    }
+}
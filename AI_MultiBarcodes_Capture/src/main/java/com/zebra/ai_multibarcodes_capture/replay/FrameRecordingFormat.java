@@ -0,0 +1,51 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.replay;
+
+import java.nio.ByteOrder;
+
+/**
+ * Layout of the frame recording container written by {@link FrameRecorder} and read by
+ * {@link FrameRecording}. All values are little-endian.
+ *
+ * File header ({@link #HEADER_SIZE} bytes):
+ * <pre>
+ *   int  magic        "AIMR"
+ *   int  version
+ *   int  frameCount
+ *   int  reserved
+ *   long dataEnd      offset of the first byte after the last frame
+ *   long reserved
+ * </pre>
+ *
+ * Frame record, repeated frameCount times:
+ * <pre>
+ *   int  recordSize   size of the whole record, this field included
+ *   long timestampNanos
+ *   int  width, height, format, rotationDegrees
+ *   int  planeCount
+ *   planeCount x (int rowStride, int pixelStride, int length)
+ *   plane data, planeCount x length bytes
+ * </pre>
+ *
+ * Planes are stored exactly as delivered by the camera (strides and padding included),
+ * so a replayed frame goes through the same crop kernels as a live one.
+ */
+final class FrameRecordingFormat {
+
+    static final int MAGIC = 0x524D4941; // "AIMR" in little-endian
+    static final int VERSION = 1;
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    static final int HEADER_SIZE = 32;
+    static final int OFFSET_MAGIC = 0;
+    static final int OFFSET_VERSION = 4;
+    static final int OFFSET_FRAME_COUNT = 8;
+    static final int OFFSET_DATA_END = 16;
+
+    static final int MAX_PLANES = 3;
+    static final int FRAME_HEADER_SIZE = 4 + 8 + 4 * 4 + 4;
+    static final int PLANE_HEADER_SIZE = 3 * 4;
+
+    private FrameRecordingFormat() {
+    }
+}
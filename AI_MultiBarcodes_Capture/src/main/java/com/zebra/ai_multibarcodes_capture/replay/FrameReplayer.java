@@ -0,0 +1,139 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.replay;
+
+import androidx.annotation.NonNull;
+
+import com.zebra.ai_multibarcodes_capture.helpers.LogUtils;
+
+/**
+ * Feeds the frames of a {@link FrameRecording} to a {@link FrameSink}, either back to back
+ * or at the pace they were recorded (see {@link EReplayPacing}).
+ *
+ * Frames are delivered on the calling thread, one at a time. Two sinks are provided:
+ * - {@link AnalyzerReplaySink} drives a BarcodeAnalyzer with the recorded frames (on device).
+ * - {@link ReplayPipeline} runs a pluggable decoder followed by the debounce, filtering and
+ *   auto capture stages, without any camera or UI.
+ */
+public class FrameReplayer {
+
+    private static final String TAG = "FrameReplayer";
+
+    /**
+     * Consumer of replayed frames.
+     */
+    public interface FrameSink {
+        /**
+         * Called for each replayed frame. The frame buffers stay valid while the recording is open.
+         *
+         * @param frame The frame
+         * @throws Exception Any error is logged and the replay continues with the next frame
+         */
+        void onFrame(@NonNull RecordedFrame frame) throws Exception;
+    }
+
+    private final FrameRecording recording;
+    private final EReplayPacing pacing;
+    private volatile boolean stopped = false;
+
+    // Statistics of the last replay
+    private int deliveredFrameCount = 0;
+    private int skippedFrameCount = 0;
+    private int failedFrameCount = 0;
+    private long elapsedNanos = 0;
+
+    /**
+     * @param recording The recording to replay
+     * @param pacing How frames are scheduled
+     */
+    public FrameReplayer(@NonNull FrameRecording recording, @NonNull EReplayPacing pacing) {
+        this.recording = recording;
+        this.pacing = pacing;
+    }
+
+    /**
+     * Replays every frame of the recording, blocking until done or stopped.
+     *
+     * @param sink The consumer of the frames
+     * @return The number of frames delivered to the sink
+     * @throws InterruptedException If the thread is interrupted while waiting for the next frame
+     */
+    public int replay(@NonNull FrameSink sink) throws InterruptedException {
+        stopped = false;
+        deliveredFrameCount = 0;
+        skippedFrameCount = 0;
+        failedFrameCount = 0;
+
+        int frameCount = recording.getFrameCount();
+        long startNanos = System.nanoTime();
+        long firstTimestampNanos = frameCount > 0 ? recording.getTimestampNanos(0) : 0;
+
+        for (int i = 0; i < frameCount && !stopped; i++) {
+            if (pacing == EReplayPacing.REAL_TIME) {
+                long dueNanos = startNanos + (recording.getTimestampNanos(i) - firstTimestampNanos);
+                long waitNanos = dueNanos - System.nanoTime();
+                if (waitNanos > 0) {
+                    Thread.sleep(waitNanos / 1_000_000, (int) (waitNanos % 1_000_000));
+                } else if (i + 1 < frameCount && isDue(i + 1, startNanos, firstTimestampNanos)) {
+                    // The next frame is already due: the camera would have replaced this one
+                    skippedFrameCount++;
+                    continue;
+                }
+            }
+
+            try {
+                sink.onFrame(recording.getFrame(i));
+                deliveredFrameCount++;
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                failedFrameCount++;
+                LogUtils.e(TAG, "Error replaying frame " + i + ": " + e.getMessage());
+            }
+        }
+
+        elapsedNanos = System.nanoTime() - startNanos;
+        LogUtils.d(TAG, "Replay done (" + pacing + "): " + deliveredFrameCount + " delivered, "
+                + skippedFrameCount + " skipped, " + failedFrameCount + " failed in " + elapsedNanos / 1_000_000 + " ms");
+        return deliveredFrameCount;
+    }
+
+    private boolean isDue(int index, long startNanos, long firstTimestampNanos) {
+        long dueNanos = startNanos + (recording.getTimestampNanos(index) - firstTimestampNanos);
+        return System.nanoTime() >= dueNanos;
+    }
+
+    /**
+     * Stops the replay after the frame being delivered. May be called from any thread.
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * @return The number of frames delivered by the last replay
+     */
+    public int getDeliveredFrameCount() {
+        return deliveredFrameCount;
+    }
+
+    /**
+     * @return The number of frames skipped because they were late (real-time pacing only)
+     */
+    public int getSkippedFrameCount() {
+        return skippedFrameCount;
+    }
+
+    /**
+     * @return The number of frames for which the sink threw an exception
+     */
+    public int getFailedFrameCount() {
+        return failedFrameCount;
+    }
+
+    /**
+     * @return The delivered frames per second of the last replay
+     */
+    public float getFramesPerSecond() {
+        return elapsedNanos > 0 ? deliveredFrameCount * 1_000_000_000f / elapsedNanos : 0f;
+    }
+}
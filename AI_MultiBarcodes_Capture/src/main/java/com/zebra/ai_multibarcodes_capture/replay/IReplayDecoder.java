@@ -0,0 +1,25 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.replay;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Decoder used by {@link ReplayPipeline} to turn a recorded frame into detection results.
+ * Plugging a scripted implementation in (see barcodedecoder.ScriptedBarcodeDecoder) lets the
+ * post-processing stages be replayed on a machine without the AI Vision SDK runtime.
+ * The results carry their bounding boxes as ints, so the replay also runs on a plain JVM.
+ */
+public interface IReplayDecoder {
+
+    /**
+     * Decodes a recorded frame.
+     *
+     * @param frame The frame
+     * @return The detected barcodes, with bounding boxes in effective (rotated) image coordinates,
+     *         or null when nothing was detected
+     * @throws Exception If decoding fails; the frame is then counted as failed
+     */
+    @Nullable
+    ReplayDetections decode(@NonNull RecordedFrame frame) throws Exception;
+}
@@ -0,0 +1,97 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.replay;
+
+import androidx.annotation.NonNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A frame read back from a {@link FrameRecording}.
+ * The plane buffers are read-only views on the memory-mapped recording: no pixel is copied,
+ * and they stay valid for as long as the recording is open.
+ */
+public class RecordedFrame {
+
+    private final int index;
+    private final long timestampNanos;
+    private final int width;
+    private final int height;
+    private final int format;
+    private final int rotationDegrees;
+    private final ByteBuffer[] planes;
+    private final int[] rowStrides;
+    private final int[] pixelStrides;
+
+    RecordedFrame(int index, long timestampNanos, int width, int height, int format, int rotationDegrees,
+                  ByteBuffer[] planes, int[] rowStrides, int[] pixelStrides) {
+        this.index = index;
+        this.timestampNanos = timestampNanos;
+        this.width = width;
+        this.height = height;
+        this.format = format;
+        this.rotationDegrees = rotationDegrees;
+        this.planes = planes;
+        this.rowStrides = rowStrides;
+        this.pixelStrides = pixelStrides;
+    }
+
+    /**
+     * @return The position of the frame in the recording
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return The camera timestamp of the frame in nanoseconds
+     */
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return The frame format (ImageFormat), YUV_420_888 for camera frames
+     */
+    public int getFormat() {
+        return format;
+    }
+
+    /**
+     * @return The rotation to apply to the frame to display it upright
+     */
+    public int getRotationDegrees() {
+        return rotationDegrees;
+    }
+
+    public int getPlaneCount() {
+        return planes.length;
+    }
+
+    /**
+     * Returns a plane buffer. Each call returns a new view positioned at 0,
+     * so callers may move its position freely.
+     *
+     * @param plane The plane index (0 = Y, 1 = U, 2 = V)
+     * @return A read-only view on the plane data
+     */
+    @NonNull
+    public ByteBuffer getPlaneBuffer(int plane) {
+        return planes[plane].duplicate();
+    }
+
+    public int getRowStride(int plane) {
+        return rowStrides[plane];
+    }
+
+    public int getPixelStride(int plane) {
+        return pixelStrides[plane];
+    }
+}
@@ -0,0 +1,74 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.replay;
+
+import androidx.annotation.NonNull;
+
+import com.zebra.ai.vision.entity.BarcodeEntity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Detection results of a replayed frame: the entities, for their value and symbology, and their
+ * bounding boxes as plain ints, so that the replay does not depend on android.graphics.Rect.
+ * Decoders backed by real entities read the boxes once when filling it.
+ */
+public final class ReplayDetections {
+
+    private final List<BarcodeEntity> entities = new ArrayList<>();
+    // left, top, right, bottom of each bounding box
+    private int[] boundingBoxes = new int[16 * 4];
+
+    /**
+     * Adds a detection.
+     *
+     * @param entity The detected barcode
+     * @param left The left edge of its bounding box, in effective (rotated) image coordinates
+     * @param top The top edge of its bounding box
+     * @param right The right edge of its bounding box
+     * @param bottom The bottom edge of its bounding box
+     * @return This object
+     */
+    @NonNull
+    public ReplayDetections add(@NonNull BarcodeEntity entity, int left, int top, int right, int bottom) {
+        int offset = entities.size() * 4;
+        if (offset == boundingBoxes.length) {
+            boundingBoxes = Arrays.copyOf(boundingBoxes, offset * 2);
+        }
+        boundingBoxes[offset] = left;
+        boundingBoxes[offset + 1] = top;
+        boundingBoxes[offset + 2] = right;
+        boundingBoxes[offset + 3] = bottom;
+        entities.add(entity);
+        return this;
+    }
+
+    /**
+     * Removes every detection, keeping the buffers for the next frame.
+     */
+    public void clear() {
+        entities.clear();
+    }
+
+    public int size() {
+        return entities.size();
+    }
+
+    /**
+     * @return The detected entities, index-aligned with {@link #getBoundingBoxes()}
+     */
+    @NonNull
+    public List<BarcodeEntity> getEntities() {
+        return entities;
+    }
+
+    /**
+     * @return left, top, right, bottom of the bounding box of each entity; only the first
+     *         size() * 4 values are meaningful
+     */
+    @NonNull
+    public int[] getBoundingBoxes() {
+        return boundingBoxes;
+    }
+}
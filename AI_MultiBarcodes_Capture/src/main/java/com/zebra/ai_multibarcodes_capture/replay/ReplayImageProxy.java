@@ -0,0 +1,135 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.replay;
+
+import android.annotation.SuppressLint;
+import android.graphics.Matrix;
+import android.graphics.Rect;
+import android.media.Image;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.camera.core.ExperimentalGetImage;
+import androidx.camera.core.ImageInfo;
+import androidx.camera.core.ImageProxy;
+import androidx.camera.core.ImmutableImageInfo;
+import androidx.camera.core.impl.TagBundle;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ImageProxy backed by a {@link RecordedFrame}, so recorded frames can be fed to
+ * BarcodeAnalyzer.analyze exactly like camera frames.
+ *
+ * There is no underlying android.media.Image: the analyzer must be configured with a crop
+ * region so it reads the planes directly instead of calling ImageData.fromImageProxy.
+ */
+public class ReplayImageProxy implements ImageProxy {
+
+    private final RecordedFrame frame;
+    private final PlaneProxy[] planes;
+    private final ImageInfo imageInfo;
+    private final CountDownLatch closed = new CountDownLatch(1);
+    private Rect cropRect;
+
+    @SuppressLint("RestrictedApi")
+    public ReplayImageProxy(@NonNull RecordedFrame frame) {
+        this.frame = frame;
+        this.planes = new PlaneProxy[frame.getPlaneCount()];
+        for (int i = 0; i < planes.length; i++) {
+            planes[i] = new ReplayPlaneProxy(frame.getPlaneBuffer(i), frame.getRowStride(i), frame.getPixelStride(i));
+        }
+        this.imageInfo = ImmutableImageInfo.create(TagBundle.emptyBundle(), frame.getTimestampNanos(),
+                frame.getRotationDegrees(), new Matrix());
+        this.cropRect = new Rect(0, 0, frame.getWidth(), frame.getHeight());
+    }
+
+    @Override
+    public void close() {
+        closed.countDown();
+    }
+
+    /**
+     * Waits until the consumer closes this image.
+     *
+     * @param timeoutMs Maximum time to wait in milliseconds
+     * @return true if the image was closed, false on timeout
+     */
+    public boolean awaitClose(long timeoutMs) throws InterruptedException {
+        return closed.await(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    @NonNull
+    @Override
+    public Rect getCropRect() {
+        return cropRect;
+    }
+
+    @Override
+    public void setCropRect(@Nullable Rect rect) {
+        cropRect = rect != null ? new Rect(rect) : new Rect(0, 0, frame.getWidth(), frame.getHeight());
+    }
+
+    @Override
+    public int getFormat() {
+        return frame.getFormat();
+    }
+
+    @Override
+    public int getHeight() {
+        return frame.getHeight();
+    }
+
+    @Override
+    public int getWidth() {
+        return frame.getWidth();
+    }
+
+    @NonNull
+    @Override
+    public PlaneProxy[] getPlanes() {
+        return planes;
+    }
+
+    @NonNull
+    @Override
+    public ImageInfo getImageInfo() {
+        return imageInfo;
+    }
+
+    @Nullable
+    @Override
+    @ExperimentalGetImage
+    public Image getImage() {
+        return null;
+    }
+
+    private static final class ReplayPlaneProxy implements PlaneProxy {
+        private final ByteBuffer buffer;
+        private final int rowStride;
+        private final int pixelStride;
+
+        ReplayPlaneProxy(ByteBuffer buffer, int rowStride, int pixelStride) {
+            this.buffer = buffer;
+            this.rowStride = rowStride;
+            this.pixelStride = pixelStride;
+        }
+
+        @Override
+        public int getRowStride() {
+            return rowStride;
+        }
+
+        @Override
+        public int getPixelStride() {
+            return pixelStride;
+        }
+
+        @NonNull
+        @Override
+        public ByteBuffer getBuffer() {
+            return buffer;
+        }
+    }
+}
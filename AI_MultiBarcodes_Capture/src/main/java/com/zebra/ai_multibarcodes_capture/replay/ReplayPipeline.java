@@ -0,0 +1,159 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.replay;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.zebra.ai_multibarcodes_capture.autocapture.AutoCapturePlan;
+import com.zebra.ai_multibarcodes_capture.autocapture.models.AutoCaptureConditionList;
+import com.zebra.ai_multibarcodes_capture.barcodedecoder.ELatencyStage;
+import com.zebra.ai_multibarcodes_capture.barcodedecoder.StageLatencyRecorder;
+import com.zebra.ai_multibarcodes_capture.helpers.DetectionResultProcessor;
+import com.zebra.ai_multibarcodes_capture.helpers.IntRect;
+
+/**
+ * Replays the post-processing of the live preview without camera, decoder runtime or UI:
+ * each frame is decoded by a pluggable {@link IReplayDecoder}, then goes through the same
+ * {@link DetectionResultProcessor} (mapping, debounce, filtering) and AutoCapturePlan
+ * as in CameraXLivePreviewActivity.onDetectionResult.
+ *
+ * The decode stage and the post-processing stage (recorded as MAPPING) are timed in a
+ * {@link StageLatencyRecorder}, so runs can be compared from one build to another.
+ *
+ * Boxes are passed as ints ({@link ReplayDetections}, {@link IntRect}) rather than
+ * android.graphics.Rect, so the replay runs on a plain JVM as well as on a device.
+ */
+public class ReplayPipeline implements FrameReplayer.FrameSink {
+
+    private static final int[] NO_BOUNDING_BOXES = new int[0];
+
+    private final IReplayDecoder decoder;
+    private final DetectionResultProcessor processor;
+    private final StageLatencyRecorder latencyRecorder = new StageLatencyRecorder();
+
+    // Frame geometry passed to the processor
+    @Nullable
+    private IntRect cropRegion = null;
+    private final int overlayWidth;
+    private final int overlayHeight;
+    private int displayRotation = 0;
+
+    // Auto capture
+    private AutoCapturePlan autoCapturePlan = AutoCapturePlan.compile(null);
+    private int autoCaptureCount = 0;
+    private int firstAutoCaptureFrame = -1;
+
+    // Statistics
+    private int processedFrameCount = 0;
+    private long detectedBarcodeCount = 0;
+    private long reportedBarcodeCount = 0;
+
+    /**
+     * @param decoder The decoder producing the detection results of each frame
+     * @param processor The processor, configured with the coordinate mapper, debounce and filtering settings to replay
+     * @param overlayWidth The overlay width the results are mapped to
+     * @param overlayHeight The overlay height the results are mapped to
+     */
+    public ReplayPipeline(@NonNull IReplayDecoder decoder, @NonNull DetectionResultProcessor processor,
+                          int overlayWidth, int overlayHeight) {
+        this.decoder = decoder;
+        this.processor = processor;
+        this.overlayWidth = overlayWidth;
+        this.overlayHeight = overlayHeight;
+    }
+
+    /**
+     * Sets the crop region the decoder results are relative to, null for full frames.
+     *
+     * @param cropRegion The crop region in raw sensor coordinates
+     */
+    public void setCropRegion(@Nullable IntRect cropRegion) {
+        this.cropRegion = cropRegion;
+    }
+
+    /**
+     * @param displayRotation The display rotation to replay (Surface.ROTATION_*)
+     */
+    public void setDisplayRotation(int displayRotation) {
+        this.displayRotation = displayRotation;
+    }
+
+    /**
+     * Enables auto capture evaluation on every frame.
+     *
+     * @param conditions The auto capture conditions, null to disable auto capture
+     */
+    public void setAutoCaptureConditions(@Nullable AutoCaptureConditionList conditions) {
+        this.autoCapturePlan = AutoCapturePlan.compile(conditions);
+    }
+
+    @Override
+    public void onFrame(@NonNull RecordedFrame frame) throws Exception {
+        long decodeStartNanos = System.nanoTime();
+        ReplayDetections result = decoder.decode(frame);
+        long mappingStartNanos = System.nanoTime();
+        latencyRecorder.record(ELatencyStage.DECODE, mappingStartNanos - decodeStartNanos);
+
+        DetectionResultProcessor.FrameResult frameResult = result != null
+                ? processor.process(result.getEntities(), result.getBoundingBoxes(), cropRegion,
+                        frame.getRotationDegrees(), overlayWidth, overlayHeight, displayRotation)
+                : processor.process(null, NO_BOUNDING_BOXES, cropRegion,
+                        frame.getRotationDegrees(), overlayWidth, overlayHeight, displayRotation);
+
+        // Same condition as the live preview; the replay keeps going to count every match
+        if (autoCapturePlan.hasConditions() && autoCapturePlan.evaluate(frameResult.filteredEntities)) {
+            autoCaptureCount++;
+            if (firstAutoCaptureFrame < 0) {
+                firstAutoCaptureFrame = frame.getIndex();
+            }
+        }
+        latencyRecorder.recordSince(ELatencyStage.MAPPING, mappingStartNanos);
+
+        processedFrameCount++;
+        if (result != null) {
+            detectedBarcodeCount += result.size();
+        }
+        reportedBarcodeCount += frameResult.filteredEntities.size();
+        frameResult.release();
+    }
+
+    /**
+     * @return The decode and post-processing latencies of the replayed frames
+     */
+    @NonNull
+    public StageLatencyRecorder getLatencyRecorder() {
+        return latencyRecorder;
+    }
+
+    public int getProcessedFrameCount() {
+        return processedFrameCount;
+    }
+
+    /**
+     * @return The number of barcodes returned by the decoder
+     */
+    public long getDetectedBarcodeCount() {
+        return detectedBarcodeCount;
+    }
+
+    /**
+     * @return The number of barcodes that went through debounce and filtering
+     */
+    public long getReportedBarcodeCount() {
+        return reportedBarcodeCount;
+    }
+
+    /**
+     * @return The number of frames on which the auto capture conditions were met
+     */
+    public int getAutoCaptureCount() {
+        return autoCaptureCount;
+    }
+
+    /**
+     * @return The index of the first frame that triggered an auto capture, -1 if none did
+     */
+    public int getFirstAutoCaptureFrame() {
+        return firstAutoCaptureFrame;
+    }
+}
@@ -38,6 +38,7 @@ import com.zebra.ai_multibarcodes_capture.filemanagement.EExportMode;
 import com.zebra.ai_multibarcodes_capture.helpers.CameraResolutionHelper;
 import com.zebra.ai_multibarcodes_capture.helpers.Constants;
 import com.zebra.ai_multibarcodes_capture.helpers.ECaptureTriggerMode;
+import com.zebra.ai_multibarcodes_capture.helpers.EOverlayMotionMode;
 import com.zebra.ai_multibarcodes_capture.helpers.ECameraResolution;
 import com.zebra.ai_multibarcodes_capture.helpers.BaseActivity;
 import com.zebra.ai_multibarcodes_capture.helpers.EProcessingMode;
@@ -108,9 +109,20 @@ public class SettingsActivity extends BaseActivity {
     private CheckBox cbUK_POSTAL, cbUPC_A, cbUPC_E, cbUPCE1, cbUSPLANET, cbUSPOSTNET;
     private CheckBox cbUS4STATE, cbUS4STATE_FICS;
     private CheckBox cbDisplayAnalysisPerSecond;
+    private CheckBox cbDisplayLatencyHistograms;
     private CheckBox cbLoggingEnabled;
     private CheckBox cbForceContinuousAutofocus;
     private CheckBox cbHighResStabilization;
+    private CheckBox cbHighResRoiDecode;
+    private CheckBox cbHighResYuvCapture;
+    private CheckBox cbHighResTiledDecode;
+    private SeekBar sbTiledDecodeOverlap;
+    private TextView tvTiledDecodeOverlapValue;
+    private SeekBar sbTiledDecodeParallelism;
+    private TextView tvTiledDecodeParallelismValue;
+    private CheckBox cbDenseCapture;
+    private SeekBar sbHighResRoiPadding;
+    private TextView tvHighResRoiPaddingValue;
     private CheckBox cbDebounceEnabled;
     private SeekBar sbDebounceMaxFrames;
     private SeekBar sbDebounceThreshold;
@@ -123,6 +135,46 @@ public class SettingsActivity extends BaseActivity {
     private LinearLayout llDebounceIouThreshold;
     private SeekBar sbDebounceIouThreshold;
     private TextView tvDebounceIouThresholdValue;
+    private CheckBox cbDebounceMotionPrediction;
+    private LinearLayout llPredictedFrameInterval;
+    private SeekBar sbPredictedFrameInterval;
+    private TextView tvPredictedFrameIntervalValue;
+    private Spinner spinnerOverlayMotionMode;
+
+    // Analyzer pipeline views
+    private CheckBox cbLuminanceOnlyFrames;
+    private CheckBox cbNativeCropTransform;
+    private SeekBar sbAnalyzerPipelineDepth;
+    private TextView tvAnalyzerPipelineDepthValue;
+    private CheckBox cbMotionGate;
+    private LinearLayout llMotionGateCellThreshold;
+    private SeekBar sbMotionGateCellThreshold;
+    private TextView tvMotionGateCellThresholdValue;
+    private LinearLayout llMotionGateChangedCells;
+    private SeekBar sbMotionGateChangedCells;
+    private TextView tvMotionGateChangedCellsValue;
+    private LinearLayout llMotionGateMaxSkippedFrames;
+    private SeekBar sbMotionGateMaxSkippedFrames;
+    private TextView tvMotionGateMaxSkippedFramesValue;
+    private CheckBox cbAdaptiveRoi;
+    private LinearLayout llAdaptiveRoiMargin;
+    private SeekBar sbAdaptiveRoiMargin;
+    private TextView tvAdaptiveRoiMarginValue;
+    private LinearLayout llAdaptiveRoiMinStableFrames;
+    private SeekBar sbAdaptiveRoiMinStableFrames;
+    private TextView tvAdaptiveRoiMinStableFramesValue;
+    private LinearLayout llAdaptiveRoiRefreshInterval;
+    private SeekBar sbAdaptiveRoiRefreshInterval;
+    private TextView tvAdaptiveRoiRefreshIntervalValue;
+    private CheckBox cbRecordAnalyzerFrames;
+    private LinearLayout llRecordAnalyzerFramesMaxMb;
+    private SeekBar sbRecordAnalyzerFramesMaxMb;
+    private TextView tvRecordAnalyzerFramesMaxMbValue;
+    private SeekBar sbDecisionMemoCapacity;
+    private TextView tvDecisionMemoCapacityValue;
+    private CheckBox cbDecoderWarmPool;
+    private SeekBar sbDecoderWarmUpFrames;
+    private TextView tvDecoderWarmUpFramesValue;
 
     // Auto Capture views
     private ImageView ivToggleAutoCapture;
@@ -287,9 +339,20 @@ public class SettingsActivity extends BaseActivity {
         cbUS4STATE = findViewById(R.id.cbUS4STATE);
         cbUS4STATE_FICS = findViewById(R.id.cbUS4STATE_FICS);
         cbDisplayAnalysisPerSecond = findViewById(R.id.cbDisplayAnalysisPerSecond);
+        cbDisplayLatencyHistograms = findViewById(R.id.cbDisplayLatencyHistograms);
         cbLoggingEnabled = findViewById(R.id.cbLoggingEnabled);
         cbForceContinuousAutofocus = findViewById(R.id.cbForceContinuousAutofocus);
         cbHighResStabilization = findViewById(R.id.cbHighResStabilization);
+        cbHighResRoiDecode = findViewById(R.id.cbHighResRoiDecode);
+        cbHighResYuvCapture = findViewById(R.id.cbHighResYuvCapture);
+        cbHighResTiledDecode = findViewById(R.id.cbHighResTiledDecode);
+        sbTiledDecodeOverlap = findViewById(R.id.sbTiledDecodeOverlap);
+        tvTiledDecodeOverlapValue = findViewById(R.id.tvTiledDecodeOverlapValue);
+        sbTiledDecodeParallelism = findViewById(R.id.sbTiledDecodeParallelism);
+        tvTiledDecodeParallelismValue = findViewById(R.id.tvTiledDecodeParallelismValue);
+        cbDenseCapture = findViewById(R.id.cbDenseCapture);
+        sbHighResRoiPadding = findViewById(R.id.sbHighResRoiPadding);
+        tvHighResRoiPaddingValue = findViewById(R.id.tvHighResRoiPaddingValue);
         cbDebounceEnabled = findViewById(R.id.cbDebounceEnabled);
         sbDebounceMaxFrames = findViewById(R.id.sbDebounceMaxFrames);
         sbDebounceThreshold = findViewById(R.id.sbDebounceThreshold);
@@ -302,6 +365,46 @@ public class SettingsActivity extends BaseActivity {
         llDebounceIouThreshold = findViewById(R.id.llDebounceIouThreshold);
         sbDebounceIouThreshold = findViewById(R.id.sbDebounceIouThreshold);
         tvDebounceIouThresholdValue = findViewById(R.id.tvDebounceIouThresholdValue);
+        cbDebounceMotionPrediction = findViewById(R.id.cbDebounceMotionPrediction);
+        llPredictedFrameInterval = findViewById(R.id.llPredictedFrameInterval);
+        sbPredictedFrameInterval = findViewById(R.id.sbPredictedFrameInterval);
+        tvPredictedFrameIntervalValue = findViewById(R.id.tvPredictedFrameIntervalValue);
+        spinnerOverlayMotionMode = findViewById(R.id.spinnerOverlayMotionMode);
+
+        // Analyzer pipeline views
+        cbLuminanceOnlyFrames = findViewById(R.id.cbLuminanceOnlyFrames);
+        cbNativeCropTransform = findViewById(R.id.cbNativeCropTransform);
+        sbAnalyzerPipelineDepth = findViewById(R.id.sbAnalyzerPipelineDepth);
+        tvAnalyzerPipelineDepthValue = findViewById(R.id.tvAnalyzerPipelineDepthValue);
+        cbMotionGate = findViewById(R.id.cbMotionGate);
+        llMotionGateCellThreshold = findViewById(R.id.llMotionGateCellThreshold);
+        sbMotionGateCellThreshold = findViewById(R.id.sbMotionGateCellThreshold);
+        tvMotionGateCellThresholdValue = findViewById(R.id.tvMotionGateCellThresholdValue);
+        llMotionGateChangedCells = findViewById(R.id.llMotionGateChangedCells);
+        sbMotionGateChangedCells = findViewById(R.id.sbMotionGateChangedCells);
+        tvMotionGateChangedCellsValue = findViewById(R.id.tvMotionGateChangedCellsValue);
+        llMotionGateMaxSkippedFrames = findViewById(R.id.llMotionGateMaxSkippedFrames);
+        sbMotionGateMaxSkippedFrames = findViewById(R.id.sbMotionGateMaxSkippedFrames);
+        tvMotionGateMaxSkippedFramesValue = findViewById(R.id.tvMotionGateMaxSkippedFramesValue);
+        cbAdaptiveRoi = findViewById(R.id.cbAdaptiveRoi);
+        llAdaptiveRoiMargin = findViewById(R.id.llAdaptiveRoiMargin);
+        sbAdaptiveRoiMargin = findViewById(R.id.sbAdaptiveRoiMargin);
+        tvAdaptiveRoiMarginValue = findViewById(R.id.tvAdaptiveRoiMarginValue);
+        llAdaptiveRoiMinStableFrames = findViewById(R.id.llAdaptiveRoiMinStableFrames);
+        sbAdaptiveRoiMinStableFrames = findViewById(R.id.sbAdaptiveRoiMinStableFrames);
+        tvAdaptiveRoiMinStableFramesValue = findViewById(R.id.tvAdaptiveRoiMinStableFramesValue);
+        llAdaptiveRoiRefreshInterval = findViewById(R.id.llAdaptiveRoiRefreshInterval);
+        sbAdaptiveRoiRefreshInterval = findViewById(R.id.sbAdaptiveRoiRefreshInterval);
+        tvAdaptiveRoiRefreshIntervalValue = findViewById(R.id.tvAdaptiveRoiRefreshIntervalValue);
+        cbRecordAnalyzerFrames = findViewById(R.id.cbRecordAnalyzerFrames);
+        llRecordAnalyzerFramesMaxMb = findViewById(R.id.llRecordAnalyzerFramesMaxMb);
+        sbRecordAnalyzerFramesMaxMb = findViewById(R.id.sbRecordAnalyzerFramesMaxMb);
+        tvRecordAnalyzerFramesMaxMbValue = findViewById(R.id.tvRecordAnalyzerFramesMaxMbValue);
+        sbDecisionMemoCapacity = findViewById(R.id.sbDecisionMemoCapacity);
+        tvDecisionMemoCapacityValue = findViewById(R.id.tvDecisionMemoCapacityValue);
+        cbDecoderWarmPool = findViewById(R.id.cbDecoderWarmPool);
+        sbDecoderWarmUpFrames = findViewById(R.id.sbDecoderWarmUpFrames);
+        tvDecoderWarmUpFramesValue = findViewById(R.id.tvDecoderWarmUpFramesValue);
 
         // Auto Capture views
         ivToggleAutoCapture = findViewById(R.id.ivToggleAutoCapture);
@@ -417,6 +520,21 @@ public class SettingsActivity extends BaseActivity {
         // Setup debounce listeners
         setupDebounceListeners();
 
+        // Setup analyzer pipeline listeners
+        setupAnalyzerPipelineListeners();
+
+        // Setup motion gate listeners
+        setupMotionGateListeners();
+
+        // Setup adaptive ROI listeners
+        setupAdaptiveRoiListeners();
+
+        // Setup frame recording listeners
+        setupFrameRecordingListeners();
+
+        // Setup high-res capture option listeners
+        setupHighResCaptureListeners();
+
         // Setup high-res stabilization listener
         setupHighResStabilizationListener();
 
@@ -500,6 +618,14 @@ public class SettingsActivity extends BaseActivity {
         loadForceContinuousAutofocus(sharedPreferences);
         loadHighResStabilization(sharedPreferences);
         loadDebounceSettings(sharedPreferences);
+        loadLuminanceOnlyFrames(sharedPreferences);
+        loadAnalyzerPipelineDepth(sharedPreferences);
+        loadMotionGateSettings(sharedPreferences);
+        loadAdaptiveRoiSettings(sharedPreferences);
+        loadFrameRecordingSettings(sharedPreferences);
+        loadDecisionMemoCapacity(sharedPreferences);
+        loadDecoderWarmPool(sharedPreferences);
+        loadDecoderWarmUpFrames(sharedPreferences);
         loadAutoCaptureSettings();
 
         etPrefix.setText(prefix);
@@ -708,6 +834,14 @@ public class SettingsActivity extends BaseActivity {
         saveForceContinuousAutofocus(editor);
         saveHighResStabilization(editor);
         saveDebounceSettings(editor);
+        saveLuminanceOnlyFrames(editor);
+        saveAnalyzerPipelineDepth(editor);
+        saveMotionGateSettings(editor);
+        saveAdaptiveRoiSettings(editor);
+        saveFrameRecordingSettings(editor);
+        saveDecisionMemoCapacity(editor);
+        saveDecoderWarmPool(editor);
+        saveDecoderWarmUpFrames(editor);
         saveAutoCaptureSettings();
 
         editor.putString(SHARED_PREFERENCES_EXTENSION, getSelectedExtension());
@@ -1688,10 +1822,12 @@ public class SettingsActivity extends BaseActivity {
     private void loadDisplayAnalysisPerSecond(SharedPreferences sharedPreferences) {
         boolean displayAnalysisPerSecond = sharedPreferences.getBoolean(SHARED_PREFERENCES_DISPLAY_ANALYSIS_PER_SECOND, SHARED_PREFERENCES_DISPLAY_ANALYSIS_PER_SECOND_DEFAULT);
         cbDisplayAnalysisPerSecond.setChecked(displayAnalysisPerSecond);
+        cbDisplayLatencyHistograms.setChecked(sharedPreferences.getBoolean(SHARED_PREFERENCES_DISPLAY_LATENCY_HISTOGRAMS, SHARED_PREFERENCES_DISPLAY_LATENCY_HISTOGRAMS_DEFAULT));
     }
 
     private void saveDisplayAnalysisPerSecond(SharedPreferences.Editor editor) {
         editor.putBoolean(SHARED_PREFERENCES_DISPLAY_ANALYSIS_PER_SECOND, cbDisplayAnalysisPerSecond.isChecked());
+        editor.putBoolean(SHARED_PREFERENCES_DISPLAY_LATENCY_HISTOGRAMS, cbDisplayLatencyHistograms.isChecked());
     }
 
     private void loadLoggingEnabled(SharedPreferences sharedPreferences) {
@@ -1728,10 +1864,32 @@ public class SettingsActivity extends BaseActivity {
 
         // Update high resolution options state based on loaded setting
         updateHighResolutionOptionsState(highResStabilizationEnabled);
+
+        // High-res capture options
+        cbHighResRoiDecode.setChecked(sharedPreferences.getBoolean(SHARED_PREFERENCES_HIGH_RES_ROI_DECODE, SHARED_PREFERENCES_HIGH_RES_ROI_DECODE_DEFAULT));
+        int roiPadding = sharedPreferences.getInt(SHARED_PREFERENCES_HIGH_RES_ROI_PADDING, SHARED_PREFERENCES_HIGH_RES_ROI_PADDING_DEFAULT);
+        sbHighResRoiPadding.setProgress(roiPadding);
+        tvHighResRoiPaddingValue.setText(getString(R.string.high_res_roi_padding_value, roiPadding));
+        cbHighResYuvCapture.setChecked(sharedPreferences.getBoolean(SHARED_PREFERENCES_HIGH_RES_YUV_CAPTURE, SHARED_PREFERENCES_HIGH_RES_YUV_CAPTURE_DEFAULT));
+        cbHighResTiledDecode.setChecked(sharedPreferences.getBoolean(SHARED_PREFERENCES_HIGH_RES_TILED_DECODE, SHARED_PREFERENCES_HIGH_RES_TILED_DECODE_DEFAULT));
+        int tileOverlap = sharedPreferences.getInt(SHARED_PREFERENCES_TILED_DECODE_OVERLAP, SHARED_PREFERENCES_TILED_DECODE_OVERLAP_DEFAULT);
+        sbTiledDecodeOverlap.setProgress(tileOverlap);
+        tvTiledDecodeOverlapValue.setText(getString(R.string.tiled_decode_overlap_value, tileOverlap));
+        int tileParallelism = sharedPreferences.getInt(SHARED_PREFERENCES_TILED_DECODE_PARALLELISM, SHARED_PREFERENCES_TILED_DECODE_PARALLELISM_DEFAULT);
+        sbTiledDecodeParallelism.setProgress(tileParallelism);
+        tvTiledDecodeParallelismValue.setText(getString(R.string.tiled_decode_parallelism_value, tileParallelism));
+        cbDenseCapture.setChecked(sharedPreferences.getBoolean(SHARED_PREFERENCES_DENSE_CAPTURE, SHARED_PREFERENCES_DENSE_CAPTURE_DEFAULT));
     }
 
     private void saveHighResStabilization(SharedPreferences.Editor editor) {
         editor.putBoolean(SHARED_PREFERENCES_HIGH_RES_STABILIZATION_ENABLED, cbHighResStabilization.isChecked());
+        editor.putBoolean(SHARED_PREFERENCES_HIGH_RES_ROI_DECODE, cbHighResRoiDecode.isChecked());
+        editor.putInt(SHARED_PREFERENCES_HIGH_RES_ROI_PADDING, sbHighResRoiPadding.getProgress());
+        editor.putBoolean(SHARED_PREFERENCES_HIGH_RES_YUV_CAPTURE, cbHighResYuvCapture.isChecked());
+        editor.putBoolean(SHARED_PREFERENCES_HIGH_RES_TILED_DECODE, cbHighResTiledDecode.isChecked());
+        editor.putInt(SHARED_PREFERENCES_TILED_DECODE_OVERLAP, sbTiledDecodeOverlap.getProgress());
+        editor.putInt(SHARED_PREFERENCES_TILED_DECODE_PARALLELISM, sbTiledDecodeParallelism.getProgress());
+        editor.putBoolean(SHARED_PREFERENCES_DENSE_CAPTURE, cbDenseCapture.isChecked());
     }
 
     private void setupHighResStabilizationListener() {
@@ -1958,6 +2116,12 @@ public class SettingsActivity extends BaseActivity {
         // Setup algorithm spinner
         setupDebounceAlgorithmSpinner();
 
+        // Setup overlay motion spinner, its entries follow the EOverlayMotionMode order
+        ArrayAdapter<String> overlayMotionAdapter = new ArrayAdapter<>(this, R.layout.spinner_item,
+                getResources().getStringArray(R.array.overlay_motion_mode_names));
+        overlayMotionAdapter.setDropDownViewResource(R.layout.spinner_dropdown_item);
+        spinnerOverlayMotionMode.setAdapter(overlayMotionAdapter);
+
         // Checkbox listener to enable/disable sliders
         cbDebounceEnabled.setOnCheckedChangeListener(new CompoundButton.OnCheckedChangeListener() {
             @Override
@@ -2008,6 +2172,20 @@ public class SettingsActivity extends BaseActivity {
             @Override
             public void onStopTrackingTouch(SeekBar seekBar) {}
         });
+
+        // Predicted frames SeekBar listener
+        sbPredictedFrameInterval.setOnSeekBarChangeListener(new SeekBar.OnSeekBarChangeListener() {
+            @Override
+            public void onProgressChanged(SeekBar seekBar, int progress, boolean fromUser) {
+                tvPredictedFrameIntervalValue.setText(getString(R.string.debounce_max_frames_value, progress));
+            }
+
+            @Override
+            public void onStartTrackingTouch(SeekBar seekBar) {}
+
+            @Override
+            public void onStopTrackingTouch(SeekBar seekBar) {}
+        });
     }
 
     private void setupDebounceAlgorithmSpinner() {
@@ -2054,6 +2232,9 @@ public class SettingsActivity extends BaseActivity {
         sbDebounceMaxFrames.setEnabled(enabled);
         sbDebounceThreshold.setEnabled(enabled);
         sbDebounceIouThreshold.setEnabled(enabled);
+        llPredictedFrameInterval.setAlpha(alpha);
+        cbDebounceMotionPrediction.setEnabled(enabled);
+        sbPredictedFrameInterval.setEnabled(enabled);
     }
 
     private void loadDebounceSettings(SharedPreferences sharedPreferences) {
@@ -2068,12 +2249,17 @@ public class SettingsActivity extends BaseActivity {
         sbDebounceThreshold.setProgress(threshold);
         spinnerDebounceAlgorithm.setSelection(algorithm);
         sbDebounceIouThreshold.setProgress(iouThreshold);
+        cbDebounceMotionPrediction.setChecked(sharedPreferences.getBoolean(SHARED_PREFERENCES_DEBOUNCE_MOTION_PREDICTION, SHARED_PREFERENCES_DEBOUNCE_MOTION_PREDICTION_DEFAULT));
+        int predictedFrameInterval = sharedPreferences.getInt(SHARED_PREFERENCES_PREDICTED_FRAME_INTERVAL, SHARED_PREFERENCES_PREDICTED_FRAME_INTERVAL_DEFAULT);
+        sbPredictedFrameInterval.setProgress(predictedFrameInterval);
+        spinnerOverlayMotionMode.setSelection(EOverlayMotionMode.fromKey(sharedPreferences.getString(SHARED_PREFERENCES_OVERLAY_MOTION_MODE, SHARED_PREFERENCES_OVERLAY_MOTION_MODE_DEFAULT)).ordinal());
 
         // Update value labels
         tvDebounceMaxFramesValue.setText(getString(R.string.debounce_max_frames_value, maxFrames));
         tvDebounceThresholdValue.setText(getString(R.string.debounce_threshold_value, threshold));
         float iouValue = iouThreshold / 100.0f;
         tvDebounceIouThresholdValue.setText(String.format(getString(R.string.debounce_iou_threshold_value), iouValue));
+        tvPredictedFrameIntervalValue.setText(getString(R.string.debounce_max_frames_value, predictedFrameInterval));
 
         // Update UI state based on checkbox
         updateDebounceUIState(debounceEnabled);
@@ -2088,6 +2274,369 @@ public class SettingsActivity extends BaseActivity {
         editor.putInt(SHARED_PREFERENCES_DEBOUNCE_THRESHOLD, sbDebounceThreshold.getProgress());
         editor.putInt(SHARED_PREFERENCES_DEBOUNCE_ALGORITHM, spinnerDebounceAlgorithm.getSelectedItemPosition());
         editor.putInt(SHARED_PREFERENCES_DEBOUNCE_IOU_THRESHOLD, sbDebounceIouThreshold.getProgress());
+        editor.putBoolean(SHARED_PREFERENCES_DEBOUNCE_MOTION_PREDICTION, cbDebounceMotionPrediction.isChecked());
+        editor.putInt(SHARED_PREFERENCES_PREDICTED_FRAME_INTERVAL, sbPredictedFrameInterval.getProgress());
+        editor.putString(SHARED_PREFERENCES_OVERLAY_MOTION_MODE, EOverlayMotionMode.values()[spinnerOverlayMotionMode.getSelectedItemPosition()].toString());
+    }
+
+    private void loadLuminanceOnlyFrames(SharedPreferences sharedPreferences) {
+        cbLuminanceOnlyFrames.setChecked(sharedPreferences.getBoolean(SHARED_PREFERENCES_LUMINANCE_ONLY_FRAMES, SHARED_PREFERENCES_LUMINANCE_ONLY_FRAMES_DEFAULT));
+        cbNativeCropTransform.setChecked(sharedPreferences.getBoolean(SHARED_PREFERENCES_NATIVE_CROP_TRANSFORM, SHARED_PREFERENCES_NATIVE_CROP_TRANSFORM_DEFAULT));
+    }
+
+    private void saveLuminanceOnlyFrames(SharedPreferences.Editor editor) {
+        editor.putBoolean(SHARED_PREFERENCES_LUMINANCE_ONLY_FRAMES, cbLuminanceOnlyFrames.isChecked());
+        editor.putBoolean(SHARED_PREFERENCES_NATIVE_CROP_TRANSFORM, cbNativeCropTransform.isChecked());
+    }
+
+    private void setupAnalyzerPipelineListeners() {
+        // Pipeline depth SeekBar listener
+        sbAnalyzerPipelineDepth.setOnSeekBarChangeListener(new SeekBar.OnSeekBarChangeListener() {
+            @Override
+            public void onProgressChanged(SeekBar seekBar, int progress, boolean fromUser) {
+                tvAnalyzerPipelineDepthValue.setText(getString(R.string.analyzer_pipeline_depth_value, progress));
+            }
+
+            @Override
+            public void onStartTrackingTouch(SeekBar seekBar) {}
+
+            @Override
+            public void onStopTrackingTouch(SeekBar seekBar) {}
+        });
+
+        // Decision memo capacity SeekBar listener
+        sbDecisionMemoCapacity.setOnSeekBarChangeListener(new SeekBar.OnSeekBarChangeListener() {
+            @Override
+            public void onProgressChanged(SeekBar seekBar, int progress, boolean fromUser) {
+                tvDecisionMemoCapacityValue.setText(getString(R.string.decision_memo_capacity_value, progress));
+            }
+
+            @Override
+            public void onStartTrackingTouch(SeekBar seekBar) {}
+
+            @Override
+            public void onStopTrackingTouch(SeekBar seekBar) {}
+        });
+
+        // Warm-up frames SeekBar listener
+        sbDecoderWarmUpFrames.setOnSeekBarChangeListener(new SeekBar.OnSeekBarChangeListener() {
+            @Override
+            public void onProgressChanged(SeekBar seekBar, int progress, boolean fromUser) {
+                tvDecoderWarmUpFramesValue.setText(getString(R.string.debounce_max_frames_value, progress));
+            }
+
+            @Override
+            public void onStartTrackingTouch(SeekBar seekBar) {}
+
+            @Override
+            public void onStopTrackingTouch(SeekBar seekBar) {}
+        });
+    }
+
+    private void loadAnalyzerPipelineDepth(SharedPreferences sharedPreferences) {
+        int depth = sharedPreferences.getInt(SHARED_PREFERENCES_ANALYZER_PIPELINE_DEPTH, SHARED_PREFERENCES_ANALYZER_PIPELINE_DEPTH_DEFAULT);
+        sbAnalyzerPipelineDepth.setProgress(depth);
+        tvAnalyzerPipelineDepthValue.setText(getString(R.string.analyzer_pipeline_depth_value, depth));
+    }
+
+    private void saveAnalyzerPipelineDepth(SharedPreferences.Editor editor) {
+        editor.putInt(SHARED_PREFERENCES_ANALYZER_PIPELINE_DEPTH, sbAnalyzerPipelineDepth.getProgress());
+    }
+
+    private void setupMotionGateListeners() {
+        // Checkbox listener to enable/disable sliders
+        cbMotionGate.setOnCheckedChangeListener(new CompoundButton.OnCheckedChangeListener() {
+            @Override
+            public void onCheckedChanged(CompoundButton buttonView, boolean isChecked) {
+                updateMotionGateUIState(isChecked);
+            }
+        });
+
+        // Cell threshold SeekBar listener
+        sbMotionGateCellThreshold.setOnSeekBarChangeListener(new SeekBar.OnSeekBarChangeListener() {
+            @Override
+            public void onProgressChanged(SeekBar seekBar, int progress, boolean fromUser) {
+                tvMotionGateCellThresholdValue.setText(String.valueOf(progress));
+            }
+
+            @Override
+            public void onStartTrackingTouch(SeekBar seekBar) {}
+
+            @Override
+            public void onStopTrackingTouch(SeekBar seekBar) {}
+        });
+
+        // Changed cells SeekBar listener
+        sbMotionGateChangedCells.setOnSeekBarChangeListener(new SeekBar.OnSeekBarChangeListener() {
+            @Override
+            public void onProgressChanged(SeekBar seekBar, int progress, boolean fromUser) {
+                tvMotionGateChangedCellsValue.setText(getString(R.string.motion_gate_changed_cells_value, progress));
+            }
+
+            @Override
+            public void onStartTrackingTouch(SeekBar seekBar) {}
+
+            @Override
+            public void onStopTrackingTouch(SeekBar seekBar) {}
+        });
+
+        // Max skipped frames SeekBar listener
+        sbMotionGateMaxSkippedFrames.setOnSeekBarChangeListener(new SeekBar.OnSeekBarChangeListener() {
+            @Override
+            public void onProgressChanged(SeekBar seekBar, int progress, boolean fromUser) {
+                tvMotionGateMaxSkippedFramesValue.setText(getString(R.string.debounce_max_frames_value, progress));
+            }
+
+            @Override
+            public void onStartTrackingTouch(SeekBar seekBar) {}
+
+            @Override
+            public void onStopTrackingTouch(SeekBar seekBar) {}
+        });
+    }
+
+    private void updateMotionGateUIState(boolean enabled) {
+        float alpha = enabled ? 1.0f : 0.5f;
+        llMotionGateCellThreshold.setAlpha(alpha);
+        llMotionGateChangedCells.setAlpha(alpha);
+        llMotionGateMaxSkippedFrames.setAlpha(alpha);
+        sbMotionGateCellThreshold.setEnabled(enabled);
+        sbMotionGateChangedCells.setEnabled(enabled);
+        sbMotionGateMaxSkippedFrames.setEnabled(enabled);
+    }
+
+    private void loadMotionGateSettings(SharedPreferences sharedPreferences) {
+        boolean motionGateEnabled = sharedPreferences.getBoolean(SHARED_PREFERENCES_MOTION_GATE_ENABLED, SHARED_PREFERENCES_MOTION_GATE_ENABLED_DEFAULT);
+        int cellThreshold = sharedPreferences.getInt(SHARED_PREFERENCES_MOTION_GATE_CELL_THRESHOLD, SHARED_PREFERENCES_MOTION_GATE_CELL_THRESHOLD_DEFAULT);
+        int changedCellsPercent = sharedPreferences.getInt(SHARED_PREFERENCES_MOTION_GATE_CHANGED_CELLS_PERCENT, SHARED_PREFERENCES_MOTION_GATE_CHANGED_CELLS_PERCENT_DEFAULT);
+        int maxSkippedFrames = sharedPreferences.getInt(SHARED_PREFERENCES_MOTION_GATE_MAX_SKIPPED_FRAMES, SHARED_PREFERENCES_MOTION_GATE_MAX_SKIPPED_FRAMES_DEFAULT);
+
+        cbMotionGate.setChecked(motionGateEnabled);
+        sbMotionGateCellThreshold.setProgress(cellThreshold);
+        sbMotionGateChangedCells.setProgress(changedCellsPercent);
+        sbMotionGateMaxSkippedFrames.setProgress(maxSkippedFrames);
+
+        // Update value labels
+        tvMotionGateCellThresholdValue.setText(String.valueOf(cellThreshold));
+        tvMotionGateChangedCellsValue.setText(getString(R.string.motion_gate_changed_cells_value, changedCellsPercent));
+        tvMotionGateMaxSkippedFramesValue.setText(getString(R.string.debounce_max_frames_value, maxSkippedFrames));
+
+        // Update UI state based on checkbox
+        updateMotionGateUIState(motionGateEnabled);
+    }
+
+    private void saveMotionGateSettings(SharedPreferences.Editor editor) {
+        editor.putBoolean(SHARED_PREFERENCES_MOTION_GATE_ENABLED, cbMotionGate.isChecked());
+        editor.putInt(SHARED_PREFERENCES_MOTION_GATE_CELL_THRESHOLD, sbMotionGateCellThreshold.getProgress());
+        editor.putInt(SHARED_PREFERENCES_MOTION_GATE_CHANGED_CELLS_PERCENT, sbMotionGateChangedCells.getProgress());
+        editor.putInt(SHARED_PREFERENCES_MOTION_GATE_MAX_SKIPPED_FRAMES, sbMotionGateMaxSkippedFrames.getProgress());
+    }
+
+    private void setupAdaptiveRoiListeners() {
+        // Checkbox listener to enable/disable sliders
+        cbAdaptiveRoi.setOnCheckedChangeListener(new CompoundButton.OnCheckedChangeListener() {
+            @Override
+            public void onCheckedChanged(CompoundButton buttonView, boolean isChecked) {
+                updateAdaptiveRoiUIState(isChecked);
+            }
+        });
+
+        // Margin SeekBar listener
+        sbAdaptiveRoiMargin.setOnSeekBarChangeListener(new SeekBar.OnSeekBarChangeListener() {
+            @Override
+            public void onProgressChanged(SeekBar seekBar, int progress, boolean fromUser) {
+                tvAdaptiveRoiMarginValue.setText(getString(R.string.adaptive_roi_margin_value, progress));
+            }
+
+            @Override
+            public void onStartTrackingTouch(SeekBar seekBar) {}
+
+            @Override
+            public void onStopTrackingTouch(SeekBar seekBar) {}
+        });
+
+        // Min stable frames SeekBar listener
+        sbAdaptiveRoiMinStableFrames.setOnSeekBarChangeListener(new SeekBar.OnSeekBarChangeListener() {
+            @Override
+            public void onProgressChanged(SeekBar seekBar, int progress, boolean fromUser) {
+                tvAdaptiveRoiMinStableFramesValue.setText(getString(R.string.debounce_max_frames_value, progress));
+            }
+
+            @Override
+            public void onStartTrackingTouch(SeekBar seekBar) {}
+
+            @Override
+            public void onStopTrackingTouch(SeekBar seekBar) {}
+        });
+
+        // Refresh interval SeekBar listener
+        sbAdaptiveRoiRefreshInterval.setOnSeekBarChangeListener(new SeekBar.OnSeekBarChangeListener() {
+            @Override
+            public void onProgressChanged(SeekBar seekBar, int progress, boolean fromUser) {
+                tvAdaptiveRoiRefreshIntervalValue.setText(getString(R.string.debounce_max_frames_value, progress));
+            }
+
+            @Override
+            public void onStartTrackingTouch(SeekBar seekBar) {}
+
+            @Override
+            public void onStopTrackingTouch(SeekBar seekBar) {}
+        });
+    }
+
+    private void updateAdaptiveRoiUIState(boolean enabled) {
+        float alpha = enabled ? 1.0f : 0.5f;
+        llAdaptiveRoiMargin.setAlpha(alpha);
+        llAdaptiveRoiMinStableFrames.setAlpha(alpha);
+        llAdaptiveRoiRefreshInterval.setAlpha(alpha);
+        sbAdaptiveRoiMargin.setEnabled(enabled);
+        sbAdaptiveRoiMinStableFrames.setEnabled(enabled);
+        sbAdaptiveRoiRefreshInterval.setEnabled(enabled);
+    }
+
+    private void loadAdaptiveRoiSettings(SharedPreferences sharedPreferences) {
+        boolean adaptiveRoiEnabled = sharedPreferences.getBoolean(SHARED_PREFERENCES_ADAPTIVE_ROI_ENABLED, SHARED_PREFERENCES_ADAPTIVE_ROI_ENABLED_DEFAULT);
+        int marginPercent = sharedPreferences.getInt(SHARED_PREFERENCES_ADAPTIVE_ROI_MARGIN_PERCENT, SHARED_PREFERENCES_ADAPTIVE_ROI_MARGIN_PERCENT_DEFAULT);
+        int minStableFrames = sharedPreferences.getInt(SHARED_PREFERENCES_ADAPTIVE_ROI_MIN_STABLE_FRAMES, SHARED_PREFERENCES_ADAPTIVE_ROI_MIN_STABLE_FRAMES_DEFAULT);
+        int refreshInterval = sharedPreferences.getInt(SHARED_PREFERENCES_ADAPTIVE_ROI_REFRESH_INTERVAL, SHARED_PREFERENCES_ADAPTIVE_ROI_REFRESH_INTERVAL_DEFAULT);
+
+        cbAdaptiveRoi.setChecked(adaptiveRoiEnabled);
+        sbAdaptiveRoiMargin.setProgress(marginPercent);
+        sbAdaptiveRoiMinStableFrames.setProgress(minStableFrames);
+        sbAdaptiveRoiRefreshInterval.setProgress(refreshInterval);
+
+        // Update value labels
+        tvAdaptiveRoiMarginValue.setText(getString(R.string.adaptive_roi_margin_value, marginPercent));
+        tvAdaptiveRoiMinStableFramesValue.setText(getString(R.string.debounce_max_frames_value, minStableFrames));
+        tvAdaptiveRoiRefreshIntervalValue.setText(getString(R.string.debounce_max_frames_value, refreshInterval));
+
+        // Update UI state based on checkbox
+        updateAdaptiveRoiUIState(adaptiveRoiEnabled);
+    }
+
+    private void saveAdaptiveRoiSettings(SharedPreferences.Editor editor) {
+        editor.putBoolean(SHARED_PREFERENCES_ADAPTIVE_ROI_ENABLED, cbAdaptiveRoi.isChecked());
+        editor.putInt(SHARED_PREFERENCES_ADAPTIVE_ROI_MARGIN_PERCENT, sbAdaptiveRoiMargin.getProgress());
+        editor.putInt(SHARED_PREFERENCES_ADAPTIVE_ROI_MIN_STABLE_FRAMES, sbAdaptiveRoiMinStableFrames.getProgress());
+        editor.putInt(SHARED_PREFERENCES_ADAPTIVE_ROI_REFRESH_INTERVAL, sbAdaptiveRoiRefreshInterval.getProgress());
+    }
+
+    private void setupFrameRecordingListeners() {
+        // Checkbox listener to enable/disable the size slider
+        cbRecordAnalyzerFrames.setOnCheckedChangeListener(new CompoundButton.OnCheckedChangeListener() {
+            @Override
+            public void onCheckedChanged(CompoundButton buttonView, boolean isChecked) {
+                updateFrameRecordingUIState(isChecked);
+            }
+        });
+
+        // Max size SeekBar listener
+        sbRecordAnalyzerFramesMaxMb.setOnSeekBarChangeListener(new SeekBar.OnSeekBarChangeListener() {
+            @Override
+            public void onProgressChanged(SeekBar seekBar, int progress, boolean fromUser) {
+                tvRecordAnalyzerFramesMaxMbValue.setText(getString(R.string.record_analyzer_frames_max_mb_value, progress));
+            }
+
+            @Override
+            public void onStartTrackingTouch(SeekBar seekBar) {}
+
+            @Override
+            public void onStopTrackingTouch(SeekBar seekBar) {}
+        });
+    }
+
+    private void updateFrameRecordingUIState(boolean enabled) {
+        llRecordAnalyzerFramesMaxMb.setAlpha(enabled ? 1.0f : 0.5f);
+        sbRecordAnalyzerFramesMaxMb.setEnabled(enabled);
+    }
+
+    private void loadFrameRecordingSettings(SharedPreferences sharedPreferences) {
+        boolean recordingEnabled = sharedPreferences.getBoolean(SHARED_PREFERENCES_RECORD_ANALYZER_FRAMES, SHARED_PREFERENCES_RECORD_ANALYZER_FRAMES_DEFAULT);
+        int maxMb = sharedPreferences.getInt(SHARED_PREFERENCES_RECORD_ANALYZER_FRAMES_MAX_MB, SHARED_PREFERENCES_RECORD_ANALYZER_FRAMES_MAX_MB_DEFAULT);
+
+        cbRecordAnalyzerFrames.setChecked(recordingEnabled);
+        sbRecordAnalyzerFramesMaxMb.setProgress(maxMb);
+        tvRecordAnalyzerFramesMaxMbValue.setText(getString(R.string.record_analyzer_frames_max_mb_value, maxMb));
+
+        // Update UI state based on checkbox
+        updateFrameRecordingUIState(recordingEnabled);
+    }
+
+    private void saveFrameRecordingSettings(SharedPreferences.Editor editor) {
+        editor.putBoolean(SHARED_PREFERENCES_RECORD_ANALYZER_FRAMES, cbRecordAnalyzerFrames.isChecked());
+        editor.putInt(SHARED_PREFERENCES_RECORD_ANALYZER_FRAMES_MAX_MB, sbRecordAnalyzerFramesMaxMb.getProgress());
+    }
+
+    private void loadDecisionMemoCapacity(SharedPreferences sharedPreferences) {
+        int capacity = sharedPreferences.getInt(SHARED_PREFERENCES_DECISION_MEMO_CAPACITY, SHARED_PREFERENCES_DECISION_MEMO_CAPACITY_DEFAULT);
+        sbDecisionMemoCapacity.setProgress(capacity);
+        tvDecisionMemoCapacityValue.setText(getString(R.string.decision_memo_capacity_value, capacity));
+    }
+
+    private void saveDecisionMemoCapacity(SharedPreferences.Editor editor) {
+        editor.putInt(SHARED_PREFERENCES_DECISION_MEMO_CAPACITY, sbDecisionMemoCapacity.getProgress());
+    }
+
+    private void setupHighResCaptureListeners() {
+        // Region padding SeekBar listener
+        sbHighResRoiPadding.setOnSeekBarChangeListener(new SeekBar.OnSeekBarChangeListener() {
+            @Override
+            public void onProgressChanged(SeekBar seekBar, int progress, boolean fromUser) {
+                tvHighResRoiPaddingValue.setText(getString(R.string.high_res_roi_padding_value, progress));
+            }
+
+            @Override
+            public void onStartTrackingTouch(SeekBar seekBar) {}
+
+            @Override
+            public void onStopTrackingTouch(SeekBar seekBar) {}
+        });
+
+        // Tile overlap SeekBar listener
+        sbTiledDecodeOverlap.setOnSeekBarChangeListener(new SeekBar.OnSeekBarChangeListener() {
+            @Override
+            public void onProgressChanged(SeekBar seekBar, int progress, boolean fromUser) {
+                tvTiledDecodeOverlapValue.setText(getString(R.string.tiled_decode_overlap_value, progress));
+            }
+
+            @Override
+            public void onStartTrackingTouch(SeekBar seekBar) {}
+
+            @Override
+            public void onStopTrackingTouch(SeekBar seekBar) {}
+        });
+
+        // Parallel tiles SeekBar listener
+        sbTiledDecodeParallelism.setOnSeekBarChangeListener(new SeekBar.OnSeekBarChangeListener() {
+            @Override
+            public void onProgressChanged(SeekBar seekBar, int progress, boolean fromUser) {
+                tvTiledDecodeParallelismValue.setText(getString(R.string.tiled_decode_parallelism_value, progress));
+            }
+
+            @Override
+            public void onStartTrackingTouch(SeekBar seekBar) {}
+
+            @Override
+            public void onStopTrackingTouch(SeekBar seekBar) {}
+        });
+    }
+
+    private void loadDecoderWarmPool(SharedPreferences sharedPreferences) {
+        cbDecoderWarmPool.setChecked(sharedPreferences.getBoolean(SHARED_PREFERENCES_DECODER_WARM_POOL, SHARED_PREFERENCES_DECODER_WARM_POOL_DEFAULT));
+    }
+
+    private void saveDecoderWarmPool(SharedPreferences.Editor editor) {
+        editor.putBoolean(SHARED_PREFERENCES_DECODER_WARM_POOL, cbDecoderWarmPool.isChecked());
+    }
+
+    private void loadDecoderWarmUpFrames(SharedPreferences sharedPreferences) {
+        int warmUpFrames = sharedPreferences.getInt(SHARED_PREFERENCES_DECODER_WARMUP_FRAMES, SHARED_PREFERENCES_DECODER_WARMUP_FRAMES_DEFAULT);
+        sbDecoderWarmUpFrames.setProgress(warmUpFrames);
+        tvDecoderWarmUpFramesValue.setText(getString(R.string.debounce_max_frames_value, warmUpFrames));
+    }
+
+    private void saveDecoderWarmUpFrames(SharedPreferences.Editor editor) {
+        editor.putInt(SHARED_PREFERENCES_DECODER_WARMUP_FRAMES, sbDecoderWarmUpFrames.getProgress());
     }
 
     private void toggleAutoCapture() {
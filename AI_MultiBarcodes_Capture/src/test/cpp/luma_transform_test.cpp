@@ -0,0 +1,230 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+//
+// Exact-output tests of the crop/downscale/rotate luma kernel.
+// Built by the host configuration of src/main/cpp/CMakeLists.txt:
+//   cmake -S AI_MultiBarcodes_Capture/src/main/cpp -B build/yuvprocessor-host
+//   cmake --build build/yuvprocessor-host && ctest --test-dir build/yuvprocessor-host
+// On an ARM host the NEON kernels are checked, elsewhere the portable ones.
+
+#include "luma_transform.h"
+
+#include <chrono>
+#include <cstdint>
+#include <cstdio>
+#include <cstring>
+#include <random>
+#include <vector>
+
+using yuvprocessor::cropLumaTransform;
+using yuvprocessor::cropLumaTransformPortable;
+using yuvprocessor::lumaTransformOutputSize;
+
+namespace {
+
+int failures = 0;
+
+#define EXPECT(condition, ...)                                   \
+    do {                                                         \
+        if (!(condition)) {                                      \
+            failures++;                                          \
+            std::printf("FAILED %s:%d: ", __FILE__, __LINE__);   \
+            std::printf(__VA_ARGS__);                            \
+            std::printf("\n");                                   \
+        }                                                        \
+    } while (0)
+
+/**
+ * Straightforward definition of the expected output: average each block, then place it
+ * at its rotated position. Independent from the kernels under test.
+ */
+std::vector<uint8_t> reference(const std::vector<uint8_t> &src, int srcStride,
+                               int left, int top, int cropWidth, int cropHeight,
+                               int scale, int rotation, int *outWidth, int *outHeight) {
+    const int width = cropWidth / scale;
+    const int height = cropHeight / scale;
+    const bool swap = rotation == 90 || rotation == 270;
+    *outWidth = swap ? height : width;
+    *outHeight = swap ? width : height;
+    std::vector<uint8_t> out(static_cast<size_t>(width) * height);
+    for (int y = 0; y < height; y++) {
+        for (int x = 0; x < width; x++) {
+            int sum = 0;
+            for (int dy = 0; dy < scale; dy++) {
+                for (int dx = 0; dx < scale; dx++) {
+                    sum += src[(top + y * scale + dy) * srcStride + left + x * scale + dx];
+                }
+            }
+            const int area = scale * scale;
+            const auto value = static_cast<uint8_t>((sum + area / 2) / area);
+            int outX = x;
+            int outY = y;
+            switch (rotation) {
+                case 90:
+                    outX = height - 1 - y;
+                    outY = x;
+                    break;
+                case 180:
+                    outX = width - 1 - x;
+                    outY = height - 1 - y;
+                    break;
+                case 270:
+                    outX = y;
+                    outY = width - 1 - x;
+                    break;
+                default:
+                    break;
+            }
+            out[outY * *outWidth + outX] = value;
+        }
+    }
+    return out;
+}
+
+typedef bool (*Kernel)(const uint8_t *, int, int, int, int, int, int, int, uint8_t *, int);
+
+/**
+ * Runs a kernel on a random plane and compares every output byte with the reference.
+ * The output rows are padded to check that nothing is written past the output width.
+ */
+void checkCase(Kernel kernel, const char *name, std::mt19937 &random,
+               int left, int top, int cropWidth, int cropHeight, int scale, int rotation) {
+    const int srcStride = left + cropWidth + 5;
+    const int srcHeight = top + cropHeight + 3;
+    std::vector<uint8_t> src(static_cast<size_t>(srcStride) * srcHeight);
+    for (auto &value : src) {
+        value = static_cast<uint8_t>(random());
+    }
+
+    int expectedWidth;
+    int expectedHeight;
+    const std::vector<uint8_t> expected = reference(src, srcStride, left, top, cropWidth, cropHeight,
+                                                    scale, rotation, &expectedWidth, &expectedHeight);
+    int outWidth;
+    int outHeight;
+    lumaTransformOutputSize(cropWidth, cropHeight, scale, rotation, &outWidth, &outHeight);
+    EXPECT(outWidth == expectedWidth && outHeight == expectedHeight,
+           "%s: output size %dx%d, expected %dx%d", name, outWidth, outHeight, expectedWidth, expectedHeight);
+
+    const int padding = 7;
+    const int dstStride = outWidth + padding;
+    std::vector<uint8_t> dst(static_cast<size_t>(dstStride) * outHeight, 0xA5);
+    EXPECT(kernel(src.data(), srcStride, left, top, cropWidth, cropHeight, scale, rotation, dst.data(), dstStride),
+           "%s: rejected crop %dx%d scale %d rotation %d", name, cropWidth, cropHeight, scale, rotation);
+
+    int mismatches = 0;
+    for (int y = 0; y < outHeight; y++) {
+        for (int x = 0; x < dstStride; x++) {
+            const uint8_t actual = dst[y * dstStride + x];
+            const uint8_t wanted = x < outWidth ? expected[y * outWidth + x] : 0xA5;
+            if (actual != wanted && mismatches++ == 0) {
+                EXPECT(false, "%s: crop %d,%d %dx%d scale %d rotation %d: byte (%d,%d) is %d, expected %d",
+                       name, left, top, cropWidth, cropHeight, scale, rotation, x, y, actual, wanted);
+            }
+        }
+    }
+}
+
+void testAgainstReference(Kernel kernel, const char *name) {
+    std::mt19937 random(20250101);
+    const int sizes[][2] = {
+            {4, 4}, {8, 8}, {16, 8}, {8, 16}, {17, 9}, {30, 22}, {64, 64}, {66, 34},
+            {100, 36}, {127, 65}, {128, 128}, {250, 18}, {33, 250},
+    };
+    const int scales[] = {1, 2, 4};
+    const int rotations[] = {0, 90, 180, 270};
+    for (const auto &size : sizes) {
+        for (int scale : scales) {
+            for (int rotation : rotations) {
+                checkCase(kernel, name, random, 0, 0, size[0], size[1], scale, rotation);
+                checkCase(kernel, name, random, 6, 4, size[0], size[1], scale, rotation);
+            }
+        }
+    }
+}
+
+void testKnownOutput() {
+    // 4x2 crop of a 6x3 plane starting at (1, 1):
+    //   1 2 3 4
+    //   5 6 7 8
+    const int stride = 6;
+    const uint8_t plane[] = {
+            0, 0, 0, 0, 0, 0,
+            0, 1, 2, 3, 4, 0,
+            0, 5, 6, 7, 8, 0,
+    };
+    const uint8_t rotated90[] = {5, 1, 6, 2, 7, 3, 8, 4};
+    const uint8_t rotated180[] = {8, 7, 6, 5, 4, 3, 2, 1};
+    const uint8_t rotated270[] = {4, 8, 3, 7, 2, 6, 1, 5};
+    uint8_t out[8];
+
+    EXPECT(cropLumaTransform(plane, stride, 1, 1, 4, 2, 1, 90, out, 2) && memcmp(out, rotated90, 8) == 0,
+           "rotation 90 of a 4x2 crop");
+    EXPECT(cropLumaTransform(plane, stride, 1, 1, 4, 2, 1, 180, out, 4) && memcmp(out, rotated180, 8) == 0,
+           "rotation 180 of a 4x2 crop");
+    EXPECT(cropLumaTransform(plane, stride, 1, 1, 4, 2, 1, 270, out, 2) && memcmp(out, rotated270, 8) == 0,
+           "rotation 270 of a 4x2 crop");
+
+    // 2x2 blocks: (1+2+5+6+2)/4 = 4 and (3+4+7+8+2)/4 = 6 (rounded half up)
+    EXPECT(cropLumaTransform(plane, stride, 1, 1, 4, 2, 2, 0, out, 2) && out[0] == 4 && out[1] == 6,
+           "downscale by 2 of a 4x2 crop gives %d %d", out[0], out[1]);
+}
+
+void testRejectsUnsupportedArguments() {
+    uint8_t plane[64] = {};
+    uint8_t out[64];
+    EXPECT(!cropLumaTransform(plane, 8, 0, 0, 8, 8, 3, 0, out, 8), "scale 3 must be rejected");
+    EXPECT(!cropLumaTransform(plane, 8, 0, 0, 8, 8, 1, 45, out, 8), "rotation 45 must be rejected");
+    EXPECT(!cropLumaTransform(plane, 8, 0, 0, 8, 8, 1, 90, out, 4), "too small output stride must be rejected");
+    EXPECT(!cropLumaTransform(plane, 8, 4, 0, 8, 8, 1, 0, out, 8), "crop past the row stride must be rejected");
+    EXPECT(!cropLumaTransform(plane, 8, 0, 0, 2, 2, 4, 0, out, 8), "crop smaller than the scale must be rejected");
+    EXPECT(!cropLumaTransform(nullptr, 8, 0, 0, 8, 8, 1, 0, out, 8), "null source must be rejected");
+}
+
+/**
+ * Prints the throughput of both implementations on a full HD frame. Informative only:
+ * the reference numbers are the on-device ones of the :benchmark module.
+ */
+void printThroughput() {
+    const int width = 1920;
+    const int height = 1080;
+    std::vector<uint8_t> src(static_cast<size_t>(width) * height, 128);
+    std::vector<uint8_t> dst(static_cast<size_t>(width) * height);
+    const int iterations = 50;
+    const int scales[] = {1, 2};
+    const int rotations[] = {0, 90};
+    for (int scale : scales) {
+        for (int rotation : rotations) {
+            int outWidth;
+            int outHeight;
+            lumaTransformOutputSize(width, height, scale, rotation, &outWidth, &outHeight);
+            double megapixelsPerSecond[2];
+            for (int implementation = 0; implementation < 2; implementation++) {
+                Kernel kernel = implementation == 0 ? cropLumaTransformPortable : cropLumaTransform;
+                const auto start = std::chrono::steady_clock::now();
+                for (int i = 0; i < iterations; i++) {
+                    kernel(src.data(), width, 0, 0, width, height, scale, rotation, dst.data(), outWidth);
+                }
+                const std::chrono::duration<double> elapsed = std::chrono::steady_clock::now() - start;
+                megapixelsPerSecond[implementation] = iterations * width * height / elapsed.count() / 1e6;
+            }
+            std::printf("scale %d rotation %3d: portable %7.0f MP/s, active %7.0f MP/s\n",
+                        scale, rotation, megapixelsPerSecond[0], megapixelsPerSecond[1]);
+        }
+    }
+}
+
+} // namespace
+
+int main() {
+    testKnownOutput();
+    testRejectsUnsupportedArguments();
+    testAgainstReference(cropLumaTransformPortable, "portable");
+    testAgainstReference(cropLumaTransform, "active");
+    if (failures == 0) {
+        printThroughput();
+        std::printf("All luma transform tests passed\n");
+        return 0;
+    }
+    std::printf("%d luma transform test(s) failed\n", failures);
+    return 1;
+}
@@ -0,0 +1,212 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.conditions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.zebra.ai_multibarcodes_capture.autocapture.PredefinedRegexProvider;
+import com.zebra.ai_multibarcodes_capture.autocapture.models.PredefinedRegex;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+/**
+ * Checks that MultiPatternMatcher reports exactly the patterns java.util.regex matches.
+ */
+public class MultiPatternMatcherTest {
+
+    private static final int RANDOM_VALUES = 20_000;
+    private static final int RANDOM_REGEX_SETS = 300;
+
+    private static List<String> predefinedRegexes() {
+        List<String> regexes = new ArrayList<>();
+        for (PredefinedRegex predefinedRegex : PredefinedRegexProvider.getPredefinedRegexList()) {
+            regexes.add(predefinedRegex.getPattern());
+        }
+        return regexes;
+    }
+
+    private static String randomValue(Random random, String alphabet, int maxLength) {
+        int length = random.nextInt(maxLength + 1);
+        StringBuilder value = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            value.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return value.toString();
+    }
+
+    /**
+     * Generates a regex of the subset the automaton implements, over the characters abc.
+     */
+    private static String randomRegex(Random random, int depth) {
+        if (depth == 0 || random.nextInt(4) == 0) {
+            switch (random.nextInt(6)) {
+                case 0:
+                    return ".";
+                case 1:
+                    return "[a-b]";
+                case 2:
+                    return "[^c]";
+                case 3:
+                    return "\\w";
+                default:
+                    return String.valueOf("abc".charAt(random.nextInt(3)));
+            }
+        }
+        switch (random.nextInt(5)) {
+            case 0: {
+                StringBuilder sequence = new StringBuilder();
+                int length = 2 + random.nextInt(3);
+                for (int i = 0; i < length; i++) {
+                    sequence.append(randomRegex(random, depth - 1));
+                }
+                return sequence.toString();
+            }
+            case 1:
+                return "(?:" + randomRegex(random, depth - 1) + "|" + randomRegex(random, depth - 1) + ")";
+            case 2: {
+                String[] quantifiers = {"*", "+", "?", "*?", "+?"};
+                return "(?:" + randomRegex(random, depth - 1) + ")" + quantifiers[random.nextInt(quantifiers.length)];
+            }
+            case 3: {
+                int min = random.nextInt(4);
+                String bounds = random.nextBoolean() ? min + "," : min + "," + (min + random.nextInt(12));
+                return "(" + randomRegex(random, depth - 1) + "){" + bounds + "}";
+            }
+            default:
+                return "(?:" + randomRegex(random, depth - 1) + "){" + random.nextInt(13) + "}";
+        }
+    }
+
+    private static void assertSameMatches(List<String> regexes, MultiPatternMatcher matcher, String value) {
+        boolean[] matches = new boolean[regexes.size()];
+        int matchCount = matcher.match(value, matches);
+        int expectedCount = 0;
+        for (int id = 0; id < regexes.size(); id++) {
+            boolean expected = Pattern.compile(regexes.get(id)).matcher(value).matches();
+            assertEquals("'" + regexes.get(id) + "' on '" + value + "'", expected, matches[id]);
+            if (expected) {
+                expectedCount++;
+            }
+        }
+        assertEquals(expectedCount, matchCount);
+        assertEquals(expectedCount > 0, matcher.matchesAny(value));
+        if (regexes.size() <= MultiPatternMatcher.MAX_MASK_PATTERNS) {
+            long mask = matcher.matchMask(value);
+            for (int id = 0; id < regexes.size(); id++) {
+                assertEquals(matches[id], (mask & (1L << id)) != 0);
+            }
+        }
+    }
+
+    @Test
+    public void predefinedRegexesUseTheAutomaton() {
+        MultiPatternMatcher matcher = MultiPatternMatcher.compile(predefinedRegexes());
+        assertEquals(0, matcher.getFallbackPatternCount());
+    }
+
+    @Test
+    public void predefinedRegexesMatchLikeJavaRegex() {
+        List<String> regexes = predefinedRegexes();
+        MultiPatternMatcher matcher = MultiPatternMatcher.compile(regexes);
+        List<String> values = new ArrayList<>(Arrays.asList("", "5901234123457", "12345678", "978030640615X",
+                "0123456789X", "1234-567X", "http://zebra.com", "https://a", "ftp://x", "mailto:", "tel:+33",
+                "192.168.1.254", "256.1.1.1", "10.0.0.1:8080", "00:1A:2b:3C:4d:5E", "001a.2b3c.4d5e",
+                "AB-1234", "LOT1234AB", "MSKU1234567", "+1-555-123-4567", "+33 1 23 45 67 89", "+44-1234-567890",
+                "SKU-42", "a-b", "Serial01"));
+        Random random = new Random(19);
+        for (int i = 0; i < RANDOM_VALUES; i++) {
+            values.add(randomValue(random, "0123456789X.:-+()/ahtpsAFLOTSKU\n", 20));
+        }
+        for (String value : values) {
+            assertSameMatches(regexes, matcher, value);
+        }
+    }
+
+    @Test
+    public void syntaxCornersMatchLikeJavaRegex() {
+        List<String> regexes = Arrays.asList("[a-]", "[-a]+", "[^\\d]*", "a{2,}", "a{0,3}?b", "(ab|c)*",
+                "a|", "()x", "x{0}", "\\.\\-\\$", "[\\w.]+", "a$", ".*", "\\s+\\S", "[^a-c\\s]{1,2}",
+                "(?:a|b)+?c", "]}", "[\\]a]", "\\t\\n", "[.*+?]", "((a)|b){2}");
+        MultiPatternMatcher matcher = MultiPatternMatcher.compile(regexes);
+        assertEquals(0, matcher.getFallbackPatternCount());
+        Random random = new Random(7);
+        for (int i = 0; i < RANDOM_VALUES; i++) {
+            assertSameMatches(regexes, matcher, randomValue(random, "abcx-._$ \t\n\r]}*+?1\u0085é", 6));
+        }
+    }
+
+    @Test
+    public void unsupportedConstructsFallBackToJavaRegex() {
+        List<String> regexes = Arrays.asList("(?i)abc", "(a)\\1", "a(?=b).*", "\\bab", "a*+b", "\\p{Lu}+",
+                "[a-z&&[^b]]+", "\\x41+", "ab");
+        MultiPatternMatcher matcher = MultiPatternMatcher.compile(regexes);
+        assertEquals(regexes.size() - 1, matcher.getFallbackPatternCount());
+        Random random = new Random(3);
+        for (int i = 0; i < RANDOM_VALUES; i++) {
+            assertSameMatches(regexes, matcher, randomValue(random, "abcABC", 5));
+        }
+    }
+
+    @Test
+    public void supplementaryCharactersAreMatchedByCodePoint() {
+        List<String> regexes = Arrays.asList(".a", "..a", "[^b]+");
+        MultiPatternMatcher matcher = MultiPatternMatcher.compile(regexes);
+        String value = "😀a";
+        assertSameMatches(regexes, matcher, value);
+        boolean[] matches = new boolean[regexes.size()];
+        matcher.match(value, matches);
+        assertTrue(matches[0]);
+        assertFalse(matches[1]);
+    }
+
+    @Test
+    public void duplicateRegexesAreBothReported() {
+        List<String> regexes = Arrays.asList("^\\d{13}$", "^\\d+$", "^\\d{13}$");
+        MultiPatternMatcher matcher = MultiPatternMatcher.compile(regexes);
+        boolean[] matches = new boolean[regexes.size()];
+        assertEquals(3, matcher.match("5901234123457", matches));
+        assertEquals(1, matcher.match("42", matches));
+        assertTrue(matches[1]);
+    }
+
+    @Test
+    public void loopGrowingTheStateArraysMatchesLikeJavaRegex() {
+        // The body of the outer loop needs more states than the NFA arrays hold when it starts
+        List<String> regexes = Arrays.asList("(?:x(?:d+){12})+");
+        MultiPatternMatcher matcher = MultiPatternMatcher.compile(regexes);
+        assertEquals(0, matcher.getFallbackPatternCount());
+        for (String value : Arrays.asList("", "x", "xdddddddddddd", "xddddddddddddxdddddddddddddd", "xdddddddddddx")) {
+            assertSameMatches(regexes, matcher, value);
+        }
+
+        List<String> predefined = new ArrayList<>(predefinedRegexes().subList(0, 13));
+        predefined.add("^(?:AB|CD)*\\d{3}$");
+        matcher = MultiPatternMatcher.compile(predefined);
+        for (String value : Arrays.asList("123", "ABCD123", "ABAB12", "CDX123", "5901234123457")) {
+            assertSameMatches(predefined, matcher, value);
+        }
+    }
+
+    @Test
+    public void randomRegexesMatchLikeJavaRegex() {
+        Random random = new Random(31);
+        for (int set = 0; set < RANDOM_REGEX_SETS; set++) {
+            List<String> regexes = new ArrayList<>();
+            int patternCount = 1 + random.nextInt(8);
+            for (int i = 0; i < patternCount; i++) {
+                regexes.add(randomRegex(random, 4));
+            }
+            MultiPatternMatcher matcher = MultiPatternMatcher.compile(regexes);
+            for (int i = 0; i < 100; i++) {
+                assertSameMatches(regexes, matcher, randomValue(random, "abcx\n", 8));
+            }
+        }
+    }
+}
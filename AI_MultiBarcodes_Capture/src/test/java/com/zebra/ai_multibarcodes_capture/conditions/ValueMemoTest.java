@@ -0,0 +1,62 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.conditions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+/**
+ * Checks the lookups, CLOCK eviction and statistics of ValueMemo.
+ */
+public class ValueMemoTest {
+
+    @Test
+    public void resultsAreKeyedByValueAndSymbology() {
+        ValueMemo<Boolean> memo = new ValueMemo<>(4);
+        memo.put("5901234123457", 1, true);
+        memo.put("5901234123457", 2, false);
+        assertEquals(Boolean.TRUE, memo.get("5901234123457", 1));
+        assertEquals(Boolean.FALSE, memo.get("5901234123457", 2));
+        assertNull(memo.get("5901234123457", ValueMemo.ANY_SYMBOLOGY));
+        assertNull(memo.get("12345678", 1));
+        assertEquals(2, memo.size());
+    }
+
+    @Test
+    public void clockEvictsEntriesNotUsedSinceTheLastPass() {
+        ValueMemo<Integer> memo = new ValueMemo<>(3);
+        memo.put("a", 0, 1);
+        memo.put("b", 0, 2);
+        memo.put("c", 0, 3);
+        // "a" and "c" are used again, "b" is not
+        memo.get("a", 0);
+        memo.get("c", 0);
+        memo.put("d", 0, 4);
+        assertNull(memo.get("b", 0));
+        assertEquals(Integer.valueOf(1), memo.get("a", 0));
+        assertEquals(Integer.valueOf(3), memo.get("c", 0));
+        assertEquals(Integer.valueOf(4), memo.get("d", 0));
+        assertEquals(3, memo.size());
+    }
+
+    @Test
+    public void hitRateCountsEveryLookup() {
+        ValueMemo<Boolean> memo = new ValueMemo<>(2);
+        assertEquals(0f, memo.getHitRate(), 0f);
+        memo.get("a", 0);
+        memo.put("a", 0, true);
+        memo.get("a", 0);
+        memo.get("a", 0);
+        memo.get("a", 0);
+        assertEquals(3, memo.getHits());
+        assertEquals(1, memo.getMisses());
+        assertEquals(0.75f, memo.getHitRate(), 1e-6f);
+
+        memo.clear();
+        assertNull(memo.get("a", 0));
+        assertEquals(0, memo.size());
+        memo.resetStatistics();
+        assertEquals(0, memo.getHits() + memo.getMisses());
+    }
+}
@@ -0,0 +1,116 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.replay;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.zebra.ai.vision.entity.BarcodeEntity;
+import com.zebra.ai_multibarcodes_capture.barcodedecoder.ELatencyStage;
+import com.zebra.ai_multibarcodes_capture.helpers.CoordinateMapper;
+import com.zebra.ai_multibarcodes_capture.helpers.DebounceManager;
+import com.zebra.ai_multibarcodes_capture.helpers.DetectionResultProcessor;
+import com.zebra.ai_multibarcodes_capture.helpers.IntRect;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Replays scripted detections through the post-processing on the JVM, without Android classes.
+ */
+public class ReplayPipelineTest {
+
+    private static final int FRAMES = 40;
+    private static final int BARCODES = 3;
+    // The decoder misses every fifth frame
+    private static final int MISSED_FRAME_INTERVAL = 5;
+
+    private static final int SENSOR_WIDTH = 1920;
+    private static final int SENSOR_HEIGHT = 1080;
+    private static final int OVERLAY_WIDTH = 1080;
+    private static final int OVERLAY_HEIGHT = 2340;
+    // Surface.ROTATION_0
+    private static final int ROTATION_0 = 0;
+    // ImageFormat.YUV_420_888
+    private static final int YUV_420_888 = 0x23;
+
+    private final CoordinateMapper coordinateMapper = new CoordinateMapper();
+    private final DebounceManager debounceManager = new DebounceManager();
+    private final BarcodeEntity[] entities = new BarcodeEntity[BARCODES];
+
+    @Before
+    public void setUp() {
+        coordinateMapper.setImageDimensions(SENSOR_HEIGHT, SENSOR_WIDTH);
+        coordinateMapper.setRawSensorDimensions(SENSOR_WIDTH, SENSOR_HEIGHT);
+        coordinateMapper.setInitialRotation(ROTATION_0);
+        debounceManager.updateSettings(true, 10, 50, DebounceManager.ALGORITHM_CENTER_DISTANCE, 0.3f);
+        for (int i = 0; i < BARCODES; i++) {
+            entities[i] = mock(BarcodeEntity.class);
+            when(entities[i].getValue()).thenReturn("BARCODE-" + i);
+            when(entities[i].getSymbology()).thenReturn(1);
+        }
+    }
+
+    /**
+     * Barcodes moving slowly to the right, except on the missed frames.
+     */
+    private final IReplayDecoder decoder = frame -> {
+        if (frame.getIndex() % MISSED_FRAME_INTERVAL == MISSED_FRAME_INTERVAL - 1) {
+            return null;
+        }
+        ReplayDetections detections = new ReplayDetections();
+        for (int i = 0; i < BARCODES; i++) {
+            int left = 100 + i * 300 + frame.getIndex() * 4;
+            detections.add(entities[i], left, 200, left + 160, 260);
+        }
+        return detections;
+    };
+
+    private static RecordedFrame frame(int index) {
+        ByteBuffer plane = ByteBuffer.allocate(0);
+        return new RecordedFrame(index, index * 33_000_000L, SENSOR_WIDTH, SENSOR_HEIGHT, YUV_420_888, 90,
+                new ByteBuffer[]{plane, plane, plane}, new int[]{SENSOR_WIDTH, SENSOR_WIDTH, SENSOR_WIDTH},
+                new int[]{1, 2, 2});
+    }
+
+    private ReplayPipeline pipeline() {
+        return new ReplayPipeline(decoder, new DetectionResultProcessor(coordinateMapper, debounceManager),
+                OVERLAY_WIDTH, OVERLAY_HEIGHT);
+    }
+
+    @Test
+    public void missedFramesAreFilledFromTheDebounceCache() throws Exception {
+        ReplayPipeline pipeline = pipeline();
+        for (int i = 0; i < FRAMES; i++) {
+            pipeline.onFrame(frame(i));
+        }
+
+        int missedFrames = FRAMES / MISSED_FRAME_INTERVAL;
+        assertEquals(FRAMES, pipeline.getProcessedFrameCount());
+        assertEquals((long) (FRAMES - missedFrames) * BARCODES, pipeline.getDetectedBarcodeCount());
+        assertEquals((long) FRAMES * BARCODES, pipeline.getReportedBarcodeCount());
+        // Each barcode kept a single track
+        assertEquals(BARCODES, debounceManager.getTrackStatistics().tracksStarted);
+        assertEquals(FRAMES, pipeline.getLatencyRecorder().getHistogram(ELatencyStage.MAPPING).getCount());
+    }
+
+    @Test
+    public void boxesAreMappedFromTheCropRegionToTheOverlay() {
+        DetectionResultProcessor processor = new DetectionResultProcessor(coordinateMapper, new DebounceManager());
+        ReplayDetections detections = new ReplayDetections().add(entities[0], 0, 0, 40, 40);
+        IntRect box = new IntRect();
+        // Raw (0, 240, 40, 280) in the sensor, (800, 0, 840, 40) once rotated, then scaled by 2340 / 1920
+        DetectionResultProcessor.FrameResult cropped = processor.process(detections.getEntities(),
+                detections.getBoundingBoxes(), new IntRect(0, 240, SENSOR_WIDTH, SENSOR_HEIGHT), 90,
+                OVERLAY_WIDTH, OVERLAY_HEIGHT, ROTATION_0);
+        assertEquals(new IntRect(856, 0, 905, 48), cropped.getBounds(0, box));
+        cropped.release();
+
+        DetectionResultProcessor.FrameResult fullFrame = processor.process(detections.getEntities(),
+                detections.getBoundingBoxes(), null, 90, OVERLAY_WIDTH, OVERLAY_HEIGHT, ROTATION_0);
+        assertEquals(new IntRect(-118, 0, -69, 48), fullFrame.getBounds(0, box));
+        fullFrame.release();
+    }
+}
@@ -0,0 +1,44 @@
+plugins {
+    alias(libs.plugins.android.test)
+}
+
+// Microbenchmarks of the per-frame and per-session post-processing code of the app.
+// Run with: ./gradlew :benchmark:connectedBenchmarkAndroidTest
+// Results (time per operation and allocation count per operation) are written as JSON to
+// benchmark/build/outputs/connected_android_test_additional_output/ so CI can archive them per commit.
+android {
+    namespace = "com.zebra.ai_multibarcodes_capture.benchmark"
+    compileSdk = 35
+
+    defaultConfig {
+        minSdk = 34
+        targetSdk = 35
+
+        testInstrumentationRunner = "androidx.benchmark.junit4.AndroidBenchmarkRunner"
+    }
+
+    // The benchmarks run inside the app process, against its non-debuggable "benchmark" variant
+    targetProjectPath = ":AI_MultiBarcodes_Capture"
+
+    buildTypes {
+        create("benchmark") {
+            isDebuggable = true
+            signingConfig = signingConfigs.getByName("debug")
+            matchingFallbacks += listOf("release")
+        }
+    }
+
+    compileOptions {
+        sourceCompatibility = JavaVersion.VERSION_1_8
+        targetCompatibility = JavaVersion.VERSION_1_8
+    }
+}
+
+dependencies {
+    implementation(libs.androidx.benchmark.junit4)
+    implementation(libs.ext.junit)
+    implementation(libs.junit)
+
+    // The AI Vision SDK does not expose a way to build BarcodeEntity instances
+    implementation(libs.mockito.android)
+}
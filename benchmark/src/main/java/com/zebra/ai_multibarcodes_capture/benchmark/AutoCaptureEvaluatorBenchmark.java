@@ -0,0 +1,115 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.benchmark;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+
+import com.zebra.ai.vision.entity.BarcodeEntity;
+import com.zebra.ai_multibarcodes_capture.autocapture.AutoCaptureEvaluator;
+import com.zebra.ai_multibarcodes_capture.autocapture.AutoCapturePlan;
+import com.zebra.ai_multibarcodes_capture.autocapture.models.AutoCaptureCondition;
+import com.zebra.ai_multibarcodes_capture.autocapture.models.AutoCaptureConditionList;
+import com.zebra.ai_multibarcodes_capture.helpers.EBarcodesSymbologies;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Benchmarks the evaluation of the auto capture conditions on one frame, for each kind of
+ * condition and an increasing number of barcodes in view, with AutoCaptureEvaluator and with
+ * the conditions compiled into an AutoCapturePlan.
+ */
+@RunWith(Parameterized.class)
+public class AutoCaptureEvaluatorBenchmark {
+
+    @Parameterized.Parameters(name = "barcodes={0},conditions={1}")
+    public static Collection<Object[]> parameters() {
+        List<Object[]> parameters = new ArrayList<>();
+        for (int barcodeCount : new int[]{10, 50, 200}) {
+            for (String conditionSet : new String[]{"count", "regex", "symbology", "complex", "all", "many"}) {
+                parameters.add(new Object[]{barcodeCount, conditionSet});
+            }
+        }
+        return parameters;
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final int barcodeCount;
+    private final String conditionSet;
+    private final AutoCaptureConditionList conditionList = new AutoCaptureConditionList();
+    private List<BarcodeEntity> entities;
+    private AutoCapturePlan plan;
+
+    public AutoCaptureEvaluatorBenchmark(int barcodeCount, String conditionSet) {
+        this.barcodeCount = barcodeCount;
+        this.conditionSet = conditionSet;
+    }
+
+    @Before
+    public void setUp() {
+        entities = BenchmarkData.entities(barcodeCount);
+        int ean13 = EBarcodesSymbologies.EAN_13.getIntValue();
+        // Thresholds are set so that the conditions are met and every entity is inspected
+        int target = Math.max(1, barcodeCount / 8);
+        boolean all = conditionSet.equals("all");
+        if (all || conditionSet.equals("count")) {
+            conditionList.addCondition(new AutoCaptureCondition(barcodeCount));
+        }
+        if (all || conditionSet.equals("regex")) {
+            conditionList.addCondition(new AutoCaptureCondition(target, "^5901234\\d{6}$"));
+        }
+        if (all || conditionSet.equals("symbology")) {
+            conditionList.addCondition(new AutoCaptureCondition(target, ean13));
+        }
+        if (all || conditionSet.equals("complex")) {
+            conditionList.addCondition(new AutoCaptureCondition(target, ean13, "^5901234\\d{6}$"));
+        }
+        if (conditionSet.equals("many")) {
+            // A long list of regex and complex conditions, some sharing their regex
+            for (int i = 0; i < 8; i++) {
+                conditionList.addCondition(new AutoCaptureCondition(target, "^5901234\\d{" + (4 + i % 3) + "}\\d*$"));
+                conditionList.addCondition(new AutoCaptureCondition(target, ean13, "^5901234\\d{6}$"));
+            }
+        }
+        plan = AutoCapturePlan.compile(conditionList);
+    }
+
+    @Test
+    public void evaluateConditions() {
+        BenchmarkState state = benchmarkRule.getState();
+        int met = 0;
+        while (state.keepRunning()) {
+            if (AutoCaptureEvaluator.evaluateConditions(conditionList, entities)) {
+                met++;
+            }
+        }
+        // Keeps the results alive
+        if (met < 0) {
+            throw new AssertionError();
+        }
+    }
+
+    @Test
+    public void compiledEvaluate() {
+        BenchmarkState state = benchmarkRule.getState();
+        int met = 0;
+        while (state.keepRunning()) {
+            if (plan.evaluate(entities)) {
+                met++;
+            }
+        }
+        // Keeps the results alive
+        if (met < 0) {
+            throw new AssertionError();
+        }
+    }
+}
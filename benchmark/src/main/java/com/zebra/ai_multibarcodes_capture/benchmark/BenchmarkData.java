@@ -0,0 +1,110 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.benchmark;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import android.graphics.Rect;
+
+import com.zebra.ai.vision.entity.BarcodeEntity;
+import com.zebra.ai_multibarcodes_capture.helpers.EBarcodesSymbologies;
+import com.zebra.ai_multibarcodes_capture.helpers.SessionData;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Deterministic input data shared by the benchmarks.
+ *
+ * Barcodes are laid out on a regular grid of an overlay, so every box has a distinct position
+ * and the debounce matching behaves as with a real shelf of labels.
+ */
+final class BenchmarkData {
+
+    static final int IMAGE_WIDTH = 1920;
+    static final int IMAGE_HEIGHT = 1080;
+    static final int OVERLAY_WIDTH = 1080;
+    static final int OVERLAY_HEIGHT = 2400;
+
+    private static final int BOX_WIDTH = 120;
+    private static final int BOX_HEIGHT = 60;
+    private static final int GRID_COLUMNS = 8;
+
+    // A mix of the symbologies found on retail and logistics labels
+    private static final EBarcodesSymbologies[] SYMBOLOGIES = {
+            EBarcodesSymbologies.EAN_13,
+            EBarcodesSymbologies.CODE128,
+            EBarcodesSymbologies.QRCODE,
+            EBarcodesSymbologies.DATAMATRIX,
+    };
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * @param index The barcode index
+     * @return The value of the barcode, a 13 digit number
+     */
+    static String valueOf(int index) {
+        return String.format(Locale.US, "5901234%06d", index);
+    }
+
+    /**
+     * @param index The barcode index
+     * @return The symbology of the barcode
+     */
+    static int symbologyOf(int index) {
+        return SYMBOLOGIES[index % SYMBOLOGIES.length].getIntValue();
+    }
+
+    /**
+     * @param index The barcode index
+     * @param shift A shift applied to both axes, to simulate the motion of the device
+     * @return The bounding box of the barcode on the grid
+     */
+    static Rect boxOf(int index, int shift) {
+        int column = index % GRID_COLUMNS;
+        int row = index / GRID_COLUMNS;
+        int left = column * (BOX_WIDTH + BOX_WIDTH / 4) + shift;
+        int top = row * (BOX_HEIGHT * 2) + shift;
+        return new Rect(left, top, left + BOX_WIDTH, top + BOX_HEIGHT);
+    }
+
+    /**
+     * Builds stub entities. They are created with stubOnly() so that calls are not recorded
+     * and the benchmarks do not measure Mockito bookkeeping.
+     *
+     * @param count The number of entities
+     * @return The entities, with the values, symbologies and boxes of indexes 0 to count - 1
+     */
+    static List<BarcodeEntity> entities(int count) {
+        List<BarcodeEntity> entities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BarcodeEntity entity = mock(BarcodeEntity.class, withSettings().stubOnly());
+            when(entity.getValue()).thenReturn(valueOf(i));
+            when(entity.getSymbology()).thenReturn(symbologyOf(i));
+            when(entity.getBoundingBox()).thenReturn(boxOf(i, 0));
+            entities.add(entity);
+        }
+        return entities;
+    }
+
+    /**
+     * @param count The number of barcodes in the session
+     * @return A session as built by the capture screen
+     */
+    static SessionData session(int count) {
+        SessionData sessionData = new SessionData();
+        Date captureDate = new Date(1_735_689_600_000L);
+        for (int i = 0; i < count; i++) {
+            sessionData.barcodeValuesMap.put(i, valueOf(i));
+            sessionData.barcodeSymbologyMap.put(i, symbologyOf(i));
+            sessionData.barcodeQuantityMap.put(i, 1 + i % 3);
+            sessionData.barcodeDateMap.put(i, captureDate);
+        }
+        return sessionData;
+    }
+}
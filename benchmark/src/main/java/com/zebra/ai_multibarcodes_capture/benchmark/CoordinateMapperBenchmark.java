@@ -0,0 +1,122 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.benchmark;
+
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+
+import com.zebra.ai_multibarcodes_capture.helpers.CoordinateMapper;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Benchmarks the coordinate transforms applied to one frame of barcodes, for each sensor rotation.
+ */
+@RunWith(Parameterized.class)
+public class CoordinateMapperBenchmark {
+
+    private static final int BARCODES_PER_FRAME = 50;
+
+    @Parameterized.Parameters(name = "rotation={0}")
+    public static Collection<Object[]> parameters() {
+        return Arrays.asList(new Object[][]{{0}, {90}, {180}, {270}});
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final int rotationDegrees;
+    private final CoordinateMapper coordinateMapper = new CoordinateMapper();
+    private final Rect[] rawBoxes = new Rect[BARCODES_PER_FRAME];
+    private final RectF[] overlayBoxes = new RectF[BARCODES_PER_FRAME];
+    private final Rect cropRegion = new Rect(240, 0, 1680, 1080);
+    private final float[] rawBounds = new float[BARCODES_PER_FRAME * 4];
+    private final float[] frameBounds = new float[BARCODES_PER_FRAME * 4];
+
+    public CoordinateMapperBenchmark(int rotationDegrees) {
+        this.rotationDegrees = rotationDegrees;
+    }
+
+    @Before
+    public void setUp() {
+        boolean swapped = rotationDegrees == 90 || rotationDegrees == 270;
+        coordinateMapper.setRawSensorDimensions(BenchmarkData.IMAGE_WIDTH, BenchmarkData.IMAGE_HEIGHT);
+        coordinateMapper.setImageDimensions(
+                swapped ? BenchmarkData.IMAGE_HEIGHT : BenchmarkData.IMAGE_WIDTH,
+                swapped ? BenchmarkData.IMAGE_WIDTH : BenchmarkData.IMAGE_HEIGHT);
+        coordinateMapper.setOverlayDimensions(BenchmarkData.OVERLAY_WIDTH, BenchmarkData.OVERLAY_HEIGHT);
+        coordinateMapper.setInitialRotation(0);
+        for (int i = 0; i < BARCODES_PER_FRAME; i++) {
+            rawBoxes[i] = BenchmarkData.boxOf(i, 0);
+            overlayBoxes[i] = new RectF(BenchmarkData.boxOf(i, 0));
+            rawBounds[i * 4] = rawBoxes[i].left;
+            rawBounds[i * 4 + 1] = rawBoxes[i].top;
+            rawBounds[i * 4 + 2] = rawBoxes[i].right;
+            rawBounds[i * 4 + 3] = rawBoxes[i].bottom;
+        }
+    }
+
+    /**
+     * The detection path: crop adjustment, raw sensor to effective image, then image to overlay.
+     */
+    @Test
+    public void mapDetectionsToOverlay() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            for (int i = 0; i < BARCODES_PER_FRAME; i++) {
+                Rect adjusted = coordinateMapper.adjustBboxForCropRegion(rawBoxes[i], cropRegion);
+                Rect effective = coordinateMapper.transformRawSensorToEffective(adjusted, rotationDegrees);
+                coordinateMapper.mapBoundingBoxToOverlay(effective, 0);
+            }
+        }
+    }
+
+    /**
+     * The same path with the composed transform, one pass over the boxes of the frame.
+     */
+    @Test
+    public void mapDetectionsToOverlayBatch() {
+        coordinateMapper.setBoxTransform(cropRegion, 1, false, rotationDegrees, 0);
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            System.arraycopy(rawBounds, 0, frameBounds, 0, rawBounds.length);
+            coordinateMapper.setBoxTransform(cropRegion, 1, false, rotationDegrees, 0);
+            coordinateMapper.mapBoxesToOverlay(frameBounds, BARCODES_PER_FRAME);
+        }
+    }
+
+    /**
+     * The display rotation step alone, with the device turned by a quarter.
+     */
+    @Test
+    public void transformBoundingBoxForRotation() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            for (int i = 0; i < BARCODES_PER_FRAME; i++) {
+                coordinateMapper.transformBoundingBoxForRotation(rawBoxes[i], 1);
+            }
+        }
+    }
+
+    /**
+     * The reverse path used to compute the ROI crop region and the high resolution crops.
+     */
+    @Test
+    public void mapOverlayToRawSensorCoordinates() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            for (int i = 0; i < BARCODES_PER_FRAME; i++) {
+                coordinateMapper.mapOverlayToRawSensorCoordinates(overlayBoxes[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.benchmark;
+
+import android.graphics.Rect;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+
+import com.zebra.ai.vision.entity.BarcodeEntity;
+import com.zebra.ai_multibarcodes_capture.helpers.CachedBarcode;
+import com.zebra.ai_multibarcodes_capture.helpers.DebounceManager;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Benchmarks the debounce cache operations run on every analyzed frame, for both matching
+ * algorithms and an increasing number of barcodes in view.
+ */
+@RunWith(Parameterized.class)
+public class DebounceManagerBenchmark {
+
+    @Parameterized.Parameters(name = "barcodes={0},algorithm={1}")
+    public static Collection<Object[]> parameters() {
+        List<Object[]> parameters = new ArrayList<>();
+        for (int barcodeCount : new int[]{10, 50, 200, 300}) {
+            parameters.add(new Object[]{barcodeCount, DebounceManager.ALGORITHM_CENTER_DISTANCE});
+            parameters.add(new Object[]{barcodeCount, DebounceManager.ALGORITHM_IOU});
+        }
+        return parameters;
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final int barcodeCount;
+    private final int algorithm;
+
+    private final DebounceManager debounceManager = new DebounceManager();
+    private List<BarcodeEntity> entities;
+    private Rect[] frameBoxes;
+    private List<Rect> frameBoxList;
+    private CachedBarcode[] frameMatches;
+
+    public DebounceManagerBenchmark(int barcodeCount, int algorithm) {
+        this.barcodeCount = barcodeCount;
+        this.algorithm = algorithm;
+    }
+
+    @Before
+    public void setUp() {
+        debounceManager.updateSettings(true, 5, 50, algorithm, 0.3f);
+        entities = BenchmarkData.entities(barcodeCount);
+        // Boxes of the next frame, slightly moved from the cached ones
+        frameBoxes = new Rect[barcodeCount];
+        for (int i = 0; i < barcodeCount; i++) {
+            frameBoxes[i] = BenchmarkData.boxOf(i, 4);
+        }
+        frameBoxList = Arrays.asList(frameBoxes);
+        frameMatches = new CachedBarcode[barcodeCount];
+        fillCache();
+    }
+
+    private void fillCache() {
+        debounceManager.clearCache();
+        for (int i = 0; i < barcodeCount; i++) {
+            debounceManager.updateOrAddToCache(entities.get(i), BenchmarkData.boxOf(i, 0));
+        }
+    }
+
+    /**
+     * One frame worth of cache updates, every barcode matching an existing entry.
+     */
+    @Test
+    public void updateOrAddToCache() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            for (int i = 0; i < barcodeCount; i++) {
+                debounceManager.updateOrAddToCache(entities.get(i), frameBoxes[i]);
+            }
+        }
+    }
+
+    /**
+     * One frame worth of lookups, as done when the decoder returns no result.
+     */
+    @Test
+    public void findCachedMatch() {
+        BenchmarkState state = benchmarkRule.getState();
+        List<CachedBarcode> usedCacheEntries = new ArrayList<>(barcodeCount);
+        while (state.keepRunning()) {
+            usedCacheEntries.clear();
+            for (int i = 0; i < barcodeCount; i++) {
+                CachedBarcode match = debounceManager.findCachedMatch(frameBoxes[i], usedCacheEntries);
+                if (match != null) {
+                    usedCacheEntries.add(match);
+                }
+            }
+        }
+    }
+
+    /**
+     * One frame matched at once with the global assignment, as done by DetectionResultProcessor.
+     */
+    @Test
+    public void matchFrame() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            debounceManager.matchFrame(frameBoxList, frameMatches);
+        }
+    }
+
+    /**
+     * Ages the cache by one frame. Every sixth frame expires the whole cache (maxFrames is 5),
+     * which is then refilled outside of the measurement.
+     */
+    @Test
+    public void incrementAndPruneCacheAge() {
+        BenchmarkState state = benchmarkRule.getState();
+        int frames = 0;
+        while (state.keepRunning()) {
+            debounceManager.incrementAndPruneCacheAge();
+            if (++frames == 6) {
+                frames = 0;
+                state.pauseTiming();
+                fillCache();
+                state.resumeTiming();
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.benchmark;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+
+import com.zebra.ai.vision.entity.BarcodeEntity;
+import com.zebra.ai_multibarcodes_capture.filtering.FilteringEvaluator;
+import com.zebra.ai_multibarcodes_capture.filtering.FilteringProgram;
+import com.zebra.ai_multibarcodes_capture.filtering.models.FilteringCondition;
+import com.zebra.ai_multibarcodes_capture.filtering.models.FilteringConditionList;
+import com.zebra.ai_multibarcodes_capture.helpers.EBarcodesSymbologies;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Benchmarks the filtering of one frame of barcodes, for each kind of filtering condition,
+ * with FilteringEvaluator and with the conditions compiled into a FilteringProgram, with and
+ * without memoized decisions. The same frame is filtered again and again, like the barcodes
+ * of a shelf stay in view across frames, so the memo only misses on the first frame.
+ */
+@RunWith(Parameterized.class)
+public class FilteringEvaluatorBenchmark {
+
+    private static final int BARCODES_PER_FRAME = 50;
+    private static final int MEMO_CAPACITY = 256;
+
+    @Parameterized.Parameters(name = "conditions={0}")
+    public static Collection<Object[]> parameters() {
+        return Arrays.asList(new Object[][]{
+                {"none"},
+                {"regex"},
+                {"symbology"},
+                {"complex"},
+                {"mixed"},
+        });
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final String conditionSet;
+    private final FilteringConditionList conditionList = new FilteringConditionList();
+    private List<BarcodeEntity> entities;
+    private FilteringProgram program;
+    private FilteringProgram memoizedProgram;
+
+    public FilteringEvaluatorBenchmark(String conditionSet) {
+        this.conditionSet = conditionSet;
+    }
+
+    @Before
+    public void setUp() {
+        entities = BenchmarkData.entities(BARCODES_PER_FRAME);
+        int ean13 = EBarcodesSymbologies.EAN_13.getIntValue();
+        switch (conditionSet) {
+            case "regex":
+                conditionList.addCondition(new FilteringCondition("^590123400\\d{4}$"));
+                break;
+            case "symbology":
+                conditionList.addCondition(new FilteringCondition(ean13));
+                break;
+            case "complex":
+                conditionList.addCondition(new FilteringCondition(ean13, "^590123400\\d{4}$"));
+                break;
+            case "mixed":
+                // Conditions are OR-ed: most entities go through all of them before being rejected
+                conditionList.addCondition(new FilteringCondition("^ABC-\\d+$"));
+                conditionList.addCondition(new FilteringCondition(EBarcodesSymbologies.PDF417.getIntValue()));
+                conditionList.addCondition(new FilteringCondition(ean13, "^590123400\\d{4}$"));
+                conditionList.addCondition(new FilteringCondition("^\\d{8}$"));
+                break;
+            default:
+                break;
+        }
+        program = FilteringProgram.compile(conditionList);
+        memoizedProgram = FilteringProgram.compile(conditionList, MEMO_CAPACITY);
+    }
+
+    @Test
+    public void shouldIncludeEntity() {
+        BenchmarkState state = benchmarkRule.getState();
+        int included = 0;
+        while (state.keepRunning()) {
+            for (int i = 0; i < BARCODES_PER_FRAME; i++) {
+                if (FilteringEvaluator.shouldIncludeEntity(entities.get(i), conditionList)) {
+                    included++;
+                }
+            }
+        }
+        // Keeps the results alive
+        if (included < 0) {
+            throw new AssertionError();
+        }
+    }
+
+    @Test
+    public void compiledShouldIncludeEntity() {
+        BenchmarkState state = benchmarkRule.getState();
+        int included = 0;
+        while (state.keepRunning()) {
+            for (int i = 0; i < BARCODES_PER_FRAME; i++) {
+                if (program.shouldIncludeEntity(entities.get(i))) {
+                    included++;
+                }
+            }
+        }
+        // Keeps the results alive
+        if (included < 0) {
+            throw new AssertionError();
+        }
+    }
+
+    @Test
+    public void memoizedShouldIncludeEntity() {
+        BenchmarkState state = benchmarkRule.getState();
+        int included = 0;
+        while (state.keepRunning()) {
+            for (int i = 0; i < BARCODES_PER_FRAME; i++) {
+                if (memoizedProgram.shouldIncludeEntity(entities.get(i))) {
+                    included++;
+                }
+            }
+        }
+        // Keeps the results alive
+        if (included < 0) {
+            throw new AssertionError();
+        }
+    }
+
+    @Test
+    public void compile() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            program = FilteringProgram.compile(conditionList);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.benchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import android.graphics.Bitmap;
+import android.graphics.ImageFormat;
+import android.graphics.Rect;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.zebra.ai_multibarcodes_capture.barcodedecoder.HighResFrameConverter;
+import com.zebra.ai_multibarcodes_capture.replay.FrameRecording;
+import com.zebra.ai_multibarcodes_capture.replay.RecordedFrame;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * Benchmarks the conversion of a high-res YUV frame into the bitmaps validated by the decoder:
+ * the former NV21 to JPEG to Bitmap round trip, the direct conversion of the Y plane, and the
+ * direct conversion of only the regions of four unstable barcodes.
+ *
+ * The frame is the first frame of the recording whose path on the device is passed with
+ * -Pandroid.testInstrumentationRunnerArguments.highResRecording=... (a FrameRecorder file of
+ * high-res YUV frames). Without it, a synthetic 12 MP frame is used.
+ */
+@RunWith(AndroidJUnit4.class)
+public class HighResConversionBenchmark {
+
+    private static final String RECORDING_ARGUMENT = "highResRecording";
+    private static final int SYNTHETIC_WIDTH = 4000;
+    private static final int SYNTHETIC_HEIGHT = 3000;
+    private static final int REGION_COUNT = 4;
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private FrameRecording recording;
+    private ByteBuffer yPlane;
+    private ByteBuffer uPlane;
+    private ByteBuffer vPlane;
+    private int yRowStride;
+    private int width;
+    private int height;
+    private final Rect[] regions = new Rect[REGION_COUNT];
+
+    @Before
+    public void setUp() throws IOException {
+        String path = InstrumentationRegistry.getArguments().getString(RECORDING_ARGUMENT);
+        if (path != null) {
+            recording = FrameRecording.open(new File(path));
+            RecordedFrame frame = recording.getFrame(0);
+            assertEquals(ImageFormat.YUV_420_888, frame.getFormat());
+            width = frame.getWidth();
+            height = frame.getHeight();
+            yPlane = frame.getPlaneBuffer(0);
+            uPlane = frame.getPlaneBuffer(1);
+            vPlane = frame.getPlaneBuffer(2);
+            yRowStride = frame.getRowStride(0);
+        } else {
+            width = SYNTHETIC_WIDTH;
+            height = SYNTHETIC_HEIGHT;
+            yRowStride = width;
+            Random random = new Random(22);
+            yPlane = randomPlane(random, width * height);
+            uPlane = randomPlane(random, width * height / 2 - 1);
+            vPlane = randomPlane(random, width * height / 2 - 1);
+        }
+
+        // Labels of about 2% of the frame each, the padded regions of a high-res validation
+        int regionWidth = width / 7;
+        int regionHeight = height / 7;
+        for (int i = 0; i < REGION_COUNT; i++) {
+            int left = (i % 2 + 1) * width / 4;
+            int top = (i / 2 + 1) * height / 4;
+            regions[i] = new Rect(left, top, left + regionWidth, top + regionHeight);
+        }
+    }
+
+    private static ByteBuffer randomPlane(Random random, int size) {
+        byte[] pixels = new byte[size];
+        random.nextBytes(pixels);
+        ByteBuffer plane = ByteBuffer.allocateDirect(size);
+        plane.put(pixels).rewind();
+        return plane;
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Test
+    public void fullFrameThroughJpeg() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            Bitmap bitmap = HighResFrameConverter.yuvToBitmapThroughJpeg(yPlane, uPlane, vPlane, width, height);
+            assertNotNull(bitmap);
+            bitmap.recycle();
+        }
+    }
+
+    @Test
+    public void fullFrameLuminance() {
+        BenchmarkState state = benchmarkRule.getState();
+        Rect frame = new Rect(0, 0, width, height);
+        while (state.keepRunning()) {
+            Bitmap bitmap = HighResFrameConverter.cropLuminance(yPlane, yRowStride, frame);
+            assertNotNull(bitmap);
+            bitmap.recycle();
+        }
+    }
+
+    @Test
+    public void regionsLuminance() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            for (Rect region : regions) {
+                Bitmap bitmap = HighResFrameConverter.cropLuminance(yPlane, yRowStride, region);
+                assertNotNull(bitmap);
+                bitmap.recycle();
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.benchmark;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+
+import com.zebra.ai_multibarcodes_capture.autocapture.PredefinedRegexProvider;
+import com.zebra.ai_multibarcodes_capture.autocapture.models.PredefinedRegex;
+import com.zebra.ai_multibarcodes_capture.conditions.MultiPatternMatcher;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmarks finding every pattern matching the values of one frame of barcodes, with one
+ * java.util.regex Pattern per regex and with the regexes combined in a MultiPatternMatcher,
+ * for an increasing number of the predefined regexes.
+ */
+@RunWith(Parameterized.class)
+public class MultiPatternMatcherBenchmark {
+
+    private static final int BARCODES_PER_FRAME = 50;
+
+    @Parameterized.Parameters(name = "patterns={0}")
+    public static Collection<Object[]> parameters() {
+        return Arrays.asList(new Object[][]{{1}, {8}, {40}});
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final int patternCount;
+    private final String[] values = new String[BARCODES_PER_FRAME];
+    private Pattern[] patterns;
+    private MultiPatternMatcher matcher;
+    private boolean[] matches;
+
+    public MultiPatternMatcherBenchmark(int patternCount) {
+        this.patternCount = patternCount;
+    }
+
+    @Before
+    public void setUp() {
+        List<PredefinedRegex> predefinedRegexes = PredefinedRegexProvider.getPredefinedRegexList();
+        List<String> regexes = new ArrayList<>();
+        for (int i = 0; i < patternCount; i++) {
+            regexes.add(predefinedRegexes.get(i % predefinedRegexes.size()).getPattern());
+        }
+        patterns = new Pattern[regexes.size()];
+        for (int i = 0; i < patterns.length; i++) {
+            patterns[i] = Pattern.compile(regexes.get(i));
+        }
+        matcher = MultiPatternMatcher.compile(regexes);
+        matches = new boolean[regexes.size()];
+        for (int i = 0; i < BARCODES_PER_FRAME; i++) {
+            values[i] = BenchmarkData.valueOf(i);
+        }
+    }
+
+    @Test
+    public void javaRegex() {
+        BenchmarkState state = benchmarkRule.getState();
+        int matched = 0;
+        while (state.keepRunning()) {
+            for (String value : values) {
+                for (Pattern pattern : patterns) {
+                    if (pattern.matcher(value).matches()) {
+                        matched++;
+                    }
+                }
+            }
+        }
+        // Keeps the results alive
+        if (matched < 0) {
+            throw new AssertionError();
+        }
+    }
+
+    @Test
+    public void multiPatternMatcher() {
+        BenchmarkState state = benchmarkRule.getState();
+        int matched = 0;
+        while (state.keepRunning()) {
+            for (String value : values) {
+                matched += matcher.match(value, matches);
+            }
+        }
+        // Keeps the results alive
+        if (matched < 0) {
+            throw new AssertionError();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.benchmark;
+
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Bitmap;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+
+import com.zebra.ai_multibarcodes_capture.barcodedecoder.NativeYuvProcessor;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Random;
+
+/**
+ * Throughput of the native Y plane crop kernels on a full HD frame: the existing grayscale
+ * and luminance crops against the single-pass crop, downscale and rotate kernel.
+ * The existing kernels leave the rotation (and any downscale) to the decoder, so the
+ * transformed kernel is measured at each of the combinations the analyzer can request.
+ */
+@RunWith(Parameterized.class)
+public class NativeYuvProcessorBenchmark {
+
+    // Typical camera row stride of a 1920 wide Y plane
+    private static final int ROW_STRIDE = 1920 + 64;
+
+    @Parameterized.Parameters(name = "scale={0},rotation={1}")
+    public static Collection<Object[]> parameters() {
+        return Arrays.asList(new Object[][]{{1, 0}, {1, 90}, {2, 0}, {2, 90}, {4, 90}});
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final int downscale;
+    private final int rotationDegrees;
+    private final ByteBuffer yPlane = ByteBuffer.allocateDirect(ROW_STRIDE * BenchmarkData.IMAGE_HEIGHT);
+    private Bitmap grayscaleBitmap;
+    private Bitmap luminanceBitmap;
+    private Bitmap transformedBitmap;
+
+    public NativeYuvProcessorBenchmark(int downscale, int rotationDegrees) {
+        this.downscale = downscale;
+        this.rotationDegrees = rotationDegrees;
+    }
+
+    @Before
+    public void setUp() {
+        assertTrue("Native library not loaded", NativeYuvProcessor.isAvailable());
+        byte[] pixels = new byte[yPlane.capacity()];
+        new Random(1).nextBytes(pixels);
+        yPlane.put(pixels).rewind();
+
+        int width = BenchmarkData.IMAGE_WIDTH;
+        int height = BenchmarkData.IMAGE_HEIGHT;
+        grayscaleBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        luminanceBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ALPHA_8);
+        boolean swapped = rotationDegrees == 90 || rotationDegrees == 270;
+        transformedBitmap = Bitmap.createBitmap(
+                (swapped ? height : width) / downscale,
+                (swapped ? width : height) / downscale,
+                Bitmap.Config.ALPHA_8);
+    }
+
+    @After
+    public void tearDown() {
+        grayscaleBitmap.recycle();
+        luminanceBitmap.recycle();
+        transformedBitmap.recycle();
+    }
+
+    /**
+     * Existing kernel: crop expanded to ARGB_8888.
+     */
+    @Test
+    public void cropToGrayscale() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            NativeYuvProcessor.cropYToGrayscaleBitmapNative(yPlane, ROW_STRIDE, 0, 0,
+                    BenchmarkData.IMAGE_WIDTH, BenchmarkData.IMAGE_HEIGHT, grayscaleBitmap);
+        }
+    }
+
+    /**
+     * Existing kernel: crop copied to ALPHA_8, without downscale or rotation.
+     */
+    @Test
+    public void cropToLuminance() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            NativeYuvProcessor.cropYToLuminanceBitmapNative(yPlane, ROW_STRIDE, 0, 0,
+                    BenchmarkData.IMAGE_WIDTH, BenchmarkData.IMAGE_HEIGHT, luminanceBitmap);
+        }
+    }
+
+    /**
+     * Single-pass crop, downscale and rotate to ALPHA_8.
+     */
+    @Test
+    public void cropToLuminanceTransformed() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            NativeYuvProcessor.cropYToLuminanceTransformedNative(yPlane, ROW_STRIDE, 0, 0,
+                    BenchmarkData.IMAGE_WIDTH, BenchmarkData.IMAGE_HEIGHT, downscale, rotationDegrees,
+                    transformedBitmap);
+        }
+    }
+}
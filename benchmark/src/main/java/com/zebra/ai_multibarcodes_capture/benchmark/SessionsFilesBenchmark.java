@@ -0,0 +1,120 @@
+// Copyright 2025 Zebra Technologies Corporation and/or its affiliates. All rights reserved.
+package com.zebra.ai_multibarcodes_capture.benchmark;
+
+import android.content.Context;
+import android.os.Looper;
+
+import androidx.benchmark.BenchmarkState;
+import androidx.benchmark.junit4.BenchmarkRule;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.zebra.ai_multibarcodes_capture.filemanagement.SessionsFilesHelpers;
+import com.zebra.ai_multibarcodes_capture.helpers.SessionData;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Benchmarks the loading and saving of session files in the TXT and CSV formats.
+ *
+ * The save methods show a Toast, so the benchmark thread gets a Looper; the cost of posting
+ * the Toast is part of the measurement, as it is part of every save in the app.
+ */
+@RunWith(Parameterized.class)
+public class SessionsFilesBenchmark {
+
+    @Parameterized.Parameters(name = "format={0},barcodes={1}")
+    public static Collection<Object[]> parameters() {
+        List<Object[]> parameters = new ArrayList<>();
+        for (String format : new String[]{"txt", "csv"}) {
+            for (int barcodeCount : new int[]{100, 1000}) {
+                parameters.add(new Object[]{format, barcodeCount});
+            }
+        }
+        return parameters;
+    }
+
+    @Rule
+    public BenchmarkRule benchmarkRule = new BenchmarkRule();
+
+    private final String format;
+    private final int barcodeCount;
+
+    private Context context;
+    private SessionData sessionData;
+    private File saveFile;
+    private File loadFile;
+
+    public SessionsFilesBenchmark(String format, int barcodeCount) {
+        this.format = format;
+        this.barcodeCount = barcodeCount;
+    }
+
+    @Before
+    public void setUp() {
+        if (Looper.myLooper() == null) {
+            Looper.prepare();
+        }
+        context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        sessionData = BenchmarkData.session(barcodeCount);
+        saveFile = new File(context.getCacheDir(), "benchmark_save." + format);
+        loadFile = new File(context.getCacheDir(), "benchmark_load." + format);
+        saveFile.delete();
+        loadFile.delete();
+        if (!save(loadFile)) {
+            throw new IllegalStateException("Could not write " + loadFile);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        saveFile.delete();
+        loadFile.delete();
+    }
+
+    private boolean save(File file) {
+        return format.equals("csv")
+                ? SessionsFilesHelpers.saveDataCSV(context, file, sessionData)
+                : SessionsFilesHelpers.saveDataTXT(context, file, sessionData);
+    }
+
+    private SessionData load(File file) {
+        return format.equals("csv")
+                ? SessionsFilesHelpers.loadDataCSV(context, file)
+                : SessionsFilesHelpers.loadDataTXT(context, file);
+    }
+
+    /**
+     * Saves the session to a new file, header included. The file is deleted outside of the measurement.
+     */
+    @Test
+    public void save() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            state.pauseTiming();
+            saveFile.delete();
+            state.resumeTiming();
+            save(saveFile);
+        }
+    }
+
+    @Test
+    public void load() {
+        BenchmarkState state = benchmarkRule.getState();
+        while (state.keepRunning()) {
+            SessionData loaded = load(loadFile);
+            if (loaded.barcodeValuesMap.size() != barcodeCount) {
+                throw new AssertionError("Loaded " + loaded.barcodeValuesMap.size() + " of " + barcodeCount + " barcodes");
+            }
+        }
+    }
+}
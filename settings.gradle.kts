@@ -28,4 +28,5 @@ dependencyResolutionManagement {
 
 rootProject.name = "AI_MultiBarcodes_Capture"
 include(":AI_MultiBarcodes_Capture")
+include(":benchmark")
  
\ No newline at end of file